@@ -24,6 +24,7 @@ import io.smallrye.graphql.client.impl.ResponseReader;
 import io.smallrye.graphql.client.impl.discovery.ServiceURLSupplier;
 import io.smallrye.graphql.client.impl.discovery.StaticURLSupplier;
 import io.smallrye.graphql.client.impl.discovery.StorkServiceURLSupplier;
+import io.smallrye.graphql.client.vertx.BufferOutputStream;
 import io.smallrye.graphql.client.vertx.websocket.BuiltinWebsocketSubprotocolHandlers;
 import io.smallrye.graphql.client.vertx.websocket.WebSocketSubprotocolHandler;
 import io.smallrye.graphql.client.websocket.WebsocketSubprotocol;
@@ -112,98 +113,96 @@ public class VertxDynamicGraphQLClient implements DynamicGraphQLClient {
 
     @Override
     public Response executeSync(Document document) throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(document, null, null).toJsonObject(), null);
+        return executeSync(buildRequest(document, null, null), null);
     }
 
     public Response executeSync(Document document, MultiMap headers) throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(document, null, null).toJsonObject(), headers);
+        return executeSync(buildRequest(document, null, null), headers);
     }
 
     @Override
     public Response executeSync(Document document, Map<String, Object> variables)
             throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(document, variables, null).toJsonObject(), null);
+        return executeSync(buildRequest(document, variables, null), null);
     }
 
     public Response executeSync(Document document, Map<String, Object> variables, MultiMap headers)
             throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(document, variables, null).toJsonObject(), headers);
+        return executeSync(buildRequest(document, variables, null), headers);
     }
 
     @Override
     public Response executeSync(Document document, String operationName) throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(document, null, operationName).toJsonObject(), null);
+        return executeSync(buildRequest(document, null, operationName), null);
     }
 
     public Response executeSync(Document document, String operationName, MultiMap headers)
             throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(document, null, operationName).toJsonObject(), headers);
+        return executeSync(buildRequest(document, null, operationName), headers);
     }
 
     @Override
     public Response executeSync(Document document, Map<String, Object> variables, String operationName)
             throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(document, variables, operationName).toJsonObject(), null);
+        return executeSync(buildRequest(document, variables, operationName), null);
     }
 
     public Response executeSync(Document document, Map<String, Object> variables, String operationName, MultiMap headers)
             throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(document, variables, operationName).toJsonObject(), headers);
+        return executeSync(buildRequest(document, variables, operationName), headers);
     }
 
     @Override
     public Response executeSync(Request request) throws ExecutionException, InterruptedException {
-        return executeSync(request.toJsonObject(), null);
-    }
-
-    public Response executeSync(Request request, MultiMap headers) throws ExecutionException, InterruptedException {
-        return executeSync(request.toJsonObject(), headers);
+        return executeSync(request, null);
     }
 
     @Override
     public Response executeSync(String query) throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(query, null, null).toJsonObject(), null);
+        return executeSync(buildRequest(query, null, null), null);
     }
 
     public Response executeSync(String query, MultiMap headers) throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(query, null, null).toJsonObject(), headers);
+        return executeSync(buildRequest(query, null, null), headers);
     }
 
     @Override
     public Response executeSync(String query, Map<String, Object> variables) throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(query, variables, null).toJsonObject(), null);
+        return executeSync(buildRequest(query, variables, null), null);
     }
 
     public Response executeSync(String query, Map<String, Object> variables, MultiMap headers)
             throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(query, variables, null).toJsonObject(), headers);
+        return executeSync(buildRequest(query, variables, null), headers);
     }
 
     @Override
     public Response executeSync(String query, String operationName) throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(query, null, operationName).toJsonObject(), null);
+        return executeSync(buildRequest(query, null, operationName), null);
     }
 
     public Response executeSync(String query, String operationName, MultiMap headers)
             throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(query, null, operationName).toJsonObject(), headers);
+        return executeSync(buildRequest(query, null, operationName), headers);
     }
 
     @Override
     public Response executeSync(String query, Map<String, Object> variables, String operationName)
             throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(query, variables, operationName).toJsonObject(), null);
+        return executeSync(buildRequest(query, variables, operationName), null);
     }
 
     public Response executeSync(String query, Map<String, Object> variables, String operationName, MultiMap headers)
             throws ExecutionException, InterruptedException {
-        return executeSync(buildRequest(query, variables, operationName).toJsonObject(), headers);
+        return executeSync(buildRequest(query, variables, operationName), headers);
     }
 
-    private Response executeSync(JsonObject json, MultiMap additionalHeaders) {
+    public Response executeSync(Request request, MultiMap additionalHeaders)
+            throws ExecutionException, InterruptedException {
         if (executeSingleOperationsOverWebsocket) {
-            return executeSingleResultOperationOverWebsocket(json).await().indefinitely();
+            return executeSingleResultOperationOverWebsocket(request.toJsonObject()).await().indefinitely();
         } else {
+            Buffer body = toBuffer(request);
             MultiMap allHeaders = new HeadersMultiMap().addAll(this.headers);
             if (additionalHeaders != null) {
                 allHeaders.addAll(additionalHeaders);
@@ -212,7 +211,7 @@ public class VertxDynamicGraphQLClient implements DynamicGraphQLClient {
             for (Map.Entry<String, Uni<String>> dynamicHeaderEntry : dynamicHeaders.entrySet()) {
                 allHeaders.add(dynamicHeaderEntry.getKey(), dynamicHeaderEntry.getValue().await().indefinitely());
             }
-            return executeSingleResultOperationOverHttp(json, allHeaders).await().indefinitely();
+            return executeSingleResultOperationOverHttp(body, allHeaders).await().indefinitely();
         }
     }
 
@@ -226,29 +225,29 @@ public class VertxDynamicGraphQLClient implements DynamicGraphQLClient {
 
     @Override
     public Uni<Response> executeAsync(Document document) {
-        return executeAsync(buildRequest(document, null, null).toJsonObject(), null);
+        return executeAsync(buildRequest(document, null, null), null);
     }
 
     public Uni<Response> executeAsync(Document document, MultiMap headers) {
-        return executeAsync(buildRequest(document, null, null).toJsonObject(), headers);
+        return executeAsync(buildRequest(document, null, null), headers);
     }
 
     @Override
     public Uni<Response> executeAsync(Document document, Map<String, Object> variables) {
-        return executeAsync(buildRequest(document, variables, null).toJsonObject(), null);
+        return executeAsync(buildRequest(document, variables, null), null);
     }
 
     public Uni<Response> executeAsync(Document document, Map<String, Object> variables, MultiMap headers) {
-        return executeAsync(buildRequest(document, variables, null).toJsonObject(), headers);
+        return executeAsync(buildRequest(document, variables, null), headers);
     }
 
     @Override
     public Uni<Response> executeAsync(Document document, String operationName) {
-        return executeAsync(buildRequest(document, null, operationName).toJsonObject(), null);
+        return executeAsync(buildRequest(document, null, operationName), null);
     }
 
     public Uni<Response> executeAsync(Document document, String operationName, MultiMap headers) {
-        return executeAsync(buildRequest(document, null, operationName).toJsonObject(), headers);
+        return executeAsync(buildRequest(document, null, operationName), headers);
     }
 
     @Override
@@ -258,58 +257,55 @@ public class VertxDynamicGraphQLClient implements DynamicGraphQLClient {
 
     public Uni<Response> executeAsync(Document document, Map<String, Object> variables, String operationName,
             MultiMap headers) {
-        return executeAsync(buildRequest(document, variables, operationName).toJsonObject(), headers);
+        return executeAsync(buildRequest(document, variables, operationName), headers);
     }
 
     @Override
     public Uni<Response> executeAsync(Request request) {
-        return executeAsync(request.toJsonObject(), null);
-    }
-
-    public Uni<Response> executeAsync(Request request, MultiMap headers) {
-        return executeAsync(request.toJsonObject(), headers);
+        return executeAsync(request, null);
     }
 
     @Override
     public Uni<Response> executeAsync(String query) {
-        return executeAsync(buildRequest(query, null, null).toJsonObject(), null);
+        return executeAsync(buildRequest(query, null, null), null);
     }
 
     public Uni<Response> executeAsync(String query, MultiMap headers) {
-        return executeAsync(buildRequest(query, null, null).toJsonObject(), headers);
+        return executeAsync(buildRequest(query, null, null), headers);
     }
 
     @Override
     public Uni<Response> executeAsync(String query, Map<String, Object> variables) {
-        return executeAsync(buildRequest(query, variables, null).toJsonObject(), null);
+        return executeAsync(buildRequest(query, variables, null), null);
     }
 
     public Uni<Response> executeAsync(String query, Map<String, Object> variables, MultiMap headers) {
-        return executeAsync(buildRequest(query, variables, null).toJsonObject(), headers);
+        return executeAsync(buildRequest(query, variables, null), headers);
     }
 
     @Override
     public Uni<Response> executeAsync(String query, String operationName) {
-        return executeAsync(buildRequest(query, null, operationName).toJsonObject(), null);
+        return executeAsync(buildRequest(query, null, operationName), null);
     }
 
     public Uni<Response> executeAsync(String query, String operationName, MultiMap headers) {
-        return executeAsync(buildRequest(query, null, operationName).toJsonObject(), headers);
+        return executeAsync(buildRequest(query, null, operationName), headers);
     }
 
     @Override
     public Uni<Response> executeAsync(String query, Map<String, Object> variables, String operationName) {
-        return executeAsync(buildRequest(query, variables, operationName).toJsonObject(), null);
+        return executeAsync(buildRequest(query, variables, operationName), null);
     }
 
     public Uni<Response> executeAsync(String query, Map<String, Object> variables, String operationName, MultiMap headers) {
-        return executeAsync(buildRequest(query, variables, operationName).toJsonObject(), headers);
+        return executeAsync(buildRequest(query, variables, operationName), headers);
     }
 
-    private Uni<Response> executeAsync(JsonObject json, MultiMap additionalHeaders) {
+    public Uni<Response> executeAsync(Request request, MultiMap additionalHeaders) {
         if (executeSingleOperationsOverWebsocket) {
-            return executeSingleResultOperationOverWebsocket(json);
+            return executeSingleResultOperationOverWebsocket(request.toJsonObject());
         } else {
+            Buffer body = toBuffer(request);
             MultiMap allHeaders = new HeadersMultiMap().addAll(this.headers);
             if (additionalHeaders != null) {
                 allHeaders.addAll(additionalHeaders);
@@ -322,11 +318,11 @@ public class VertxDynamicGraphQLClient implements DynamicGraphQLClient {
                 }).replaceWithVoid());
             }
             if (unis.isEmpty()) {
-                return executeSingleResultOperationOverHttp(json, allHeaders);
+                return executeSingleResultOperationOverHttp(body, allHeaders);
             } else {
                 return Uni.combine().all().unis(unis)
                         .combinedWith(f -> f).onItem()
-                        .transformToUni(f -> executeSingleResultOperationOverHttp(json, allHeaders));
+                        .transformToUni(f -> executeSingleResultOperationOverHttp(body, allHeaders));
             }
         }
     }
@@ -442,11 +438,21 @@ public class VertxDynamicGraphQLClient implements DynamicGraphQLClient {
         });
     }
 
-    private Uni<Response> executeSingleResultOperationOverHttp(JsonObject json, MultiMap allHeaders) {
+    // the request is written straight to the buffer that is sent, without a JSON tree or a string in between
+    private static Buffer toBuffer(Request request) {
+        if (request instanceof RequestImpl) {
+            Buffer buffer = Buffer.buffer(256);
+            ((RequestImpl) request).writeTo(new BufferOutputStream(buffer));
+            return buffer;
+        }
+        return Buffer.buffer(request.toJson());
+    }
+
+    private Uni<Response> executeSingleResultOperationOverHttp(Buffer body, MultiMap allHeaders) {
         return Uni.createFrom().completionStage(
                 url.get().subscribeAsCompletionStage().thenCompose(instanceUrl -> webClient.postAbs(instanceUrl)
                         .putHeaders(allHeaders)
-                        .sendBuffer(Buffer.buffer(json.toString()))
+                        .sendBuffer(body)
                         .toCompletionStage()))
                 .map(response -> ResponseReader.readFrom(response.bodyAsString(),
                         convertHeaders(response.headers()), response.statusCode(), response.statusMessage(),
@@ -0,0 +1,291 @@
+package io.smallrye.graphql.client.vertx.typesafe;
+
+import static java.util.stream.Collectors.toList;
+
+import java.io.StringReader;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonException;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonReaderFactory;
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+import jakarta.json.stream.JsonParserFactory;
+
+import org.jboss.logging.Logger;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.client.HttpResponse;
+
+/**
+ * Collects the HTTP requests of the asynchronous queries of a typesafe client for a short time, and sends them to the
+ * server as one batch: a JSON array of the requests, that the server answers with the array of their responses. A batch
+ * is sent when its window is over, or as soon as it is full.
+ * <p>
+ * Only requests with the same headers go into the same batch. Identical requests in a batch are sent only once, and
+ * all of their callers get the response. A batch with a single request is sent as a normal request.
+ * <p>
+ * A caller that cancels its response before the batch is sent is taken out of the batch, and so is its request once
+ * no caller waits for it.
+ */
+class RequestBatcher {
+
+    private static final Logger log = Logger.getLogger(RequestBatcher.class);
+
+    private static final JsonParserFactory jsonParserFactory = Json.createParserFactory(null);
+    private static final JsonReaderFactory jsonReaderFactory = Json.createReaderFactory(null);
+
+    private final Vertx vertx;
+    private final long window;
+    private final int maxSize;
+    private final BiFunction<Buffer, MultiMap, CompletionStage<HttpResponse<Buffer>>> post;
+
+    // the batches that are not sent yet, by their headers; guarded by this
+    private final Map<List<Map.Entry<String, String>>, Batch> pending = new HashMap<>();
+
+    /**
+     * @param window the time in milliseconds that a batch collects requests
+     * @param maxSize the maximum number of different requests in a batch
+     * @param post sends a request with the headers
+     */
+    RequestBatcher(Vertx vertx, long window, int maxSize,
+            BiFunction<Buffer, MultiMap, CompletionStage<HttpResponse<Buffer>>> post) {
+        this.vertx = vertx;
+        this.window = window;
+        this.maxSize = maxSize;
+        this.post = post;
+    }
+
+    /**
+     * Add the request to the pending batch for the headers, or to a new one
+     *
+     * @return the response to the request, cancelling it before the batch is sent takes the caller out of the batch
+     */
+    CompletionStage<Response> add(Buffer request, MultiMap headers) {
+        List<Map.Entry<String, String>> key = headers.entries().stream()
+                .map(entry -> new SimpleImmutableEntry<>(entry.getKey(), entry.getValue()))
+                .collect(toList());
+        Batch batch;
+        Request batched;
+        Batch full = null;
+        synchronized (this) {
+            batch = pending.get(key);
+            if (batch == null) {
+                Batch created = new Batch(headers);
+                created.timer = vertx.setTimer(window, id -> flush(key, created));
+                pending.put(key, created);
+                batch = created;
+            }
+            batched = batch.requests.computeIfAbsent(request, r -> new Request());
+            batched.callers++;
+            if (batch.requests.size() >= maxSize) {
+                pending.remove(key);
+                vertx.cancelTimer(batch.timer);
+                full = batch;
+            }
+        }
+        // every caller gets its own future, so one that is cancelled does not cancel the response of the others
+        CompletableFuture<Response> response = new CompletableFuture<>();
+        batched.response.whenComplete((result, failure) -> {
+            if (failure != null) {
+                response.completeExceptionally(failure);
+            } else {
+                response.complete(result);
+            }
+        });
+        Batch addedTo = batch;
+        response.whenComplete((result, failure) -> {
+            if (response.isCancelled()) {
+                cancel(key, addedTo, request);
+            }
+        });
+        if (full != null) {
+            send(full);
+        }
+        return response;
+    }
+
+    private synchronized void cancel(List<Map.Entry<String, String>> key, Batch batch, Buffer request) {
+        // once the batch is sent, the request is on its way
+        if (pending.get(key) != batch) {
+            return;
+        }
+        Request batched = batch.requests.get(request);
+        if (batched != null && --batched.callers == 0) {
+            batch.requests.remove(request);
+            if (batch.requests.isEmpty()) {
+                pending.remove(key);
+                vertx.cancelTimer(batch.timer);
+            }
+        }
+    }
+
+    private void flush(List<Map.Entry<String, String>> key, Batch batch) {
+        synchronized (this) {
+            // the batch may have been sent already, because it was full
+            if (!pending.remove(key, batch)) {
+                return;
+            }
+        }
+        send(batch);
+    }
+
+    private void send(Batch batch) {
+        List<Buffer> requests = new ArrayList<>(batch.requests.keySet());
+        List<CompletableFuture<Response>> callers = batch.requests.values().stream()
+                .map(request -> request.response)
+                .collect(toList());
+        if (requests.size() == 1) {
+            post.apply(requests.get(0), batch.headers).whenComplete((response, failure) -> {
+                if (failure != null) {
+                    callers.get(0).completeExceptionally(failure);
+                } else {
+                    callers.get(0).complete(new Response(response.bodyAsString(), response));
+                }
+            });
+            return;
+        }
+        Buffer body = Buffer.buffer(requests.stream().mapToInt(Buffer::length).sum() + requests.size() + 1);
+        body.appendByte((byte) '[');
+        for (int i = 0; i < requests.size(); i++) {
+            if (i > 0) {
+                body.appendByte((byte) ',');
+            }
+            body.appendBuffer(requests.get(i));
+        }
+        body.appendByte((byte) ']');
+        if (log.isTraceEnabled()) {
+            log.tracef("batch of %d graphql requests", requests.size());
+        }
+        post.apply(body, batch.headers).whenComplete((response, failure) -> {
+            if (failure != null) {
+                callers.forEach(caller -> caller.completeExceptionally(failure));
+                return;
+            }
+            String responseBody = response.bodyAsString();
+            // anything but the array of responses, e.g. an error of the server, is the response to every request
+            List<String> split = split(responseBody, callers.size());
+            for (int i = 0; i < callers.size(); i++) {
+                callers.get(i).complete(new Response(split == null ? responseBody : split.get(i), response));
+            }
+        });
+    }
+
+    /**
+     * Fail the requests that are not sent yet
+     */
+    void close() {
+        List<Batch> batches;
+        synchronized (this) {
+            batches = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+        for (Batch batch : batches) {
+            vertx.cancelTimer(batch.timer);
+            batch.requests.values().forEach(request -> request.response
+                    .completeExceptionally(new IllegalStateException("The client is closed")));
+        }
+    }
+
+    /**
+     * Split the JSON array of responses into the responses, as they are in the body, without parsing them.
+     *
+     * @return the responses, or null if the body is not an array of this number of objects
+     */
+    static List<String> split(String body, int count) {
+        if (body == null) {
+            return null;
+        }
+        List<String> responses = new ArrayList<>(count);
+        try (JsonParser parser = jsonParserFactory.createParser(new StringReader(body))) {
+            if (!parser.hasNext() || parser.next() != Event.START_ARRAY) {
+                return null;
+            }
+            Event event;
+            while ((event = parser.next()) != Event.END_ARRAY) {
+                if (event != Event.START_OBJECT) {
+                    return null;
+                }
+                long start = parser.getLocation().getStreamOffset() - 1;
+                parser.skipObject();
+                long end = parser.getLocation().getStreamOffset();
+                // the offsets depend on the JSON provider
+                if (start < 0 || end > body.length() || body.charAt((int) start) != '{'
+                        || body.charAt((int) end - 1) != '}') {
+                    return splitArray(body, count);
+                }
+                responses.add(body.substring((int) start, (int) end));
+            }
+        } catch (JsonException e) {
+            return null;
+        }
+        return responses.size() == count ? responses : null;
+    }
+
+    private static List<String> splitArray(String body, int count) {
+        try (JsonReader reader = jsonReaderFactory.createReader(new StringReader(body))) {
+            JsonArray array = reader.readArray();
+            if (array.size() != count) {
+                return null;
+            }
+            return array.stream().map(JsonValue::toString).collect(toList());
+        }
+    }
+
+    private static class Batch {
+        private final MultiMap headers;
+        // each different request, in the order of the requests
+        private final Map<Buffer, Request> requests = new LinkedHashMap<>();
+        private long timer;
+
+        Batch(MultiMap headers) {
+            this.headers = headers;
+        }
+    }
+
+    private static class Request {
+        private final CompletableFuture<Response> response = new CompletableFuture<>();
+        // the callers waiting for the response; guarded by the batcher
+        private int callers;
+    }
+
+    /**
+     * The response to one request of a batch
+     */
+    static class Response {
+        private final String body;
+        private final int statusCode;
+        private final String statusMessage;
+
+        Response(String body, HttpResponse<Buffer> response) {
+            this.body = body;
+            this.statusCode = response.statusCode();
+            this.statusMessage = response.statusMessage();
+        }
+
+        String getBody() {
+            return body;
+        }
+
+        int getStatusCode() {
+            return statusCode;
+        }
+
+        String getStatusMessage() {
+            return statusMessage;
+        }
+    }
+}
@@ -50,6 +50,8 @@ public class VertxTypesafeGraphQLClientBuilder implements TypesafeGraphQLClientB
     private HttpClient httpClient;
     private Integer websocketInitializationTimeout;
     private Boolean allowUnexpectedResponseFields;
+    private Integer batchWindow;
+    private Integer batchMaxSize;
     private ClientModels clientModels;
 
     public VertxTypesafeGraphQLClientBuilder() {
@@ -143,6 +145,23 @@ public class VertxTypesafeGraphQLClientBuilder implements TypesafeGraphQLClientB
         return this;
     }
 
+    /**
+     * Send the asynchronous queries that are invoked within this number of milliseconds to the server in one batch.
+     * Batching is off if this is 0, which is the default.
+     */
+    public VertxTypesafeGraphQLClientBuilder batchWindow(Integer batchWindowInMilliseconds) {
+        this.batchWindow = batchWindowInMilliseconds;
+        return this;
+    }
+
+    /**
+     * The maximum number of different queries in one batch, 10 by default
+     */
+    public VertxTypesafeGraphQLClientBuilder batchMaxSize(Integer batchMaxSize) {
+        this.batchMaxSize = batchMaxSize;
+        return this;
+    }
+
     @Override
     public <T> T build(Class<T> apiClass) {
         if (this.options == null) {
@@ -174,6 +193,12 @@ public class VertxTypesafeGraphQLClientBuilder implements TypesafeGraphQLClientB
         if (dynamicHeaders == null) {
             dynamicHeaders = new HashMap<>();
         }
+        if (batchWindow == null) {
+            batchWindow = 0;
+        }
+        if (batchMaxSize == null) {
+            batchMaxSize = 10;
+        }
 
         ClientModel clientModel = null;
         if (clientModels != null) {
@@ -185,7 +210,8 @@ public class VertxTypesafeGraphQLClientBuilder implements TypesafeGraphQLClientB
                 endpoint,
                 websocketUrl, executeSingleOperationsOverWebsocket, httpClient, webClient, subprotocols,
                 websocketInitializationTimeout,
-                allowUnexpectedResponseFields);
+                allowUnexpectedResponseFields,
+                vertx(), batchWindow, batchMaxSize);
 
         return apiClass.cast(Proxy.newProxyInstance(getClassLoader(apiClass), new Class<?>[] { apiClass },
                 (proxy, method, args) -> invoke(graphQLClient, method, args)));
@@ -266,6 +292,12 @@ public class VertxTypesafeGraphQLClientBuilder implements TypesafeGraphQLClientB
         if (allowUnexpectedResponseFields == null && configuration.getAllowUnexpectedResponseFields() != null) {
             this.allowUnexpectedResponseFields = configuration.getAllowUnexpectedResponseFields();
         }
+        if (batchWindow == null && configuration.getBatchWindow() != null) {
+            this.batchWindow = configuration.getBatchWindow();
+        }
+        if (batchMaxSize == null && configuration.getBatchMaxSize() != null) {
+            this.batchMaxSize = configuration.getBatchMaxSize();
+        }
 
         if (configuration.getWebsocketSubprotocols() != null) {
             configuration.getWebsocketSubprotocols().forEach(protocol -> {
@@ -3,10 +3,12 @@ package io.smallrye.graphql.client.vertx.typesafe;
 import static java.util.stream.Collectors.*;
 import static java.util.stream.Collectors.toList;
 
+import java.io.ByteArrayInputStream;
 import java.lang.reflect.Array;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
@@ -25,16 +27,16 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 import jakarta.json.Json;
-import jakarta.json.JsonArray;
-import jakarta.json.JsonArrayBuilder;
-import jakarta.json.JsonBuilderFactory;
 import jakarta.json.JsonObject;
-import jakarta.json.JsonObjectBuilder;
-import jakarta.json.JsonValue;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonReaderFactory;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
 
 import org.jboss.logging.Logger;
 
 import io.smallrye.graphql.client.InvalidResponseException;
+import io.smallrye.graphql.client.core.OperationType;
 import io.smallrye.graphql.client.impl.discovery.ServiceURLSupplier;
 import io.smallrye.graphql.client.impl.discovery.StaticURLSupplier;
 import io.smallrye.graphql.client.impl.discovery.StorkServiceURLSupplier;
@@ -45,6 +47,7 @@ import io.smallrye.graphql.client.impl.typesafe.reflection.FieldInfo;
 import io.smallrye.graphql.client.impl.typesafe.reflection.MethodInvocation;
 import io.smallrye.graphql.client.impl.typesafe.reflection.TypeInfo;
 import io.smallrye.graphql.client.model.ClientModel;
+import io.smallrye.graphql.client.vertx.BufferOutputStream;
 import io.smallrye.graphql.client.vertx.websocket.BuiltinWebsocketSubprotocolHandlers;
 import io.smallrye.graphql.client.vertx.websocket.WebSocketSubprotocolHandler;
 import io.smallrye.graphql.client.websocket.WebsocketSubprotocol;
@@ -52,6 +55,7 @@ import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.WebSocket;
@@ -64,7 +68,8 @@ class VertxTypesafeGraphQLClientProxy {
 
     private static final Logger log = Logger.getLogger(VertxTypesafeGraphQLClientProxy.class);
 
-    private static final JsonBuilderFactory jsonObjectFactory = Json.createBuilderFactory(null);
+    private static final JsonGeneratorFactory jsonGeneratorFactory = Json.createGeneratorFactory(null);
+    private static final JsonReaderFactory jsonReaderFactory = Json.createReaderFactory(null);
 
     private final ConcurrentMap<String, String> queryCache = new ConcurrentHashMap<>();
 
@@ -81,6 +86,8 @@ class VertxTypesafeGraphQLClientProxy {
     private final ClientModel clientModel;
     private final boolean executeSingleOperationsOverWebsocket;
     private final boolean allowUnexpectedResponseFields;
+    // null if asynchronous queries are not batched
+    private final RequestBatcher batcher;
 
     // Do NOT use this field directly, always retrieve by calling `webSocketHandler()`.
     // When a websocket connection is required, then this is populated with a Uni
@@ -104,7 +111,10 @@ class VertxTypesafeGraphQLClientProxy {
             WebClient webClient,
             List<WebsocketSubprotocol> subprotocols,
             Integer subscriptionInitializationTimeout,
-            boolean allowUnexpectedResponseFields) {
+            boolean allowUnexpectedResponseFields,
+            Vertx vertx,
+            int batchWindow,
+            int batchMaxSize) {
         this.api = api;
         this.clientModel = clientModel;
         this.additionalHeaders = additionalHeaders;
@@ -134,6 +144,7 @@ class VertxTypesafeGraphQLClientProxy {
         this.subprotocols = subprotocols;
         this.subscriptionInitializationTimeout = subscriptionInitializationTimeout;
         this.allowUnexpectedResponseFields = allowUnexpectedResponseFields;
+        this.batcher = batchWindow > 0 ? new RequestBatcher(vertx, batchWindow, batchMaxSize, this::postAsync) : null;
     }
 
     Object invoke(MethodInvocation method) {
@@ -143,33 +154,33 @@ class VertxTypesafeGraphQLClientProxy {
 
         MultiMap headers = HeadersMultiMap.headers()
                 .addAll(new HeaderBuilder(api, method, additionalHeaders).build());
-        JsonObject request = request(method);
+        Buffer request = request(method);
 
         if (method.getReturnType().isUni()) {
             if (executeSingleOperationsOverWebsocket) {
-                return executeSingleResultOperationOverWebsocket(method, request);
+                return executeSingleResultOperationOverWebsocket(method, toJsonObject(request));
             } else {
                 return executeSingleResultOperationOverHttpAsync(method, request, headers);
             }
         } else if (method.getReturnType().isMulti()) {
-            return executeSubscriptionOverWebsocket(method, request);
+            return executeSubscriptionOverWebsocket(method, toJsonObject(request));
         } else {
             if (executeSingleOperationsOverWebsocket) {
-                return executeSingleResultOperationOverWebsocket(method, request).await().indefinitely();
+                return executeSingleResultOperationOverWebsocket(method, toJsonObject(request)).await().indefinitely();
             } else {
                 return executeSingleResultOperationOverHttpSync(method, request, headers);
             }
         }
     }
 
-    private Object executeSingleResultOperationOverHttpSync(MethodInvocation method, JsonObject request, MultiMap headers) {
+    private Object executeSingleResultOperationOverHttpSync(MethodInvocation method, Buffer request, MultiMap headers) {
         MultiMap allHeaders = new HeadersMultiMap();
         allHeaders.addAll(headers);
         // obtain values of dynamic headers and add them to the request
         for (Map.Entry<String, Uni<String>> dynamicHeaderEntry : dynamicHeaders.entrySet()) {
             allHeaders.add(dynamicHeaderEntry.getKey(), dynamicHeaderEntry.getValue().await().indefinitely());
         }
-        HttpResponse<Buffer> response = postSync(request.toString(), allHeaders);
+        HttpResponse<Buffer> response = postSync(request, allHeaders);
         if (log.isTraceEnabled() && response != null) {
             log.tracef("response graphql: %s", response.bodyAsString());
         }
@@ -178,7 +189,7 @@ class VertxTypesafeGraphQLClientProxy {
                 allowUnexpectedResponseFields).read();
     }
 
-    private Uni<Object> executeSingleResultOperationOverHttpAsync(MethodInvocation method, JsonObject request,
+    private Uni<Object> executeSingleResultOperationOverHttpAsync(MethodInvocation method, Buffer request,
             MultiMap headers) {
         List<Uni<Void>> unis = new ArrayList<>();
         MultiMap allHeaders = new HeadersMultiMap();
@@ -190,20 +201,27 @@ class VertxTypesafeGraphQLClientProxy {
             }).replaceWithVoid());
         }
         if (unis.isEmpty()) {
-            return Uni.createFrom().completionStage(postAsync(request.toString(), allHeaders))
-                    .map(response -> new ResultBuilder(method, response.bodyAsString(),
-                            response.statusCode(), response.statusMessage(), convertHeaders(allHeaders),
-                            allowUnexpectedResponseFields).read());
+            return postAsync(method, request, allHeaders);
         } else {
             // when all dynamic headers have been obtained, proceed with the request
             return Uni.combine().all().unis(unis)
                     .combinedWith(f -> f)
-                    .onItem().transformToUni(g -> Uni.createFrom()
-                            .completionStage(postAsync(request.toString(), allHeaders))
-                            .map(response -> new ResultBuilder(method, response.bodyAsString(),
-                                    response.statusCode(), response.statusMessage(), convertHeaders(allHeaders),
-                                    allowUnexpectedResponseFields).read()));
+                    .onItem().transformToUni(g -> postAsync(method, request, allHeaders));
+        }
+    }
+
+    private Uni<Object> postAsync(MethodInvocation method, Buffer request, MultiMap allHeaders) {
+        // mutations are not batched: the operations of a batch may run in any order
+        if (batcher != null && method.getOperationType() == OperationType.QUERY) {
+            return Uni.createFrom().completionStage(() -> batcher.add(request, allHeaders))
+                    .map(response -> new ResultBuilder(method, response.getBody(),
+                            response.getStatusCode(), response.getStatusMessage(), convertHeaders(allHeaders),
+                            allowUnexpectedResponseFields).read());
         }
+        return Uni.createFrom().completionStage(postAsync(request, allHeaders))
+                .map(response -> new ResultBuilder(method, response.bodyAsString(),
+                        response.statusCode(), response.statusMessage(), convertHeaders(allHeaders),
+                        allowUnexpectedResponseFields).read());
     }
 
     private Map<String, List<String>> convertHeaders(MultiMap input) {
@@ -299,121 +317,128 @@ class VertxTypesafeGraphQLClientProxy {
         });
     }
 
-    private JsonObject request(MethodInvocation method) {
-        JsonObjectBuilder request = jsonObjectFactory.createObjectBuilder();
+    // the request is written straight to the buffer that is sent, without a JSON tree or a string in between
+    private Buffer request(MethodInvocation method) {
         String query;
         if (clientModel == null) {
             query = queryCache.computeIfAbsent(method.getKey(), key -> new QueryBuilder(method).build());
         } else {
             query = clientModel.getOperationMap().get(method.getMethodKey());
         }
-        request.add("query", query);
-        request.add("variables", variables(method));
-        request.add("operationName", method.getName());
-        JsonObject result = request.build();
-        log.tracef("full graphql request: %s", result.toString());
-        return result;
+        Buffer buffer = Buffer.buffer(256);
+        try (JsonGenerator generator = jsonGeneratorFactory.createGenerator(new BufferOutputStream(buffer),
+                StandardCharsets.UTF_8)) {
+            generator.writeStartObject();
+            generator.write("query", query);
+            generator.writeStartObject("variables");
+            method.valueParameters().forEach(parameter -> {
+                generator.writeKey(parameter.getRawName());
+                writeValue(generator, parameter.getValue());
+            });
+            generator.writeEnd();
+            generator.write("operationName", method.getName());
+            generator.writeEnd();
+        }
+        if (log.isTraceEnabled()) {
+            log.tracef("full graphql request: %s", buffer.toString());
+        }
+        return buffer;
     }
 
-    private JsonObjectBuilder variables(MethodInvocation method) {
-        JsonObjectBuilder builder = jsonObjectFactory.createObjectBuilder();
-        method.valueParameters().forEach(parameter -> builder.add(parameter.getRawName(), value(parameter.getValue())));
-        return builder;
+    // the websocket subprotocols wrap the request in their own messages
+    private static JsonObject toJsonObject(Buffer request) {
+        try (JsonReader reader = jsonReaderFactory.createReader(new ByteArrayInputStream(request.getBytes()),
+                StandardCharsets.UTF_8)) {
+            return reader.readObject();
+        }
     }
 
     // TODO: the logic for serializing objects into JSON should probably be shared with server-side module
     // through a common module. Also this is not vert.x specific, another reason to move it out of this module
-    private JsonValue value(Object value) {
+    private void writeValue(JsonGenerator generator, Object value) {
         if (value == null) {
-            return JsonValue.NULL;
+            generator.writeNull();
+            return;
         }
         TypeInfo type = TypeInfo.of(value.getClass());
         if (type.isScalar()) {
-            return scalarValue(value);
-        }
-        if (type.isCollection()) {
-            return arrayValue(value);
-        }
-        if (type.isMap()) {
-            return mapValue(value);
+            writeScalarValue(generator, value);
+        } else if (type.isCollection()) {
+            writeArrayValue(generator, value);
+        } else if (type.isMap()) {
+            writeMapValue(generator, value);
+        } else {
+            writeObjectValue(generator, value, type.fields());
         }
-        return objectValue(value, type.fields());
     }
 
-    private JsonValue scalarValue(Object value) {
+    private void writeScalarValue(JsonGenerator generator, Object value) {
         if (value instanceof String) {
-            return Json.createValue((String) value);
-        }
-        if (value instanceof java.sql.Date) {
-            return Json.createValue(value.toString());
-        }
-        if (value instanceof Date) {
-            return Json.createValue(((Date) value).toInstant().toString());
-        }
-        if (value instanceof Calendar) {
-            return Json.createValue(((Calendar) value).toInstant().toString());
-        }
-        if (value instanceof Enum) {
-            return Json.createValue(((Enum<?>) value).name());
-        }
-        if (value instanceof Boolean) {
-            return ((Boolean) value) ? JsonValue.TRUE : JsonValue.FALSE;
-        }
-        if (value instanceof Byte) {
-            return Json.createValue((Byte) value);
-        }
-        if (value instanceof Short) {
-            return Json.createValue((Short) value);
-        }
-        if (value instanceof Integer) {
-            return Json.createValue((Integer) value);
-        }
-        if (value instanceof Long) {
-            return Json.createValue((Long) value);
-        }
-        if (value instanceof Double) {
-            return Json.createValue((Double) value);
-        }
-        if (value instanceof Float) {
-            return Json.createValue((Float) value);
-        }
-        if (value instanceof BigInteger) {
-            return Json.createValue((BigInteger) value);
-        }
-        if (value instanceof BigDecimal) {
-            return Json.createValue((BigDecimal) value);
-        }
-        if (value instanceof OptionalInt) {
+            generator.write((String) value);
+        } else if (value instanceof java.sql.Date) {
+            generator.write(value.toString());
+        } else if (value instanceof Date) {
+            generator.write(((Date) value).toInstant().toString());
+        } else if (value instanceof Calendar) {
+            generator.write(((Calendar) value).toInstant().toString());
+        } else if (value instanceof Enum) {
+            generator.write(((Enum<?>) value).name());
+        } else if (value instanceof Boolean) {
+            generator.write((Boolean) value);
+        } else if (value instanceof Byte || value instanceof Short || value instanceof Integer) {
+            generator.write(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            generator.write((Long) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            generator.write(((Number) value).doubleValue());
+        } else if (value instanceof BigInteger) {
+            generator.write((BigInteger) value);
+        } else if (value instanceof BigDecimal) {
+            generator.write((BigDecimal) value);
+        } else if (value instanceof OptionalInt) {
             OptionalInt optionalValue = ((OptionalInt) value);
-            return ((optionalValue.isPresent()) ? Json.createValue(optionalValue.getAsInt()) : JsonValue.NULL);
-        }
-        if (value instanceof OptionalLong) {
+            if (optionalValue.isPresent()) {
+                generator.write(optionalValue.getAsInt());
+            } else {
+                generator.writeNull();
+            }
+        } else if (value instanceof OptionalLong) {
             OptionalLong optionalValue = ((OptionalLong) value);
-            return ((optionalValue.isPresent()) ? Json.createValue(optionalValue.getAsLong()) : JsonValue.NULL);
-        }
-        if (value instanceof OptionalDouble) {
+            if (optionalValue.isPresent()) {
+                generator.write(optionalValue.getAsLong());
+            } else {
+                generator.writeNull();
+            }
+        } else if (value instanceof OptionalDouble) {
             OptionalDouble optionalValue = ((OptionalDouble) value);
-            return ((optionalValue.isPresent()) ? Json.createValue(optionalValue.getAsDouble()) : JsonValue.NULL);
+            if (optionalValue.isPresent()) {
+                generator.write(optionalValue.getAsDouble());
+            } else {
+                generator.writeNull();
+            }
+        } else {
+            generator.write(value.toString());
         }
-        return Json.createValue(value.toString());
     }
 
-    private JsonArray arrayValue(Object value) {
-        JsonArrayBuilder array = jsonObjectFactory.createArrayBuilder();
-        values(value).forEach(item -> array.add(value(item)));
-        return array.build();
+    private void writeArrayValue(JsonGenerator generator, Object value) {
+        generator.writeStartArray();
+        values(value).forEach(item -> writeValue(generator, item));
+        generator.writeEnd();
     }
 
-    private JsonArray mapValue(Object value) {
+    private void writeMapValue(JsonGenerator generator, Object value) {
         Map<?, ?> map = (Map<?, ?>) value;
-        JsonArrayBuilder array = jsonObjectFactory.createArrayBuilder();
+        generator.writeStartArray();
         map.forEach((k, v) -> {
-            JsonObjectBuilder entryBuilder = jsonObjectFactory.createObjectBuilder();
-            entryBuilder.add("key", value(k));
-            entryBuilder.add("value", value(v));
-            array.add(entryBuilder.build());
+            generator.writeStartObject();
+            generator.writeKey("key");
+            writeValue(generator, k);
+            generator.writeKey("value");
+            writeValue(generator, v);
+            generator.writeEnd();
         });
-        return array.build();
+        generator.writeEnd();
     }
 
     private Collection<?> values(Object value) {
@@ -436,28 +461,30 @@ class VertxTypesafeGraphQLClientProxy {
         return out;
     }
 
-    private JsonObject objectValue(Object object, Stream<FieldInfo> fields) {
-        JsonObjectBuilder builder = jsonObjectFactory.createObjectBuilder();
+    private void writeObjectValue(JsonGenerator generator, Object object, Stream<FieldInfo> fields) {
+        generator.writeStartObject();
         fields.forEach(field -> {
-            if (field.isIncludeNull() || field.get(object) != null) {
-                builder.add(field.getName(), value(field.get(object)));
+            Object value = field.get(object);
+            if (field.isIncludeNull() || value != null) {
+                generator.writeKey(field.getName());
+                writeValue(generator, value);
             }
         });
-        return builder.build();
+        generator.writeEnd();
     }
 
-    private CompletionStage<HttpResponse<Buffer>> postAsync(String request, MultiMap headers) {
+    private CompletionStage<HttpResponse<Buffer>> postAsync(Buffer request, MultiMap headers) {
         return endpoint.get().subscribeAsCompletionStage()
                 .thenCompose(url -> webClient.postAbs(url)
                         .putHeaders(headers)
-                        .sendBuffer(Buffer.buffer(request))
+                        .sendBuffer(request)
                         .toCompletionStage());
     }
 
-    private HttpResponse<Buffer> postSync(String request, MultiMap headers) {
+    private HttpResponse<Buffer> postSync(Buffer request, MultiMap headers) {
         Future<HttpResponse<Buffer>> future = webClient.postAbs(endpoint.get().await().indefinitely())
                 .putHeaders(headers)
-                .sendBuffer(Buffer.buffer(request));
+                .sendBuffer(request);
         try {
             return future.toCompletionStage().toCompletableFuture().get();
         } catch (InterruptedException | ExecutionException e) {
@@ -466,6 +493,9 @@ class VertxTypesafeGraphQLClientProxy {
     }
 
     void close() {
+        if (batcher != null) {
+            batcher.close();
+        }
         try {
             httpClient.close();
         } catch (Throwable t) {
@@ -0,0 +1,143 @@
+package io.smallrye.graphql.client.vertx.typesafe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonStructure;
+import jakarta.json.JsonValue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.impl.headers.HeadersMultiMap;
+import io.vertx.ext.web.client.WebClient;
+
+public class RequestBatcherTest {
+
+    private static Vertx vertx;
+    private static HttpServer httpServer;
+    private static WebClient webClient;
+
+    private static final List<String> REQUESTS = new CopyOnWriteArrayList<>();
+
+    /**
+     * Start a dummy http server that answers every request with the name of its operation,
+     * and a batch with the array of these
+     */
+    @BeforeAll
+    public static void startHttpServer() throws Throwable {
+        vertx = Vertx.vertx();
+        httpServer = vertx.createHttpServer()
+                .requestHandler(request -> request.body().onSuccess(body -> {
+                    REQUESTS.add(body.toString());
+                    JsonStructure json = Json.createReader(new StringReader(body.toString())).read();
+                    String response = json.getValueType() == JsonValue.ValueType.ARRAY
+                            ? json.asJsonArray().stream().map(operation -> response(operation.asJsonObject()))
+                                    .collect(Collectors.joining(" , ", "[ ", " ]"))
+                            : response(json.asJsonObject());
+                    request.response().end(response);
+                }))
+                .listen(0)
+                .toCompletionStage().toCompletableFuture().get();
+        webClient = WebClient.create(vertx);
+    }
+
+    private static String response(JsonObject operation) {
+        return "{\"data\":{\"name\":\"" + operation.getString("operationName") + "\"}}";
+    }
+
+    @AfterAll
+    public static void stopHttpServer() throws ExecutionException, InterruptedException {
+        webClient.close();
+        httpServer.close().toCompletionStage().toCompletableFuture().get();
+        vertx.close().toCompletionStage().toCompletableFuture().get();
+    }
+
+    @Test
+    public void shouldBatchAndDeduplicateRequests() throws Exception {
+        REQUESTS.clear();
+        RequestBatcher batcher = batcher(1000, 3);
+        MultiMap headers = HeadersMultiMap.headers().add("h", "1");
+
+        CompletableFuture<RequestBatcher.Response> a = batcher.add(request("a"), headers).toCompletableFuture();
+        CompletableFuture<RequestBatcher.Response> b = batcher.add(request("b"), headers).toCompletableFuture();
+        CompletableFuture<RequestBatcher.Response> sameA = batcher.add(request("a"), headers).toCompletableFuture();
+        CompletableFuture<RequestBatcher.Response> c = batcher.add(request("c"), headers).toCompletableFuture();
+
+        assertEquals("{\"data\":{\"name\":\"a\"}}", a.get().getBody());
+        assertEquals("{\"data\":{\"name\":\"b\"}}", b.get().getBody());
+        assertSame(a.get(), sameA.get());
+        assertEquals("{\"data\":{\"name\":\"c\"}}", c.get().getBody());
+        assertEquals(200, c.get().getStatusCode());
+        assertEquals(1, REQUESTS.size());
+        assertEquals("[" + request("a") + "," + request("b") + "," + request("c") + "]", REQUESTS.get(0));
+    }
+
+    @Test
+    public void shouldSendSingleRequestAfterWindow() throws Exception {
+        REQUESTS.clear();
+        RequestBatcher batcher = batcher(10, 10);
+
+        RequestBatcher.Response one = batcher.add(request("one"), HeadersMultiMap.headers().add("h", "1"))
+                .toCompletableFuture().get();
+        RequestBatcher.Response other = batcher.add(request("other"), HeadersMultiMap.headers().add("h", "2"))
+                .toCompletableFuture().get();
+
+        assertEquals("{\"data\":{\"name\":\"one\"}}", one.getBody());
+        assertEquals("{\"data\":{\"name\":\"other\"}}", other.getBody());
+        assertEquals(List.of(request("one").toString(), request("other").toString()), REQUESTS);
+    }
+
+    @Test
+    public void shouldRemoveCancelledCallers() throws Exception {
+        REQUESTS.clear();
+        RequestBatcher batcher = batcher(100, 10);
+        MultiMap headers = HeadersMultiMap.headers().add("h", "1");
+
+        CompletableFuture<RequestBatcher.Response> a = batcher.add(request("a"), headers).toCompletableFuture();
+        CompletableFuture<RequestBatcher.Response> b = batcher.add(request("b"), headers).toCompletableFuture();
+        CompletableFuture<RequestBatcher.Response> sameB = batcher.add(request("b"), headers).toCompletableFuture();
+        a.cancel(false);
+        sameB.cancel(false);
+
+        assertEquals("{\"data\":{\"name\":\"b\"}}", b.get().getBody());
+        // a has no caller left, b still has one
+        assertEquals(List.of(request("b").toString()), REQUESTS);
+    }
+
+    @Test
+    public void shouldSplitOnlyArrayOfResponses() {
+        assertEquals(List.of("{\"a\":[\"}\"]}", "{}"), RequestBatcher.split(" [{\"a\":[\"}\"]}, {} ]", 2));
+        assertNull(RequestBatcher.split("[{},{}]", 3));
+        assertNull(RequestBatcher.split("[{},1]", 2));
+        assertNull(RequestBatcher.split("{\"errors\":[]}", 1));
+        assertNull(RequestBatcher.split("Bad Request", 1));
+        assertNull(RequestBatcher.split(null, 1));
+    }
+
+    private static RequestBatcher batcher(long window, int maxSize) {
+        String url = "http://localhost:" + httpServer.actualPort();
+        return new RequestBatcher(vertx, window, maxSize,
+                (request, headers) -> webClient.postAbs(url).putHeaders(headers).sendBuffer(request).toCompletionStage());
+    }
+
+    private static Buffer request(String operationName) {
+        return Buffer.buffer("{\"query\":\"query " + operationName + " { name }\",\"variables\":{},\"operationName\":\""
+                + operationName + "\"}");
+    }
+}
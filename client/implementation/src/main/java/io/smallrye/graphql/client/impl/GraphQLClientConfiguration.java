@@ -113,6 +113,17 @@ public class GraphQLClientConfiguration {
      */
     private Boolean allowUnexpectedResponseFields;
 
+    /**
+     * Time in milliseconds that the typesafe client waits to collect asynchronous operations into one batch request.
+     * Batching is off if this is not set or 0.
+     */
+    private Integer batchWindow;
+
+    /**
+     * Maximum number of operations in one batch request. The batch is sent as soon as it is full.
+     */
+    private Integer batchMaxSize;
+
     public String getUrl() {
         return url;
     }
@@ -273,6 +284,22 @@ public class GraphQLClientConfiguration {
         this.allowUnexpectedResponseFields = allowUnexpectedResponseFields;
     }
 
+    public Integer getBatchWindow() {
+        return batchWindow;
+    }
+
+    public void setBatchWindow(Integer batchWindow) {
+        this.batchWindow = batchWindow;
+    }
+
+    public Integer getBatchMaxSize() {
+        return batchMaxSize;
+    }
+
+    public void setBatchMaxSize(Integer batchMaxSize) {
+        this.batchMaxSize = batchMaxSize;
+    }
+
     /**
      * Merge the `other` configuration into this one. Values in `other` take precedence.
      * This method has to be idempotent because it can be called multiple times to allow for changes in configuration.
@@ -350,6 +377,12 @@ public class GraphQLClientConfiguration {
         if (other.allowUnexpectedResponseFields != null) {
             this.allowUnexpectedResponseFields = other.allowUnexpectedResponseFields;
         }
+        if (other.batchWindow != null) {
+            this.batchWindow = other.batchWindow;
+        }
+        if (other.batchMaxSize != null) {
+            this.batchMaxSize = other.batchMaxSize;
+        }
         return this;
     }
 }
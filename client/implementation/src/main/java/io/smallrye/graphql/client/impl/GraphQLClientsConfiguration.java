@@ -126,6 +126,10 @@ public class GraphQLClientsConfiguration {
                 .ifPresent(configuration::setExecuteSingleOperationsOverWebsocket);
         mpConfig.getOptionalValue(clientName + "/mp-graphql/allowUnexpectedResponseFields", Boolean.class)
                 .ifPresent(configuration::setAllowUnexpectedResponseFields);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/batchWindow", Integer.class)
+                .ifPresent(configuration::setBatchWindow);
+        mpConfig.getOptionalValue(clientName + "/mp-graphql/batchMaxSize", Integer.class)
+                .ifPresent(configuration::setBatchMaxSize);
         return configuration;
     }
 
@@ -1,5 +1,8 @@
 package io.smallrye.graphql.client.impl;
 
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -8,18 +11,16 @@ import jakarta.json.Json;
 import jakarta.json.JsonBuilderFactory;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonObjectBuilder;
-import jakarta.json.JsonStructure;
 import jakarta.json.JsonValue;
-import jakarta.json.bind.Jsonb;
-import jakarta.json.bind.JsonbBuilder;
-
-import org.eclipse.yasson.internal.JsonBinding;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
 
 import io.smallrye.graphql.client.Request;
 
 public class RequestImpl implements Request {
 
     private static final JsonBuilderFactory jsonBuilderFactory = Json.createBuilderFactory(null);
+    private static final JsonGeneratorFactory jsonGeneratorFactory = Json.createGeneratorFactory(null);
 
     private final String document;
     private Map<String, Object> variables;
@@ -32,14 +33,54 @@ public class RequestImpl implements Request {
 
     @Override
     public String toJson() {
-        JsonObjectBuilder queryBuilder = jsonBuilderFactory.createObjectBuilder().add("query", document);
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = jsonGeneratorFactory.createGenerator(writer)) {
+            writeTo(generator);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes the request as JSON in UTF-8, without building the JSON in memory first.
+     * The complex variables are serialized directly to the stream with the {@link SharedJsonb}.
+     *
+     * @param out the stream to write to, closed when the request is written
+     */
+    public void writeTo(OutputStream out) {
+        try (JsonGenerator generator = jsonGeneratorFactory.createGenerator(out, StandardCharsets.UTF_8)) {
+            writeTo(generator);
+        }
+    }
+
+    private void writeTo(JsonGenerator generator) {
+        generator.writeStartObject().write("query", document);
         if (!variables.isEmpty()) {
-            queryBuilder.add("variables", _formatJsonVariables());
+            generator.writeStartObject("variables");
+            variables.forEach((k, v) -> {
+                // Other types to process here
+                if (v instanceof String) {
+                    generator.write(k, (String) v);
+                } else if (v instanceof Integer) {
+                    generator.write(k, (Integer) v);
+                } else if (v instanceof JsonValue) {
+                    generator.write(k, (JsonValue) v);
+                } else if (v instanceof Boolean) {
+                    generator.write(k, (Boolean) v);
+                } else if (v instanceof Long) {
+                    generator.write(k, (Long) v);
+                } else if (v == null) {
+                    generator.writeNull(k);
+                } else {
+                    generator.writeKey(k);
+                    SharedJsonb.get().toJson(v, generator);
+                }
+            });
+            generator.writeEnd();
         }
         if (operationName != null && !operationName.isEmpty()) {
-            queryBuilder.add("operationName", operationName);
+            generator.write("operationName", operationName);
         }
-        return queryBuilder.build().toString();
+        generator.writeEnd();
     }
 
     @Override
@@ -72,11 +113,7 @@ public class RequestImpl implements Request {
             } else if (v == null) {
                 varBuilder.addNull(k);
             } else {
-                try (Jsonb jsonb = JsonbBuilder.create()) {
-                    JsonStructure struct = ((JsonBinding) jsonb).toJsonStructure(v);
-                    varBuilder.add(k, struct);
-                } catch (Exception ignore) {
-                }
+                varBuilder.add(k, SharedJsonb.get().toJsonStructure(v));
             }
         });
 
@@ -0,0 +1,23 @@
+package io.smallrye.graphql.client.impl;
+
+import jakarta.json.bind.JsonbBuilder;
+
+import org.eclipse.yasson.YassonJsonb;
+
+/**
+ * The Jsonb that the clients serialize variables with. Creating a Jsonb is expensive, and it caches the serializers for
+ * the types it has seen, so there is only one, created when it is first needed. It is thread-safe and never closed.
+ */
+public final class SharedJsonb {
+
+    private SharedJsonb() {
+    }
+
+    public static YassonJsonb get() {
+        return Holder.JSONB;
+    }
+
+    private static final class Holder {
+        private static final YassonJsonb JSONB = (YassonJsonb) JsonbBuilder.create();
+    }
+}
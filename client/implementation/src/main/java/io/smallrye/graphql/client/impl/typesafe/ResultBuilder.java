@@ -23,6 +23,7 @@ import io.smallrye.graphql.client.InvalidResponseException;
 import io.smallrye.graphql.client.impl.ResponseReader;
 import io.smallrye.graphql.client.impl.typesafe.json.JsonReader;
 import io.smallrye.graphql.client.impl.typesafe.json.JsonUtils;
+import io.smallrye.graphql.client.impl.typesafe.json.ResponseStreamReader;
 import io.smallrye.graphql.client.impl.typesafe.reflection.MethodInvocation;
 import io.smallrye.graphql.client.typesafe.api.ErrorOr;
 import io.smallrye.graphql.client.typesafe.api.TypesafeResponse;
@@ -31,10 +32,11 @@ public class ResultBuilder {
     private static final JsonBuilderFactory jsonBuilderFactory = Json.createBuilderFactory(null);
 
     private final MethodInvocation method;
-    private final JsonObject response;
     private final String responseString;
     private final Integer statusCode;
     private final String statusMessage;
+    private final boolean allowUnexpectedResponseFields;
+    private JsonObject response;
     private JsonObject data;
     private JsonObject extensions;
     private Map<String, List<String>> transportMeta;
@@ -54,10 +56,15 @@ public class ResultBuilder {
         this.statusMessage = statusMessage;
         this.responseString = responseString;
         this.transportMeta = transportMeta;
-        this.response = ResponseReader.parseGraphQLResponse(responseString, allowUnexpectedResponseFields);
+        this.allowUnexpectedResponseFields = allowUnexpectedResponseFields;
     }
 
     public Object read() {
+        Object result = ResponseStreamReader.of(method).read(responseString, transportMeta);
+        if (result != ResponseStreamReader.NOT_READ)
+            return result;
+        // errors, or a response that is not valid
+        response = ResponseReader.parseGraphQLResponse(responseString, allowUnexpectedResponseFields);
         if (response == null) {
             throw new InvalidResponseException(
                     "Unexpected response. Code=" + statusCode + ", message=\"" + statusMessage + "\", " +
@@ -68,7 +75,6 @@ public class ResultBuilder {
         if (data == null)
             return null;
         JsonValue value = method.isSingle() ? data.get(method.getName()) : data;
-        Object result;
         if (method.getReturnType().isTypesafeResponse()) {
             extensions = readExtensions();
             result = JsonReader.readJsonTypesafeResponse(
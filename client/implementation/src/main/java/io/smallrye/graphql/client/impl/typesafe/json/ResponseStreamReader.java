@@ -0,0 +1,136 @@
+package io.smallrye.graphql.client.impl.typesafe.json;
+
+import java.io.StringReader;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+import jakarta.json.stream.JsonParserFactory;
+
+import io.smallrye.graphql.client.impl.typesafe.reflection.MethodInvocation;
+import io.smallrye.graphql.client.impl.typesafe.reflection.TypeInfo;
+import io.smallrye.graphql.client.typesafe.api.TypesafeResponse;
+
+/**
+ * Reads the response to a method of a typesafe client while it is parsed, binding the data directly into the return
+ * type of the method. There is one reader per method, with the {@link StreamReader}s for its return type.
+ * <p>
+ * This only reads responses without errors, as errors may have to be applied to
+ * {@link io.smallrye.graphql.client.typesafe.api.ErrorOr} fields. For these, and for anything it can't read, e.g. an
+ * invalid response, it returns {@link #NOT_READ}, and the response has to be read as a whole.
+ */
+public class ResponseStreamReader {
+    public static final Object NOT_READ = new Object();
+
+    private static final JsonParserFactory jsonParserFactory = Json.createParserFactory(null);
+
+    private static final ClassValue<ConcurrentMap<Method, ResponseStreamReader>> READERS = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<Method, ResponseStreamReader> computeValue(Class<?> api) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    public static ResponseStreamReader of(MethodInvocation method) {
+        Method key = method.getMethod();
+        return READERS.get(key.getDeclaringClass()).computeIfAbsent(key, k -> new ResponseStreamReader(method));
+    }
+
+    private final String name;
+    private final boolean single;
+    private final boolean typesafeResponse;
+    private final StreamReader value;
+
+    private ResponseStreamReader(MethodInvocation method) {
+        TypeInfo returnType = method.getReturnType();
+        this.name = method.getName();
+        this.single = method.isSingle();
+        this.typesafeResponse = returnType.isTypesafeResponse();
+        this.value = StreamReader.of(typesafeResponse ? returnType.getItemType() : returnType, null);
+    }
+
+    /**
+     * @param response the JSON response, can be null
+     * @param transportMeta the transport metadata for a {@link TypesafeResponse}
+     * @return the result of the method, or {@link #NOT_READ}
+     */
+    public Object read(String response, Map<String, List<String>> transportMeta) {
+        if (response == null)
+            return NOT_READ;
+        try (JsonParser parser = jsonParserFactory.createParser(new StringReader(response))) {
+            return read(parser, transportMeta);
+        } catch (RuntimeException e) {
+            return NOT_READ;
+        }
+    }
+
+    private Object read(JsonParser parser, Map<String, List<String>> transportMeta) {
+        if (!parser.hasNext() || parser.next() != Event.START_OBJECT)
+            return NOT_READ;
+        int keys = 0;
+        boolean withData = false;
+        Object result = null;
+        JsonObject extensions = null;
+        while (parser.next() != Event.END_OBJECT) {
+            String key = parser.getString();
+            Event event = parser.next();
+            keys++;
+            switch (key) {
+                case "data":
+                    if (withData)
+                        return NOT_READ;
+                    if (event == Event.VALUE_NULL)
+                        break;
+                    if (event != Event.START_OBJECT)
+                        return NOT_READ;
+                    withData = true;
+                    result = single ? readField(parser) : value.read(parser, event);
+                    if (result == NOT_READ)
+                        return NOT_READ;
+                    break;
+                case "errors":
+                    if (event != Event.VALUE_NULL)
+                        return NOT_READ;
+                    break;
+                case "extensions":
+                    JsonValue extensionsValue = parser.getValue();
+                    if (extensionsValue.getValueType() == JsonValue.ValueType.OBJECT) {
+                        extensions = extensionsValue.asJsonObject();
+                    } else if (extensionsValue.getValueType() != JsonValue.ValueType.NULL) {
+                        return NOT_READ;
+                    }
+                    break;
+                default:
+                    return NOT_READ;
+            }
+        }
+        if (keys == 0 || parser.hasNext())
+            return NOT_READ;
+        if (!withData)
+            return null;
+        if (typesafeResponse)
+            return TypesafeResponse.withTransportMetaAndExtensions(TypesafeResponse.of(result), transportMeta, extensions);
+        return result;
+    }
+
+    private Object readField(JsonParser parser) {
+        Object result = NOT_READ;
+        while (parser.next() != Event.END_OBJECT) {
+            boolean found = parser.getString().equals(name);
+            Event event = parser.next();
+            if (found) {
+                result = value.read(parser, event);
+            } else {
+                StreamReader.skip(parser, event);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,311 @@
+package io.smallrye.graphql.client.impl.typesafe.json;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonString;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+
+import io.smallrye.graphql.client.GraphQLError;
+import io.smallrye.graphql.client.InvalidResponseException;
+import io.smallrye.graphql.client.impl.typesafe.CollectionUtils;
+import io.smallrye.graphql.client.impl.typesafe.reflection.FieldInfo;
+import io.smallrye.graphql.client.impl.typesafe.reflection.TypeInfo;
+
+/**
+ * Reads a value of a type directly from a {@link JsonParser}, without building the JSON first.
+ * <p>
+ * The reader for a type is compiled once from its {@link TypeInfo}. The readers for the fields of an object are compiled
+ * when the object is first read, so recursive types work. Values that are less common, e.g. dates, maps or
+ * {@link io.smallrye.graphql.client.typesafe.api.ErrorOr}, are read as JSON and then by the {@link JsonReader}.
+ * <p>
+ * A reader checks what the {@link JsonReader} checks, but its exceptions don't say where the value is: the
+ * {@link ResponseStreamReader} then reads the response again with the {@link JsonReader}, for the proper exception.
+ */
+abstract class StreamReader {
+    protected final TypeInfo type;
+    protected final FieldInfo field;
+    protected final Location location;
+    // a null is invalid for primitives; the JsonReader throws the exception
+    private final boolean nullRead;
+    private final Object nullValue;
+
+    StreamReader(TypeInfo type, FieldInfo field) {
+        this.type = type;
+        this.field = field;
+        this.location = new Location(type, type.getTypeName());
+        this.nullRead = !type.isVoid() && type.isPrimitive();
+        this.nullValue = nullValue(type);
+    }
+
+    static StreamReader of(TypeInfo type, FieldInfo field) {
+        if (type.isOptional())
+            return new OptionalReader(type, field);
+        if (type.isAsync())
+            return of(type.getItemType(), field);
+        if (type.isErrorOr() || type.isTypesafeResponse() || type.isMap()
+                || GraphQLError.class.isAssignableFrom(type.getRawType()))
+            return new TreeReader(type, field);
+        if (type.isCollection())
+            return new CollectionReader(type, field);
+        if (type.isScalar())
+            return new ScalarReader(type, field);
+        return new ObjectReader(type, field);
+    }
+
+    /**
+     * @param event the event the value starts with; when this returns, the parser is at the last event of the value
+     */
+    Object read(JsonParser parser, Event event) {
+        if (event == Event.VALUE_NULL)
+            return nullRead ? readTree(parser) : nullValue;
+        return readValue(parser, event);
+    }
+
+    abstract Object readValue(JsonParser parser, Event event);
+
+    Object readTree(JsonParser parser) {
+        return JsonReader.readJson(location, type, parser.getValue(), field);
+    }
+
+    static void skip(JsonParser parser, Event event) {
+        if (event == Event.START_OBJECT) {
+            parser.skipObject();
+        } else if (event == Event.START_ARRAY) {
+            parser.skipArray();
+        }
+    }
+
+    private static Object nullValue(TypeInfo type) {
+        if (OptionalInt.class.equals(type.getRawType()))
+            return OptionalInt.empty();
+        if (OptionalLong.class.equals(type.getRawType()))
+            return OptionalLong.empty();
+        if (OptionalDouble.class.equals(type.getRawType()))
+            return OptionalDouble.empty();
+        return null;
+    }
+
+    private static class TreeReader extends StreamReader {
+        TreeReader(TypeInfo type, FieldInfo field) {
+            super(type, field);
+        }
+
+        @Override
+        Object read(JsonParser parser, Event event) {
+            return readTree(parser);
+        }
+
+        @Override
+        Object readValue(JsonParser parser, Event event) {
+            return readTree(parser);
+        }
+    }
+
+    private static class OptionalReader extends StreamReader {
+        private final StreamReader item;
+
+        OptionalReader(TypeInfo type, FieldInfo field) {
+            super(type, field);
+            this.item = of(type.getItemType(), field);
+        }
+
+        @Override
+        Object read(JsonParser parser, Event event) {
+            return Optional.ofNullable(item.read(parser, event));
+        }
+
+        @Override
+        Object readValue(JsonParser parser, Event event) {
+            return read(parser, event);
+        }
+    }
+
+    private static class ScalarReader extends StreamReader {
+        // a JSON string is the value
+        private final boolean string;
+        private final boolean bool;
+
+        ScalarReader(TypeInfo type, FieldInfo field) {
+            super(type, field);
+            Class<?> rawType = type.getRawType();
+            this.string = String.class.equals(rawType) || Object.class.equals(rawType);
+            this.bool = boolean.class.equals(rawType) || Boolean.class.equals(rawType);
+        }
+
+        @Override
+        Object readValue(JsonParser parser, Event event) {
+            switch (event) {
+                case VALUE_STRING:
+                    if (string)
+                        return parser.getString();
+                    return new JsonStringReader(type, location, (JsonString) parser.getValue(), field).read();
+                case VALUE_NUMBER:
+                    return new JsonNumberReader(type, location, (JsonNumber) parser.getValue(), field).read();
+                case VALUE_TRUE:
+                    if (bool)
+                        return Boolean.TRUE;
+                    break;
+                case VALUE_FALSE:
+                    if (bool)
+                        return Boolean.FALSE;
+                    break;
+                default:
+                    break;
+            }
+            return readTree(parser);
+        }
+    }
+
+    private static class CollectionReader extends StreamReader {
+        private final StreamReader item;
+        private final boolean itemNonNull;
+        private final Class<?> collectionType;
+        private final Class<Object> rawItemType;
+
+        @SuppressWarnings("unchecked")
+        CollectionReader(TypeInfo type, FieldInfo field) {
+            super(type, field);
+            TypeInfo itemType = type.getItemType();
+            this.item = of(itemType, field);
+            this.itemNonNull = itemType.isNonNull();
+            this.collectionType = type.getRawType();
+            this.rawItemType = (Class<Object>) itemType.getRawType();
+        }
+
+        @Override
+        Object readValue(JsonParser parser, Event event) {
+            if (event != Event.START_ARRAY)
+                return readTree(parser);
+            List<Object> items = new ArrayList<>();
+            Event next;
+            while ((next = parser.next()) != Event.END_ARRAY) {
+                if (next == Event.VALUE_NULL && itemNonNull)
+                    throw new InvalidResponseException("invalid null item in " + location);
+                items.add(item.read(parser, next));
+            }
+            if (collectionType.isArray())
+                return items.stream().collect(CollectionUtils.toArray(rawItemType));
+            if (Set.class.isAssignableFrom(collectionType))
+                return new HashSet<>(items);
+            return items;
+        }
+    }
+
+    private static class ObjectReader extends StreamReader {
+        private static final Object[] NO_ARGS = new Object[0];
+
+        private final boolean record;
+        private volatile Fields fields;
+
+        ObjectReader(TypeInfo type, FieldInfo field) {
+            super(type, field);
+            this.record = type.isRecord();
+        }
+
+        @Override
+        Object readValue(JsonParser parser, Event event) {
+            Fields fields = fields();
+            if (event != Event.START_OBJECT || fields.byName == null)
+                return readTree(parser);
+            FieldReader[] all = fields.all;
+            boolean[] read = new boolean[all.length];
+            Object[] values = record ? new Object[all.length] : null;
+            Object instance = record ? null : type.newInstance(NO_ARGS);
+            while (parser.next() != Event.END_OBJECT) {
+                FieldReader fieldReader = fields.byName.get(parser.getString());
+                Event next = parser.next();
+                if (fieldReader == null) {
+                    skip(parser, next);
+                    continue;
+                }
+                Object value = fieldReader.reader().read(parser, next);
+                read[fieldReader.index] = true;
+                if (record) {
+                    values[fieldReader.index] = value;
+                } else {
+                    fieldReader.field.set(instance, value);
+                }
+            }
+            for (int i = 0; i < all.length; i++) {
+                if (!read[i]) {
+                    if (all[i].nonNull)
+                        throw new InvalidResponseException("missing " + all[i].field + " in " + location);
+                    if (!record)
+                        all[i].field.set(instance, null);
+                }
+            }
+            return record ? type.newInstance(values) : instance;
+        }
+
+        private Fields fields() {
+            Fields result = fields;
+            if (result == null) {
+                result = new Fields(type);
+                fields = result;
+            }
+            return result;
+        }
+    }
+
+    private static class Fields {
+        private final FieldReader[] all;
+        // null if two fields have the same name; the JsonReader gives the value to both
+        private final Map<String, FieldReader> byName;
+
+        Fields(TypeInfo type) {
+            this.all = readers(type);
+            Map<String, FieldReader> map = new HashMap<>();
+            for (FieldReader reader : all) {
+                if (map.put(reader.name, reader) != null) {
+                    map = null;
+                    break;
+                }
+            }
+            this.byName = map;
+        }
+
+        private static FieldReader[] readers(TypeInfo type) {
+            FieldInfo[] fields = type.fields().toArray(FieldInfo[]::new);
+            FieldReader[] readers = new FieldReader[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                readers[i] = new FieldReader(fields[i], i);
+            }
+            return readers;
+        }
+    }
+
+    private static class FieldReader {
+        private final FieldInfo field;
+        private final String name;
+        private final int index;
+        private final boolean nonNull;
+        private volatile StreamReader reader;
+
+        FieldReader(FieldInfo field, int index) {
+            this.field = field;
+            this.name = field.getAlias().orElseGet(field::getName);
+            this.index = index;
+            this.nonNull = field.isNonNull();
+        }
+
+        StreamReader reader() {
+            StreamReader result = reader;
+            if (result == null) {
+                result = of(field.getType(), field);
+                reader = result;
+            }
+            return result;
+        }
+    }
+}
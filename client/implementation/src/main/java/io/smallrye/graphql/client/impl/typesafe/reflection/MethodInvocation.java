@@ -107,6 +107,10 @@ public class MethodInvocation implements NamedElement {
         return name;
     }
 
+    public Method getMethod() {
+        return method;
+    }
+
     public TypeInfo getReturnType() {
         return new TypeInfo(type, method.getGenericReturnType(), method.getAnnotatedReturnType());
     }
@@ -2,6 +2,8 @@ package io.smallrye.graphql.client;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 
 import org.junit.jupiter.api.Test;
@@ -44,4 +46,36 @@ public class RequestImplTest {
         request.setVariable("key", map);
         assertEquals("{\"query\":\"example\",\"variables\":{\"key\":{\"ids\":[1,2]}}}", request.toJson());
     }
+
+    @Test
+    public void testObjectToJson() {
+        RequestImpl request = new RequestImpl("example");
+        request.setOperationName("op");
+
+        request.setVariable("key", new Point(1, 2));
+        assertEquals("{\"query\":\"example\",\"variables\":{\"key\":{\"x\":1,\"y\":2}},\"operationName\":\"op\"}",
+                request.toJson());
+        assertEquals(request.toJson(), request.toJsonObject().toString());
+    }
+
+    @Test
+    public void testWriteToStream() {
+        RequestImpl request = new RequestImpl("example");
+        request.setVariable("key", new Point(1, 2));
+        request.setVariable("text", "\u00e9t\u00e9");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        request.writeTo(out);
+        assertEquals(request.toJson(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    public static class Point {
+        public int x;
+        public int y;
+
+        public Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
 }
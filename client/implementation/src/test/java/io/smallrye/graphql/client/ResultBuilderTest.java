@@ -0,0 +1,154 @@
+package io.smallrye.graphql.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.eclipse.microprofile.graphql.NonNull;
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.client.impl.typesafe.ResultBuilder;
+import io.smallrye.graphql.client.impl.typesafe.json.ResponseStreamReader;
+import io.smallrye.graphql.client.impl.typesafe.reflection.MethodInvocation;
+import io.smallrye.graphql.client.typesafe.api.ErrorOr;
+import io.smallrye.graphql.client.typesafe.api.TypesafeResponse;
+
+/**
+ * Reading typesafe responses while they are parsed, and as a whole when they have errors
+ */
+public class ResultBuilderTest {
+
+    public enum Gender {
+        FEMALE,
+        MALE
+    }
+
+    public static class Person {
+        public String name;
+        public Gender gender;
+        public int age;
+        public Optional<String> nickname;
+        public long[] scores;
+        public Set<String> tags;
+        public Person friend;
+        public List<Person> children;
+        @NonNull
+        public String id;
+    }
+
+    public static class Team {
+        public String name;
+        public ErrorOr<List<Person>> members;
+    }
+
+    public interface Api {
+        List<Person> people();
+
+        Person person();
+
+        TypesafeResponse<Person> personResponse();
+
+        Team team();
+    }
+
+    private static final String PERSON = "{\"id\":\"1\",\"name\":\"jane\",\"gender\":\"FEMALE\",\"age\":42," +
+            "\"nickname\":\"j\",\"scores\":[1,2],\"tags\":[\"a\",\"b\",\"a\"],\"unknown\":{\"x\":[1,{}]}," +
+            "\"friend\":{\"id\":\"2\",\"name\":\"joe\",\"age\":7,\"friend\":null},\"children\":[{\"id\":\"3\",\"age\":1}]}";
+
+    @Test
+    public void shouldReadResponseWhileParsing() {
+        String response = "{\"data\":{\"other\":[1,2],\"person\":" + PERSON + "}}";
+
+        Object streamed = ResponseStreamReader.of(invocation("person")).read(response, null);
+
+        assertNotSame(ResponseStreamReader.NOT_READ, streamed);
+        assertPerson((Person) streamed);
+        assertPerson((Person) read("person", response));
+    }
+
+    @Test
+    public void shouldReadList() {
+        List<?> people = (List<?>) read("people", "{\"data\":{\"people\":[" + PERSON + ",null," + PERSON + "]}}");
+
+        assertEquals(3, people.size());
+        assertPerson((Person) people.get(0));
+        assertNull(people.get(1));
+        assertPerson((Person) people.get(2));
+    }
+
+    @Test
+    public void shouldReadTypesafeResponseWithExtensions() {
+        TypesafeResponse<?> response = (TypesafeResponse<?>) read("personResponse",
+                "{\"extensions\":{\"took\":3},\"data\":{\"personResponse\":" + PERSON + "}}");
+
+        assertPerson((Person) response.get());
+        assertEquals(3, response.getExtensions().getInt("took"));
+    }
+
+    @Test
+    public void shouldReadNullData() {
+        assertNull(read("person", "{\"data\":null}"));
+    }
+
+    @Test
+    public void shouldFailLikeReadingTheWholeResponse() {
+        InvalidResponseException missing = assertThrows(InvalidResponseException.class,
+                () -> read("person", "{\"data\":{\"person\":{\"name\":\"jane\"}}}"));
+        assertTrue(missing.getMessage().startsWith("missing"), missing.getMessage());
+
+        InvalidResponseException invalid = assertThrows(InvalidResponseException.class,
+                () -> read("person", "{\"data\":{\"person\":{\"id\":\"1\",\"age\":\"old\"}}}"));
+        assertTrue(invalid.getMessage().contains(".age"), invalid.getMessage());
+
+        assertThrows(InvalidResponseException.class, () -> read("person", "{\"data\":{}}"));
+        assertThrows(InvalidResponseException.class, () -> read("person", "{\"data\":{\"person\":null},\"bugs\":1}"));
+    }
+
+    @Test
+    public void shouldApplyErrorsToTheWholeResponse() {
+        String response = "{\"data\":{\"team\":{\"name\":\"a\",\"members\":null}}," +
+                "\"errors\":[{\"message\":\"no members\",\"path\":[\"team\",\"members\"]}]}";
+
+        assertSame(ResponseStreamReader.NOT_READ, ResponseStreamReader.of(invocation("team")).read(response, null));
+        Team team = (Team) read("team", response);
+        assertEquals("a", team.name);
+        assertTrue(team.members.hasErrors());
+        assertEquals("no members", team.members.getErrors().get(0).getMessage());
+    }
+
+    private static void assertPerson(Person person) {
+        assertEquals("1", person.id);
+        assertEquals("jane", person.name);
+        assertEquals(Gender.FEMALE, person.gender);
+        assertEquals(42, person.age);
+        assertEquals(Optional.of("j"), person.nickname);
+        assertEquals(Arrays.toString(new long[] { 1, 2 }), Arrays.toString(person.scores));
+        assertEquals(Set.of("a", "b"), person.tags);
+        assertEquals("joe", person.friend.name);
+        assertNull(person.friend.gender);
+        assertNull(person.friend.friend);
+        assertNull(person.friend.nickname);
+        assertEquals(1, person.children.size());
+        assertEquals(1, person.children.get(0).age);
+    }
+
+    private static Object read(String method, String response) {
+        return new ResultBuilder(invocation(method), response, false).read();
+    }
+
+    private static MethodInvocation invocation(String method) {
+        try {
+            return MethodInvocation.of(Api.class.getMethod(method));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.smallrye.graphql.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.Indexer;
+
+import graphql.schema.GraphQLSchema;
+import io.smallrye.graphql.benchmark.model.Author;
+import io.smallrye.graphql.benchmark.model.Book;
+import io.smallrye.graphql.benchmark.model.LibraryApi;
+import io.smallrye.graphql.benchmark.model.Node;
+import io.smallrye.graphql.benchmark.model.OutOfStockException;
+import io.smallrye.graphql.benchmark.model.Review;
+import io.smallrye.graphql.bootstrap.Bootstrap;
+import io.smallrye.graphql.execution.ExecutionService;
+import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.schema.model.Schema;
+
+/**
+ * Bootstraps the benchmark model the same way a deployment does: Jandex index, {@link SchemaBuilder} and
+ * {@link Bootstrap}.
+ */
+public final class BenchmarkSchema {
+
+    private static final Class<?>[] MODEL = {
+            LibraryApi.class,
+            Book.class,
+            Author.class,
+            Review.class,
+            Node.class,
+            OutOfStockException.class
+    };
+
+    private final Schema schema;
+    private final GraphQLSchema graphQLSchema;
+
+    private BenchmarkSchema(Schema schema, GraphQLSchema graphQLSchema) {
+        this.schema = schema;
+        this.graphQLSchema = graphQLSchema;
+    }
+
+    public static BenchmarkSchema bootstrap() {
+        Schema schema = SchemaBuilder.build(index());
+        GraphQLSchema graphQLSchema = Bootstrap.bootstrap(schema);
+        return new BenchmarkSchema(schema, graphQLSchema);
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    public GraphQLSchema getGraphQLSchema() {
+        return graphQLSchema;
+    }
+
+    public ExecutionService newExecutionService() {
+        return new ExecutionService(graphQLSchema, schema);
+    }
+
+    public static JsonObject toInput(String query) {
+        return Json.createObjectBuilder().add("query", query).build();
+    }
+
+    private static IndexView index() {
+        Indexer indexer = new Indexer();
+        for (Class<?> c : MODEL) {
+            try {
+                indexer.indexClass(c);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        return indexer.complete();
+    }
+}
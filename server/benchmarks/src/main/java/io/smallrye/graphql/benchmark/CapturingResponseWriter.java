@@ -0,0 +1,21 @@
+package io.smallrye.graphql.benchmark;
+
+import io.smallrye.graphql.execution.ExecutionResponse;
+import io.smallrye.graphql.execution.ExecutionResponseWriter;
+
+/**
+ * Keeps the response, so that a benchmark can decide if (and how) it gets serialized
+ */
+public class CapturingResponseWriter implements ExecutionResponseWriter {
+
+    private ExecutionResponse executionResponse;
+
+    @Override
+    public void write(ExecutionResponse er) {
+        this.executionResponse = er;
+    }
+
+    public ExecutionResponse getExecutionResponse() {
+        return executionResponse;
+    }
+}
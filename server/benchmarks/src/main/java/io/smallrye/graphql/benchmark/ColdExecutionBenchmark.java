@@ -0,0 +1,49 @@
+package io.smallrye.graphql.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.graphql.execution.ExecutionService;
+
+/**
+ * The full pipeline for queries that are not in the query cache, so that every invocation pays for parse and
+ * validation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColdExecutionBenchmark {
+
+    @Param({ "WARM", "DEEP" })
+    public Scenario scenario;
+
+    private ExecutionService executionService;
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        executionService = BenchmarkSchema.bootstrap().newExecutionService();
+    }
+
+    @Benchmark
+    public String execute() {
+        CapturingResponseWriter writer = new CapturingResponseWriter();
+        executionService.executeSync(BenchmarkSchema.toInput(scenario.uniqueQuery(counter++)), writer);
+        return writer.getExecutionResponse().getExecutionResultAsString();
+    }
+}
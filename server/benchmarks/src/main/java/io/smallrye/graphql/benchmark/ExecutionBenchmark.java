@@ -0,0 +1,54 @@
+package io.smallrye.graphql.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.JsonObject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.graphql.execution.ExecutionService;
+
+/**
+ * The full pipeline, as the HTTP entry point runs it: {@link ExecutionService#executeSync} followed by the
+ * serialization of the response to a String.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutionBenchmark {
+
+    @Param({ "WARM", "DEEP", "WIDE", "BATCH", "ERRORS" })
+    public Scenario scenario;
+
+    private ExecutionService executionService;
+    private JsonObject input;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        executionService = BenchmarkSchema.bootstrap().newExecutionService();
+        input = BenchmarkSchema.toInput(scenario.query());
+        // make sure the document is in the query cache
+        execute();
+    }
+
+    @Benchmark
+    public String execute() {
+        CapturingResponseWriter writer = new CapturingResponseWriter();
+        executionService.executeSync(input, writer);
+        return writer.getExecutionResponse().getExecutionResultAsString();
+    }
+}
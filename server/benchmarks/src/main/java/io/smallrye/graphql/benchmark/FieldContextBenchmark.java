@@ -0,0 +1,57 @@
+package io.smallrye.graphql.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.JsonObject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.graphql.execution.ExecutionResponse;
+import io.smallrye.graphql.execution.ExecutionService;
+
+/**
+ * Executes a response of 10 000 field nodes, and reports everything per field, so that the
+ * {@code gc.alloc.rate.norm} of the GC profiler is the allocation per field fetch (context population included).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FieldContextBenchmark {
+
+    private static final int BOOKS = 2000;
+    private static final int FIELDS_PER_BOOK = 5;
+    private static final int NODES = BOOKS * FIELDS_PER_BOOK;
+
+    private ExecutionService executionService;
+    private JsonObject input;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        executionService = BenchmarkSchema.bootstrap().newExecutionService();
+        input = BenchmarkSchema.toInput("{ books(count: " + BOOKS + ") { id title price available tags } }");
+        // make sure the document is in the query cache
+        fetch();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NODES)
+    public ExecutionResponse fetch() {
+        CapturingResponseWriter writer = new CapturingResponseWriter();
+        executionService.executeSync(input, writer);
+        return writer.getExecutionResponse();
+    }
+}
@@ -0,0 +1,78 @@
+package io.smallrye.graphql.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.graphql.execution.datafetcher.helper.ReflectionInvoker;
+import io.smallrye.graphql.spi.LookupService;
+import io.smallrye.graphql.spi.ManagedInstance;
+
+/**
+ * Calling a trivial resolver: what {@link Method#invoke} with a bean lookup per call (how operations used to be
+ * invoked) costs compared to the method handle based {@link ReflectionInvoker}, and to a plain Java call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InvokerBenchmark {
+
+    private final Resolver resolver = new Resolver();
+    private final LookupService lookupService = LookupService.get();
+
+    private Method method;
+    private ReflectionInvoker invoker;
+    private Object[] arguments;
+
+    @Setup(Level.Trial)
+    public void setup() throws NoSuchMethodException {
+        method = Resolver.class.getMethod("greet", String.class, int.class);
+        invoker = new ReflectionInvoker(Resolver.class.getName(), "greet",
+                List.of(String.class.getName(), int.class.getName()));
+        arguments = new Object[] { "reader", 42 };
+    }
+
+    @Benchmark
+    public Object direct() {
+        return resolver.greet((String) arguments[0], (Integer) arguments[1]);
+    }
+
+    @Benchmark
+    public Object methodInvoke() throws Exception {
+        ManagedInstance<?> instance = lookupService.getInstance(Resolver.class);
+        Object result = method.invoke(instance.get(), arguments);
+        instance.destroyIfNecessary();
+        return result;
+    }
+
+    @Benchmark
+    public Object invoker() throws Exception {
+        return invoker.invoke(arguments);
+    }
+
+    @Benchmark
+    public Object invokerPrivileged() {
+        return invoker.invokePrivileged(arguments);
+    }
+
+    public static class Resolver {
+        public String greet(String name, int times) {
+            return times > 0 ? name : null;
+        }
+    }
+}
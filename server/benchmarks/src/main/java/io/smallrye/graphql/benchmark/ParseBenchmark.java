@@ -0,0 +1,60 @@
+package io.smallrye.graphql.benchmark;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import graphql.language.Document;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.validation.ValidationError;
+import graphql.validation.Validator;
+
+/**
+ * Stage 1: parsing and validating the document, what the query cache saves on a hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+
+    @Param({ "WARM", "DEEP", "WIDE", "BATCH", "ERRORS" })
+    public Scenario scenario;
+
+    private GraphQLSchema graphQLSchema;
+    private String query;
+    private Document document;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graphQLSchema = BenchmarkSchema.bootstrap().getGraphQLSchema();
+        query = scenario.query();
+        document = Parser.parse(query);
+    }
+
+    @Benchmark
+    public Document parse() {
+        return Parser.parse(query);
+    }
+
+    @Benchmark
+    public List<ValidationError> validate() {
+        return new Validator().validateDocument(graphQLSchema, document, Locale.getDefault());
+    }
+}
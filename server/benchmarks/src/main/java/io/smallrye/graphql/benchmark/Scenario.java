@@ -0,0 +1,61 @@
+package io.smallrye.graphql.benchmark;
+
+/**
+ * The query shapes that are benchmarked. Each scenario is a single root selection, so that it can be aliased to
+ * create a query the cache has never seen.
+ */
+public enum Scenario {
+
+    /**
+     * A small query, typically served from the query cache
+     */
+    WARM("book(id: 1) { id title published price available tags author { name bio } }"),
+
+    /**
+     * A recursive object, 32 levels deep
+     */
+    DEEP(nested(32)),
+
+    /**
+     * A list of 1000 objects with scalar, list and object fields
+     */
+    WIDE("books(count: 1000) { id title published price available tags author { name } }"),
+
+    /**
+     * A list of 200 objects with a batched {@code @Source} field
+     */
+    BATCH("books(count: 200) { id title reviews { stars comment } }"),
+
+    /**
+     * A list of 200 objects where every element produces an error
+     */
+    ERRORS("books(count: 200) { id stock }");
+
+    private final String selection;
+
+    Scenario(String selection) {
+        this.selection = selection;
+    }
+
+    public String query() {
+        return "{ " + selection + " }";
+    }
+
+    /**
+     * The same query, but with an unique alias on the root field, so that it always misses the query cache
+     *
+     * @param n a counter that is unique per invocation
+     * @return the query
+     */
+    public String uniqueQuery(long n) {
+        return "{ q" + n + ": " + selection + " }";
+    }
+
+    private static String nested(int depth) {
+        StringBuilder sb = new StringBuilder("{ depth name }");
+        for (int i = 1; i < depth; i++) {
+            sb.insert(0, "{ depth name child ").append(" }");
+        }
+        return "node(depth: " + depth + ") " + sb;
+    }
+}
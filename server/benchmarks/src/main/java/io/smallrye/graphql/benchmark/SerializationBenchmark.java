@@ -0,0 +1,49 @@
+package io.smallrye.graphql.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import graphql.ExecutionResult;
+import io.smallrye.graphql.execution.ExecutionResponse;
+
+/**
+ * Stage 3: turning a graphql-java {@link ExecutionResult} into the JSON response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({ "WARM", "DEEP", "WIDE", "BATCH", "ERRORS" })
+    public Scenario scenario;
+
+    private ExecutionResult executionResult;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        CapturingResponseWriter writer = new CapturingResponseWriter();
+        BenchmarkSchema.bootstrap().newExecutionService()
+                .executeSync(BenchmarkSchema.toInput(scenario.query()), writer);
+        executionResult = writer.getExecutionResponse().getExecutionResult();
+    }
+
+    @Benchmark
+    public String serialize() {
+        return new ExecutionResponse(executionResult).getExecutionResultAsString();
+    }
+}
@@ -0,0 +1,73 @@
+package io.smallrye.graphql.benchmark;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.JsonObject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.graphql.execution.BlockingOperationExecutor;
+import io.smallrye.graphql.execution.ExecutionService;
+
+/**
+ * The latency of a query with N independent fields that each block for a while, when blocking operations run on the
+ * calling thread, and when they run on virtual threads (or the platform thread pool on JVMs without them).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class SlowFieldsBenchmark {
+
+    private static final int MILLIS = 5;
+
+    @Param({ "1", "4", "16" })
+    public int fields;
+
+    @Param({ "false", "true" })
+    public boolean virtualThreads;
+
+    private ExecutionService executionService;
+    private JsonObject input;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BlockingOperationExecutor.set(BlockingOperationExecutor.create(virtualThreads, null));
+        executionService = BenchmarkSchema.bootstrap().newExecutionService();
+        StringBuilder query = new StringBuilder("{");
+        for (int i = 0; i < fields; i++) {
+            query.append(" f").append(i).append(": slowLookup(millis: ").append(MILLIS).append(')');
+        }
+        input = BenchmarkSchema.toInput(query.append(" }").toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (BlockingOperationExecutor.get() instanceof ExecutorService) {
+            ((ExecutorService) BlockingOperationExecutor.get()).shutdown();
+        }
+        BlockingOperationExecutor.set(null);
+    }
+
+    @Benchmark
+    public String execute() {
+        CapturingResponseWriter writer = new CapturingResponseWriter();
+        executionService.executeSync(input, writer);
+        return writer.getExecutionResponse().getExecutionResultAsString();
+    }
+}
@@ -0,0 +1,34 @@
+package io.smallrye.graphql.benchmark.model;
+
+/**
+ * Author of a book
+ */
+public class Author {
+
+    private String name;
+    private String bio;
+
+    public Author() {
+    }
+
+    public Author(String name, String bio) {
+        this.name = name;
+        this.bio = bio;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getBio() {
+        return bio;
+    }
+
+    public void setBio(String bio) {
+        this.bio = bio;
+    }
+}
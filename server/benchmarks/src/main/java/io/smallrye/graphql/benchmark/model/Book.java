@@ -0,0 +1,89 @@
+package io.smallrye.graphql.benchmark.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A book, the main list element in the benchmark queries
+ */
+public class Book {
+
+    private long id;
+    private String title;
+    private LocalDate published;
+    private BigDecimal price;
+    private boolean available;
+    private List<String> tags;
+    private Author author;
+
+    public Book() {
+    }
+
+    public Book(long id, String title, LocalDate published, BigDecimal price, boolean available, List<String> tags,
+            Author author) {
+        this.id = id;
+        this.title = title;
+        this.published = published;
+        this.price = price;
+        this.available = available;
+        this.tags = tags;
+        this.author = author;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public LocalDate getPublished() {
+        return published;
+    }
+
+    public void setPublished(LocalDate published) {
+        this.published = published;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public Author getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(Author author) {
+        this.author = author;
+    }
+}
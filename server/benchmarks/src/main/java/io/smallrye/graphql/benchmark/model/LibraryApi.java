@@ -0,0 +1,76 @@
+package io.smallrye.graphql.benchmark.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.Query;
+import org.eclipse.microprofile.graphql.Source;
+
+/**
+ * The endpoint that all benchmarks run against. All data is generated, so that only the pipeline is measured.
+ */
+@GraphQLApi
+public class LibraryApi {
+
+    private static final List<String> TAGS = List.of("fiction", "classic", "bestseller");
+    private static final Author AUTHOR = new Author("William Golding", "English novelist, playwright, and poet");
+
+    @Query
+    public Book getBook(long id) {
+        return createBook(id);
+    }
+
+    @Query
+    public List<Book> getBooks(int count) {
+        List<Book> books = new ArrayList<>(count);
+        for (long i = 0; i < count; i++) {
+            books.add(createBook(i));
+        }
+        return books;
+    }
+
+    @Query
+    public Node getNode(int depth) {
+        Node node = null;
+        for (int i = depth; i > 0; i--) {
+            node = new Node(i, "node-" + i, node);
+        }
+        return node;
+    }
+
+    /**
+     * Stands in for a blocking call, like a JDBC query
+     */
+    @Query
+    public String getSlowLookup(int millis) throws InterruptedException {
+        Thread.sleep(millis);
+        return "looked up in " + millis + "ms";
+    }
+
+    public List<List<Review>> getReviews(@Source List<Book> books) {
+        List<List<Review>> reviews = new ArrayList<>(books.size());
+        for (Book book : books) {
+            reviews.add(List.of(
+                    new Review((int) (book.getId() % 5) + 1, "Review of " + book.getTitle()),
+                    new Review(3, "Not bad")));
+        }
+        return reviews;
+    }
+
+    public Integer getStock(@Source Book book) throws OutOfStockException {
+        throw new OutOfStockException("Book " + book.getId() + " is out of stock");
+    }
+
+    private static Book createBook(long id) {
+        return new Book(id,
+                "Lord of the Flies " + id,
+                LocalDate.of(1954, 9, 17),
+                BigDecimal.valueOf(1099 + id, 2),
+                id % 2 == 0,
+                TAGS,
+                AUTHOR);
+    }
+}
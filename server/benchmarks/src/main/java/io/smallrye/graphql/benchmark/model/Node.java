@@ -0,0 +1,44 @@
+package io.smallrye.graphql.benchmark.model;
+
+/**
+ * Recursive type used to build deeply nested responses
+ */
+public class Node {
+
+    private int depth;
+    private String name;
+    private Node child;
+
+    public Node() {
+    }
+
+    public Node(int depth, String name, Node child) {
+        this.depth = depth;
+        this.name = name;
+        this.child = child;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Node getChild() {
+        return child;
+    }
+
+    public void setChild(Node child) {
+        this.child = child;
+    }
+}
@@ -0,0 +1,11 @@
+package io.smallrye.graphql.benchmark.model;
+
+/**
+ * Checked exception, so the message ends up in the response
+ */
+public class OutOfStockException extends Exception {
+
+    public OutOfStockException(String message) {
+        super(message);
+    }
+}
@@ -6,6 +6,10 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
+/**
+ * The LRU cache that the query cache used before the {@link TinyLfuCache}, kept as the baseline of the
+ * {@link QueryCacheContentionBenchmark}.
+ */
 public class LRUCache<K, V> {
     private final int maxSize;
     private final Map<K, Entry<V>> cache = new ConcurrentHashMap<>();
@@ -0,0 +1,96 @@
+package io.smallrye.graphql.execution;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * All cores hitting the query cache at once, with a skewed key distribution that is larger than the cache, comparing
+ * the previous LRU cache with the W-TinyLFU one. Lives in this package as the caches are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(Threads.MAX)
+@Fork(1)
+public class QueryCacheContentionBenchmark {
+
+    private static final int MAX_SIZE = 2048;
+    private static final int DISTINCT_KEYS = 4 * MAX_SIZE;
+    private static final int SAMPLES = 1 << 16;
+
+    public enum Implementation {
+        LRU,
+        TINY_LFU
+    }
+
+    @Param({ "LRU", "TINY_LFU" })
+    public Implementation implementation;
+
+    private String[] keys;
+    private Function<String, String> lookup;
+    private Function<String, String> load;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Zipf-like: a few queries are very popular, most are rare
+        Random random = new Random(42);
+        keys = new String[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            int rank = (int) Math.floor(Math.pow(DISTINCT_KEYS, random.nextDouble())) - 1;
+            keys[i] = "{ books(count: " + rank + ") { id title } }";
+        }
+        if (implementation == Implementation.LRU) {
+            LRUCache<String, String> cache = new LRUCache<>(MAX_SIZE);
+            lookup = cache::get;
+            load = key -> cache.computeIfAbsent(key, Function.identity());
+        } else {
+            TinyLfuCache<String, String> cache = new TinyLfuCache<>(MAX_SIZE);
+            lookup = cache::get;
+            load = key -> cache.computeIfAbsent(key, Function.identity());
+        }
+        for (String key : keys) {
+            load.apply(key);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int index = (int) Thread.currentThread().getId() * 7919;
+
+        String next(String[] keys) {
+            return keys[index++ & (SAMPLES - 1)];
+        }
+    }
+
+    /**
+     * What {@link QueryCache} does per request: a lookup, then an insert on a miss.
+     */
+    @Benchmark
+    public String getOrLoad(Cursor cursor) {
+        String key = cursor.next(keys);
+        String value = lookup.apply(key);
+        return value != null ? value : load.apply(key);
+    }
+
+    @Benchmark
+    public String computeIfAbsent(Cursor cursor) {
+        return load.apply(cursor.next(keys));
+    }
+}
@@ -0,0 +1,95 @@
+package io.smallrye.graphql.execution.datafetcher;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.smallrye.graphql.execution.datafetcher.FieldDataFetcher.MethodAccessor;
+import io.smallrye.graphql.execution.datafetcher.FieldDataFetcher.MethodHandleAccessor;
+import io.smallrye.graphql.execution.datafetcher.FieldDataFetcher.PropertyAccessor;
+
+/**
+ * Reading all the properties of a POJO, as {@link FieldDataFetcher} does for every leaf in a response, through
+ * {@link Method#invoke} and through method handles. Lives in this package as the accessors are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PropertyAccessorBenchmark {
+
+    private static final String[] GETTERS = { "getId", "getName", "getEmail", "getAge" };
+
+    private final Person person = new Person();
+
+    private PropertyAccessor<Object>[] reflection;
+    private PropertyAccessor<Object>[] methodHandles;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() throws NoSuchMethodException {
+        reflection = new PropertyAccessor[GETTERS.length];
+        methodHandles = new PropertyAccessor[GETTERS.length];
+        for (int i = 0; i < GETTERS.length; i++) {
+            Method method = Person.class.getMethod(GETTERS[i]);
+            reflection[i] = new MethodAccessor<>(method);
+            methodHandles[i] = new MethodHandleAccessor<>(FieldDataFetcher.toMethodHandle(Person.class,
+                    () -> MethodHandles.publicLookup().unreflect(method)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public void reflection(Blackhole blackhole) throws ReflectiveOperationException {
+        for (PropertyAccessor<Object> accessor : reflection) {
+            blackhole.consume(accessor.get(person));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public void methodHandle(Blackhole blackhole) throws ReflectiveOperationException {
+        for (PropertyAccessor<Object> accessor : methodHandles) {
+            blackhole.consume(accessor.get(person));
+        }
+    }
+
+    public static class Person {
+        private final long id = 1L;
+        private final String name = "Phillip";
+        private final String email = "phillip@example.com";
+        private final int age = 42;
+
+        public long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public int getAge() {
+            return age;
+        }
+    }
+}
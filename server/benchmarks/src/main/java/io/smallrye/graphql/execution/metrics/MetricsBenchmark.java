@@ -0,0 +1,122 @@
+package io.smallrye.graphql.execution.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.graphql.api.Context;
+import io.smallrye.graphql.execution.context.SmallRyeContext;
+import io.smallrye.graphql.schema.model.Operation;
+import io.smallrye.graphql.schema.model.OperationType;
+import io.smallrye.graphql.spi.MetricsService;
+
+/**
+ * The overhead of measuring a data fetch: with metrics off, on, and sampled, compared to how fetches used to be
+ * measured (a measurement stored in a map under a random id, and the timer looked up by freshly built tags when the
+ * fetch ends).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsBenchmark {
+
+    private static final int FETCHES = 1000;
+
+    private final List<Context> contexts = new ArrayList<>();
+    private final Map<Long, Object[]> measurements = new ConcurrentHashMap<>();
+    private final Map<List<String>, LongAdder> timersByTags = new ConcurrentHashMap<>();
+
+    private OperationTimer metricsOff;
+    private OperationTimer metricsOn;
+    private OperationTimer sampled;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Operation operation = new Operation();
+        operation.setName("book");
+        operation.setOperationType(OperationType.QUERY);
+        MetricsService[] services = { new AdderMetricsService() };
+
+        metricsOff = OperationTimer.NONE;
+        metricsOn = new OperationTimer(operation, services, 1);
+        sampled = new OperationTimer(operation, services, 10);
+
+        for (int i = 0; i < FETCHES; i++) {
+            SmallRyeContext context = new SmallRyeContext(MetricsBenchmark.class.getName());
+            // A new request every 10 fetches
+            context.setExecutionId(String.valueOf(i / 10));
+            context.setOperationType("QUERY");
+            context.setFieldName("book");
+            contexts.add(context);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FETCHES)
+    public void metricsOff() {
+        measure(metricsOff);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FETCHES)
+    public void metricsOn() {
+        measure(metricsOn);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FETCHES)
+    public void sampledOneInTen() {
+        measure(sampled);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FETCHES)
+    public void measurementPerFetchInMap() {
+        for (Context context : contexts) {
+            Long measurementId = ThreadLocalRandom.current().nextLong();
+            measurements.put(measurementId, new Object[] { context.getFieldName(), context.hasSource(),
+                    context.getOperationType(), System.nanoTime() });
+            Object[] measurement = measurements.remove(measurementId);
+            long duration = System.nanoTime() - (long) measurement[3];
+            List<String> tags = List.of((String) measurement[0], (String) measurement[2],
+                    String.valueOf(measurement[1]));
+            timersByTags.computeIfAbsent(tags, t -> new LongAdder()).add(duration);
+        }
+    }
+
+    private void measure(OperationTimer timer) {
+        for (Context context : contexts) {
+            long start = timer.start(context);
+            timer.end(context, start);
+        }
+    }
+
+    private static class AdderMetricsService implements MetricsService {
+        private final LongAdder total = new LongAdder();
+
+        @Override
+        public Timer getTimer(Operation operation, String operationType) {
+            return total::add;
+        }
+    }
+}
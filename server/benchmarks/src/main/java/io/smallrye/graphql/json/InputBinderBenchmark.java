@@ -0,0 +1,170 @@
+package io.smallrye.graphql.json;
+
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.bind.Jsonb;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.smallrye.graphql.schema.model.Field;
+import io.smallrye.graphql.schema.model.InputType;
+import io.smallrye.graphql.schema.model.Reference;
+import io.smallrye.graphql.schema.model.ReferenceType;
+
+/**
+ * Creating the input objects of a bulk mutation from the maps graphql-java gives us: writing every map to a json
+ * String and reading it back with JsonB (how all input objects used to be created), compared to the
+ * {@link InputBinder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InputBinderBenchmark {
+
+    private static final int INPUTS = 1000;
+
+    private final List<Map<String, Object>> inputs = new ArrayList<>();
+
+    private Jsonb jsonb;
+    private InputBinder binder;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        JsonInputRegistry.register(inputType(Author.class, "name", "email"));
+        JsonInputRegistry.register(inputType(Book.class, "title", "year", "price", "tags", "author"));
+        jsonb = JsonBCreator.getJsonB(Book.class.getName());
+        binder = InputBinder.get(Book.class.getName());
+
+        for (int i = 0; i < INPUTS; i++) {
+            Map<String, Object> author = new HashMap<>();
+            author.put("name", "Author " + i);
+            author.put("email", "author" + i + "@example.com");
+            Map<String, Object> book = new HashMap<>();
+            book.put("title", "Book " + i);
+            book.put("year", 1900 + i % 100);
+            book.put("price", new BigDecimal("19.99"));
+            book.put("tags", List.of("fiction", "classic"));
+            book.put("author", author);
+            inputs.add(book);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void jsonRoundTrip(Blackhole blackhole) {
+        for (Map<String, Object> input : inputs) {
+            blackhole.consume(jsonb.fromJson(jsonb.toJson(input), Book.class));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void inputBinder(Blackhole blackhole) throws InvocationTargetException {
+        for (Map<String, Object> input : inputs) {
+            blackhole.consume(binder.bind(input));
+        }
+    }
+
+    private static InputType inputType(Class<?> type, String... names) {
+        InputType inputType = new InputType(type.getName(), type.getSimpleName() + "Input", null);
+        for (String name : names) {
+            Reference reference = new Reference.Builder()
+                    .className(String.class.getName())
+                    .name("String")
+                    .type(ReferenceType.SCALAR)
+                    .build();
+            inputType.addField(new Field(null, name, name, reference));
+        }
+        return inputType;
+    }
+
+    public static class Author {
+        private String name;
+        private String email;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+    }
+
+    public static class Book {
+        private String title;
+        private int year;
+        private BigDecimal price;
+        private List<String> tags;
+        private Author author;
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public int getYear() {
+            return year;
+        }
+
+        public void setYear(int year) {
+            this.year = year;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public void setPrice(BigDecimal price) {
+            this.price = price;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public Author getAuthor() {
+            return author;
+        }
+
+        public void setAuthor(Author author) {
+            this.author = author;
+        }
+    }
+}
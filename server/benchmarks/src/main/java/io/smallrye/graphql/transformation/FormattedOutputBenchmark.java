@@ -0,0 +1,143 @@
+package io.smallrye.graphql.transformation;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.smallrye.graphql.schema.model.Field;
+import io.smallrye.graphql.schema.model.Reference;
+import io.smallrye.graphql.schema.model.ReferenceType;
+import io.smallrye.graphql.schema.model.Transformation;
+import io.smallrye.graphql.schema.model.Transformation.Type;
+
+/**
+ * Writing a list of {@code @DateFormat} dates and {@code @NumberFormat} numbers, as a response with a formatted list
+ * does, through the transformers and directly through the JDK formatters. The JDK formatters are what the transformers
+ * did before: a {@link DateTimeFormatter} per field, and one {@link DecimalFormat} for all threads, that is not
+ * thread-safe, or a new one for every value, that is.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormattedOutputBenchmark {
+
+    private static final int SIZE = 100;
+    private static final String NUMBER_FORMAT = "#,##0.00";
+
+    private final LocalDate[] dates = new LocalDate[SIZE];
+    private final BigDecimal[] numbers = new BigDecimal[SIZE];
+
+    private Transformer isoDateTransformer;
+    private Transformer customDateTransformer;
+    private Transformer numberTransformer;
+    private DateTimeFormatter isoDateFormatter;
+    private DateTimeFormatter customDateFormatter;
+    private DecimalFormat sharedNumberFormat;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        for (int i = 0; i < SIZE; i++) {
+            dates[i] = LocalDate.of(2000, 1, 1).plusDays(i * 37L);
+            numbers[i] = BigDecimal.valueOf(i * 123_457L, 2);
+        }
+        isoDateTransformer = Transformer.transformer(field(LocalDate.class, Type.DATE, "yyyy-MM-dd"));
+        customDateTransformer = Transformer.transformer(field(LocalDate.class, Type.DATE, "dd.MM.yyyy"));
+        numberTransformer = Transformer.transformer(field(BigDecimal.class, Type.NUMBER, NUMBER_FORMAT));
+        isoDateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        customDateFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+        sharedNumberFormat = new DecimalFormat(NUMBER_FORMAT, DecimalFormatSymbols.getInstance(Locale.ROOT));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    @SuppressWarnings("unchecked")
+    public void isoDateTransformer(Blackhole blackhole) {
+        for (LocalDate date : dates) {
+            blackhole.consume(isoDateTransformer.out(date));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void isoDateFormatter(Blackhole blackhole) {
+        for (LocalDate date : dates) {
+            blackhole.consume(isoDateFormatter.format(date));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    @SuppressWarnings("unchecked")
+    public void customDateTransformer(Blackhole blackhole) {
+        for (LocalDate date : dates) {
+            blackhole.consume(customDateTransformer.out(date));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void customDateFormatter(Blackhole blackhole) {
+        for (LocalDate date : dates) {
+            blackhole.consume(customDateFormatter.format(date));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    @SuppressWarnings("unchecked")
+    public void numberTransformer(Blackhole blackhole) {
+        for (BigDecimal number : numbers) {
+            blackhole.consume(numberTransformer.out(number));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void sharedNumberFormat(Blackhole blackhole) {
+        for (BigDecimal number : numbers) {
+            blackhole.consume(sharedNumberFormat.format(number));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void newNumberFormat(Blackhole blackhole) {
+        for (BigDecimal number : numbers) {
+            blackhole.consume(new DecimalFormat(NUMBER_FORMAT, DecimalFormatSymbols.getInstance(Locale.ROOT))
+                    .format(number));
+        }
+    }
+
+    private static Field field(Class<?> type, Type transformationType, String format) {
+        Reference reference = new Reference.Builder()
+                .className(type.getName())
+                .name(type.getSimpleName())
+                .type(ReferenceType.SCALAR)
+                .graphQLClassName(String.class.getName())
+                .build();
+        Field field = new Field("getValue", "value", "value", reference);
+        field.setTransformation(new Transformation(transformationType, format, Locale.ROOT.toLanguageTag(), false));
+        return field;
+    }
+}
@@ -1,7 +1,9 @@
 package io.smallrye.graphql.cdi;
 
+import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.context.Dependent;
 import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Singleton;
 
 import io.smallrye.graphql.spi.ManagedInstance;
 
@@ -26,4 +28,10 @@ public class CDIManagedInstance<T> implements ManagedInstance<T> {
             instanceHandle.destroy();
         }
     }
+
+    @Override
+    public boolean isReusable() {
+        Class<?> scope = instanceHandle.getBean().getScope();
+        return scope.equals(ApplicationScoped.class) || scope.equals(Singleton.class);
+    }
 }
@@ -23,7 +23,14 @@ public class MicroProfileConfig implements Config {
     private Boolean printDataFetcherException;
     private Boolean allowGet;
     private Boolean allowPostWithQueryParameters;
+    private Integer batchingMaxSize;
+    private Boolean incrementalDeliveryEnabled;
+    private Boolean servletAsyncEnabled;
+    private Integer servletAsyncTimeout;
+    private Integer servletAsyncMaxBodySize;
     private Boolean metricsEnabled;
+    private Integer metricsSamplingRate;
+    private Boolean metricsRootFieldsOnly;
     private Boolean tracingEnabled;
     private Boolean eventsEnabled;
     private Boolean federationEnabled;
@@ -44,6 +51,21 @@ public class MicroProfileConfig implements Config {
     private Integer queryComplexityInstrumentation;
     private Integer queryDepthInstrumentation;
     private Boolean excludeNullFieldsInResponses;
+    private Boolean queryCacheNormalizationEnabled;
+    private Boolean persistedQueriesEnabled;
+    private String persistedDocumentsDirectory;
+    private Boolean persistedDocumentsWritable;
+    private Integer persistedDocumentsMaxSize;
+    private Integer dataLoaderMaxBatchSize;
+    private Boolean dataLoaderCachingEnabled;
+    private Boolean virtualThreadsEnabled;
+    private Integer virtualThreadsMaxConcurrency;
+    private Integer websocketKeepAliveInterval;
+    private Integer websocketConnectionInitTimeout;
+    private Integer websocketIdleTimeout;
+    private Boolean websocketSubscriptionSharingEnabled;
+    private Integer websocketSubscriptionBufferSize;
+    private String websocketSubscriptionOverflowStrategy;
 
     @Override
     public String getName() {
@@ -109,6 +131,46 @@ public class MicroProfileConfig implements Config {
         return allowPostWithQueryParameters;
     }
 
+    @Override
+    public int getBatchingMaxSize() {
+        if (batchingMaxSize == null) {
+            batchingMaxSize = getConfigValue(ConfigKey.BATCHING_MAX_SIZE, Integer.class, 10);
+        }
+        return batchingMaxSize;
+    }
+
+    @Override
+    public boolean isIncrementalDeliveryEnabled() {
+        if (incrementalDeliveryEnabled == null) {
+            incrementalDeliveryEnabled = getBooleanConfigValue(ConfigKey.INCREMENTAL_DELIVERY_ENABLED);
+        }
+        return incrementalDeliveryEnabled;
+    }
+
+    @Override
+    public boolean isServletAsyncEnabled() {
+        if (servletAsyncEnabled == null) {
+            servletAsyncEnabled = getBooleanConfigValue(ConfigKey.SERVLET_ASYNC_ENABLED);
+        }
+        return servletAsyncEnabled;
+    }
+
+    @Override
+    public int getServletAsyncTimeout() {
+        if (servletAsyncTimeout == null) {
+            servletAsyncTimeout = getConfigValue(ConfigKey.SERVLET_ASYNC_TIMEOUT, Integer.class, 30);
+        }
+        return servletAsyncTimeout;
+    }
+
+    @Override
+    public int getServletAsyncMaxBodySize() {
+        if (servletAsyncMaxBodySize == null) {
+            servletAsyncMaxBodySize = getConfigValue(ConfigKey.SERVLET_ASYNC_MAX_BODY_SIZE, Integer.class, 10 * 1024 * 1024);
+        }
+        return servletAsyncMaxBodySize;
+    }
+
     @Override
     public boolean isMetricsEnabled() {
         if (metricsEnabled == null) {
@@ -117,6 +179,22 @@ public class MicroProfileConfig implements Config {
         return metricsEnabled;
     }
 
+    @Override
+    public int getMetricsSamplingRate() {
+        if (metricsSamplingRate == null) {
+            metricsSamplingRate = getConfigValue(ConfigKey.METRICS_SAMPLING_RATE, Integer.class, 1);
+        }
+        return metricsSamplingRate;
+    }
+
+    @Override
+    public boolean isMetricsRootFieldsOnly() {
+        if (metricsRootFieldsOnly == null) {
+            metricsRootFieldsOnly = getBooleanConfigValue(ConfigKey.METRICS_ROOT_FIELDS_ONLY);
+        }
+        return metricsRootFieldsOnly;
+    }
+
     @Override
     public boolean isTracingEnabled() {
         if (tracingEnabled == null) {
@@ -303,6 +381,127 @@ public class MicroProfileConfig implements Config {
         return excludeNullFieldsInResponses;
     }
 
+    @Override
+    public boolean isQueryCacheNormalizationEnabled() {
+        if (queryCacheNormalizationEnabled == null) {
+            queryCacheNormalizationEnabled = getBooleanConfigValue(ConfigKey.QUERY_CACHE_NORMALIZE);
+        }
+        return queryCacheNormalizationEnabled;
+    }
+
+    @Override
+    public boolean isPersistedQueriesEnabled() {
+        if (persistedQueriesEnabled == null) {
+            persistedQueriesEnabled = getBooleanConfigValue(ConfigKey.PERSISTED_QUERIES_ENABLED);
+        }
+        return persistedQueriesEnabled;
+    }
+
+    @Override
+    public Optional<String> getPersistedDocumentsDirectory() {
+        if (persistedDocumentsDirectory == null) {
+            persistedDocumentsDirectory = getStringConfigValue(ConfigKey.PERSISTED_DOCUMENTS_DIRECTORY, null);
+        }
+        return Optional.ofNullable(persistedDocumentsDirectory);
+    }
+
+    @Override
+    public boolean isPersistedDocumentsWritable() {
+        if (persistedDocumentsWritable == null) {
+            persistedDocumentsWritable = getBooleanConfigValue(ConfigKey.PERSISTED_DOCUMENTS_WRITABLE);
+        }
+        return persistedDocumentsWritable;
+    }
+
+    @Override
+    public int getPersistedDocumentsMaxSize() {
+        if (persistedDocumentsMaxSize == null) {
+            persistedDocumentsMaxSize = getConfigValue(ConfigKey.PERSISTED_DOCUMENTS_MAX_SIZE, Integer.class, 10000);
+        }
+        return persistedDocumentsMaxSize;
+    }
+
+    @Override
+    public Optional<Integer> getDataLoaderMaxBatchSize() {
+        if (dataLoaderMaxBatchSize == null) {
+            dataLoaderMaxBatchSize = getConfigValue(ConfigKey.DATA_LOADER_MAX_BATCH_SIZE, Integer.class, null);
+        }
+        return Optional.ofNullable(dataLoaderMaxBatchSize);
+    }
+
+    @Override
+    public boolean isDataLoaderCachingEnabled() {
+        if (dataLoaderCachingEnabled == null) {
+            dataLoaderCachingEnabled = getBooleanConfigValue(ConfigKey.DATA_LOADER_CACHING_ENABLED, true);
+        }
+        return dataLoaderCachingEnabled;
+    }
+
+    @Override
+    public boolean isVirtualThreadsEnabled() {
+        if (virtualThreadsEnabled == null) {
+            virtualThreadsEnabled = getBooleanConfigValue(ConfigKey.VIRTUAL_THREADS_ENABLED);
+        }
+        return virtualThreadsEnabled;
+    }
+
+    @Override
+    public Optional<Integer> getVirtualThreadsMaxConcurrency() {
+        if (virtualThreadsMaxConcurrency == null) {
+            virtualThreadsMaxConcurrency = getConfigValue(ConfigKey.VIRTUAL_THREADS_MAX_CONCURRENCY, Integer.class, null);
+        }
+        return Optional.ofNullable(virtualThreadsMaxConcurrency);
+    }
+
+    @Override
+    public int getWebsocketKeepAliveInterval() {
+        if (websocketKeepAliveInterval == null) {
+            websocketKeepAliveInterval = getConfigValue(ConfigKey.WEBSOCKET_KEEP_ALIVE_INTERVAL, Integer.class, 10);
+        }
+        return websocketKeepAliveInterval;
+    }
+
+    @Override
+    public int getWebsocketConnectionInitTimeout() {
+        if (websocketConnectionInitTimeout == null) {
+            websocketConnectionInitTimeout = getConfigValue(ConfigKey.WEBSOCKET_CONNECTION_INIT_TIMEOUT, Integer.class, 0);
+        }
+        return websocketConnectionInitTimeout;
+    }
+
+    @Override
+    public int getWebsocketIdleTimeout() {
+        if (websocketIdleTimeout == null) {
+            websocketIdleTimeout = getConfigValue(ConfigKey.WEBSOCKET_IDLE_TIMEOUT, Integer.class, 0);
+        }
+        return websocketIdleTimeout;
+    }
+
+    @Override
+    public boolean isWebsocketSubscriptionSharingEnabled() {
+        if (websocketSubscriptionSharingEnabled == null) {
+            websocketSubscriptionSharingEnabled = getBooleanConfigValue(ConfigKey.WEBSOCKET_SUBSCRIPTION_SHARING_ENABLED);
+        }
+        return websocketSubscriptionSharingEnabled;
+    }
+
+    @Override
+    public int getWebsocketSubscriptionBufferSize() {
+        if (websocketSubscriptionBufferSize == null) {
+            websocketSubscriptionBufferSize = getConfigValue(ConfigKey.WEBSOCKET_SUBSCRIPTION_BUFFER_SIZE, Integer.class, 256);
+        }
+        return websocketSubscriptionBufferSize;
+    }
+
+    @Override
+    public String getWebsocketSubscriptionOverflowStrategy() {
+        if (websocketSubscriptionOverflowStrategy == null) {
+            websocketSubscriptionOverflowStrategy = getStringConfigValue(ConfigKey.WEBSOCKET_SUBSCRIPTION_OVERFLOW_STRATEGY,
+                    "DROP_OLDEST");
+        }
+        return websocketSubscriptionOverflowStrategy;
+    }
+
     @Override
     public <T> T getConfigValue(String key, Class<T> type, T defaultValue) {
         org.eclipse.microprofile.config.Config microProfileConfig = ConfigProvider.getConfig();
@@ -405,10 +604,38 @@ public class MicroProfileConfig implements Config {
         this.allowPostWithQueryParameters = allowPostWithQueryParameters;
     }
 
+    public void setBatchingMaxSize(Integer batchingMaxSize) {
+        this.batchingMaxSize = batchingMaxSize;
+    }
+
+    public void setIncrementalDeliveryEnabled(Boolean incrementalDeliveryEnabled) {
+        this.incrementalDeliveryEnabled = incrementalDeliveryEnabled;
+    }
+
+    public void setServletAsyncEnabled(Boolean servletAsyncEnabled) {
+        this.servletAsyncEnabled = servletAsyncEnabled;
+    }
+
+    public void setServletAsyncTimeout(Integer servletAsyncTimeout) {
+        this.servletAsyncTimeout = servletAsyncTimeout;
+    }
+
+    public void setServletAsyncMaxBodySize(Integer servletAsyncMaxBodySize) {
+        this.servletAsyncMaxBodySize = servletAsyncMaxBodySize;
+    }
+
     public void setMetricsEnabled(Boolean metricsEnabled) {
         this.metricsEnabled = metricsEnabled;
     }
 
+    public void setMetricsSamplingRate(Integer metricsSamplingRate) {
+        this.metricsSamplingRate = metricsSamplingRate;
+    }
+
+    public void setMetricsRootFieldsOnly(Boolean metricsRootFieldsOnly) {
+        this.metricsRootFieldsOnly = metricsRootFieldsOnly;
+    }
+
     public void setTracingEnabled(Boolean tracingEnabled) {
         this.tracingEnabled = tracingEnabled;
     }
@@ -441,6 +668,66 @@ public class MicroProfileConfig implements Config {
         this.excludeNullFieldsInResponses = excludeNullFieldsInResponses;
     }
 
+    public void setQueryCacheNormalizationEnabled(Boolean queryCacheNormalizationEnabled) {
+        this.queryCacheNormalizationEnabled = queryCacheNormalizationEnabled;
+    }
+
+    public void setPersistedQueriesEnabled(Boolean persistedQueriesEnabled) {
+        this.persistedQueriesEnabled = persistedQueriesEnabled;
+    }
+
+    public void setPersistedDocumentsDirectory(String persistedDocumentsDirectory) {
+        this.persistedDocumentsDirectory = persistedDocumentsDirectory;
+    }
+
+    public void setPersistedDocumentsWritable(Boolean persistedDocumentsWritable) {
+        this.persistedDocumentsWritable = persistedDocumentsWritable;
+    }
+
+    public void setPersistedDocumentsMaxSize(Integer persistedDocumentsMaxSize) {
+        this.persistedDocumentsMaxSize = persistedDocumentsMaxSize;
+    }
+
+    public void setDataLoaderMaxBatchSize(Integer dataLoaderMaxBatchSize) {
+        this.dataLoaderMaxBatchSize = dataLoaderMaxBatchSize;
+    }
+
+    public void setDataLoaderCachingEnabled(Boolean dataLoaderCachingEnabled) {
+        this.dataLoaderCachingEnabled = dataLoaderCachingEnabled;
+    }
+
+    public void setVirtualThreadsEnabled(Boolean virtualThreadsEnabled) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+    }
+
+    public void setVirtualThreadsMaxConcurrency(Integer virtualThreadsMaxConcurrency) {
+        this.virtualThreadsMaxConcurrency = virtualThreadsMaxConcurrency;
+    }
+
+    public void setWebsocketKeepAliveInterval(Integer websocketKeepAliveInterval) {
+        this.websocketKeepAliveInterval = websocketKeepAliveInterval;
+    }
+
+    public void setWebsocketConnectionInitTimeout(Integer websocketConnectionInitTimeout) {
+        this.websocketConnectionInitTimeout = websocketConnectionInitTimeout;
+    }
+
+    public void setWebsocketIdleTimeout(Integer websocketIdleTimeout) {
+        this.websocketIdleTimeout = websocketIdleTimeout;
+    }
+
+    public void setWebsocketSubscriptionSharingEnabled(Boolean websocketSubscriptionSharingEnabled) {
+        this.websocketSubscriptionSharingEnabled = websocketSubscriptionSharingEnabled;
+    }
+
+    public void setWebsocketSubscriptionBufferSize(Integer websocketSubscriptionBufferSize) {
+        this.websocketSubscriptionBufferSize = websocketSubscriptionBufferSize;
+    }
+
+    public void setWebsocketSubscriptionOverflowStrategy(String websocketSubscriptionOverflowStrategy) {
+        this.websocketSubscriptionOverflowStrategy = websocketSubscriptionOverflowStrategy;
+    }
+
     public void getQueryDepthInstrumentation(Integer queryDepthInstrumentation) {
         this.queryDepthInstrumentation = queryDepthInstrumentation;
     }
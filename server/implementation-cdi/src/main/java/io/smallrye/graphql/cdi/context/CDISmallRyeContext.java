@@ -16,6 +16,7 @@ import io.smallrye.graphql.execution.context.DocumentSupplier;
 import io.smallrye.graphql.execution.context.SmallRyeContext;
 import io.smallrye.graphql.execution.context.SmallRyeContextManager;
 import io.smallrye.graphql.schema.model.Field;
+import io.smallrye.graphql.schema.model.Type;
 
 /**
  * Class that serves as a proxy decorator for obtaining the current SmallRyeContext. It always calls
@@ -73,6 +74,11 @@ public class CDISmallRyeContext extends SmallRyeContext {
         SmallRyeContextManager.getCurrentSmallRyeContext().setDataFetchingEnvironment(dataFetchingEnvironment);
     }
 
+    @Override
+    public void setDataFetchingEnvironment(Type type, DataFetchingEnvironment dataFetchingEnvironment) {
+        SmallRyeContextManager.getCurrentSmallRyeContext().setDataFetchingEnvironment(type, dataFetchingEnvironment);
+    }
+
     @Override
     public DataFetchingEnvironment getDataFetchingEnvironment() {
         return SmallRyeContextManager.getCurrentSmallRyeContext().getDataFetchingEnvironment();
@@ -1,18 +1,17 @@
 package io.smallrye.graphql.cdi.metrics;
 
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import jakarta.enterprise.inject.spi.CDI;
 import jakarta.enterprise.util.AnnotationLiteral;
 
 import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.SimpleTimer;
 import org.eclipse.microprofile.metrics.Tag;
 import org.eclipse.microprofile.metrics.annotation.RegistryType;
 import org.jboss.logging.Logger;
 
-import io.smallrye.graphql.api.Context;
+import io.smallrye.graphql.schema.model.Operation;
 import io.smallrye.graphql.spi.MetricsService;
 
 /**
@@ -24,7 +23,6 @@ import io.smallrye.graphql.spi.MetricsService;
 public class MPMetricsService implements MetricsService {
 
     private MetricRegistry metricRegistry;
-    private final Map<Long, MetricMeasurement> metricsMemory = new ConcurrentHashMap<>();
     private static final String METRIC_NAME = "mp_graphql";
     private Logger LOG = Logger.getLogger(MPMetricsService.class);
 
@@ -41,30 +39,19 @@ public class MPMetricsService implements MetricsService {
         return metricRegistry;
     }
 
-    private Tag[] getTags(MetricMeasurement metricMeasurement) {
+    private Tag[] getTags(Operation operation, String operationType) {
         return new Tag[] {
-                new Tag("name", metricMeasurement.getName()),
-                new Tag("type", metricMeasurement.getOperationType()),
-                new Tag("source", String.valueOf(metricMeasurement.isSource()))
+                new Tag("name", operation.getName()),
+                new Tag("type", operationType),
+                new Tag("source", String.valueOf(operation.isSourceField()))
         };
     }
 
     @Override
-    public void start(Long measurementId, Context context) {
-        metricsMemory.put(measurementId, new MetricMeasurement(context.getFieldName(),
-                context.hasSource(),
-                context.getOperationType(),
-                System.nanoTime()));
-        LOG.tracef("(" + measurementId + ") Started recording metrics for: %s", context.getFieldName());
-    }
-
-    @Override
-    public void end(Long measurementId) {
-        MetricMeasurement metricMeasurement = metricsMemory.remove(measurementId);
-        long duration = System.nanoTime() - metricMeasurement.getTimeStarted();
-        getMetricRegistry().simpleTimer(METRIC_NAME, getTags(metricMeasurement))
-                .update(Duration.ofNanos(duration));
-        LOG.tracef("(" + measurementId + ") Finished recording metrics for: %s", metricMeasurement.getName());
+    public Timer getTimer(Operation operation, String operationType) {
+        SimpleTimer timer = getMetricRegistry().simpleTimer(METRIC_NAME, getTags(operation, operationType));
+        LOG.tracef("Recording metrics for: %s", operation.getName());
+        return durationInNanos -> timer.update(Duration.ofNanos(durationInNanos));
     }
 
     class VendorType extends AnnotationLiteral<RegistryType> implements RegistryType {
@@ -1,20 +1,19 @@
 package io.smallrye.graphql.cdi.metrics;
 
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.logging.Logger;
 
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Tags;
-import io.smallrye.graphql.api.Context;
+import io.smallrye.graphql.schema.model.Operation;
 import io.smallrye.graphql.spi.MetricsService;
+import io.smallrye.graphql.websocket.WebsocketSessionScheduler;
 
 public class MicrometerMetricsService implements MetricsService {
     private final MeterRegistry meterRegistry = Metrics.globalRegistry;
-    private final Map<Long, MetricMeasurement> metricsMemory = new ConcurrentHashMap<>();
     private static final String METRIC_NAME = "mp_graphql";
     private Logger LOG = Logger.getLogger(MicrometerMetricsService.class);
 
@@ -22,31 +21,25 @@ public class MicrometerMetricsService implements MetricsService {
         // If Micrometer is not available, this will throw an exception
         // and make sure that this service doesn't get registered
         meterRegistry.getMeters();
-    }
 
-    private Tags getTags(MetricMeasurement metricMeasurement) {
-        return Tags.of("name", metricMeasurement.getName())
-                .and("type", metricMeasurement.getOperationType())
-                .and("source", String.valueOf(metricMeasurement.isSource()));
+        WebsocketSessionScheduler websocketSessions = WebsocketSessionScheduler.get();
+        Gauge.builder(METRIC_NAME + "_websocket_sessions", websocketSessions, WebsocketSessionScheduler::getActiveSessions)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + "_websocket_operations", websocketSessions,
+                WebsocketSessionScheduler::getActiveOperations)
+                .register(meterRegistry);
     }
 
-    @Override
-    public void start(Long measurementId, Context context) {
-        metricsMemory.put(measurementId,
-                new MetricMeasurement(
-                        context.getFieldName(),
-                        context.hasSource(),
-                        context.getOperationType(),
-                        System.nanoTime()));
-        LOG.tracef("(" + measurementId + ") Started recording metrics for: %s", context.getFieldName());
+    private Tags getTags(Operation operation, String operationType) {
+        return Tags.of("name", operation.getName())
+                .and("type", operationType)
+                .and("source", String.valueOf(operation.isSourceField()));
     }
 
     @Override
-    public void end(Long measurementId) {
-        MetricMeasurement metricMeasurement = metricsMemory.remove(measurementId);
-        long duration = System.nanoTime() - metricMeasurement.getTimeStarted();
-        meterRegistry.timer(METRIC_NAME, getTags(metricMeasurement))
-                .record(Duration.ofNanos(duration));
-        LOG.tracef("(" + measurementId + ") Finished recording metrics for: %s", metricMeasurement.getName());
+    public Timer getTimer(Operation operation, String operationType) {
+        io.micrometer.core.instrument.Timer timer = meterRegistry.timer(METRIC_NAME, getTags(operation, operationType));
+        LOG.tracef("Recording metrics for: %s", operation.getName());
+        return durationInNanos -> timer.record(durationInNanos, TimeUnit.NANOSECONDS);
     }
 }
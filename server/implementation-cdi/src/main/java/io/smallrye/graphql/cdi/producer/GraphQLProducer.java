@@ -9,6 +9,8 @@ import graphql.schema.GraphQLSchema;
 import io.smallrye.graphql.bootstrap.Bootstrap;
 import io.smallrye.graphql.cdi.context.CDISmallRyeContext;
 import io.smallrye.graphql.execution.ExecutionService;
+import io.smallrye.graphql.execution.event.EventEmitter;
+import io.smallrye.graphql.execution.metrics.MetricsEmitter;
 import io.smallrye.graphql.schema.model.Schema;
 
 /**
@@ -49,9 +51,13 @@ public class GraphQLProducer {
     public GraphQLSchema initialize(boolean allowMultipleDeployments, ExecutionStrategy queryExecutionStrategy,
             ExecutionStrategy mutationExecutionStrategy) {
 
+        // Once for the application, before anything fires events or reports metrics
+        EventEmitter.initialize();
+        MetricsEmitter.initialize();
         this.graphQLSchema = Bootstrap.bootstrap(schema, allowMultipleDeployments);
         this.executionService = new ExecutionService(graphQLSchema, this.schema, queryExecutionStrategy,
                 mutationExecutionStrategy);
+        this.executionService.warmUp();
         return this.graphQLSchema;
     }
 
@@ -0,0 +1,159 @@
+package io.smallrye.graphql.entry.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+
+import io.smallrye.graphql.execution.ExecutionResponse;
+
+/**
+ * Writing to the response of an async request without blocking. The bytes are queued, and written whenever the
+ * container says the output stream is ready. The request is completed once everything is written.
+ *
+ * If the request times out, or the container reports an error, the request is completed right away and what is
+ * written after that is dropped.
+ */
+final class AsyncHttpServletResponseWriter implements WriteListener {
+    private static final String APPLICATION_JSON_UTF8 = "application/json;charset=UTF-8";
+
+    private final AsyncContext asyncContext;
+    private final ServletOutputStream out;
+    private final Queue<byte[]> chunks = new ArrayDeque<>();
+    private boolean ended;
+    private boolean completed;
+
+    AsyncHttpServletResponseWriter(AsyncContext asyncContext) throws IOException {
+        this.asyncContext = asyncContext;
+        this.out = asyncContext.getResponse().getOutputStream();
+        out.setWriteListener(this);
+        asyncContext.addListener(new RequestListener());
+    }
+
+    /**
+     * Write the whole response and complete the request
+     */
+    void writeAndEnd(ExecutionResponse executionResponse) {
+        if (isCompleted()) {
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        executionResponse.writeExecutionResultTo(bytes);
+        HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+        response.setContentType(APPLICATION_JSON_UTF8);
+        response.setContentLength(bytes.size());
+        write(bytes.toByteArray());
+        end();
+    }
+
+    synchronized void write(byte[] chunk) {
+        if (!completed) {
+            chunks.add(chunk);
+            drain();
+        }
+    }
+
+    /**
+     * Complete the request once everything is written
+     */
+    synchronized void end() {
+        ended = true;
+        drain();
+    }
+
+    /**
+     * Fail the request, with a server error if nothing is written yet
+     */
+    synchronized void fail(Throwable t) {
+        SmallRyeGraphQLServletLogging.log.asyncRequestFailed(t);
+        abort(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+    }
+
+    /**
+     * Stop waiting for the result, with a service unavailable if nothing is written yet
+     */
+    synchronized void timeout() {
+        SmallRyeGraphQLServletLogging.log.asyncRequestTimedOut(asyncContext.getTimeout());
+        abort(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+    }
+
+    private synchronized boolean isCompleted() {
+        return completed;
+    }
+
+    private void abort(int status) {
+        if (!completed) {
+            completed = true;
+            chunks.clear();
+            HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(status);
+            }
+            asyncContext.complete();
+        }
+    }
+
+    @Override
+    public synchronized void onWritePossible() {
+        drain();
+    }
+
+    @Override
+    public synchronized void onError(Throwable t) {
+        SmallRyeGraphQLServletLogging.log.ioException(t instanceof Exception ? (Exception) t : new IOException(t));
+        if (!completed) {
+            completed = true;
+            asyncContext.complete();
+        }
+    }
+
+    private void drain() {
+        try {
+            // Writing is only allowed while the stream is ready, else the container calls onWritePossible later
+            while (!completed && out.isReady()) {
+                byte[] chunk = chunks.poll();
+                if (chunk == null) {
+                    if (ended) {
+                        completed = true;
+                        asyncContext.complete();
+                    } else {
+                        // the client gets what is there, more is coming
+                        out.flush();
+                    }
+                    return;
+                }
+                out.write(chunk);
+            }
+        } catch (IOException ex) {
+            onError(ex);
+        }
+    }
+
+    private class RequestListener implements AsyncListener {
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            timeout();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            fail(event.getThrowable());
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
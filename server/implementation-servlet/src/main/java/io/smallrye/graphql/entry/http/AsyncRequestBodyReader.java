@@ -0,0 +1,129 @@
+package io.smallrye.graphql.entry.http;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Reading the body of an async request without blocking, whenever the container says there is data.
+ *
+ * The data is read straight into one buffer, that grows when it is full, up to the maximum body size. A larger body is
+ * answered with payload too large, and if the request times out before the body is read, it is answered with a
+ * request timeout.
+ */
+final class AsyncRequestBodyReader implements ReadListener, AsyncListener {
+    private static final int INITIAL_SIZE = 8192;
+    // A client can announce any length, it only gets a buffer that large once it sends that much
+    private static final int MAX_INITIAL_SIZE = 1024 * 1024;
+    // The largest array the JVM can allocate
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private final AsyncContext asyncContext;
+    private final ServletInputStream in;
+    private final int maxBodySize;
+    private final Consumer<byte[]> onBody;
+    private byte[] buffer;
+    private int size;
+    private boolean done;
+
+    /**
+     * @param maxBodySize the largest body, in bytes, that is read
+     * @param onBody gets the body once it is read
+     */
+    static void read(AsyncContext asyncContext, int maxBodySize, Consumer<byte[]> onBody) throws IOException {
+        AsyncRequestBodyReader reader = new AsyncRequestBodyReader(asyncContext,
+                asyncContext.getRequest().getInputStream(), maxBodySize, onBody);
+        if (asyncContext.getRequest().getContentLengthLong() > reader.maxBodySize) {
+            reader.end(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+        asyncContext.addListener(reader);
+        reader.in.setReadListener(reader);
+    }
+
+    private AsyncRequestBodyReader(AsyncContext asyncContext, ServletInputStream in, int maxBodySize,
+            Consumer<byte[]> onBody) {
+        this.asyncContext = asyncContext;
+        this.in = in;
+        this.maxBodySize = maxBodySize > 0 ? Math.min(maxBodySize, MAX_ARRAY_SIZE) : MAX_ARRAY_SIZE;
+        int contentLength = asyncContext.getRequest().getContentLength();
+        this.buffer = new byte[Math.min(contentLength > 0 ? Math.min(contentLength, MAX_INITIAL_SIZE) : INITIAL_SIZE,
+                this.maxBodySize)];
+        this.onBody = onBody;
+    }
+
+    @Override
+    public synchronized void onDataAvailable() throws IOException {
+        while (!done && in.isReady() && !in.isFinished()) {
+            if (size == buffer.length) {
+                if (size == maxBodySize) {
+                    // Only too large if there is more than that
+                    if (in.read() != -1) {
+                        end(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                    }
+                    return;
+                }
+                buffer = Arrays.copyOf(buffer, (int) Math.min(2L * buffer.length, maxBodySize));
+            }
+            int read = in.read(buffer, size, buffer.length - size);
+            if (read > 0) {
+                size += read;
+            }
+        }
+    }
+
+    @Override
+    public void onAllDataRead() {
+        byte[] body;
+        synchronized (this) {
+            if (done) {
+                return;
+            }
+            done = true;
+            body = size == buffer.length ? buffer : Arrays.copyOf(buffer, size);
+            buffer = null;
+        }
+        onBody.accept(body);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        SmallRyeGraphQLServletLogging.log.ioException(t instanceof Exception ? (Exception) t : new IOException(t));
+        end(HttpServletResponse.SC_BAD_REQUEST);
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        SmallRyeGraphQLServletLogging.log.asyncRequestTimedOut(asyncContext.getTimeout());
+        end(HttpServletResponse.SC_REQUEST_TIMEOUT);
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        onError(event.getThrowable());
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+
+    private synchronized void end(int status) {
+        if (!done) {
+            done = true;
+            buffer = null;
+            ((HttpServletResponse) asyncContext.getResponse()).setStatus(status);
+            asyncContext.complete();
+        }
+    }
+}
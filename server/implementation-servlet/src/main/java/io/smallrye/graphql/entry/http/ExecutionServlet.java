@@ -1,30 +1,41 @@
 package io.smallrye.graphql.entry.http;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import jakarta.inject.Inject;
 import jakarta.json.Json;
+import jakarta.json.JsonArray;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonObjectBuilder;
 import jakarta.json.JsonReader;
 import jakarta.json.JsonReaderFactory;
+import jakarta.json.JsonValue;
+import jakarta.servlet.AsyncContext;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import io.smallrye.graphql.execution.ExecutionResponse;
+import io.smallrye.graphql.execution.ExecutionResponseWriter;
 import io.smallrye.graphql.execution.ExecutionService;
 import io.smallrye.graphql.spi.config.Config;
 
@@ -33,7 +44,7 @@ import io.smallrye.graphql.spi.config.Config;
  *
  * @author Phillip Kruger (phillip.kruger@redhat.com)
  */
-@WebServlet(name = "SmallRyeGraphQLExecutionServlet", urlPatterns = { "/graphql/*" }, loadOnStartup = 1)
+@WebServlet(name = "SmallRyeGraphQLExecutionServlet", urlPatterns = { "/graphql/*" }, loadOnStartup = 1, asyncSupported = true)
 public class ExecutionServlet extends HttpServlet {
     private static final long serialVersionUID = -2859915918802356120L;
 
@@ -56,7 +67,8 @@ public class ExecutionServlet extends HttpServlet {
         try {
             if (config.isAllowGet()) {
                 JsonObject jsonObject = getJsonObjectFromQueryParameters(request);
-                executionService.executeSync(jsonObject, getMetaData(request), new HttpServletResponseWriter(response));
+                execute(jsonObject, getMetaData(request), request, response,
+                        isAsync(request) ? startAsync(request) : null);
             } else {
                 response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED, "GET Queries is not enabled");
             }
@@ -69,23 +81,147 @@ public class ExecutionServlet extends HttpServlet {
     @Override
     protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
         try {
-            Map<String, Object> metaData = getMetaData(request);
-            JsonObject jsonObjectFromBody = getJsonObjectFromBody(request);
-            if (request.getQueryString() != null && !request.getQueryString().isEmpty()
-                    && config.isAllowPostWithQueryParameters()) {
-                JsonObject jsonObjectFromQueryParameters = getJsonObjectFromQueryParameters(request);
-                JsonObject mergedJsonObject = Json.createMergePatch(jsonObjectFromQueryParameters).apply(jsonObjectFromBody)
-                        .asJsonObject();
-                executionService.executeSync(mergedJsonObject, metaData, new HttpServletResponseWriter(response));
-            } else {
-                executionService.executeSync(jsonObjectFromBody, metaData, new HttpServletResponseWriter(response));
+            if (!isAsync(request)) {
+                post(getJsonFromBody(request.getContentType(), request.getReader()), request, response, null);
+                return;
+            }
+            byte[] body = (byte[]) request.getAttribute(ASYNC_BODY);
+            if (body == null) {
+                // Read the body without blocking, and dispatch again to execute it, so the request scope is active
+                AsyncContext asyncContext = startAsync(request);
+                AsyncRequestBodyReader.read(asyncContext, config.getServletAsyncMaxBodySize(), bytes -> {
+                    request.setAttribute(ASYNC_BODY, bytes);
+                    asyncContext.dispatch();
+                });
+                return;
             }
+            request.removeAttribute(ASYNC_BODY);
+            String encoding = request.getCharacterEncoding();
+            Reader reader = new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding));
+            post(getJsonFromBody(request.getContentType(), reader), request, response, startAsync(request));
         } catch (IOException ex) {
             SmallRyeGraphQLServletLogging.log.ioException(ex);
             throw ex;
         }
     }
 
+    /**
+     * @param asyncContext the context of the async request, or null to execute it blocking this thread
+     */
+    private void post(JsonValue jsonFromBody, HttpServletRequest request, HttpServletResponse response,
+            AsyncContext asyncContext) throws IOException {
+        Map<String, Object> metaData = getMetaData(request);
+        if (jsonFromBody.getValueType() == JsonValue.ValueType.ARRAY) {
+            executeBatch(jsonFromBody.asJsonArray(), metaData, response, asyncContext);
+            return;
+        }
+        if (jsonFromBody.getValueType() != JsonValue.ValueType.OBJECT) {
+            sendError(response, asyncContext, "Expected a JSON object or array");
+            return;
+        }
+        JsonObject jsonObjectFromBody = jsonFromBody.asJsonObject();
+        if (request.getQueryString() != null && !request.getQueryString().isEmpty()
+                && config.isAllowPostWithQueryParameters()) {
+            JsonObject jsonObjectFromQueryParameters = getJsonObjectFromQueryParameters(request);
+            JsonObject mergedJsonObject = Json.createMergePatch(jsonObjectFromQueryParameters).apply(jsonObjectFromBody)
+                    .asJsonObject();
+            execute(mergedJsonObject, metaData, request, response, asyncContext);
+        } else {
+            execute(jsonObjectFromBody, metaData, request, response, asyncContext);
+        }
+    }
+
+    private void execute(JsonObject jsonInput, Map<String, Object> metaData, HttpServletRequest request,
+            HttpServletResponse response, AsyncContext asyncContext) throws IOException {
+        // @defer results are sent as they are done, which needs an async request so no thread waits for them
+        boolean multipart = config.isIncrementalDeliveryEnabled()
+                && HttpServletMultipartResponseWriter.isAccepted(request.getHeader("Accept"))
+                && (asyncContext != null || request.isAsyncSupported());
+        if (multipart && asyncContext == null) {
+            asyncContext = startAsync(request);
+        }
+        if (asyncContext != null) {
+            // The container thread is released while the resolvers are in flight
+            AsyncHttpServletResponseWriter asyncWriter = new AsyncHttpServletResponseWriter(asyncContext);
+            if (multipart) {
+                executionService.executeIncremental(jsonInput, metaData,
+                        new HttpServletMultipartResponseWriter(response, asyncWriter));
+            } else {
+                executionService.executeAsync(jsonInput, metaData, new ExecutionResponseWriter() {
+                    @Override
+                    public void write(ExecutionResponse executionResponse) {
+                        asyncWriter.writeAndEnd(executionResponse);
+                    }
+
+                    @Override
+                    public void fail(Throwable t) {
+                        asyncWriter.fail(t);
+                    }
+                });
+            }
+        } else {
+            executionService.executeSync(jsonInput, metaData, new HttpServletResponseWriter(response));
+        }
+    }
+
+    /**
+     * Execute the operations of a batched request, and write the array of results in the order of the operations
+     */
+    private void executeBatch(JsonArray operations, Map<String, Object> metaData, HttpServletResponse response,
+            AsyncContext asyncContext) throws IOException {
+        int maxSize = config.getBatchingMaxSize();
+        if (maxSize <= 0) {
+            sendError(response, asyncContext, "Batched requests are not enabled");
+            return;
+        }
+        if (operations.isEmpty() || operations.size() > maxSize) {
+            sendError(response, asyncContext, "A batched request must have between 1 and " + maxSize + " operations");
+            return;
+        }
+        List<JsonObject> jsonInputs = new ArrayList<>(operations.size());
+        for (JsonValue operation : operations) {
+            if (operation.getValueType() != JsonValue.ValueType.OBJECT) {
+                sendError(response, asyncContext, "Every operation must be a JSON object");
+                return;
+            }
+            jsonInputs.add(operation.asJsonObject());
+        }
+        HttpServletBatchResponseWriter batchWriter = new HttpServletBatchResponseWriter(response, jsonInputs.size());
+        executionService.executeBatchAsync(jsonInputs, metaData, batchWriter.getWriters());
+        if (asyncContext != null) {
+            batchWriter.writeAll(new AsyncHttpServletResponseWriter(asyncContext));
+        } else {
+            batchWriter.writeAll();
+        }
+    }
+
+    private static void sendError(HttpServletResponse response, AsyncContext asyncContext, String message)
+            throws IOException {
+        response.sendError(HttpServletResponse.SC_BAD_REQUEST, message);
+        if (asyncContext != null) {
+            asyncContext.complete();
+        }
+    }
+
+    /**
+     * Start an async request, that fails if it is not done within the configured timeout. The writer and the reader
+     * of the request listen for the timeout.
+     */
+    private AsyncContext startAsync(HttpServletRequest request) {
+        AsyncContext asyncContext = request.startAsync();
+        // 0 waits forever, as it does for the container
+        asyncContext.setTimeout(TimeUnit.SECONDS.toMillis(config.getServletAsyncTimeout()));
+        return asyncContext;
+    }
+
+    /**
+     * @return true if the request is read, executed and written without blocking a container thread
+     */
+    private boolean isAsync(HttpServletRequest request) {
+        return config.isServletAsyncEnabled() && request.isAsyncSupported();
+    }
+
     private JsonObject getJsonObjectFromQueryParameters(HttpServletRequest request) throws UnsupportedEncodingException {
         JsonObjectBuilder input = Json.createObjectBuilder();
         // Query
@@ -116,10 +252,9 @@ public class ExecutionServlet extends HttpServlet {
         return input.build();
     }
 
-    private JsonObject getJsonObjectFromBody(HttpServletRequest request) throws IOException {
-
-        String contentType = request.getContentType();
-        try (BufferedReader bufferedReader = request.getReader()) {
+    private JsonValue getJsonFromBody(String contentType, Reader reader) throws IOException {
+        try (BufferedReader bufferedReader = reader instanceof BufferedReader ? (BufferedReader) reader
+                : new BufferedReader(reader)) {
             // If the content type is application/graphql, the query is in the body
             if (contentType != null && contentType.startsWith(APPLICATION_GRAPHQL)) {
                 String query = bufferedReader.lines().collect(Collectors.joining("\n"));
@@ -129,7 +264,7 @@ public class ExecutionServlet extends HttpServlet {
                 // Else we expect a Json in the content
             } else {
                 try (JsonReader jsonReader = jsonReaderFactory.createReader(bufferedReader)) {
-                    return jsonReader.readObject();
+                    return jsonReader.readValue();
                 }
             }
         }
@@ -167,5 +302,6 @@ public class ExecutionServlet extends HttpServlet {
     private static final String VARIABLES = "variables";
     private static final String EXTENSIONS = "extensions";
     private static final String APPLICATION_GRAPHQL = "application/graphql";
+    private static final String ASYNC_BODY = ExecutionServlet.class.getName() + ".body";
 
 }
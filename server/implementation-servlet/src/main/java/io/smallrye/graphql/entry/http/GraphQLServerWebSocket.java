@@ -1,6 +1,7 @@
 package io.smallrye.graphql.entry.http;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -10,6 +11,7 @@ import jakarta.websocket.OnClose;
 import jakarta.websocket.OnError;
 import jakarta.websocket.OnMessage;
 import jakarta.websocket.OnOpen;
+import jakarta.websocket.RemoteEndpoint;
 import jakarta.websocket.Session;
 import jakarta.websocket.server.ServerEndpoint;
 
@@ -84,6 +86,9 @@ public class GraphQLServerWebSocket {
         }
     }
 
+    // Messages from this size on are sent in parts
+    private static final int PARTIAL_MESSAGE_SIZE = 8192;
+
     private class SmallRyeWebSocketSession implements GraphQLWebSocketSession {
 
         private final Session session;
@@ -93,13 +98,34 @@ public class GraphQLServerWebSocket {
         }
 
         @Override
-        public void sendMessage(String message) throws IOException {
+        public synchronized void sendMessage(String message) throws IOException {
             if (log.isTraceEnabled()) {
                 log.trace(">>> " + message);
             }
             session.getBasicRemote().sendText(message);
         }
 
+        @Override
+        public synchronized void sendMessage(ByteBuffer... utf8Parts) throws IOException {
+            int size = 0;
+            for (ByteBuffer part : utf8Parts) {
+                size += part.remaining();
+            }
+            if (utf8Parts.length == 1 || size < PARTIAL_MESSAGE_SIZE) {
+                GraphQLWebSocketSession.super.sendMessage(utf8Parts);
+                return;
+            }
+            // A large message is sent in parts, so its payload is not copied into one String with the envelope
+            RemoteEndpoint.Basic remote = session.getBasicRemote();
+            for (int i = 0; i < utf8Parts.length; i++) {
+                String part = GraphQLWebSocketSession.toString(utf8Parts[i]);
+                if (log.isTraceEnabled()) {
+                    log.trace(">>> " + part);
+                }
+                remote.sendText(part, i == utf8Parts.length - 1);
+            }
+        }
+
         @Override
         public void close(short statusCode, String reason) {
             try {
@@ -0,0 +1,154 @@
+package io.smallrye.graphql.entry.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import jakarta.json.Json;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
+import jakarta.servlet.http.HttpServletResponse;
+
+import graphql.ExecutionResultImpl;
+import graphql.GraphqlErrorBuilder;
+import io.smallrye.graphql.execution.ExecutionResponse;
+import io.smallrye.graphql.execution.ExecutionResponseWriter;
+import io.smallrye.graphql.spi.config.Config;
+
+/**
+ * Writing the responses of a batched request to HTTP servlet, as a JSON array with the results in the order of the
+ * operations. Each result is written as soon as it and the ones before it are done.
+ */
+public class HttpServletBatchResponseWriter {
+    private static final String APPLICATION_JSON_UTF8 = "application/json;charset=UTF-8";
+
+    private static final JsonGeneratorFactory jsonGeneratorFactory = Json.createGeneratorFactory(null);
+    private static final byte[] ARRAY_START = { '[' };
+    private static final byte[] ARRAY_END = { ']' };
+
+    private final HttpServletResponse response;
+    private final List<OperationWriter> writers;
+
+    public HttpServletBatchResponseWriter(HttpServletResponse response, int operations) {
+        this.response = response;
+        this.writers = new ArrayList<>(operations);
+        for (int i = 0; i < operations; i++) {
+            writers.add(new OperationWriter());
+        }
+    }
+
+    /**
+     * @return the writers of the operations, in the order of the operations
+     */
+    public List<? extends ExecutionResponseWriter> getWriters() {
+        return writers;
+    }
+
+    /**
+     * Wait for the results and write them. The output stream is closed when done.
+     *
+     * The results have to be there within the servlet async timeout, counted from now. An operation that is not done
+     * by then gets an error as result.
+     */
+    public void writeAll() throws IOException {
+        long timeout = TimeUnit.SECONDS.toNanos(Config.get().getServletAsyncTimeout());
+        long deadline = System.nanoTime() + timeout;
+        response.setContentType(APPLICATION_JSON_UTF8);
+        try (JsonGenerator generator = jsonGeneratorFactory.createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            for (OperationWriter writer : writers) {
+                // 0 waits forever
+                ExecutionResponse executionResponse = timeout > 0
+                        ? writer.getExecutionResponse(deadline - System.nanoTime())
+                        : writer.getExecutionResponse();
+                executionResponse.writeExecutionResultTo(generator);
+                generator.flush();
+            }
+            generator.writeEnd();
+        }
+    }
+
+    /**
+     * Write the results without blocking, each one as soon as it and the ones before it are done, and complete the
+     * request
+     */
+    void writeAll(AsyncHttpServletResponseWriter asyncWriter) {
+        response.setContentType(APPLICATION_JSON_UTF8);
+        asyncWriter.write(ARRAY_START);
+        CompletableFuture<Void> written = CompletableFuture.completedFuture(null);
+        for (int i = 0; i < writers.size(); i++) {
+            OperationWriter writer = writers.get(i);
+            boolean first = i == 0;
+            written = written
+                    .thenCompose(ignored -> writer.executionResponse.handle((executionResponse, failure) -> null))
+                    .thenRun(() -> {
+                        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+                        if (!first) {
+                            bytes.write(',');
+                        }
+                        // It is done, so this does not block
+                        writer.getExecutionResponse().writeExecutionResultTo(bytes);
+                        asyncWriter.write(bytes.toByteArray());
+                    });
+        }
+        written.whenComplete((ignored, failure) -> {
+            if (failure != null) {
+                asyncWriter.fail(failure);
+            } else {
+                asyncWriter.write(ARRAY_END);
+                asyncWriter.end();
+            }
+        });
+    }
+
+    private static class OperationWriter implements ExecutionResponseWriter {
+        private final CompletableFuture<ExecutionResponse> executionResponse = new CompletableFuture<>();
+
+        @Override
+        public void write(ExecutionResponse er) {
+            executionResponse.complete(er);
+        }
+
+        @Override
+        public void fail(Throwable t) {
+            executionResponse.completeExceptionally(t);
+        }
+
+        ExecutionResponse getExecutionResponse() {
+            try {
+                return executionResponse.join();
+            } catch (CompletionException ex) {
+                return failed(ex.getCause());
+            }
+        }
+
+        ExecutionResponse getExecutionResponse(long timeoutNanos) {
+            try {
+                return executionResponse.get(Math.max(timeoutNanos, 0), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException ex) {
+                return failed(ex.getCause());
+            } catch (TimeoutException ex) {
+                return failed(ex);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return failed(ex);
+            }
+        }
+
+        private static ExecutionResponse failed(Throwable t) {
+            SmallRyeGraphQLServletLogging.log.batchedOperationFailed(t);
+            // One failed operation does not fail the others
+            return new ExecutionResponse(ExecutionResultImpl.newExecutionResult()
+                    .addError(GraphqlErrorBuilder.newError()
+                            .message(Config.get().getDefaultErrorMessage())
+                            .build())
+                    .build());
+        }
+    }
+}
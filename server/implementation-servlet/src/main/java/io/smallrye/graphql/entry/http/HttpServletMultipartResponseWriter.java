@@ -0,0 +1,71 @@
+package io.smallrye.graphql.entry.http;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.json.JsonObject;
+import jakarta.servlet.http.HttpServletResponse;
+
+import io.smallrye.graphql.execution.ExecutionResponse;
+import io.smallrye.graphql.execution.IncrementalExecutionResponseWriter;
+
+/**
+ * Writing the payloads of an incrementally delivered response to an async HTTP servlet request, as
+ * {@code multipart/mixed} with a part per payload. A response that is not delivered incrementally is written as JSON.
+ *
+ * The payloads are written without blocking, so no thread waits for the deferred results.
+ */
+public class HttpServletMultipartResponseWriter implements IncrementalExecutionResponseWriter {
+    private static final String MULTIPART_MIXED = "multipart/mixed;boundary=\"-\";deferSpec=20220824";
+    private static final byte[] PART_HEADERS = "\r\nContent-Type: application/json; charset=utf-8\r\n\r\n"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BOUNDARY = "\r\n---".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] END = "--\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final HttpServletResponse response;
+    private final AsyncHttpServletResponseWriter asyncWriter;
+    private boolean started;
+
+    HttpServletMultipartResponseWriter(HttpServletResponse response, AsyncHttpServletResponseWriter asyncWriter) {
+        this.response = response;
+        this.asyncWriter = asyncWriter;
+    }
+
+    /**
+     * @param accept the {@code Accept} header of the request, can be null
+     * @return true if the client takes a {@code multipart/mixed} response
+     */
+    public static boolean isAccepted(String accept) {
+        return accept != null && accept.contains("multipart/mixed");
+    }
+
+    @Override
+    public void write(ExecutionResponse executionResponse) {
+        asyncWriter.writeAndEnd(executionResponse);
+    }
+
+    @Override
+    public void writeNext(JsonObject payload, boolean hasNext) {
+        ByteArrayOutputStream part = new ByteArrayOutputStream(1024);
+        if (!started) {
+            started = true;
+            response.setContentType(MULTIPART_MIXED);
+            part.writeBytes(BOUNDARY);
+        }
+        part.writeBytes(PART_HEADERS);
+        part.writeBytes(payload.toString().getBytes(StandardCharsets.UTF_8));
+        part.writeBytes(BOUNDARY);
+        if (!hasNext) {
+            part.writeBytes(END);
+        }
+        asyncWriter.write(part.toByteArray());
+        if (!hasNext) {
+            asyncWriter.end();
+        }
+    }
+
+    @Override
+    public void fail(Throwable t) {
+        asyncWriter.fail(t);
+    }
+}
@@ -2,9 +2,6 @@ package io.smallrye.graphql.entry.http;
 
 import java.io.IOException;
 
-import jakarta.json.Json;
-import jakarta.json.JsonWriter;
-import jakarta.json.JsonWriterFactory;
 import jakarta.servlet.http.HttpServletResponse;
 
 import io.smallrye.graphql.execution.ExecutionResponse;
@@ -17,7 +14,6 @@ import io.smallrye.graphql.execution.ExecutionResponseWriter;
  */
 public class HttpServletResponseWriter implements ExecutionResponseWriter {
     private static final String APPLICATION_JSON_UTF8 = "application/json;charset=UTF-8";
-    private static final JsonWriterFactory jsonWriterFactory = Json.createWriterFactory(null);
 
     private final HttpServletResponse response;
 
@@ -28,9 +24,10 @@ public class HttpServletResponseWriter implements ExecutionResponseWriter {
     @Override
     public void write(ExecutionResponse executionResponse) {
         if (executionResponse != null) {
-            try (JsonWriter jsonWriter = jsonWriterFactory.createWriter(response.getOutputStream())) {
+            try {
                 response.setContentType(APPLICATION_JSON_UTF8);
-                jsonWriter.writeObject(executionResponse.getExecutionResultAsJsonObject());
+                // stream the result, rather than building the JsonObject first
+                executionResponse.writeExecutionResultTo(response.getOutputStream());
             } catch (IOException ex) {
                 throw new RuntimeException(ex);
             }
@@ -1,7 +1,7 @@
 package io.smallrye.graphql.entry.http;
 
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
 
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServlet;
@@ -9,31 +9,63 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import graphql.schema.GraphQLSchema;
-import io.smallrye.graphql.execution.SchemaPrinter;
+import io.smallrye.graphql.execution.SchemaDocuments;
 
 /**
- * Serving the GraphQL schema
+ * Serving the GraphQL schema, as SDL or as the result of the introspection query.
+ *
+ * Both are created once per schema. Clients that send {@code If-None-Match} with the ETag they got get a 304, and
+ * clients that accept gzip get the compressed document.
  *
  * @author Phillip Kruger (phillip.kruger@redhat.com)
  */
-@WebServlet(name = "SmallRyeGraphQLSchemaServlet", urlPatterns = { "/graphql/schema.graphql" }, loadOnStartup = 2)
+@WebServlet(name = "SmallRyeGraphQLSchemaServlet", urlPatterns = { "/graphql/schema.graphql",
+        "/graphql/schema.json" }, loadOnStartup = 2)
 public class SchemaServlet extends HttpServlet {
 
     public static final String SCHEMA_PROP = "io.smallrye.graphql.servlet.bootstrap";
-    private final SchemaPrinter schemaPrinter = new SchemaPrinter();
 
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response) {
-        response.setContentType(CONTENT_TYPE);
-        try (PrintWriter out = response.getWriter()) {
-            GraphQLSchema schema = (GraphQLSchema) request.getServletContext().getAttribute(SCHEMA_PROP);
-            out.print(schemaPrinter.print(schema));
+        GraphQLSchema schema = (GraphQLSchema) request.getServletContext().getAttribute(SCHEMA_PROP);
+        SchemaDocuments documents = SchemaDocuments.get(schema);
+        SchemaDocuments.Document document = request.getServletPath().endsWith(".json")
+                ? documents.getIntrospection()
+                : documents.getSdl();
+
+        boolean gzip = acceptsGzip(request.getHeader("Accept-Encoding"));
+        response.setHeader("Vary", "Accept-Encoding");
+        response.setHeader("ETag", document.getETag(gzip));
+        if (document.isNotModified(request.getHeader("If-None-Match"), gzip)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] bytes = gzip ? document.getGzipBytes() : document.getBytes();
+        response.setContentType(document.getContentType());
+        response.setContentLength(bytes.length);
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip");
+        }
+        try (OutputStream out = response.getOutputStream()) {
+            out.write(bytes);
             out.flush();
         } catch (IOException ex) {
             SmallRyeGraphQLServletLogging.log.ioException(ex);
         }
     }
 
-    private static final String CONTENT_TYPE = "text/plain";
-
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            if (parameters[0].trim().equalsIgnoreCase("gzip")) {
+                // gzip;q=0 means not gzip
+                return parameters.length == 1 || !parameters[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 }
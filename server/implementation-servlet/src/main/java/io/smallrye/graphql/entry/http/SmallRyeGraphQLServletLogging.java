@@ -69,4 +69,16 @@ public interface SmallRyeGraphQLServletLogging {
     @Message(id = 21002, value = "Unable to log reader %s")
     void unableToLogReader(Reader reader);
 
+    @LogMessage(level = Logger.Level.ERROR)
+    @Message(id = 21003, value = "Operation of a batched request failed")
+    void batchedOperationFailed(@Cause Throwable t);
+
+    @LogMessage(level = Logger.Level.ERROR)
+    @Message(id = 21004, value = "Async request failed")
+    void asyncRequestFailed(@Cause Throwable t);
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 21005, value = "Async request timed out after %d ms")
+    void asyncRequestTimedOut(long timeout);
+
 }
@@ -22,6 +22,7 @@ import org.jboss.jandex.IndexView;
 
 import graphql.schema.GraphQLSchema;
 import io.smallrye.graphql.cdi.producer.GraphQLProducer;
+import io.smallrye.graphql.execution.BlockingOperationExecutor;
 import io.smallrye.graphql.schema.SchemaBuilder;
 import io.smallrye.graphql.schema.model.Schema;
 
@@ -66,6 +67,7 @@ public class StartupListener implements ServletContextListener {
 
     @Override
     public void contextDestroyed(ServletContextEvent sce) {
+        BlockingOperationExecutor.shutdown();
         SmallRyeGraphQLServletLogging.log.destroyed();
     }
 
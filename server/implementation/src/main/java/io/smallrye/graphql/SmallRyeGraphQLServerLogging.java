@@ -58,6 +58,30 @@ public interface SmallRyeGraphQLServerLogging {
     @Message(id = 11006, value = "Payload Out [%s]")
     void payloadOut(String payload);
 
+    @LogMessage(level = Logger.Level.INFO)
+    @Message(id = 11007, value = "Preloaded %d persisted documents into the query cache")
+    void preloadedPersistedDocuments(int count);
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 11008, value = "Persisted document [%s] is not valid and was not preloaded: %s")
+    void invalidPersistedDocument(String id, String errors);
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 11009, value = "Could not access persisted document [%s]")
+    void persistedDocumentStoreError(String id, @Cause Throwable cause);
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 11010, value = "Virtual threads are not available on this JVM, blocking operations run on a pool of %d platform threads instead")
+    void virtualThreadsNotAvailable(int threads);
+
+    @LogMessage(level = Logger.Level.ERROR)
+    @Message(id = 11011, value = "Deferred part of an incrementally delivered query failed")
+    void incrementalPartFailed(@Cause Throwable cause);
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 11012, value = "The persisted document store is full (%d documents), [%s] and later documents are not stored")
+    void persistedDocumentStoreFull(int maxDocuments, String id);
+
     /* 12000-12999: data fetching related logs */
 
     @LogMessage(level = Logger.Level.ERROR)
@@ -82,6 +106,14 @@ public interface SmallRyeGraphQLServerLogging {
     @Message(id = 13004, value = "Using %s service for class loading")
     void usingClassLoadingService(String name);
 
+    @LogMessage(level = Logger.Level.DEBUG)
+    @Message(id = 13005, value = "Using %s persisted document store")
+    void usingPersistedDocumentStore(String name);
+
+    @LogMessage(level = Logger.Level.DEBUG)
+    @Message(id = 13006, value = "Running blocking operations on %s")
+    void usingBlockingOperationExecutor(String name);
+
     /* 14000-14999: data transforming related logs */
 
     @LogMessage(level = Logger.Level.ERROR)
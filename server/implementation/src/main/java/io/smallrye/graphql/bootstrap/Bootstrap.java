@@ -56,6 +56,7 @@ import graphql.schema.visibility.BlockedFields;
 import graphql.schema.visibility.GraphqlFieldVisibility;
 import io.smallrye.graphql.SmallRyeGraphQLServerMessages;
 import io.smallrye.graphql.execution.Classes;
+import io.smallrye.graphql.execution.IncrementalDelivery;
 import io.smallrye.graphql.execution.datafetcher.BatchDataFetcher;
 import io.smallrye.graphql.execution.datafetcher.CollectionCreator;
 import io.smallrye.graphql.execution.datafetcher.PlugableDataFetcher;
@@ -178,6 +179,9 @@ public class Bootstrap {
         createGraphQLCustomScalarTypes();
         createGraphQLEnumTypes();
         createGraphQLDirectiveTypes();
+        if (Config.get().isIncrementalDeliveryEnabled()) {
+            directiveTypes.add(IncrementalDelivery.DEFER_DIRECTIVE);
+        }
 
         createGraphQLInterfaceTypes();
         createGraphQLUnionTypes();
@@ -10,7 +10,14 @@ public interface ConfigKey extends org.eclipse.microprofile.graphql.ConfigKey {
     public static final String PRINT_DATAFETCHER_EXCEPTION = "smallrye.graphql.printDataFetcherException";
     public static final String ALLOW_GET = "smallrye.graphql.allowGet";
     public static final String ALLOW_POST_WITH_QUERY_PARAMETERS = "smallrye.graphql.allowPostWithQueryParameters";
+    public static final String BATCHING_MAX_SIZE = "smallrye.graphql.batching.maxSize";
+    public static final String INCREMENTAL_DELIVERY_ENABLED = "smallrye.graphql.incrementalDelivery.enabled";
+    public static final String SERVLET_ASYNC_ENABLED = "smallrye.graphql.servlet.async.enabled";
+    public static final String SERVLET_ASYNC_TIMEOUT = "smallrye.graphql.servlet.async.timeout";
+    public static final String SERVLET_ASYNC_MAX_BODY_SIZE = "smallrye.graphql.servlet.async.maxBodySize";
     public static final String ENABLE_METRICS = "smallrye.graphql.metrics.enabled";
+    public static final String METRICS_SAMPLING_RATE = "smallrye.graphql.metrics.samplingRate";
+    public static final String METRICS_ROOT_FIELDS_ONLY = "smallrye.graphql.metrics.rootFieldsOnly";
     public static final String ENABLE_TRACING = "smallrye.graphql.tracing.enabled";
     public static final String ENABLE_EVENTS = "smallrye.graphql.events.enabled";
     public static final String ENABLE_FEDERATION = "smallrye.graphql.federation.enabled";
@@ -31,5 +38,20 @@ public interface ConfigKey extends org.eclipse.microprofile.graphql.ConfigKey {
     public static final String INSTRUMENTATION_QUERY_COMPLEXITY = "smallrye.graphql.instrumentation.queryComplexity";
     public static final String INSTRUMENTATION_QUERY_DEPTH = "smallrye.graphql.instrumentation.queryDepth";
     public static final String EXCLUDE_NULL_FIELDS_IN_RESPONSES = "smallrye.graphql.exclude-null-fields-in-responses";
+    public static final String QUERY_CACHE_NORMALIZE = "smallrye.graphql.queryCache.normalize";
+    public static final String PERSISTED_QUERIES_ENABLED = "smallrye.graphql.persistedQueries.enabled";
+    public static final String PERSISTED_DOCUMENTS_DIRECTORY = "smallrye.graphql.persistedDocuments.directory";
+    public static final String PERSISTED_DOCUMENTS_WRITABLE = "smallrye.graphql.persistedDocuments.writable";
+    public static final String PERSISTED_DOCUMENTS_MAX_SIZE = "smallrye.graphql.persistedDocuments.maxSize";
+    public static final String DATA_LOADER_MAX_BATCH_SIZE = "smallrye.graphql.dataLoader.maxBatchSize";
+    public static final String DATA_LOADER_CACHING_ENABLED = "smallrye.graphql.dataLoader.cachingEnabled";
+    public static final String VIRTUAL_THREADS_ENABLED = "smallrye.graphql.virtualThreads.enabled";
+    public static final String VIRTUAL_THREADS_MAX_CONCURRENCY = "smallrye.graphql.virtualThreads.maxConcurrency";
+    public static final String WEBSOCKET_KEEP_ALIVE_INTERVAL = "smallrye.graphql.websocket.keepAliveInterval";
+    public static final String WEBSOCKET_CONNECTION_INIT_TIMEOUT = "smallrye.graphql.websocket.connectionInitTimeout";
+    public static final String WEBSOCKET_IDLE_TIMEOUT = "smallrye.graphql.websocket.idleTimeout";
+    public static final String WEBSOCKET_SUBSCRIPTION_SHARING_ENABLED = "smallrye.graphql.websocket.subscriptionSharing.enabled";
+    public static final String WEBSOCKET_SUBSCRIPTION_BUFFER_SIZE = "smallrye.graphql.websocket.subscriptionBufferSize";
+    public static final String WEBSOCKET_SUBSCRIPTION_OVERFLOW_STRATEGY = "smallrye.graphql.websocket.subscriptionOverflowStrategy";
 
 }
\ No newline at end of file
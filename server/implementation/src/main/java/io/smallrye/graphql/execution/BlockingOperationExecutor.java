@@ -0,0 +1,154 @@
+package io.smallrye.graphql.execution;
+
+import static io.smallrye.graphql.SmallRyeGraphQLServerLogging.log;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.smallrye.graphql.spi.config.Config;
+
+/**
+ * Where blocking operations (the ones that do not return a {@code Uni}, {@code CompletionStage} or
+ * {@code Publisher}) are invoked when virtual threads are enabled. By default there is no executor, and they run on
+ * the thread executing the request.
+ *
+ * Virtual threads are created through reflection, as they are only available from Java 21. On older JVMs a fixed
+ * pool of platform threads is used instead.
+ */
+public final class BlockingOperationExecutor {
+
+    private static final int DEFAULT_PLATFORM_THREADS = 64;
+
+    private static volatile Executor executor;
+    private static volatile boolean initialized;
+    // Only the executor that was created from the configuration is shut down here
+    private static volatile boolean owned;
+
+    private BlockingOperationExecutor() {
+    }
+
+    /**
+     * @return the executor for blocking operations, or null if they run on the calling thread
+     */
+    public static Executor get() {
+        if (!initialized) {
+            synchronized (BlockingOperationExecutor.class) {
+                if (!initialized) {
+                    Config config = Config.get();
+                    executor = create(config.isVirtualThreadsEnabled(),
+                            config.getVirtualThreadsMaxConcurrency().orElse(null));
+                    owned = true;
+                    initialized = true;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Replaces the executor from the configuration, for example with one managed by the runtime.
+     *
+     * @param blockingExecutor the executor to use, or null to run blocking operations on the calling thread
+     */
+    public static void set(Executor blockingExecutor) {
+        synchronized (BlockingOperationExecutor.class) {
+            executor = blockingExecutor;
+            owned = false;
+            initialized = true;
+        }
+    }
+
+    /**
+     * Shuts down the executor that was created from the configuration, when the application stops. An executor
+     * that was {@linkplain #set(Executor) set} belongs to the runtime, and is left alone. The next call to
+     * {@link #get()} reads the configuration again.
+     */
+    public static void shutdown() {
+        synchronized (BlockingOperationExecutor.class) {
+            if (owned) {
+                Executor running = executor instanceof BoundedExecutor ? ((BoundedExecutor) executor).delegate : executor;
+                if (running instanceof ExecutorService) {
+                    ((ExecutorService) running).shutdown();
+                }
+            }
+            executor = null;
+            owned = false;
+            initialized = false;
+        }
+    }
+
+    /**
+     * Creates the executor that the configuration describes.
+     *
+     * @param virtualThreadsEnabled if false, there is no executor
+     * @param maxConcurrency the maximum number of operations running at the same time, can be null
+     * @return the executor, or null if blocking operations run on the calling thread
+     */
+    public static Executor create(boolean virtualThreadsEnabled, Integer maxConcurrency) {
+        if (!virtualThreadsEnabled) {
+            return null;
+        }
+        ExecutorService virtualThreads = newVirtualThreadPerTaskExecutor();
+        if (virtualThreads == null) {
+            int threads = maxConcurrency != null ? maxConcurrency : DEFAULT_PLATFORM_THREADS;
+            log.virtualThreadsNotAvailable(threads);
+            return Executors.newFixedThreadPool(threads, new PlatformThreadFactory());
+        }
+        log.usingBlockingOperationExecutor("virtual threads");
+        if (maxConcurrency != null) {
+            return new BoundedExecutor(virtualThreads, maxConcurrency);
+        }
+        return virtualThreads;
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Limits how many tasks run at the same time. Waiting for a permit is cheap on a virtual thread, so it is done
+     * in the task.
+     */
+    private static class BoundedExecutor implements Executor {
+        private final Executor delegate;
+        private final Semaphore permits;
+
+        BoundedExecutor(Executor delegate, int maxConcurrency) {
+            this.delegate = delegate;
+            this.permits = new Semaphore(maxConcurrency);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            delegate.execute(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+    }
+
+    private static class PlatformThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "smallrye-graphql-blocking-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
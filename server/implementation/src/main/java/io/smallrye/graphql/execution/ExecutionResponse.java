@@ -1,8 +1,12 @@
 package io.smallrye.graphql.execution;
 
+import java.io.OutputStream;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -24,6 +28,8 @@ import jakarta.json.bind.Jsonb;
 import jakarta.json.bind.JsonbBuilder;
 import jakarta.json.bind.JsonbConfig;
 import jakarta.json.spi.JsonProvider;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
 
 import graphql.ExecutionResult;
 import graphql.GraphQLError;
@@ -40,6 +46,7 @@ public class ExecutionResponse {
     private static final JsonProvider jsonProvider = JsonProvider.provider();
     private static final JsonBuilderFactory jsonObjectFactory = Json.createBuilderFactory(null);
     private static final JsonReaderFactory jsonReaderFactory = Json.createReaderFactory(null);
+    private static final JsonGeneratorFactory jsonGeneratorFactory = Json.createGeneratorFactory(null);
     private static final Jsonb jsonB = JsonbBuilder.create(new JsonbConfig()
             .withNullValues(Boolean.TRUE)
             .withFormatting(Boolean.TRUE));
@@ -86,7 +93,62 @@ public class ExecutionResponse {
     }
 
     public String getExecutionResultAsString() {
-        return getExecutionResultAsJsonObject().toString();
+        StringWriter stringWriter = new StringWriter();
+        writeExecutionResultTo(stringWriter);
+        return stringWriter.toString();
+    }
+
+    /**
+     * Write the execution result as JSON to the output stream (UTF-8), without building the intermediate
+     * {@link JsonObject}. The stream is closed when done.
+     *
+     * @param outputStream where the response goes
+     */
+    public void writeExecutionResultTo(OutputStream outputStream) {
+        try (JsonGenerator generator = jsonGeneratorFactory.createGenerator(outputStream, StandardCharsets.UTF_8)) {
+            writeExecutionResultTo(generator);
+        }
+    }
+
+    /**
+     * Write the execution result as JSON to the writer, without building the intermediate {@link JsonObject}.
+     * The writer is closed when done.
+     *
+     * @param writer where the response goes
+     */
+    public void writeExecutionResultTo(Writer writer) {
+        try (JsonGenerator generator = jsonGeneratorFactory.createGenerator(writer)) {
+            writeExecutionResultTo(generator);
+        }
+    }
+
+    /**
+     * Write the execution result as a JSON object to the generator. The data is walked once and written as it goes,
+     * so this can be used to embed the result in another document, for example after {@code generator.writeKey(..)}.
+     * The generator is not closed.
+     *
+     * @param generator positioned where a value can be written
+     */
+    public void writeExecutionResultTo(JsonGenerator generator) {
+        generator.writeStartObject();
+        // Errors
+        writeErrors(generator, executionResult);
+        // Data
+        writeData(generator, executionResult);
+        // Extensions
+        writeExtensions(generator, executionResult);
+        generator.writeEnd();
+    }
+
+    /**
+     * @return the errors in the result, or null if there are none
+     */
+    public JsonArray getErrorsAsJsonArray() {
+        List<GraphQLError> errors = executionResult.getErrors();
+        if (errors != null && !errors.isEmpty()) {
+            return errorsService.toJsonErrors(errors);
+        }
+        return null;
     }
 
     private JsonObjectBuilder addErrorsToResponse(JsonObjectBuilder returnObjectBuilder, ExecutionResult executionResult) {
@@ -214,6 +276,100 @@ public class ExecutionResponse {
         return jsonValue;
     }
 
+    private void writeErrors(JsonGenerator generator, ExecutionResult executionResult) {
+        List<GraphQLError> errors = executionResult.getErrors();
+        if (errors != null) {
+            JsonArray jsonArray = errorsService.toJsonErrors(errors);
+            if (!jsonArray.isEmpty()) {
+                generator.write(ERRORS, jsonArray);
+            }
+        }
+    }
+
+    private void writeData(JsonGenerator generator, ExecutionResult executionResult) {
+        generator.writeKey(DATA);
+        writeValue(generator, executionResult.getData());
+    }
+
+    private void writeExtensions(JsonGenerator generator, ExecutionResult executionResult) {
+        final Map<Object, Object> extensions = executionResult.getExtensions();
+        if (extensions != null) { // ERRORS
+            writeExtensions(generator, extensions);
+        } else if (addedExtensions != null && !addedExtensions.isEmpty()) { // ADDED EXTENSIONS
+            writeExtensions(generator, new HashMap(addedExtensions));
+        }
+    }
+
+    private void writeExtensions(JsonGenerator generator, Map<Object, Object> extensions) {
+        generator.writeStartObject(EXTENSIONS);
+        for (final Map.Entry<Object, Object> entry : extensions.entrySet()) {
+            if (entry.getKey() instanceof String) {
+                generator.writeKey((String) entry.getKey());
+                writeValue(generator, entry.getValue());
+            }
+        }
+        generator.writeEnd();
+    }
+
+    /**
+     * Streaming counterpart of {@link #toJsonValue(Object)}, writing the value in the current position of the
+     * generator.
+     *
+     * @param generator positioned where a value can be written
+     * @param pojo a java object, limited to {@code Collection}, {@code Map}, {@code Number}, {@code Boolean} and
+     *        {@code Enum}
+     */
+    private void writeValue(JsonGenerator generator, Object pojo) {
+        if (pojo == null) {
+            generator.writeNull();
+        } else if (pojo instanceof Map) {
+            generator.writeStartObject();
+            Map<String, Object> map = (Map<String, Object>) pojo;
+            boolean excludeNullFields = Config.get().isExcludeNullFieldsInResponses();
+            for (Map.Entry<String, Object> entry : map.entrySet()) {
+                pushToPathBuffer(entry.getKey());
+                Object value = entry.getValue();
+                if (!excludeNullFields || value != null || errorPaths.contains(pathBuffer)) {
+                    generator.writeKey(entry.getKey());
+                    writeValue(generator, value);
+                }
+                popFromThePathBuffer();
+            }
+            generator.writeEnd();
+        } else if (pojo instanceof Collection) {
+            generator.writeStartArray();
+            int index = 0;
+            for (final Object o : (Collection<Object>) pojo) {
+                pushToPathBuffer(index);
+                writeValue(generator, o);
+                popFromThePathBuffer();
+                index++;
+            }
+            generator.writeEnd();
+        } else if (pojo instanceof Boolean) {
+            generator.write((Boolean) pojo);
+        } else if (pojo instanceof String) {
+            generator.write((String) pojo);
+        } else if (pojo instanceof Double) {
+            generator.write(((Number) pojo).doubleValue());
+        } else if (pojo instanceof Float) {
+            //upcast to double would lead to precision loss
+            generator.write(new BigDecimal(String.valueOf(((Number) pojo).floatValue())));
+        } else if (pojo instanceof Long) {
+            generator.write((Long) pojo);
+        } else if (pojo instanceof Integer || pojo instanceof Short || pojo instanceof Byte) {
+            generator.write(((Number) pojo).intValue());
+        } else if (pojo instanceof BigDecimal) {
+            generator.write((BigDecimal) pojo);
+        } else if (pojo instanceof BigInteger) {
+            generator.write((BigInteger) pojo);
+        } else if (pojo instanceof Enum<?>) {
+            generator.write(((Enum<?>) pojo).name());
+        } else {
+            generator.write(toJsonValue(pojo));
+        }
+    }
+
     private void pushToPathBuffer(Object object) {
         if (pathBuffer != null) {
             pathBuffer.push(object);
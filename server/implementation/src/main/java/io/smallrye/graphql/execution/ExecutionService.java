@@ -12,12 +12,16 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
+import jakarta.json.Json;
 import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
 
 import org.dataloader.BatchLoaderWithContext;
 import org.dataloader.DataLoader;
 import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderOptions;
 import org.dataloader.DataLoaderRegistry;
 
 import com.apollographql.federation.graphqljava.tracing.FederatedTracingInstrumentation;
@@ -30,6 +34,8 @@ import graphql.ExecutionResultImpl;
 import graphql.GraphQL;
 import graphql.GraphQLError;
 import graphql.GraphqlErrorBuilder;
+import graphql.ParseAndValidate;
+import graphql.ParseAndValidateResult;
 import graphql.analysis.MaxQueryComplexityInstrumentation;
 import graphql.analysis.MaxQueryDepthInstrumentation;
 import graphql.execution.ExecutionId;
@@ -37,9 +43,11 @@ import graphql.execution.ExecutionStrategy;
 import graphql.execution.SubscriptionExecutionStrategy;
 import graphql.execution.instrumentation.ChainedInstrumentation;
 import graphql.execution.instrumentation.Instrumentation;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
 import graphql.parser.ParserOptions;
 import graphql.schema.GraphQLSchema;
 import io.smallrye.graphql.bootstrap.DataFetcherFactory;
+import io.smallrye.graphql.config.ConfigKey;
 import io.smallrye.graphql.execution.context.SmallRyeContext;
 import io.smallrye.graphql.execution.context.SmallRyeContextManager;
 import io.smallrye.graphql.execution.datafetcher.helper.BatchLoaderHelper;
@@ -49,6 +57,7 @@ import io.smallrye.graphql.execution.event.EventEmitter;
 import io.smallrye.graphql.schema.model.Operation;
 import io.smallrye.graphql.schema.model.Schema;
 import io.smallrye.graphql.schema.model.Type;
+import io.smallrye.graphql.spi.PersistedDocumentStore;
 import io.smallrye.graphql.spi.config.Config;
 import io.smallrye.graphql.spi.config.LogPayloadOption;
 import io.smallrye.mutiny.Uni;
@@ -74,7 +83,11 @@ public class ExecutionService {
     private GraphQL graphQL;
 
     private final QueryCache queryCache;
+    private final IntrospectionCache introspectionCache = new IntrospectionCache();
     private final LogPayloadOption payloadOption;
+    private final boolean persistedQueriesEnabled;
+    private final boolean incrementalDeliveryEnabled;
+    private final Map<String, Supplier<DataLoader<?, ?>>> dataLoaderFactories;
 
     private final ExecutionStrategy queryExecutionStrategy;
     private final ExecutionStrategy mutationExecutionStrategy;
@@ -85,19 +98,56 @@ public class ExecutionService {
 
     public ExecutionService(GraphQLSchema graphQLSchema, Schema schema, ExecutionStrategy queryExecutionStrategy,
             ExecutionStrategy mutationExecutionStrategy) {
+        this(graphQLSchema, schema, queryExecutionStrategy, mutationExecutionStrategy, PersistedDocumentStore.load());
+    }
+
+    public ExecutionService(GraphQLSchema graphQLSchema, Schema schema, ExecutionStrategy queryExecutionStrategy,
+            ExecutionStrategy mutationExecutionStrategy, PersistedDocumentStore persistedDocumentStore) {
 
         this.graphQLSchema = graphQLSchema;
         this.schema = schema;
 
+        Config config = Config.get();
+
         // use schema's hash as prefix to differentiate between multiple apps
         this.executionIdPrefix = Integer.toString(Objects.hashCode(graphQLSchema));
-        this.queryCache = new QueryCache();
+        this.queryCache = new QueryCache(config.isQueryCacheNormalizationEnabled(), persistedDocumentStore,
+                config.isPersistedDocumentsWritable());
 
         this.queryExecutionStrategy = queryExecutionStrategy;
         this.mutationExecutionStrategy = mutationExecutionStrategy;
 
-        Config config = Config.get();
         this.payloadOption = config.logPayload();
+        this.persistedQueriesEnabled = config.isPersistedQueriesEnabled();
+        this.incrementalDeliveryEnabled = config.isIncrementalDeliveryEnabled();
+        this.dataLoaderFactories = createDataLoaderFactories(config);
+    }
+
+    /**
+     * Parses and validates all documents of the persisted document store and puts them in the query cache, so the
+     * first requests after startup do not pay for it.
+     *
+     * @return the number of documents that were cached
+     */
+    public int warmUp() {
+        PersistedDocumentStore store = queryCache.getPersistedDocumentStore();
+        if (store == null || getGraphQL() == null) {
+            return 0;
+        }
+        int count = 0;
+        for (Map.Entry<String, String> document : store.getDocuments().entrySet()) {
+            ExecutionInput executionInput = ExecutionInput.newExecutionInput().query(document.getValue()).build();
+            ParseAndValidateResult result = ParseAndValidate.parseAndValidate(graphQLSchema, executionInput);
+            if (result.isFailure()) {
+                log.invalidPersistedDocument(document.getKey(), result.getErrors().toString());
+            } else {
+                queryCache.preload(document.getKey(), document.getValue(),
+                        new PreparsedDocumentEntry(result.getDocument()));
+                count++;
+            }
+        }
+        log.preloadedPersistedDocuments(count);
+        return count;
     }
 
     @Deprecated
@@ -136,6 +186,68 @@ public class ExecutionService {
     }
 
     public void execute(JsonObject jsonInput, Map<String, Object> context, ExecutionResponseWriter writer, boolean async) {
+        execute(jsonInput, context, writer, async, null);
+    }
+
+    /**
+     * Execute the operations of a batched request, like an HTTP request with an array of operations.
+     *
+     * Every operation is started with {@link #executeAsync(JsonObject, Map, ExecutionResponseWriter)}, so operations
+     * that fetch asynchronously run concurrently. They share one {@link DataLoaderRegistry}, so a batch ({@code @Source})
+     * load of a key is only done once for the whole batch.
+     *
+     * @param jsonInputs the operations
+     * @param context the context of the request, every operation gets a copy
+     * @param writers the writers of the operations, in the same order
+     */
+    public void executeBatchAsync(List<JsonObject> jsonInputs, Map<String, Object> context,
+            List<? extends ExecutionResponseWriter> writers) {
+        if (jsonInputs.size() != writers.size()) {
+            throw new IllegalArgumentException("Expected a writer for each of the " + jsonInputs.size() + " operations");
+        }
+        DataLoaderRegistry dataLoaderRegistry = dataLoaderFactories.isEmpty() ? null
+                : new LazyDataLoaderRegistry(dataLoaderFactories);
+        for (int i = 0; i < jsonInputs.size(); i++) {
+            execute(jsonInputs.get(i), new HashMap<>(context), writers.get(i), true, dataLoaderRegistry);
+        }
+    }
+
+    /**
+     * Execute the request, delivering the fields of {@code @defer} fragments after the rest of the result, if
+     * incremental delivery is enabled.
+     *
+     * A query that uses them is executed as several queries, that run concurrently and share one
+     * {@link DataLoaderRegistry}. If nothing is deferred, the request is executed with
+     * {@link #executeAsync(JsonObject, Map, ExecutionResponseWriter)}.
+     *
+     * @param jsonInput the request
+     * @param context the context of the request, every query gets a copy
+     * @param writer gets the payloads
+     */
+    public void executeIncremental(JsonObject jsonInput, Map<String, Object> context,
+            IncrementalExecutionResponseWriter writer) {
+        IncrementalDelivery.Plan plan = incrementalDeliveryEnabled ? IncrementalDelivery.plan(graphQLSchema,
+                jsonInput.getString(SmallRyeContext.QUERY, null),
+                jsonInput.getString(SmallRyeContext.OPERATION_NAME, null),
+                getVariables(jsonInput),
+                Config.get().getQueryComplexityInstrumentation().orElse(null)) : null;
+        if (plan == null) {
+            executeAsync(jsonInput, context, writer);
+            return;
+        }
+        DataLoaderRegistry dataLoaderRegistry = dataLoaderFactories.isEmpty() ? null
+                : new LazyDataLoaderRegistry(dataLoaderFactories);
+        new IncrementalExecution(plan, writer).start(jsonInput,
+                (partInput, partWriter) -> execute(partInput, new HashMap<>(context), partWriter, true, dataLoaderRegistry));
+    }
+
+    private static JsonObject getVariables(JsonObject jsonInput) {
+        JsonValue variables = jsonInput.get(SmallRyeContext.VARIABLES);
+        return variables instanceof JsonObject ? (JsonObject) variables : null;
+    }
+
+    private void execute(JsonObject jsonInput, Map<String, Object> context, ExecutionResponseWriter writer, boolean async,
+            DataLoaderRegistry dataLoaderRegistry) {
         SmallRyeContext smallRyeContext = SmallRyeContextManager.fromInitialRequest(jsonInput);
 
         // ExecutionId
@@ -145,6 +257,29 @@ public class ExecutionService {
             String query = smallRyeContext.getQuery();
             Optional<Map<String, Object>> variables = smallRyeContext.getVariables();
 
+            // Automatic persisted queries, a query that a client registers is only kept once it is known to be valid
+            String registeredQueryHash = null;
+            String persistedQueryHash = persistedQueriesEnabled ? PersistedQuery.getHash(smallRyeContext.getRequest())
+                    : null;
+            if (persistedQueryHash != null) {
+                if (query == null || query.isEmpty()) {
+                    query = queryCache.getPersistedQuery(persistedQueryHash);
+                    if (query == null) {
+                        sendError(PersistedQuery.NOT_FOUND, PersistedQuery.NOT_FOUND_CODE, writer);
+                        return;
+                    }
+                    smallRyeContext.setRequest(Json.createObjectBuilder(smallRyeContext.getRequest())
+                            .add(SmallRyeContext.QUERY, query)
+                            .build());
+                } else if (!query.equals(queryCache.getPersistedQuery(persistedQueryHash))) {
+                    if (!persistedQueryHash.equals(PersistedQuery.sha256(query))) {
+                        sendError(PersistedQuery.HASH_MISMATCH, writer);
+                        return;
+                    }
+                    registeredQueryHash = persistedQueryHash;
+                }
+            }
+
             if (query == null || query.isEmpty()) {
                 sendError("Missing 'query' field in the request", writer);
                 return;
@@ -170,11 +305,15 @@ public class ExecutionService {
                 // Operation name
                 smallRyeContext.getOperationName().ifPresent(executionBuilder::operationName);
 
+                if (registeredQueryHash != null) {
+                    executionBuilder.graphQLContext(Map.of(QueryCache.PERSISTED_QUERY_HASH, registeredQueryHash));
+                }
+
                 // DataLoaders
-                List<Operation> batchOperations = schema.getBatchOperations();
-                if (!batchOperations.isEmpty()) {
-                    DataLoaderRegistry dataLoaderRegistry = getDataLoaderRegistry(batchOperations);
+                if (dataLoaderRegistry != null) {
                     executionBuilder.dataLoaderRegistry(dataLoaderRegistry);
+                } else if (!dataLoaderFactories.isEmpty()) {
+                    executionBuilder.dataLoaderRegistry(new LazyDataLoaderRegistry(dataLoaderFactories));
                 }
 
                 ExecutionInput executionInput = executionBuilder.build();
@@ -191,14 +330,20 @@ public class ExecutionService {
                 // Notify before
                 eventEmitter.fireBeforeExecute(smallRyeContext);
 
-                // Execute
-                if (async) {
-                    writeAsync(g, executionInput, smallRyeContext, writer);
+                // Execute, unless it is introspection that was executed before
+                String introspectionKey = introspectionCache.getKey(executionInput);
+                ExecutionResult introspectionResult = introspectionCache.get(introspectionKey);
+                if (introspectionResult != null) {
+                    notifyAndWrite(smallRyeContext, introspectionResult, writer);
+                } else if (async) {
+                    writeAsync(g, executionInput, smallRyeContext, introspectionKey, writer);
                 } else {
-                    writeSync(g, executionInput, smallRyeContext, writer);
+                    writeSync(g, executionInput, smallRyeContext, introspectionKey, writer);
                 }
             } else {
                 log.noGraphQLMethodsFound();
+                // The writer still has to hear about it, a batch waits for every operation
+                throw new IllegalStateException("No GraphQL methods found");
             }
         } catch (Throwable t) {
             eventEmitter.fireOnExecuteError(smallRyeContext, t);
@@ -215,10 +360,17 @@ public class ExecutionService {
     }
 
     private static void sendError(String errorMessage, ExecutionResponseWriter writer) {
-        GraphQLError error = GraphqlErrorBuilder
+        sendError(errorMessage, null, writer);
+    }
+
+    private static void sendError(String errorMessage, String code, ExecutionResponseWriter writer) {
+        GraphqlErrorBuilder<?> errorBuilder = GraphqlErrorBuilder
                 .newError()
-                .message(errorMessage)
-                .build();
+                .message(errorMessage);
+        if (code != null) {
+            errorBuilder.extensions(Map.of("code", code));
+        }
+        GraphQLError error = errorBuilder.build();
         ExecutionResult executionResult = ExecutionResultImpl
                 .newExecutionResult()
                 .addError(error)
@@ -230,6 +382,7 @@ public class ExecutionService {
     private void writeAsync(GraphQL graphQL,
             ExecutionInput executionInput,
             SmallRyeContext smallRyeContext,
+            String introspectionKey,
             ExecutionResponseWriter writer) {
 
         Uni.createFrom().completionStage(() -> graphQL.executeAsync(executionInput))
@@ -237,6 +390,7 @@ public class ExecutionService {
                 .subscribe().with(executionResult -> {
 
                     SmallRyeContextManager.restore(smallRyeContext);
+                    introspectionCache.put(introspectionKey, executionInput, executionResult);
 
                     notifyAndWrite(smallRyeContext, executionResult, writer);
 
@@ -250,9 +404,11 @@ public class ExecutionService {
     private void writeSync(GraphQL g,
             ExecutionInput executionInput,
             SmallRyeContext smallRyeContext,
+            String introspectionKey,
             ExecutionResponseWriter writer) {
         try {
             ExecutionResult executionResult = g.execute(executionInput);
+            introspectionCache.put(introspectionKey, executionInput, executionResult);
             notifyAndWrite(smallRyeContext, executionResult, writer);
         } catch (Throwable t) {
             writer.fail(t);
@@ -275,16 +431,35 @@ public class ExecutionService {
         writer.write(executionResponse);
     }
 
-    private <K, T> DataLoaderRegistry getDataLoaderRegistry(List<Operation> operations) {
-        DataLoaderRegistry dataLoaderRegistry = new DataLoaderRegistry();
-        for (Operation operation : operations) {
-            Map<String, Type> types = schema.getTypes();
+    /**
+     * Creates the batch loaders once, so that a request only has to create the data loaders it uses
+     */
+    private <K, T> Map<String, Supplier<DataLoader<?, ?>>> createDataLoaderFactories(Config config) {
+        Map<String, Supplier<DataLoader<?, ?>>> factories = new HashMap<>();
+        if (schema == null) {
+            return factories;
+        }
+        Map<String, Type> types = schema.getTypes();
+        for (Operation operation : schema.getBatchOperations()) {
+            String name = batchLoaderHelper.getName(operation);
             BatchLoaderWithContext<K, T> batchLoader = dataFetcherFactory.getSourceBatchLoader(operation,
                     types.get(operation.getName()));
-            DataLoader<K, T> dataLoader = DataLoaderFactory.newDataLoader(batchLoader);
-            dataLoaderRegistry.register(batchLoaderHelper.getName(operation), dataLoader);
+            DataLoaderOptions options = getDataLoaderOptions(config, name);
+            factories.put(name, () -> DataLoaderFactory.newDataLoader(batchLoader, options));
+        }
+        return factories;
+    }
+
+    private static DataLoaderOptions getDataLoaderOptions(Config config, String name) {
+        DataLoaderOptions options = DataLoaderOptions.newOptions()
+                .setCachingEnabled(config.getConfigValue(ConfigKey.DATA_LOADER_CACHING_ENABLED + "." + name,
+                        Boolean.class, config.isDataLoaderCachingEnabled()));
+        Integer maxBatchSize = config.getConfigValue(ConfigKey.DATA_LOADER_MAX_BATCH_SIZE + "." + name,
+                Integer.class, config.getDataLoaderMaxBatchSize().orElse(null));
+        if (maxBatchSize != null) {
+            options.setMaxBatchSize(maxBatchSize);
         }
-        return dataLoaderRegistry;
+        return options;
     }
 
     private GraphQL getGraphQL() {
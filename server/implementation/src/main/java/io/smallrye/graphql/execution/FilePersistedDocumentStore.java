@@ -0,0 +1,176 @@
+package io.smallrye.graphql.execution;
+
+import static io.smallrye.graphql.SmallRyeGraphQLServerLogging.log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import io.smallrye.graphql.spi.PersistedDocumentStore;
+
+/**
+ * Keeps every persisted document in its own {@code <id>.graphql} file in a directory, which can be a volume shared
+ * between nodes. Documents are written to a temporary file first and then moved in place, so readers on other nodes
+ * never see a partial document.
+ *
+ * The directory holds at most a maximum number of documents. The documents that are already there are counted when the
+ * first document is written, after that only the documents written by this node are counted.
+ */
+public class FilePersistedDocumentStore implements PersistedDocumentStore {
+
+    private static final String EXTENSION = ".graphql";
+    // Ids come from clients, so they must not be able to point outside the directory
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9_-]{1,128}");
+
+    private final Path directory;
+    private final int maxDocuments;
+    // -1 until the documents in the directory are counted
+    private final AtomicInteger count = new AtomicInteger(-1);
+    private final AtomicBoolean fullLogged = new AtomicBoolean();
+
+    public FilePersistedDocumentStore(Path directory) {
+        this(directory, 10000);
+    }
+
+    /**
+     * @param directory the directory of the documents
+     * @param maxDocuments the maximum number of documents in the directory
+     */
+    public FilePersistedDocumentStore(Path directory, int maxDocuments) {
+        this.directory = directory;
+        this.maxDocuments = maxDocuments;
+    }
+
+    @Override
+    public String getName() {
+        return "File (" + directory + ")";
+    }
+
+    @Override
+    public String getDocument(String id) {
+        if (!VALID_ID.matcher(id).matches()) {
+            return null;
+        }
+        try {
+            return Files.readString(directory.resolve(id + EXTENSION), StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.persistedDocumentStoreError(id, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void putDocument(String id, String document) {
+        if (!VALID_ID.matcher(id).matches()) {
+            return;
+        }
+        Path target = directory.resolve(id + EXTENSION);
+        if (Files.exists(target)) {
+            return;
+        }
+        if (!reserve()) {
+            if (fullLogged.compareAndSet(false, true)) {
+                log.persistedDocumentStoreFull(maxDocuments, id);
+            }
+            return;
+        }
+        boolean written = false;
+        Path temporary = null;
+        try {
+            Files.createDirectories(directory);
+            temporary = Files.createTempFile(directory, id, ".tmp");
+            Files.writeString(temporary, document, StandardCharsets.UTF_8);
+            try {
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, target);
+            }
+            temporary = null;
+            written = true;
+        } catch (FileAlreadyExistsException e) {
+            // Another node stored it first
+        } catch (IOException e) {
+            log.persistedDocumentStoreError(id, e);
+        } finally {
+            if (!written) {
+                count.decrementAndGet();
+            }
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException e) {
+                    log.persistedDocumentStoreError(id, e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Map<String, String> getDocuments() {
+        Map<String, String> documents = new HashMap<>();
+        if (!Files.isDirectory(directory)) {
+            return documents;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : files) {
+                if (documents.size() >= maxDocuments) {
+                    break;
+                }
+                String fileName = file.getFileName().toString();
+                String id = fileName.substring(0, fileName.length() - EXTENSION.length());
+                String document = getDocument(id);
+                if (document != null) {
+                    documents.put(id, document);
+                }
+            }
+        } catch (IOException e) {
+            log.persistedDocumentStoreError(directory.toString(), e);
+        }
+        return documents;
+    }
+
+    /**
+     * @return true if there is room for another document, which is then counted
+     */
+    private boolean reserve() {
+        if (count.get() < 0) {
+            count.compareAndSet(-1, countDocuments());
+        }
+        int current;
+        do {
+            current = count.get();
+            if (current >= maxDocuments) {
+                return false;
+            }
+        } while (!count.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private int countDocuments() {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        int documents = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path ignored : files) {
+                documents++;
+            }
+        } catch (IOException e) {
+            log.persistedDocumentStoreError(directory.toString(), e);
+        }
+        return documents;
+    }
+}
@@ -0,0 +1,43 @@
+package io.smallrye.graphql.execution;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.smallrye.graphql.spi.PersistedDocumentStore;
+
+/**
+ * Keeps persisted documents in memory, for example a manifest of trusted operations registered by the application.
+ * It is not bounded, so it should only receive documents from trusted sources.
+ */
+public class InMemoryPersistedDocumentStore implements PersistedDocumentStore {
+
+    private final Map<String, String> documents = new ConcurrentHashMap<>();
+
+    public InMemoryPersistedDocumentStore() {
+    }
+
+    public InMemoryPersistedDocumentStore(Map<String, String> documents) {
+        this.documents.putAll(documents);
+    }
+
+    @Override
+    public String getName() {
+        return "In memory";
+    }
+
+    @Override
+    public String getDocument(String id) {
+        return documents.get(id);
+    }
+
+    @Override
+    public void putDocument(String id, String document) {
+        documents.putIfAbsent(id, document);
+    }
+
+    @Override
+    public Map<String, String> getDocuments() {
+        return Collections.unmodifiableMap(documents);
+    }
+}
@@ -0,0 +1,441 @@
+package io.smallrye.graphql.execution;
+
+import static graphql.Scalars.GraphQLBoolean;
+import static graphql.Scalars.GraphQLString;
+import static graphql.schema.GraphQLTypeUtil.isList;
+import static graphql.schema.GraphQLTypeUtil.unwrapAll;
+import static graphql.schema.GraphQLTypeUtil.unwrapNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+
+import graphql.introspection.Introspection.DirectiveLocation;
+import graphql.language.Argument;
+import graphql.language.AstPrinter;
+import graphql.language.BooleanValue;
+import graphql.language.Directive;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.Node;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.StringValue;
+import graphql.language.Value;
+import graphql.language.VariableDefinition;
+import graphql.language.VariableReference;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLDirective;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLNonNull;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+
+/**
+ * Incremental delivery of query results, with {@code @defer} on fragments.
+ *
+ * The graphql-java version we use can not execute this directive, so a query that uses it is planned as several
+ * queries: the initial query without the deferred selections, and a query per deferred fragment that selects the path
+ * from the root to it. They are executed concurrently, and the results of the deferred queries are sent as patches
+ * once the result of the query they are part of is sent. Deferred queries select the fields on their path again, so
+ * this is for fields that are slow compared to their parents.
+ *
+ * A fragment is only deferred if there is no list on its path, so its result belongs to exactly one object and the
+ * fields on the path are resolved once more per deferred fragment, not once more per item. Other fragments, and the
+ * ones after the first {@value #MAX_DEFERRED}, are delivered with the result they are in. If the queries together
+ * would be more complex than the configured limit, the query is executed as it is.
+ */
+public final class IncrementalDelivery {
+
+    public static final String DEFER = "defer";
+
+    public static final GraphQLDirective DEFER_DIRECTIVE = GraphQLDirective.newDirective()
+            .name(DEFER)
+            .description("Delivers the fields of the fragment after the rest of the result")
+            .validLocations(DirectiveLocation.FRAGMENT_SPREAD, DirectiveLocation.INLINE_FRAGMENT)
+            .argument(GraphQLArgument.newArgument()
+                    .name("if")
+                    .type(GraphQLNonNull.nonNull(GraphQLBoolean))
+                    .defaultValueProgrammatic(true))
+            .argument(GraphQLArgument.newArgument()
+                    .name("label")
+                    .type(GraphQLString))
+            .build();
+
+    // Deeper documents are not planned, their execution reports what is wrong with them
+    private static final int MAX_DEPTH = 64;
+    // The fields on the path of every deferred fragment are resolved again
+    static final int MAX_DEFERRED = 16;
+    // The response key of the field that fills a selection set of which everything is deferred
+    static final String PLACEHOLDER = "smallrye_deferred__";
+
+    private IncrementalDelivery() {
+    }
+
+    /**
+     * @param schema the schema the query is executed on
+     * @param query the query of the request
+     * @param operationName the operation to execute, can be null
+     * @param variables the variables of the request, can be null
+     * @param maxComplexity the maximum complexity of a query, can be null
+     * @return the plan, or null if nothing of the operation is deferred
+     */
+    static Plan plan(GraphQLSchema schema, String query, String operationName, JsonObject variables,
+            Integer maxComplexity) {
+        if (query == null || !query.contains("@" + DEFER)) {
+            return null;
+        }
+        try {
+            Document document = Parser.parse(query);
+            OperationDefinition operation = getOperation(document, operationName);
+            // Mutations and subscriptions are executed as they are, the directives have no effect
+            if (operation == null || operation.getOperation() != OperationDefinition.Operation.QUERY) {
+                return null;
+            }
+            Planner planner = new Planner(schema, document, operation, variables);
+            Plan plan = planner.plan();
+            // Every query is checked on its own when it is executed, together they must be within the limit too
+            if (plan != null && maxComplexity != null && planner.complexity > maxComplexity) {
+                return null;
+            }
+            return plan;
+        } catch (RuntimeException e) {
+            // Let the execution report what is wrong with the document
+            return null;
+        }
+    }
+
+    private static OperationDefinition getOperation(Document document, String operationName) {
+        List<OperationDefinition> operations = document.getDefinitionsOfType(OperationDefinition.class);
+        if (operationName == null) {
+            return operations.size() == 1 ? operations.get(0) : null;
+        }
+        for (OperationDefinition operation : operations) {
+            if (operationName.equals(operation.getName())) {
+                return operation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The queries a query is executed as. The first part is the initial query, parents come before their children.
+     */
+    static final class Plan {
+        private final List<Part> parts;
+
+        private Plan(List<Part> parts) {
+            this.parts = parts;
+        }
+
+        List<Part> getParts() {
+            return parts;
+        }
+    }
+
+    /**
+     * One of the queries of a plan: the initial query or a deferred fragment
+     */
+    static final class Part {
+        private final int index;
+        private final int parent;
+        private final String label;
+        private final List<String> path;
+        private String query;
+        private boolean placeholder;
+
+        private Part(int index, int parent, String label, List<String> path) {
+            this.index = index;
+            this.parent = parent;
+            this.label = label;
+            this.path = path;
+        }
+
+        int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return the index of the part that has to be sent first, -1 for the initial query
+         */
+        int getParent() {
+            return parent;
+        }
+
+        String getLabel() {
+            return label;
+        }
+
+        /**
+         * @return the response keys of the fields from the root to the object the deferred fields are in, none of
+         *         them is a list
+         */
+        List<String> getPath() {
+            return path;
+        }
+
+        String getQuery() {
+            return query;
+        }
+
+        /**
+         * @return true if the query selects the {@link #PLACEHOLDER} field, that is not in the request
+         */
+        boolean hasPlaceholder() {
+            return placeholder;
+        }
+    }
+
+    private static final class Planner {
+        private final Map<String, FragmentDefinition> fragments = new HashMap<>();
+        private final GraphQLSchema schema;
+        private final OperationDefinition operation;
+        private final JsonObject variables;
+        private final List<Part> parts = new ArrayList<>();
+        private boolean incremental;
+        // The number of fields in the queries, the complexity if every field counts as one
+        private int complexity;
+
+        Planner(GraphQLSchema schema, Document document, OperationDefinition operation, JsonObject variables) {
+            for (FragmentDefinition fragment : document.getDefinitionsOfType(FragmentDefinition.class)) {
+                fragments.put(fragment.getName(), fragment);
+            }
+            this.schema = schema;
+            this.operation = operation;
+            this.variables = variables;
+        }
+
+        Plan plan() {
+            // Inline the fragments, so the queries only have the fragments they use
+            SelectionSet root = inline(operation.getSelectionSet(), 0);
+            Part initial = newPart(null, null, List.of());
+            SelectionSet initialSelectionSet = split(root, schema.getQueryType(), true, List.of(), List.of(), initial, 0);
+            if (!incremental) {
+                return null;
+            }
+            initial.query = print(initialSelectionSet);
+            return new Plan(Collections.unmodifiableList(parts));
+        }
+
+        private SelectionSet inline(SelectionSet selectionSet, int depth) {
+            if (selectionSet == null) {
+                return null;
+            }
+            if (depth > MAX_DEPTH) {
+                throw new IllegalArgumentException("Too deep");
+            }
+            List<Selection> selections = new ArrayList<>();
+            for (Selection<?> selection : selectionSet.getSelections()) {
+                if (selection instanceof Field) {
+                    Field field = (Field) selection;
+                    selections.add(field.transform(b -> b.selectionSet(inline(field.getSelectionSet(), depth + 1))));
+                } else if (selection instanceof InlineFragment) {
+                    InlineFragment fragment = (InlineFragment) selection;
+                    selections.add(fragment.transform(b -> b.selectionSet(inline(fragment.getSelectionSet(), depth + 1))));
+                } else if (selection instanceof FragmentSpread) {
+                    FragmentSpread spread = (FragmentSpread) selection;
+                    FragmentDefinition fragment = fragments.get(spread.getName());
+                    if (fragment == null) {
+                        throw new IllegalArgumentException("Unknown fragment " + spread.getName());
+                    }
+                    selections.add(InlineFragment.newInlineFragment()
+                            .typeCondition(fragment.getTypeCondition())
+                            .directives(spread.getDirectives())
+                            .selectionSet(inline(fragment.getSelectionSet(), depth + 1))
+                            .build());
+                } else {
+                    selections.add(selection);
+                }
+            }
+            return SelectionSet.newSelectionSet(selections).build();
+        }
+
+        /**
+         * @param selectionSet the selections
+         * @param type the type the selections are on, null if it is not known
+         * @param deferrable false if there is a list on the path to the selections, or a type that is not known
+         * @param wrappers the fields and inline fragments from the root to the selections
+         * @param path the response keys of the fields in the wrappers
+         * @param owner the part the selections are in
+         * @return the selections that are in the owner, deferred fragments are planned as parts
+         */
+        private SelectionSet split(SelectionSet selectionSet, GraphQLType type, boolean deferrable,
+                List<Selection<?>> wrappers, List<String> path, Part owner, int depth) {
+            List<Selection> kept = new ArrayList<>();
+            for (Selection<?> selection : selectionSet.getSelections()) {
+                if (selection instanceof Field) {
+                    kept.add(descend((Field) selection, type, deferrable, wrappers, path, owner, depth));
+                } else if (selection instanceof InlineFragment) {
+                    InlineFragment fragment = (InlineFragment) selection;
+                    Directive defer = getActive(fragment.getDirectives(), DEFER);
+                    InlineFragment plain = fragment.transform(b -> b.directives(without(fragment.getDirectives(), DEFER)));
+                    GraphQLType fragmentType = fragment.getTypeCondition() == null ? type
+                            : schema.getType(fragment.getTypeCondition().getName());
+                    boolean fragmentDeferrable = deferrable && fragmentType != null;
+                    List<Selection<?>> fragmentWrappers = append(wrappers, plain);
+                    if (defer == null || !fragmentDeferrable || parts.size() > MAX_DEFERRED) {
+                        kept.add(plain.transform(b -> b.selectionSet(split(plain.getSelectionSet(), fragmentType,
+                                fragmentDeferrable, fragmentWrappers, path, owner, depth + 1))));
+                    } else {
+                        incremental = true;
+                        Part part = newPart(owner, getStringArgument(defer, "label"), path);
+                        InlineFragment deferred = plain.transform(b -> b.selectionSet(split(plain.getSelectionSet(),
+                                fragmentType, true, fragmentWrappers, path, part, depth + 1)));
+                        part.query = print(wrap(wrappers, deferred));
+                    }
+                } else {
+                    kept.add(selection);
+                }
+            }
+            if (kept.isEmpty()) {
+                // Everything is deferred, a selection set can not be empty. The client did not ask for this field, so
+                // it is removed from the payloads again
+                kept.add(Field.newField("__typename").alias(PLACEHOLDER).build());
+                owner.placeholder = true;
+            }
+            return SelectionSet.newSelectionSet(kept).build();
+        }
+
+        private Field descend(Field field, GraphQLType type, boolean deferrable, List<Selection<?>> wrappers,
+                List<String> path, Part owner, int depth) {
+            if (field.getSelectionSet() == null) {
+                return field;
+            }
+            if (depth > MAX_DEPTH) {
+                throw new IllegalArgumentException("Too deep");
+            }
+            GraphQLFieldDefinition definition = type instanceof GraphQLFieldsContainer
+                    ? ((GraphQLFieldsContainer) type).getFieldDefinition(field.getName())
+                    : null;
+            GraphQLType fieldType = definition == null ? null : definition.getType();
+            boolean fieldDeferrable = deferrable && fieldType != null && !isList(unwrapNonNull(fieldType));
+            SelectionSet selectionSet = split(field.getSelectionSet(), fieldType == null ? null : unwrapAll(fieldType),
+                    fieldDeferrable, append(wrappers, field), append(path, field.getResultKey()), owner, depth + 1);
+            return field.transform(b -> b.selectionSet(selectionSet));
+        }
+
+        private Part newPart(Part parent, String label, List<String> path) {
+            Part part = new Part(parts.size(), parent == null ? -1 : parent.index, label, path);
+            parts.add(part);
+            return part;
+        }
+
+        /**
+         * @return the selection within the fields and inline fragments from the root to it
+         */
+        private static SelectionSet wrap(List<Selection<?>> wrappers, Selection<?> selection) {
+            SelectionSet selectionSet = SelectionSet.newSelectionSet().selection(selection).build();
+            for (int i = wrappers.size() - 1; i >= 0; i--) {
+                SelectionSet inner = selectionSet;
+                Selection<?> wrapper = wrappers.get(i);
+                Selection<?> wrapped = wrapper instanceof Field
+                        ? ((Field) wrapper).transform(b -> b.selectionSet(inner))
+                        : ((InlineFragment) wrapper).transform(b -> b.selectionSet(inner));
+                selectionSet = SelectionSet.newSelectionSet().selection(wrapped).build();
+            }
+            return selectionSet;
+        }
+
+        /**
+         * @return the query with these selections, that only defines the variables they use
+         */
+        private String print(SelectionSet selectionSet) {
+            complexity += countFields(selectionSet);
+            Set<String> used = new HashSet<>();
+            collectVariables(selectionSet, used);
+            operation.getDirectives().forEach(directive -> collectVariables(directive, used));
+            List<VariableDefinition> definitions = operation.getVariableDefinitions().stream()
+                    .filter(definition -> used.contains(definition.getName()))
+                    .collect(Collectors.toList());
+            OperationDefinition query = operation.transform(b -> b
+                    .selectionSet(selectionSet)
+                    .variableDefinitions(definitions));
+            return AstPrinter.printAstCompact(Document.newDocument().definition(query).build());
+        }
+
+        private static int countFields(Node<?> node) {
+            int count = node instanceof Field ? 1 : 0;
+            for (Node<?> child : node.getChildren()) {
+                count += countFields(child);
+            }
+            return count;
+        }
+
+        private static void collectVariables(Node<?> node, Set<String> names) {
+            if (node instanceof VariableReference) {
+                names.add(((VariableReference) node).getName());
+            }
+            for (Node<?> child : node.getChildren()) {
+                collectVariables(child, names);
+            }
+        }
+
+        /**
+         * @return the directive with this name, or null if it is not there or its {@code if} argument is false
+         */
+        private Directive getActive(List<Directive> directives, String name) {
+            for (Directive directive : directives) {
+                if (directive.getName().equals(name)) {
+                    Argument condition = directive.getArgument("if");
+                    return condition == null || !JsonValue.FALSE.equals(resolve(condition.getValue())) ? directive : null;
+                }
+            }
+            return null;
+        }
+
+        private String getStringArgument(Directive directive, String name) {
+            Argument argument = directive.getArgument(name);
+            return argument != null && argument.getValue() instanceof StringValue
+                    ? ((StringValue) argument.getValue()).getValue()
+                    : null;
+        }
+
+        /**
+         * @return the value as JSON, variables resolved, or null if it is not a boolean
+         */
+        private JsonValue resolve(Value<?> value) {
+            if (value instanceof VariableReference) {
+                String name = ((VariableReference) value).getName();
+                if (variables != null && variables.containsKey(name)) {
+                    return variables.get(name);
+                }
+                return operation.getVariableDefinitions().stream()
+                        .filter(definition -> definition.getName().equals(name) && definition.getDefaultValue() != null)
+                        .map(definition -> resolve(definition.getDefaultValue()))
+                        .findFirst()
+                        .orElse(null);
+            }
+            if (value instanceof BooleanValue) {
+                return ((BooleanValue) value).isValue() ? JsonValue.TRUE : JsonValue.FALSE;
+            }
+            return null;
+        }
+
+        private static List<Directive> without(List<Directive> directives, String name) {
+            return directives.stream()
+                    .filter(directive -> !directive.getName().equals(name))
+                    .collect(Collectors.toList());
+        }
+
+        private static <T> List<T> append(List<T> list, T element) {
+            List<T> appended = new ArrayList<>(list.size() + 1);
+            appended.addAll(list);
+            appended.add(element);
+            return appended;
+        }
+    }
+}
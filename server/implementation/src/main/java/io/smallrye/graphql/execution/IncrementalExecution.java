@@ -0,0 +1,212 @@
+package io.smallrye.graphql.execution;
+
+import static io.smallrye.graphql.SmallRyeGraphQLServerLogging.log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonValue;
+
+import io.smallrye.graphql.execution.IncrementalDelivery.Part;
+import io.smallrye.graphql.execution.IncrementalDelivery.Plan;
+import io.smallrye.graphql.execution.context.SmallRyeContext;
+import io.smallrye.graphql.spi.config.Config;
+
+/**
+ * Executes the parts of an {@link IncrementalDelivery.Plan} and writes their payloads. A part is written once the part
+ * it is in has been written, so every patch has a place in what the client has.
+ */
+class IncrementalExecution {
+
+    private static final String DATA = "data";
+    private static final String ERRORS = "errors";
+    private static final String INCREMENTAL = "incremental";
+    private static final String HAS_NEXT = "hasNext";
+
+    private final Plan plan;
+    private final IncrementalExecutionResponseWriter writer;
+    // The payloads of the parts that are done, without hasNext
+    private final List<List<JsonObject>> payloads;
+    private final boolean[] written;
+    private int unwritten;
+    private boolean finished;
+
+    IncrementalExecution(Plan plan, IncrementalExecutionResponseWriter writer) {
+        this.plan = plan;
+        this.writer = writer;
+        int size = plan.getParts().size();
+        this.payloads = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            payloads.add(null);
+        }
+        this.written = new boolean[size];
+        this.unwritten = size;
+    }
+
+    /**
+     * @param jsonInput the request
+     * @param executor executes the request of a part
+     */
+    void start(JsonObject jsonInput, BiConsumer<JsonObject, ExecutionResponseWriter> executor) {
+        for (Part part : plan.getParts()) {
+            // Without the extensions, the hash of a persisted query is not the hash of these queries
+            JsonObjectBuilder input = Json.createObjectBuilder().add(SmallRyeContext.QUERY, part.getQuery());
+            if (jsonInput.containsKey(SmallRyeContext.OPERATION_NAME)) {
+                input.add(SmallRyeContext.OPERATION_NAME, jsonInput.get(SmallRyeContext.OPERATION_NAME));
+            }
+            if (jsonInput.containsKey(SmallRyeContext.VARIABLES)) {
+                input.add(SmallRyeContext.VARIABLES, jsonInput.get(SmallRyeContext.VARIABLES));
+            }
+            executor.accept(input.build(), new PartWriter(part));
+        }
+    }
+
+    private synchronized void done(Part part, List<JsonObject> partPayloads) {
+        if (finished) {
+            return;
+        }
+        payloads.set(part.getIndex(), partPayloads);
+        try {
+            // Parents come before their children, so one pass writes everything that can be written
+            for (Part candidate : plan.getParts()) {
+                int index = candidate.getIndex();
+                int parent = candidate.getParent();
+                if (!written[index] && payloads.get(index) != null && (parent < 0 || written[parent])) {
+                    written[index] = true;
+                    unwritten--;
+                    List<JsonObject> toWrite = payloads.get(index);
+                    for (int i = 0; i < toWrite.size(); i++) {
+                        boolean hasNext = unwritten > 0 || i < toWrite.size() - 1;
+                        writer.writeNext(Json.createObjectBuilder(toWrite.get(i)).add(HAS_NEXT, hasNext).build(), hasNext);
+                    }
+                    if (toWrite.isEmpty() && unwritten == 0) {
+                        writer.writeNext(Json.createObjectBuilder().add(HAS_NEXT, false).build(), false);
+                    }
+                }
+            }
+            finished = unwritten == 0;
+        } catch (RuntimeException e) {
+            finished = true;
+            writer.fail(e);
+        }
+    }
+
+    private synchronized void fail(Throwable t) {
+        if (!finished) {
+            finished = true;
+            writer.fail(t);
+        }
+    }
+
+    private synchronized void writeWhole(ExecutionResponse executionResponse) {
+        if (!finished) {
+            finished = true;
+            writer.write(executionResponse);
+        }
+    }
+
+    private class PartWriter implements ExecutionResponseWriter {
+        private final Part part;
+
+        PartWriter(Part part) {
+            this.part = part;
+        }
+
+        @Override
+        public void write(ExecutionResponse executionResponse) {
+            if (part.getParent() < 0 && !executionResponse.getExecutionResult().isDataPresent()) {
+                // The request failed, the other parts fail the same way
+                writeWhole(executionResponse);
+                return;
+            }
+            JsonObject result = executionResponse.getExecutionResultAsJsonObject();
+            if (part.hasPlaceholder() && result.get(DATA) instanceof JsonObject) {
+                result = Json.createObjectBuilder(result).add(DATA, withoutPlaceholder(result.getJsonObject(DATA))).build();
+            }
+            List<JsonObject> partPayloads = new ArrayList<>();
+            if (part.getParent() < 0) {
+                partPayloads.add(result);
+            } else {
+                // There is no list on the path, so there is one object the deferred fields belong to
+                JsonObject object = find(result.get(DATA), part.getPath());
+                JsonArray errors = result.getJsonArray(ERRORS);
+                if ((object != null && !object.isEmpty()) || errors != null) {
+                    JsonObjectBuilder item = item(toPath(part.getPath()), part.getLabel());
+                    if (object != null && !object.isEmpty()) {
+                        item.add(DATA, object);
+                    }
+                    if (errors != null) {
+                        item.add(ERRORS, errors);
+                    }
+                    partPayloads.add(Json.createObjectBuilder().add(INCREMENTAL, Json.createArrayBuilder().add(item)).build());
+                }
+            }
+            done(part, partPayloads);
+        }
+
+        @Override
+        public void fail(Throwable t) {
+            if (part.getParent() < 0) {
+                IncrementalExecution.this.fail(t);
+                return;
+            }
+            log.incrementalPartFailed(t);
+            JsonObject item = item(toPath(part.getPath()), part.getLabel())
+                    .add(ERRORS, Json.createArrayBuilder()
+                            .add(Json.createObjectBuilder().add("message", Config.get().getDefaultErrorMessage())))
+                    .build();
+            done(part, List.of(Json.createObjectBuilder().add(INCREMENTAL, Json.createArrayBuilder().add(item)).build()));
+        }
+    }
+
+    /**
+     * @return the object at the end of the response keys, or null if it is not there, an object of another type than
+     *         the type condition of the fragment is empty
+     */
+    /**
+     * @return the object without the placeholder fields, there is no list on the path to them
+     */
+    private static JsonObject withoutPlaceholder(JsonObject object) {
+        JsonObjectBuilder builder = Json.createObjectBuilder();
+        object.forEach((key, value) -> {
+            if (value instanceof JsonObject) {
+                builder.add(key, withoutPlaceholder((JsonObject) value));
+            } else if (!IncrementalDelivery.PLACEHOLDER.equals(key)) {
+                builder.add(key, value);
+            }
+        });
+        return builder.build();
+    }
+
+    private static JsonObject find(JsonValue value, List<String> keys) {
+        for (String key : keys) {
+            if (!(value instanceof JsonObject)) {
+                return null;
+            }
+            value = ((JsonObject) value).get(key);
+        }
+        return value instanceof JsonObject ? (JsonObject) value : null;
+    }
+
+    private static JsonObjectBuilder item(JsonArray path, String label) {
+        JsonObjectBuilder item = Json.createObjectBuilder().add("path", path);
+        if (label != null) {
+            item.add("label", label);
+        }
+        return item;
+    }
+
+    private static JsonArray toPath(List<String> path) {
+        JsonArrayBuilder builder = Json.createArrayBuilder();
+        for (String segment : path) {
+            builder.add(segment);
+        }
+        return builder.build();
+    }
+}
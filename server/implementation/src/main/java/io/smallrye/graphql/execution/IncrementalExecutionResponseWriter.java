@@ -0,0 +1,20 @@
+package io.smallrye.graphql.execution;
+
+import jakarta.json.JsonObject;
+
+/**
+ * Write the response to something that can take more than one payload, for {@code @defer}.
+ *
+ * If nothing is delivered incrementally, {@link #write(ExecutionResponse)} is called with the whole response as
+ * usual. Else {@link #writeNext(JsonObject, boolean)} is called with the initial payload and then with the subsequent
+ * payloads.
+ */
+public interface IncrementalExecutionResponseWriter extends ExecutionResponseWriter {
+
+    /**
+     * @param payload the initial payload, with the data and errors, or a subsequent payload with the
+     *        {@code incremental} results. It has the {@code hasNext} field.
+     * @param hasNext false for the last payload
+     */
+    void writeNext(JsonObject payload, boolean hasNext);
+}
@@ -0,0 +1,114 @@
+package io.smallrye.graphql.execution;
+
+import java.util.List;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+
+/**
+ * The results of operations that only select introspection fields ({@code __schema}, {@code __type} and
+ * {@code __typename}) at the root. These only depend on the schema and the variables, so they are executed once per
+ * {@link ExecutionService}, which is created again when the schema is rebuilt.
+ *
+ * The queries are normalized, so that the same introspection query sent with other formatting shares one entry, and
+ * the results that are used most often are kept. Looking up a result only looks at the text of the query; whether it
+ * only selects introspection fields is checked on the document that was parsed to execute it, before it is cached.
+ */
+class IntrospectionCache {
+
+    // Tools send a few different introspection queries, this is plenty
+    private static final int MAX_SIZE = 32;
+
+    private final TinyLfuCache<String, ExecutionResult> results = new TinyLfuCache<>(MAX_SIZE);
+
+    /**
+     * @param executionInput the input of the execution
+     * @return the key the result is cached under, or null if it can not be cached
+     */
+    String getKey(ExecutionInput executionInput) {
+        String query = executionInput.getQuery();
+        if (!query.contains("__schema") && !query.contains("__type")) {
+            return null;
+        }
+        return QueryNormalizer.normalize(executionInput.getQuery()) + '\u0000'
+                + executionInput.getOperationName() + '\u0000'
+                + executionInput.getVariables();
+    }
+
+    ExecutionResult get(String key) {
+        return key == null ? null : results.get(key);
+    }
+
+    /**
+     * @param key the key from {@link #getKey(ExecutionInput)}
+     * @param executionInput the input of the execution, with the document the {@link QueryCache} handed out
+     * @param executionResult the result of the execution
+     */
+    void put(String key, ExecutionInput executionInput, ExecutionResult executionResult) {
+        // Results with extensions, like traces, are about that one execution
+        if (key == null || !executionResult.getErrors().isEmpty()
+                || (executionResult.getExtensions() != null && !executionResult.getExtensions().isEmpty())) {
+            return;
+        }
+        Document document = executionInput.getGraphQLContext().get(QueryCache.DOCUMENT);
+        if (document != null && isIntrospectionOnly(document, executionInput.getOperationName())) {
+            results.computeIfAbsent(key, k -> executionResult);
+        }
+    }
+
+    static boolean isIntrospectionOnly(Document document, String operationName) {
+        List<OperationDefinition> operations = document.getDefinitionsOfType(OperationDefinition.class);
+        OperationDefinition operation = null;
+        if (operationName == null) {
+            if (operations.size() == 1) {
+                operation = operations.get(0);
+            }
+        } else {
+            for (OperationDefinition candidate : operations) {
+                if (operationName.equals(candidate.getName())) {
+                    operation = candidate;
+                }
+            }
+        }
+        return operation != null
+                && operation.getOperation() == OperationDefinition.Operation.QUERY
+                && isIntrospectionOnly(document, operation.getSelectionSet(), 0);
+    }
+
+    private static boolean isIntrospectionOnly(Document document, SelectionSet selectionSet, int depth) {
+        if (selectionSet == null || depth > 10) {
+            return false;
+        }
+        for (Selection<?> selection : selectionSet.getSelections()) {
+            if (selection instanceof Field) {
+                if (!((Field) selection).getName().startsWith("__")) {
+                    return false;
+                }
+            } else if (selection instanceof InlineFragment) {
+                if (!isIntrospectionOnly(document, ((InlineFragment) selection).getSelectionSet(), depth + 1)) {
+                    return false;
+                }
+            } else if (selection instanceof FragmentSpread) {
+                String name = ((FragmentSpread) selection).getName();
+                FragmentDefinition fragment = document.getDefinitionsOfType(FragmentDefinition.class).stream()
+                        .filter(f -> f.getName().equals(name))
+                        .findFirst()
+                        .orElse(null);
+                if (fragment == null || !isIntrospectionOnly(document, fragment.getSelectionSet(), depth + 1)) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+}
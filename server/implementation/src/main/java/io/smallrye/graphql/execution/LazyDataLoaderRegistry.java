@@ -0,0 +1,32 @@
+package io.smallrye.graphql.execution;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+
+/**
+ * A registry for one request that only creates the data loaders of the batch fields that are actually fetched.
+ * The factories are built once when the service starts.
+ */
+class LazyDataLoaderRegistry extends DataLoaderRegistry {
+
+    private final Map<String, Supplier<DataLoader<?, ?>>> factories;
+
+    LazyDataLoaderRegistry(Map<String, Supplier<DataLoader<?, ?>>> factories) {
+        this.factories = factories;
+    }
+
+    @Override
+    public <K, V> DataLoader<K, V> getDataLoader(String key) {
+        DataLoader<K, V> dataLoader = super.getDataLoader(key);
+        if (dataLoader == null) {
+            Supplier<DataLoader<?, ?>> factory = factories.get(key);
+            if (factory != null) {
+                dataLoader = computeIfAbsent(key, name -> factory.get());
+            }
+        }
+        return dataLoader;
+    }
+}
@@ -0,0 +1,60 @@
+package io.smallrye.graphql.execution;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+
+/**
+ * Helpers for Automatic Persisted Queries: the client sends the SHA-256 hash of the query in
+ * {@code extensions.persistedQuery.sha256Hash}, and only sends the query itself when the server does not know the hash
+ * yet.
+ */
+final class PersistedQuery {
+
+    static final String NOT_FOUND = "PersistedQueryNotFound";
+    static final String NOT_FOUND_CODE = "PERSISTED_QUERY_NOT_FOUND";
+    static final String HASH_MISMATCH = "provided sha does not match query";
+
+    private static final String EXTENSIONS = "extensions";
+    private static final String PERSISTED_QUERY = "persistedQuery";
+    private static final String SHA256_HASH = "sha256Hash";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private PersistedQuery() {
+    }
+
+    /**
+     * @param request the GraphQL request
+     * @return the lower case hash of the persisted query, or null if the request does not use one
+     */
+    static String getHash(JsonObject request) {
+        JsonValue extensions = request.get(EXTENSIONS);
+        if (extensions == null || extensions.getValueType() != JsonValue.ValueType.OBJECT) {
+            return null;
+        }
+        JsonValue persistedQuery = extensions.asJsonObject().get(PERSISTED_QUERY);
+        if (persistedQuery == null || persistedQuery.getValueType() != JsonValue.ValueType.OBJECT) {
+            return null;
+        }
+        String hash = persistedQuery.asJsonObject().getString(SHA256_HASH, null);
+        return hash == null ? null : hash.toLowerCase(Locale.ROOT);
+    }
+
+    static String sha256(String query) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8));
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[i * 2] = HEX[(digest[i] >> 4) & 0xf];
+                hex[i * 2 + 1] = HEX[digest[i] & 0xf];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
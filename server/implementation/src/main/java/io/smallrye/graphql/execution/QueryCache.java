@@ -15,27 +15,170 @@ import graphql.execution.instrumentation.parameters.InstrumentationValidationPar
 import graphql.execution.preparsed.PreparsedDocumentEntry;
 import graphql.execution.preparsed.PreparsedDocumentProvider;
 import graphql.validation.ValidationError;
+import io.smallrye.graphql.spi.PersistedDocumentStore;
+import io.smallrye.graphql.spi.config.Config;
 
 public class QueryCache extends SimpleInstrumentation implements PreparsedDocumentProvider {
+    /**
+     * The key in the GraphQL context of the automatic persisted query hash that a client registers the query with. The
+     * query is registered once it is known to be valid.
+     */
+    public static final String PERSISTED_QUERY_HASH = QueryCache.class.getName() + ".persistedQueryHash";
+
+    /**
+     * The key in the GraphQL context of the parsed document of a valid query, once it was looked up.
+     */
+    public static final String DOCUMENT = QueryCache.class.getName() + ".document";
+
     private static final int MAX_CACHE_SIZE = AccessController.doPrivileged((PrivilegedAction<Integer>) () -> {
         return Integer.getInteger("io.smallrye.graphql.execution.queryCacheMaxSize", 2048);
     });
+    // When set, the cache is bounded by the estimated size of the cached queries instead of their number
+    private static final long MAX_CACHE_BYTES = AccessController.doPrivileged((PrivilegedAction<Long>) () -> {
+        return Long.getLong("io.smallrye.graphql.execution.queryCacheMaxBytes", 0L);
+    });
 
     private static final ThreadLocal<ExecutionFunction> executionFunctionTL = new ThreadLocal<>();
 
-    private final LRUCache<String, PreparsedDocumentEntry> cache = new LRUCache<>(MAX_CACHE_SIZE);
+    private final TinyLfuCache<String, PreparsedDocumentEntry> cache = MAX_CACHE_BYTES > 0
+            ? new TinyLfuCache<>(MAX_CACHE_BYTES, QueryCache::weigh)
+            : new TinyLfuCache<>(MAX_CACHE_SIZE);
+
+    // Automatic persisted queries, SHA-256 hash of the query to the query
+    private final TinyLfuCache<String, String> persistedQueries = new TinyLfuCache<>(MAX_CACHE_SIZE);
+
+    private final boolean normalize;
+    private final PersistedDocumentStore store;
+    private final boolean storeWritable;
+
+    public QueryCache() {
+        this(Config.get().isQueryCacheNormalizationEnabled());
+    }
+
+    /**
+     * @param normalize whether queries that only differ in ignored tokens (white space, commas, comments) should share
+     *        a cache entry. The entry is the document parsed from the first of these queries, so the locations in
+     *        errors refer to the lines and columns of that query, not of the one that was sent. Persisted queries are
+     *        not looked up in a store, the {@link ExecutionService} loads the store once and passes it on.
+     */
+    public QueryCache(boolean normalize) {
+        this(normalize, null);
+    }
+
+    /**
+     * @param normalize whether queries that only differ in ignored tokens (white space, commas, comments) should share
+     *        a cache entry
+     * @param store where persisted queries are looked up, can be null
+     */
+    public QueryCache(boolean normalize, PersistedDocumentStore store) {
+        this(normalize, store, false);
+    }
+
+    /**
+     * @param normalize whether queries that only differ in ignored tokens (white space, commas, comments) should share
+     *        a cache entry
+     * @param store where persisted queries are looked up, can be null
+     * @param storeWritable whether the persisted queries that clients register are written to the store
+     */
+    public QueryCache(boolean normalize, PersistedDocumentStore store, boolean storeWritable) {
+        this.normalize = normalize;
+        this.store = store;
+        this.storeWritable = storeWritable;
+    }
+
+    public PersistedDocumentStore getPersistedDocumentStore() {
+        return store;
+    }
+
+    /**
+     * Adds a document that was parsed and validated up front, for example while warming up.
+     *
+     * @param id the id of the document in the persisted document store
+     * @param query the document
+     * @param entry the parsed and validated document
+     */
+    public void preload(String id, String query, PreparsedDocumentEntry entry) {
+        persistedQueries.computeIfAbsent(id, i -> query);
+        cache.computeIfAbsent(normalize ? QueryNormalizer.normalize(query) : query, key -> entry);
+    }
+
+    /**
+     * Gets the query that was registered for an automatic persisted query hash.
+     *
+     * @param sha256Hash the hex encoded SHA-256 hash of the query
+     * @return the query or null if it is unknown
+     */
+    public String getPersistedQuery(String sha256Hash) {
+        String query = persistedQueries.get(sha256Hash);
+        if (query == null && store != null) {
+            String stored = store.getDocument(sha256Hash);
+            if (stored != null) {
+                query = persistedQueries.computeIfAbsent(sha256Hash, hash -> stored);
+            }
+        }
+        return query;
+    }
+
+    /**
+     * Registers a valid query for an automatic persisted query hash. The caller has to make sure the hash matches.
+     *
+     * @param sha256Hash the hex encoded SHA-256 hash of the query
+     * @param query the query
+     */
+    public void putPersistedQuery(String sha256Hash, String query) {
+        persistedQueries.computeIfAbsent(sha256Hash, hash -> query);
+        if (store != null && storeWritable) {
+            store.putDocument(sha256Hash, query);
+        }
+    }
+
+    /**
+     * @return how many looked up queries were found in the cache
+     */
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    /**
+     * @return how many looked up queries had to be parsed and validated
+     */
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    /**
+     * @return how many queries were dropped from the cache to make room for others
+     */
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    // The parsed document grows with the query text, so the size of the text (two bytes per char) is used as estimate
+    private static long weigh(String query, PreparsedDocumentEntry entry) {
+        return 2L * query.length();
+    }
 
     @Override
     public PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
             Function<ExecutionInput, PreparsedDocumentEntry> computeFunction) {
         String query = executionInput.getQuery();
-        PreparsedDocumentEntry entry = cache.get(query);
+        String key = normalize ? QueryNormalizer.normalize(query) : query;
+        String persistedQueryHash = executionInput.getGraphQLContext().get(PERSISTED_QUERY_HASH);
+        PreparsedDocumentEntry entry = cache.get(key);
         if (entry == null) {
-            ExecutionFunction executionFunction = new ExecutionFunction(computeFunction, executionInput);
+            ExecutionFunction executionFunction = new ExecutionFunction(computeFunction, executionInput, key,
+                    persistedQueryHash);
             executionFunctionTL.set(executionFunction);
             entry = computeFunction.apply(executionInput);
         } else {
             log.retrievedFromCache(query);
+            // only valid queries are cached
+            if (persistedQueryHash != null) {
+                putPersistedQuery(persistedQueryHash, query);
+            }
+        }
+        if (!entry.hasErrors()) {
+            executionInput.getGraphQLContext().put(DOCUMENT, entry.getDocument());
         }
         return entry;
     }
@@ -55,10 +198,15 @@ public class QueryCache extends SimpleInstrumentation implements PreparsedDocume
     private static class ExecutionFunction implements Function<String, PreparsedDocumentEntry> {
         private final Function<ExecutionInput, PreparsedDocumentEntry> function;
         private final ExecutionInput executionInput;
+        private final String key;
+        private final String persistedQueryHash;
 
-        ExecutionFunction(Function<ExecutionInput, PreparsedDocumentEntry> function, ExecutionInput executionInput) {
+        ExecutionFunction(Function<ExecutionInput, PreparsedDocumentEntry> function, ExecutionInput executionInput,
+                String key, String persistedQueryHash) {
             this.function = function;
             this.executionInput = executionInput;
+            this.key = key;
+            this.persistedQueryHash = persistedQueryHash;
         }
 
         @Override
@@ -69,6 +217,14 @@ public class QueryCache extends SimpleInstrumentation implements PreparsedDocume
         String getQuery() {
             return executionInput.getQuery();
         }
+
+        String getKey() {
+            return key;
+        }
+
+        String getPersistedQueryHash() {
+            return persistedQueryHash;
+        }
     }
 
     private class ValidationInstrumentationContext implements InstrumentationContext<List<ValidationError>> {
@@ -88,8 +244,11 @@ public class QueryCache extends SimpleInstrumentation implements PreparsedDocume
             // at this point, we know the validation is complete - go ahead and add it to the cache if no errors
             if (t == null && (validationErrors == null || validationErrors.isEmpty())) {
                 // valid, uncached query - add to cache
-                cache.computeIfAbsent(executionFunction.getQuery(), executionFunction);
+                cache.computeIfAbsent(executionFunction.getKey(), executionFunction);
                 log.addedToCache(executionFunction.getQuery());
+                if (executionFunction.getPersistedQueryHash() != null) {
+                    putPersistedQuery(executionFunction.getPersistedQueryHash(), executionFunction.getQuery());
+                }
             }
         }
     }
@@ -0,0 +1,101 @@
+package io.smallrye.graphql.execution;
+
+/**
+ * Rewrites a GraphQL document in a canonical textual form, so that documents that only differ in ignored tokens
+ * (white space, line terminators, commas, comments and the byte order mark) share one query cache entry.
+ *
+ * This is a single lexical pass, much cheaper than parsing: string values are copied as they are, ignored tokens are
+ * dropped, and a single space is kept only where two tokens would otherwise run together (or, for strings,
+ * read differently). Literal values are kept,
+ * as the cached document carries them; clients should use variables for values that change.
+ */
+final class QueryNormalizer {
+
+    private QueryNormalizer() {
+    }
+
+    static String normalize(String query) {
+        int length = query.length();
+        StringBuilder normalized = new StringBuilder(length);
+        boolean pendingSeparator = false;
+        int i = 0;
+        while (i < length) {
+            char c = query.charAt(i);
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == ',' || c == '\uFEFF') {
+                pendingSeparator = true;
+                i++;
+            } else if (c == '#') {
+                while (i < length && query.charAt(i) != '\n' && query.charAt(i) != '\r') {
+                    i++;
+                }
+                pendingSeparator = true;
+            } else {
+                if (pendingSeparator && needsSeparator(normalized, c)) {
+                    normalized.append(' ');
+                }
+                pendingSeparator = false;
+                if (c == '"') {
+                    i = copyString(query, i, normalized);
+                } else {
+                    normalized.append(c);
+                    i++;
+                }
+            }
+        }
+        String result = normalized.toString();
+        // Keep the original instance when nothing changed, its hash code may already be computed
+        return result.equals(query) ? query : result;
+    }
+
+    private static boolean needsSeparator(StringBuilder normalized, char next) {
+        if (normalized.length() == 0) {
+            return false;
+        }
+        char previous = normalized.charAt(normalized.length() - 1);
+        // Two strings glued together would read as a block string quote, or as another split of the same quotes
+        if (previous == '"' && next == '"') {
+            return true;
+        }
+        // Names and numbers must not be glued to each other, nor to a following spread or negative number
+        return isWordPart(previous) && (isWordPart(next) || next == '.' || next == '-');
+    }
+
+    private static boolean isWordPart(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_';
+    }
+
+    /**
+     * Copies a string or block string value, starting at its opening quote.
+     *
+     * @return the index right after the closing quote
+     */
+    private static int copyString(String query, int start, StringBuilder normalized) {
+        int length = query.length();
+        boolean block = query.startsWith("\"\"\"", start);
+        int i = start + (block ? 3 : 1);
+        while (i < length) {
+            char c = query.charAt(i);
+            if (block) {
+                if (c == '\\' && query.startsWith("\\\"\"\"", i)) {
+                    i += 4;
+                } else if (query.startsWith("\"\"\"", i)) {
+                    i += 3;
+                    break;
+                } else {
+                    i++;
+                }
+            } else if (c == '\\') {
+                i += 2;
+            } else if (c == '"' || c == '\n' || c == '\r') {
+                // An unterminated string is copied up to the line end, the parser will report it
+                i += c == '"' ? 1 : 0;
+                break;
+            } else {
+                i++;
+            }
+        }
+        i = Math.min(i, length);
+        normalized.append(query, start, i);
+        return i;
+    }
+}
@@ -0,0 +1,150 @@
+package io.smallrye.graphql.execution;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.introspection.IntrospectionQuery;
+import graphql.schema.GraphQLSchema;
+
+/**
+ * The documents that describe a schema: the SDL and the result of the standard introspection query.
+ *
+ * They are created once per {@link GraphQLSchema}, when first asked for, and kept as bytes, so endpoints that are
+ * polled by gateways and IDEs only have to write them. A rebuilt schema is a new {@link GraphQLSchema}, so it gets
+ * new documents, and the ones of the old schema are garbage collected with it.
+ */
+public final class SchemaDocuments {
+
+    private static final Map<GraphQLSchema, SchemaDocuments> documents = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Weak, as the documents are the values of a weak map with the schema as key
+    private final WeakReference<GraphQLSchema> schema;
+    private volatile Document sdl;
+    private volatile Document introspection;
+
+    private SchemaDocuments(GraphQLSchema schema) {
+        this.schema = new WeakReference<>(schema);
+    }
+
+    public static SchemaDocuments get(GraphQLSchema schema) {
+        return documents.computeIfAbsent(schema, SchemaDocuments::new);
+    }
+
+    /**
+     * @return the schema in the GraphQL schema definition language, printed with {@link SchemaPrinter}
+     */
+    public Document getSdl() {
+        Document document = sdl;
+        if (document == null) {
+            document = sdl = new Document(new SchemaPrinter().print(schema.get()), "text/plain;charset=UTF-8");
+        }
+        return document;
+    }
+
+    /**
+     * @return the response to {@link IntrospectionQuery#INTROSPECTION_QUERY}
+     */
+    public Document getIntrospection() {
+        Document document = introspection;
+        if (document == null) {
+            ExecutionResult executionResult = GraphQL.newGraphQL(schema.get()).build()
+                    .execute(IntrospectionQuery.INTROSPECTION_QUERY);
+            document = introspection = new Document(new ExecutionResponse(executionResult).getExecutionResultAsString(),
+                    "application/json;charset=UTF-8");
+        }
+        return document;
+    }
+
+    /**
+     * A document, as it is sent: in UTF-8, and gzip compressed
+     */
+    public static final class Document {
+        private final String contentType;
+        private final byte[] bytes;
+        private final byte[] gzipBytes;
+        private final String eTag;
+        private final String gzipETag;
+
+        Document(String content, String contentType) {
+            this.contentType = contentType;
+            this.bytes = content.getBytes(StandardCharsets.UTF_8);
+            this.gzipBytes = gzip(bytes);
+            String hash = sha256(bytes);
+            this.eTag = '"' + hash + '"';
+            this.gzipETag = '"' + hash + "-gzip\"";
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        public byte[] getGzipBytes() {
+            return gzipBytes;
+        }
+
+        /**
+         * @param gzip if the gzip compressed bytes are sent
+         * @return the strong entity tag of the bytes that are sent
+         */
+        public String getETag(boolean gzip) {
+            return gzip ? gzipETag : eTag;
+        }
+
+        /**
+         * @param ifNoneMatch the {@code If-None-Match} header, can be null
+         * @param gzip if the gzip compressed bytes would be sent
+         * @return true if the client already has the representation of this document that would be sent
+         */
+        public boolean isNotModified(String ifNoneMatch, boolean gzip) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            String sentETag = getETag(gzip);
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(sentETag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static byte[] gzip(byte[] bytes) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+
+        private static String sha256(byte[] bytes) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+                return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
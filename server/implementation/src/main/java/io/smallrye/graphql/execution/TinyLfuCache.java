@@ -0,0 +1,572 @@
+package io.smallrye.graphql.execution;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A bounded concurrent cache with a W-TinyLFU eviction policy.
+ *
+ * Lookups never block: a hit is recorded in a lossy, striped ring buffer and the buffers are replayed against the
+ * eviction policy by whichever thread manages to take the eviction lock. New entries land in a small LRU window and,
+ * once they fall out of it, only replace an entry of the main region if they have been asked for more often, as
+ * estimated by a count-min sketch. The main region is a segmented LRU (probation and protected).
+ *
+ * The bound is a total weight. By default every entry weighs 1, so the bound is an entry count, but a
+ * {@link Weigher} can be given to bound the cache by an estimated size in bytes instead.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class TinyLfuCache<K, V> {
+
+    /**
+     * Computes the weight of a cache entry.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    @FunctionalInterface
+    public interface Weigher<K, V> {
+        long weigh(K key, V value);
+    }
+
+    private static final int NCPU = Runtime.getRuntime().availableProcessors();
+    private static final int READ_BUFFER_STRIPES = Math.min(ceilingPowerOfTwo(NCPU), 64);
+    private static final int WINDOW_PERCENT = 1;
+    private static final int PROTECTED_PERCENT = 80;
+    // A candidate that is used at least this often is admitted at random now and then, even if it is not used more
+    // often than the victim, so that keys crafted to collide with a hot entry in the sketch can't keep it out
+    private static final int ADMIT_HASHDOS_THRESHOLD = 6;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ReadBuffer<Node<K, V>>[] readBuffers;
+    private final Queue<Node<K, V>> writeBuffer = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final Weigher<K, V> weigher;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // Everything below is guarded by the eviction lock
+    private final FrequencySketch sketch;
+    private final AccessOrderQueue<K, V> window = new AccessOrderQueue<>();
+    private final AccessOrderQueue<K, V> probation = new AccessOrderQueue<>();
+    private final AccessOrderQueue<K, V> protectedQueue = new AccessOrderQueue<>();
+    private final long maximum;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private long weightedSize;
+    private long windowWeightedSize;
+    private long protectedWeightedSize;
+
+    /**
+     * Creates a cache bounded by number of entries.
+     *
+     * @param maximumSize the maximum number of entries
+     */
+    public TinyLfuCache(long maximumSize) {
+        this(maximumSize, (k, v) -> 1L);
+    }
+
+    /**
+     * Creates a cache bounded by the total weight of its entries.
+     *
+     * @param maximumWeight the maximum total weight
+     * @param weigher computes the weight of each entry, must not return a negative value
+     */
+    @SuppressWarnings("unchecked")
+    public TinyLfuCache(long maximumWeight, Weigher<K, V> weigher) {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("Maximum weight must not be negative");
+        }
+        this.weigher = weigher;
+        this.maximum = maximumWeight;
+        long mainMaximum = maximumWeight - (maximumWeight * WINDOW_PERCENT) / 100;
+        this.windowMaximum = maximumWeight - mainMaximum;
+        this.protectedMaximum = (mainMaximum * PROTECTED_PERCENT) / 100;
+        this.sketch = new FrequencySketch((int) Math.min(maximumWeight, 1024));
+        this.readBuffers = new ReadBuffer[READ_BUFFER_STRIPES];
+        for (int i = 0; i < readBuffers.length; i++) {
+            readBuffers[i] = new ReadBuffer<>();
+        }
+    }
+
+    /**
+     * Returns the value for the key, or null if it is not cached. Every call counts as a hit or a miss.
+     *
+     * @param key the key
+     * @return the cached value or null
+     */
+    public V get(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        afterRead(node);
+        return node.value;
+    }
+
+    /**
+     * Returns the value for the key, computing and caching it if it is absent. The function is called at most once
+     * per absent key. A null value is not cached. Calls to this method are not counted as hits or misses.
+     *
+     * @param key the key
+     * @param valueFunction computes the value
+     * @return the cached or computed value
+     */
+    public V computeIfAbsent(K key, Function<K, V> valueFunction) {
+        Node<K, V> node = data.get(key);
+        if (node != null) {
+            afterRead(node);
+            return node.value;
+        }
+        @SuppressWarnings("unchecked")
+        Node<K, V>[] created = new Node[1];
+        node = data.computeIfAbsent(key, k -> {
+            V value = valueFunction.apply(k);
+            if (value == null) {
+                return null;
+            }
+            long weight = weigher.weigh(k, value);
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight must not be negative");
+            }
+            created[0] = new Node<>(k, value, weight);
+            return created[0];
+        });
+        if (node == null) {
+            return null;
+        }
+        if (node == created[0]) {
+            afterWrite(node);
+        } else {
+            afterRead(node);
+        }
+        return node.value;
+    }
+
+    /**
+     * @return the number of cached entries
+     */
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * @return the total weight of the cached entries, after pending work has been applied
+     */
+    public long weightedSize() {
+        evictionLock.lock();
+        try {
+            maintenance();
+            return weightedSize;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private void afterRead(Node<K, V> node) {
+        ReadBuffer<Node<K, V>> buffer = readBuffers[probe() & (readBuffers.length - 1)];
+        if (!buffer.offer(node) && evictionLock.tryLock()) {
+            // The buffer is full; drain it if nobody else is doing so already, otherwise the read is simply lost
+            try {
+                maintenance();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void afterWrite(Node<K, V> node) {
+        writeBuffer.add(node);
+        evictionLock.lock();
+        try {
+            maintenance();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void maintenance() {
+        for (ReadBuffer<Node<K, V>> buffer : readBuffers) {
+            Node<K, V> node;
+            while ((node = buffer.poll()) != null) {
+                onAccess(node);
+            }
+        }
+        Node<K, V> node;
+        while ((node = writeBuffer.poll()) != null) {
+            onAdd(node);
+        }
+        evictFromMain(evictFromWindow());
+    }
+
+    private void onAccess(Node<K, V> node) {
+        switch (node.queue) {
+            case Node.WINDOW:
+                sketch.increment(node.key);
+                window.moveToBack(node);
+                break;
+            case Node.PROBATION:
+                sketch.increment(node.key);
+                probation.remove(node);
+                protectedQueue.addLast(node);
+                node.queue = Node.PROTECTED;
+                protectedWeightedSize += node.weight;
+                demoteFromProtected();
+                break;
+            case Node.PROTECTED:
+                sketch.increment(node.key);
+                protectedQueue.moveToBack(node);
+                break;
+            default:
+                // Not added yet, or already evicted
+                break;
+        }
+    }
+
+    private void onAdd(Node<K, V> node) {
+        if (node.queue != Node.NEW) {
+            return;
+        }
+        sketch.ensureCapacity(data.size());
+        sketch.increment(node.key);
+        window.addLast(node);
+        node.queue = Node.WINDOW;
+        windowWeightedSize += node.weight;
+        weightedSize += node.weight;
+    }
+
+    private void demoteFromProtected() {
+        while (protectedWeightedSize > protectedMaximum) {
+            Node<K, V> demoted = protectedQueue.first;
+            if (demoted == null) {
+                break;
+            }
+            protectedQueue.remove(demoted);
+            probation.addLast(demoted);
+            demoted.queue = Node.PROBATION;
+            protectedWeightedSize -= demoted.weight;
+        }
+    }
+
+    /**
+     * Moves the entries that overflow the window to the back of the probation queue.
+     *
+     * @return the first moved entry, or null if none was moved
+     */
+    private Node<K, V> evictFromWindow() {
+        Node<K, V> first = null;
+        while (windowWeightedSize > windowMaximum) {
+            Node<K, V> node = window.first;
+            if (node == null) {
+                break;
+            }
+            window.remove(node);
+            probation.addLast(node);
+            node.queue = Node.PROBATION;
+            windowWeightedSize -= node.weight;
+            if (first == null) {
+                first = node;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * While the cache is too heavy, lets the entries that just left the window (the candidates, at the back of the
+     * probation queue) compete with the least recently used probation entries (the victims) and evicts the one that
+     * is used less often.
+     */
+    private void evictFromMain(Node<K, V> candidate) {
+        while (weightedSize > maximum) {
+            Node<K, V> victim = probation.first;
+            if (victim == null || victim == candidate) {
+                // Nothing older to compete with
+                if (victim == null) {
+                    victim = protectedQueue.first != null ? protectedQueue.first : window.first;
+                }
+                if (victim == null) {
+                    break;
+                }
+                if (victim == candidate) {
+                    candidate = candidate.next;
+                }
+                evict(victim);
+            } else if (candidate == null) {
+                evict(victim);
+            } else if (admit(candidate, victim)) {
+                // The candidate stays, the next one competes for the room that is still needed
+                evict(victim);
+                candidate = candidate.next;
+            } else {
+                Node<K, V> next = candidate.next;
+                evict(candidate);
+                candidate = next;
+            }
+        }
+    }
+
+    /**
+     * @return true if the candidate is used more often than the victim, or with a small chance if it is used often
+     */
+    private boolean admit(Node<K, V> candidate, Node<K, V> victim) {
+        int candidateFrequency = sketch.frequency(candidate.key);
+        int victimFrequency = sketch.frequency(victim.key);
+        if (candidateFrequency > victimFrequency) {
+            return true;
+        }
+        if (candidateFrequency >= ADMIT_HASHDOS_THRESHOLD) {
+            return (ThreadLocalRandom.current().nextInt() & 127) == 0;
+        }
+        return false;
+    }
+
+    private void evict(Node<K, V> node) {
+        switch (node.queue) {
+            case Node.WINDOW:
+                window.remove(node);
+                windowWeightedSize -= node.weight;
+                break;
+            case Node.PROBATION:
+                probation.remove(node);
+                break;
+            case Node.PROTECTED:
+                protectedQueue.remove(node);
+                protectedWeightedSize -= node.weight;
+                break;
+            default:
+                return;
+        }
+        node.queue = Node.RETIRED;
+        weightedSize -= node.weight;
+        data.remove(node.key, node);
+        evictions.increment();
+    }
+
+    private static int probe() {
+        int h = System.identityHashCode(Thread.currentThread()) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int ceilingPowerOfTwo(int x) {
+        return x <= 1 ? 1 : 1 << (32 - Integer.numberOfLeadingZeros(x - 1));
+    }
+
+    private static final class Node<K, V> {
+        static final byte NEW = 0;
+        static final byte WINDOW = 1;
+        static final byte PROBATION = 2;
+        static final byte PROTECTED = 3;
+        static final byte RETIRED = 4;
+
+        final K key;
+        final V value;
+        final long weight;
+
+        // Guarded by the eviction lock
+        byte queue = NEW;
+        Node<K, V> previous;
+        Node<K, V> next;
+
+        Node(K key, V value, long weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * An intrusive doubly linked list ordered from least to most recently used.
+     */
+    private static final class AccessOrderQueue<K, V> {
+        Node<K, V> first;
+        Node<K, V> last;
+
+        void addLast(Node<K, V> node) {
+            node.previous = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.previous == null) {
+                first = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+        }
+
+        void moveToBack(Node<K, V> node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+    }
+
+    /**
+     * A lossy single consumer ring buffer. Producers that lose a race, or find it full, drop their element.
+     */
+    private static final class ReadBuffer<E> {
+        private static final int SIZE = 16;
+        private static final int MASK = SIZE - 1;
+
+        private final AtomicReferenceArray<E> buffer = new AtomicReferenceArray<>(SIZE);
+        private final AtomicLong writeCounter = new AtomicLong();
+        private volatile long readCounter;
+
+        /**
+         * @return false if the buffer is full and should be drained
+         */
+        boolean offer(E e) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            if (tail - head >= SIZE) {
+                return false;
+            }
+            if (writeCounter.compareAndSet(tail, tail + 1)) {
+                buffer.lazySet((int) (tail & MASK), e);
+            }
+            return true;
+        }
+
+        // Only called while holding the eviction lock
+        E poll() {
+            long head = readCounter;
+            if (head == writeCounter.get()) {
+                return null;
+            }
+            int index = (int) (head & MASK);
+            E e = buffer.get(index);
+            if (e == null) {
+                // Claimed by a producer that has not published it yet
+                return null;
+            }
+            buffer.lazySet(index, null);
+            readCounter = head + 1;
+            return e;
+        }
+    }
+
+    /**
+     * A count-min sketch with 4-bit counters, four per key, that halves all counters after a sample period so that
+     * old popularity fades.
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL,
+                0xcbf29ce484222325L };
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final int MAXIMUM_CAPACITY = 1 << 24;
+
+        // Differs per cache, so that which keys collide in the sketch can't be known in advance
+        private final int randomSeed = ThreadLocalRandom.current().nextInt() | 1;
+        private long[] table;
+        private int sampleSize;
+        private int size;
+
+        FrequencySketch(int capacity) {
+            resize(capacity);
+        }
+
+        void ensureCapacity(int capacity) {
+            if (capacity > table.length && table.length < MAXIMUM_CAPACITY) {
+                resize(capacity);
+            }
+        }
+
+        private void resize(int capacity) {
+            int length = ceilingPowerOfTwo(Math.max(1, Math.min(capacity, MAXIMUM_CAPACITY)));
+            table = new long[length];
+            sampleSize = 10 * length;
+            size = 0;
+        }
+
+        int frequency(Object key) {
+            int hash = spread(key.hashCode() * randomSeed);
+            int start = (hash & 3) << 2;
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        void increment(Object key) {
+            int hash = spread(key.hashCode() * randomSeed);
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                added |= incrementAt(indexOf(hash, i), start + i);
+            }
+            if (added && ++size >= sampleSize) {
+                reset();
+            }
+        }
+
+        private boolean incrementAt(int index, int counter) {
+            int offset = counter << 2;
+            long mask = 0xfL << offset;
+            if ((table[index] & mask) != mask) {
+                table[index] += 1L << offset;
+                return true;
+            }
+            return false;
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            size = size / 2;
+        }
+
+        private int indexOf(int item, int i) {
+            long hash = (item + SEEDS[i]) * SEEDS[i];
+            hash += (hash >>> 32);
+            return ((int) hash) & (table.length - 1);
+        }
+
+        private static int spread(int x) {
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            return (x >>> 16) ^ x;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package io.smallrye.graphql.execution.context;
 
 import static io.smallrye.graphql.SmallRyeGraphQLServerMessages.msg;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,10 +18,15 @@ import graphql.schema.DataFetchingEnvironment;
 import io.smallrye.graphql.api.Context;
 import io.smallrye.graphql.execution.QueryCache;
 import io.smallrye.graphql.schema.model.Field;
+import io.smallrye.graphql.schema.model.Type;
 
 /**
  * Implements the Context from MicroProfile API.
  *
+ * The values that describe the current field (arguments, path, selected fields, operation type and parent type) are
+ * only computed from the {@link DataFetchingEnvironment} when they are asked for, and then kept until the next
+ * field is fetched, as most resolvers never read them.
+ *
  * @author Phillip Kruger (phillip.kruger@redhat.com)
  */
 public class SmallRyeContext implements Context {
@@ -38,13 +44,17 @@ public class SmallRyeContext implements Context {
     private String operationType;
     private List<String> requestedOperationTypes;
     private String parentTypeName;
+    private boolean parentTypeNameSet;
     private String operationName;
+    private Type type;
     private DataFetchingEnvironment dataFetchingEnvironment;
     private ExecutionInput executionInput;
     private QueryCache queryCache;
     private DocumentSupplier documentSupplier;
     private ExecutionResult executionResult;
-    private Map<String, Object> addedExtensions = new HashMap<>();
+    private boolean fork;
+    // Fields of one request can be resolved on several threads
+    private Map<String, Object> addedExtensions = Collections.synchronizedMap(new HashMap<>());
 
     public Map<String, Object> getAddedExtensions() {
         return addedExtensions;
@@ -73,6 +83,34 @@ public class SmallRyeContext implements Context {
         this.createdBy = createdBy;
     }
 
+    /**
+     * Creates a context to resolve a field on another thread. The state of the request, including the added
+     * extensions, is shared with this context, while the state of the field is set on the new one only.
+     *
+     * @return a new context for the same request
+     */
+    public SmallRyeContext fork() {
+        SmallRyeContext fork = new SmallRyeContext(createdBy);
+        fork.request = request;
+        fork.executionId = executionId;
+        fork.operationName = operationName;
+        fork.requestedOperationTypes = requestedOperationTypes;
+        fork.executionInput = executionInput;
+        fork.queryCache = queryCache;
+        fork.documentSupplier = documentSupplier;
+        fork.executionResult = executionResult;
+        fork.addedExtensions = addedExtensions;
+        fork.fork = true;
+        return fork;
+    }
+
+    /**
+     * @return true if this context was created by {@link #fork()}, and only belongs to the thread resolving the field
+     */
+    public boolean isFork() {
+        return fork;
+    }
+
     @Override
     public JsonObject getRequest() {
         return this.request;
@@ -110,6 +148,9 @@ public class SmallRyeContext implements Context {
 
     @Override
     public <A> Map<String, A> getArguments() {
+        if (this.arguments == null && this.dataFetchingEnvironment != null) {
+            this.arguments = this.dataFetchingEnvironment.getArguments();
+        }
         return (Map<String, A>) this.arguments;
     }
 
@@ -128,6 +169,9 @@ public class SmallRyeContext implements Context {
 
     @Override
     public String getPath() {
+        if (this.path == null && this.dataFetchingEnvironment != null) {
+            this.path = this.dataFetchingEnvironment.getExecutionStepInfo().getPath().toString();
+        }
         return this.path;
     }
 
@@ -137,6 +181,9 @@ public class SmallRyeContext implements Context {
 
     @Override
     public JsonArray getSelectedFields() {
+        if (this.selectedFields == null && this.dataFetchingEnvironment != null) {
+            this.selectedFields = SmallRyeContextManager.buildSelectedFields(type, dataFetchingEnvironment, false);
+        }
         return this.selectedFields;
     }
 
@@ -146,6 +193,9 @@ public class SmallRyeContext implements Context {
 
     @Override
     public JsonArray getSelectedAndSourceFields() {
+        if (this.selectedAndSourceFields == null && this.dataFetchingEnvironment != null) {
+            this.selectedAndSourceFields = SmallRyeContextManager.buildSelectedFields(type, dataFetchingEnvironment, true);
+        }
         return selectedAndSourceFields;
     }
 
@@ -155,6 +205,10 @@ public class SmallRyeContext implements Context {
 
     @Override
     public String getOperationType() {
+        if (this.operationType == null && this.dataFetchingEnvironment != null) {
+            this.operationType = SmallRyeContextManager
+                    .getOperationTypeFromDefinition(this.dataFetchingEnvironment.getOperationDefinition());
+        }
         return this.operationType;
     }
 
@@ -173,6 +227,11 @@ public class SmallRyeContext implements Context {
 
     @Override
     public Optional<String> getParentTypeName() {
+        if (!this.parentTypeNameSet && this.dataFetchingEnvironment != null) {
+            this.parentTypeName = SmallRyeContextManager
+                    .getGraphQLTypeName(this.dataFetchingEnvironment.getParentType()).orElse(null);
+            this.parentTypeNameSet = true;
+        }
         if (this.parentTypeName != null) {
             return Optional.of(this.parentTypeName);
         }
@@ -181,6 +240,7 @@ public class SmallRyeContext implements Context {
 
     public void setParentTypeName(String parentTypeName) {
         this.parentTypeName = parentTypeName;
+        this.parentTypeNameSet = true;
     }
 
     @Override
@@ -200,6 +260,27 @@ public class SmallRyeContext implements Context {
     }
 
     public void setDataFetchingEnvironment(DataFetchingEnvironment dataFetchingEnvironment) {
+        setDataFetchingEnvironment(this.type, dataFetchingEnvironment);
+    }
+
+    /**
+     * Moves the context to a new field. Everything that is derived from the environment is forgotten, and computed
+     * again when asked for.
+     *
+     * @param type the type that owns the field, used to find source fields in the selection
+     * @param dataFetchingEnvironment the environment of the field
+     */
+    public void setDataFetchingEnvironment(Type type, DataFetchingEnvironment dataFetchingEnvironment) {
+        if (this.dataFetchingEnvironment != dataFetchingEnvironment) {
+            this.arguments = null;
+            this.path = null;
+            this.selectedFields = null;
+            this.selectedAndSourceFields = null;
+            this.operationType = null;
+            this.parentTypeName = null;
+            this.parentTypeNameSet = false;
+        }
+        this.type = type;
         this.dataFetchingEnvironment = dataFetchingEnvironment;
     }
 
@@ -267,14 +348,14 @@ public class SmallRyeContext implements Context {
                 + "\t executionId=" + executionId + ",\n"
                 + "\t field=" + field + ",\n"
                 + "\t fieldName=" + fieldName + " (" + f + "),\n"
-                + "\t arguments=" + arguments + ",\n"
+                + "\t arguments=" + getArguments() + ",\n"
                 + "\t source=" + source + ",\n"
-                + "\t path=" + path + ",\n"
-                + "\t selectedFields=" + selectedFields + ",\n"
-                + "\t selectedAndSourceFields=" + selectedAndSourceFields + ",\n"
-                + "\t operationType=" + operationType + ",\n"
+                + "\t path=" + getPath() + ",\n"
+                + "\t selectedFields=" + getSelectedFields() + ",\n"
+                + "\t selectedAndSourceFields=" + getSelectedAndSourceFields() + ",\n"
+                + "\t operationType=" + getOperationType() + ",\n"
                 + "\t requestedOperationTypes=" + requestedOperationTypes + ",\n"
-                + "\t parentTypeName=" + parentTypeName + ",\n"
+                + "\t parentTypeName=" + getParentTypeName().orElse(null) + ",\n"
                 + "\t operationName=" + operationName + ",\n"
                 + "}";
     }
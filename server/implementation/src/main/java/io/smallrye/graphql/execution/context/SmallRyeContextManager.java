@@ -42,7 +42,9 @@ import io.smallrye.graphql.schema.model.Type;
  */
 public class SmallRyeContextManager {
     private static final JsonBuilderFactory jsonbuilder = Json.createBuilderFactory(null);
-    private static final InheritableThreadLocal<SmallRyeContext> current = new InheritableThreadLocal<>();
+    // Not inherited by new threads: work for a request that moves to another thread carries its context there
+    // explicitly (see restore), so that a thread started during a request does not keep that request's context
+    private static final ThreadLocal<SmallRyeContext> current = new ThreadLocal<>();
     public static final String CONTEXT = "context";
 
     public static SmallRyeContext restoreSmallRyeContext(final DataFetchingEnvironment dfe) {
@@ -125,28 +127,27 @@ public class SmallRyeContextManager {
             smallRyeContext = restoreSmallRyeContext(dataFetchingEnvironment);
         if (!smallRyeContext.hasRequest())
             throw new RuntimeException("Invalid context provided, can not populate data from Data Fetching Environment");
-        smallRyeContext.setDataFetchingEnvironment(dataFetchingEnvironment);
+        // Selected fields, path, arguments, operation type and parent type are derived from the
+        // DataFetchingEnvironment when the context is asked for them
+        smallRyeContext.setDataFetchingEnvironment(type, dataFetchingEnvironment);
         smallRyeContext.setField(field);
-        smallRyeContext.setArguments(dataFetchingEnvironment.getArguments());
-        smallRyeContext.setPath(dataFetchingEnvironment.getExecutionStepInfo().getPath().toString());
         smallRyeContext.setExecutionId(dataFetchingEnvironment.getExecutionId().toString());
         smallRyeContext.setFieldName(dataFetchingEnvironment.getField().getName());
         smallRyeContext.setSource(dataFetchingEnvironment.getSource());
-        smallRyeContext.setSelectedFields(buildSelectedFields(type, dataFetchingEnvironment, field, false));
-        smallRyeContext.setSelectedAndSourceFields(buildSelectedFields(type, dataFetchingEnvironment, field, true));
-        smallRyeContext.setOperationType(getOperationTypeFromDefinition(dataFetchingEnvironment.getOperationDefinition()));
-        smallRyeContext.setParentTypeName(getGraphQLTypeName(dataFetchingEnvironment.getParentType()).orElse(null));
         if (smallRyeContext.getOperationName().isEmpty()) {
             smallRyeContext.setOperationName(getOperationName(dataFetchingEnvironment));
         }
-        GraphQLContext graphQLContext = dataFetchingEnvironment.getGraphQlContext();
-        graphQLContext.put(CONTEXT, smallRyeContext);
+        // A fork is only visible to the thread it was created for, the GraphQLContext is shared by the whole request
+        if (!smallRyeContext.isFork()) {
+            GraphQLContext graphQLContext = dataFetchingEnvironment.getGraphQlContext();
+            graphQLContext.put(CONTEXT, smallRyeContext);
+        }
 
         current.set(smallRyeContext);
         return smallRyeContext;
     }
 
-    private static Optional<String> getGraphQLTypeName(GraphQLType graphQLType) {
+    static Optional<String> getGraphQLTypeName(GraphQLType graphQLType) {
         if (graphQLType instanceof GraphQLNamedType) {
             return Optional.of(((GraphQLNamedType) graphQLType).getName());
         } else if (graphQLType instanceof GraphQLNonNull) {
@@ -157,18 +158,17 @@ public class SmallRyeContextManager {
         return Optional.empty();
     }
 
-    private static String getOperationTypeFromDefinition(OperationDefinition definition) {
+    static String getOperationTypeFromDefinition(OperationDefinition definition) {
         return definition.getOperation().toString();
     }
 
-    private static JsonArray buildSelectedFields(Type type, DataFetchingEnvironment dfe, Field field,
-            boolean includeSourceFields) {
+    static JsonArray buildSelectedFields(Type type, DataFetchingEnvironment dfe, boolean includeSourceFields) {
         DataFetchingFieldSelectionSet selectionSet = dfe.getSelectionSet();
         Set<SelectedField> fields = new LinkedHashSet<>(selectionSet.getFields());
-        return toJsonArrayBuilder(type, fields, field, includeSourceFields).build();
+        return toJsonArrayBuilder(type, fields, includeSourceFields).build();
     }
 
-    private static JsonArrayBuilder toJsonArrayBuilder(Type type, Set<SelectedField> fields, Field field,
+    private static JsonArrayBuilder toJsonArrayBuilder(Type type, Set<SelectedField> fields,
             boolean includeSourceFields) {
         JsonArrayBuilder builder = jsonbuilder.createArrayBuilder();
 
@@ -178,7 +178,7 @@ public class SmallRyeContextManager {
                     if (isScalar(selectedField)) {
                         builder = builder.add(selectedField.getName());
                     } else {
-                        builder = builder.add(toJsonObjectBuilder(type, selectedField, field, includeSourceFields));
+                        builder = builder.add(toJsonObjectBuilder(type, selectedField, includeSourceFields));
                     }
                 }
             }
@@ -190,12 +190,12 @@ public class SmallRyeContextManager {
         return field.getQualifiedName().contains("/");
     }
 
-    private static JsonObjectBuilder toJsonObjectBuilder(Type type, SelectedField selectedField, Field field,
+    private static JsonObjectBuilder toJsonObjectBuilder(Type type, SelectedField selectedField,
             boolean includeSourceFields) {
         JsonObjectBuilder builder = jsonbuilder.createObjectBuilder();
         Set<SelectedField> fields = new LinkedHashSet<>(selectedField.getSelectionSet().getFields());
         builder = builder.add(selectedField.getName(),
-                toJsonArrayBuilder(type, fields, field, includeSourceFields));
+                toJsonArrayBuilder(type, fields, includeSourceFields));
         return builder;
     }
 
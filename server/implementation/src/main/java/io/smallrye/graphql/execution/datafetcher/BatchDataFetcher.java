@@ -14,6 +14,7 @@ import io.smallrye.graphql.execution.datafetcher.helper.ArgumentHelper;
 import io.smallrye.graphql.execution.datafetcher.helper.BatchLoaderHelper;
 import io.smallrye.graphql.execution.event.EventEmitter;
 import io.smallrye.graphql.execution.metrics.MetricsEmitter;
+import io.smallrye.graphql.execution.metrics.OperationTimer;
 import io.smallrye.graphql.schema.model.Operation;
 import io.smallrye.graphql.schema.model.Type;
 import io.smallrye.mutiny.Uni;
@@ -31,13 +32,14 @@ public class BatchDataFetcher<T> implements DataFetcher<T> {
     private final String batchLoaderName;
     private final BatchLoaderHelper batchLoaderHelper = new BatchLoaderHelper();
     private final EventEmitter eventEmitter = EventEmitter.getInstance();
-    private final MetricsEmitter metricsEmitter = MetricsEmitter.getInstance();
+    private final OperationTimer timer;
 
     public BatchDataFetcher(Operation operation, Type type) {
         this.operation = operation;
         this.type = type;
         this.argumentHelper = new ArgumentHelper(operation.getArguments());
         this.batchLoaderName = batchLoaderHelper.getName(operation);
+        this.timer = MetricsEmitter.getInstance().getTimer(operation);
     }
 
     @Override
@@ -45,7 +47,7 @@ public class BatchDataFetcher<T> implements DataFetcher<T> {
 
         SmallRyeContext smallryeContext = SmallRyeContextManager.populateFromDataFetchingEnvironment(type, operation, dfe);
         eventEmitter.fireBeforeDataFetch(smallryeContext);
-        long measurementId = metricsEmitter.start(smallryeContext);
+        long start = timer.start(smallryeContext);
 
         try {
             List<Object> transformedArguments = argumentHelper.getArguments(dfe, true);
@@ -58,11 +60,11 @@ public class BatchDataFetcher<T> implements DataFetcher<T> {
             batchContext.put(BatchLoaderHelper.DATA_FETCHING_ENVIRONMENT, dfe);
 
             return (T) Uni.createFrom().completionStage(() -> dataLoader.load(source, batchContext)).onItemOrFailure()
-                    .invoke(() -> metricsEmitter.end(measurementId))
+                    .invoke(() -> timer.end(smallryeContext, start))
                     .subscribe()
                     .asCompletionStage();
         } catch (Exception e) {
-            metricsEmitter.end(measurementId);
+            timer.end(smallryeContext, start);
             throw e;
         }
     }
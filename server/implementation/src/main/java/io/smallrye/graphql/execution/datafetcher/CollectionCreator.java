@@ -29,9 +29,10 @@ public class CollectionCreator {
      * the interfaces {@link List}, {@link Collection}, or {@link Set}.
      *
      * @param type the collection class
+     * @param initialSize the number of elements the collection gets
      * @return the collection
      */
-    private static Collection<?> newCollection(Class<?> type, int initialSize) {
+    public static Collection<?> newCollection(Class<?> type, int initialSize) {
         if (type.isAssignableFrom(ArrayList.class)) {
             return new ArrayList<>(initialSize);
         }
@@ -4,11 +4,17 @@ import static io.smallrye.graphql.SmallRyeGraphQLServerMessages.msg;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import graphql.execution.DataFetcherResult;
 import graphql.schema.DataFetchingEnvironment;
 import io.smallrye.graphql.api.Context;
+import io.smallrye.graphql.execution.BlockingOperationExecutor;
+import io.smallrye.graphql.execution.context.SmallRyeContext;
+import io.smallrye.graphql.execution.context.SmallRyeContextManager;
 import io.smallrye.graphql.schema.model.Operation;
 import io.smallrye.graphql.schema.model.Type;
 import io.smallrye.mutiny.Uni;
@@ -16,6 +22,9 @@ import io.smallrye.mutiny.Uni;
 /**
  * The default, built in data fetcher
  *
+ * The operation is blocking, so when there is a {@link BlockingOperationExecutor} it is invoked there, with its own
+ * fork of the context, and sibling fields are resolved concurrently.
+ *
  * @param <K>
  * @param <T>
  * @author Phillip Kruger (phillip.kruger@redhat.com)
@@ -26,6 +35,41 @@ public class DefaultDataFetcher<K, T> extends AbstractDataFetcher<K, T> {
         super(operation, type);
     }
 
+    @Override
+    public T get(final DataFetchingEnvironment dfe) throws Exception {
+        Executor executor = BlockingOperationExecutor.get();
+        if (executor == null) {
+            return super.get(dfe);
+        }
+        SmallRyeContext smallRyeContext = SmallRyeContextManager.getCurrentSmallRyeContext();
+        if (smallRyeContext == null) {
+            smallRyeContext = SmallRyeContextManager.restoreSmallRyeContext(dfe);
+        }
+        final SmallRyeContext fieldContext = smallRyeContext.fork();
+        final ClassLoader tccl = Thread.currentThread().getContextClassLoader();
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                Thread thread = Thread.currentThread();
+                ClassLoader originalTccl = thread.getContextClassLoader();
+                thread.setContextClassLoader(tccl);
+                SmallRyeContextManager.restore(fieldContext);
+                try {
+                    result.complete(super.get(dfe));
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                } finally {
+                    SmallRyeContextManager.clearCurrentSmallRyeContext();
+                    thread.setContextClassLoader(originalTccl);
+                }
+            });
+        } catch (RejectedExecutionException ree) {
+            // Shutting down
+            return super.get(dfe);
+        }
+        return (T) result;
+    }
+
     @Override
     public <T> T invokeAndTransform(Context context, DataFetchingEnvironment dfe,
             DataFetcherResult.Builder<Object> resultBuilder,
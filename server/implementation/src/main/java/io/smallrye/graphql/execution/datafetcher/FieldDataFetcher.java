@@ -2,7 +2,11 @@ package io.smallrye.graphql.execution.datafetcher;
 
 import static io.smallrye.graphql.SmallRyeGraphQLServerLogging.log;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
 
 import graphql.GraphQLException;
 import graphql.TrivialDataFetcher;
@@ -22,7 +26,8 @@ import io.smallrye.graphql.transformation.AbstractDataFetcherException;
  *
  * @param <T>
  * @implNote If the (graphql-) field has no methodName, a {@link FieldAccessor} for the (java-) field is is created.
- *           Otherwise, a {@link MethodAccessor} is created for the accessor method.
+ *           Otherwise, a {@link MethodAccessor} is created for the accessor method. Both are compiled to a
+ *           {@link MethodHandle} when the schema is bootstrapped, and only use reflection if that is not possible.
  *           <p>
  *           The owner is used to create the {@link PropertyAccessor} independently of the source object (which could be a
  *           different
@@ -30,6 +35,9 @@ import io.smallrye.graphql.transformation.AbstractDataFetcherException;
  */
 public class FieldDataFetcher<T> implements PlugableDataFetcher<T>, TrivialDataFetcher<T> {
 
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
     private final FieldHelper fieldHelper;
     private final Field field;
     private final Type type;
@@ -49,13 +57,19 @@ public class FieldDataFetcher<T> implements PlugableDataFetcher<T>, TrivialDataF
         this.field = field;
         this.type = type;
         this.owner = owner;
+        try {
+            this.propertyAccessor = buildPropertyAccessor();
+        } catch (RuntimeException e) {
+            // Try again (and fail) when the field is actually fetched
+            this.propertyAccessor = null;
+        }
     }
 
     @Override
     public T get(DataFetchingEnvironment dfe) throws Exception {
 
         if (this.propertyAccessor == null) {
-            // lazy initialize method handle, does not have to be threadsafe
+            // the accessor could not be built while bootstrapping, does not have to be threadsafe
             this.propertyAccessor = buildPropertyAccessor();
         }
         Object resultFromMethodCall = null;
@@ -63,6 +77,11 @@ public class FieldDataFetcher<T> implements PlugableDataFetcher<T>, TrivialDataF
             Object source = dfe.getSource();
             SmallRyeContextManager.populateFromDataFetchingEnvironment(type, field, dfe);
             resultFromMethodCall = propertyAccessor.get(source);
+            if (fieldHelper.isIdentity()) {
+                @SuppressWarnings("unchecked")
+                T result = (T) resultFromMethodCall;
+                return result;
+            }
             // See if we need to transform
             @SuppressWarnings("unchecked")
             T transformResponse = (T) fieldHelper.transformOrAdaptResponse(resultFromMethodCall, dfe);
@@ -92,14 +111,37 @@ public class FieldDataFetcher<T> implements PlugableDataFetcher<T>, TrivialDataF
         try {
             final Class<?> aClass = ClassloadingService.get().loadClass(owner.getClassName());
             if (this.field.getMethodName() == null) {
-                return new FieldAccessor<>(aClass.getField(this.field.getPropertyName()));
+                java.lang.reflect.Field javaField = aClass.getField(this.field.getPropertyName());
+                MethodHandle getter = toMethodHandle(javaField.getDeclaringClass(), () -> LOOKUP.unreflectGetter(javaField));
+                return getter != null ? new MethodHandleAccessor<>(getter) : new FieldAccessor<>(javaField);
             }
-            return new MethodAccessor<>(aClass.getMethod(this.field.getMethodName()));
+            java.lang.reflect.Method method = aClass.getMethod(this.field.getMethodName());
+            MethodHandle getter = toMethodHandle(method.getDeclaringClass(), () -> LOOKUP.unreflect(method));
+            return getter != null ? new MethodHandleAccessor<>(getter) : new MethodAccessor<>(method);
         } catch (ReflectiveOperationException e) {
             throw new GraphQLException(e);
         }
     }
 
+    /**
+     * Creates a handle of type {@code (Object)Object}, or returns null if the member can not be accessed without
+     * reflection, for example because its class is not public.
+     */
+    static MethodHandle toMethodHandle(Class<?> declaringClass, HandleSupplier supplier) {
+        if (!Modifier.isPublic(declaringClass.getModifiers())) {
+            return null;
+        }
+        try {
+            return supplier.get().asType(GETTER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    interface HandleSupplier {
+        MethodHandle get() throws IllegalAccessException;
+    }
+
     interface PropertyAccessor<T> {
         T get(Object source) throws ReflectiveOperationException;
     }
@@ -120,6 +162,27 @@ public class FieldDataFetcher<T> implements PlugableDataFetcher<T>, TrivialDataF
         }
     }
 
+    static class MethodHandleAccessor<T> implements PropertyAccessor<T> {
+
+        private final MethodHandle getter;
+
+        MethodHandleAccessor(final MethodHandle getter) {
+            this.getter = getter;
+        }
+
+        @Override
+        public T get(final Object source) throws InvocationTargetException {
+            try {
+                @SuppressWarnings("unchecked")
+                final T result = (T) (Object) getter.invokeExact(source);
+                return result;
+            } catch (Throwable t) {
+                // Same as the reflective accessors
+                throw new InvocationTargetException(t);
+            }
+        }
+    }
+
     static class MethodAccessor<T> implements PropertyAccessor<T> {
 
         private final java.lang.reflect.Method method;
@@ -1,32 +1,26 @@
 package io.smallrye.graphql.execution.datafetcher.helper;
 
-import java.lang.reflect.Array;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import graphql.schema.DataFetchingEnvironment;
 import io.smallrye.graphql.api.Entry;
-import io.smallrye.graphql.execution.Classes;
-import io.smallrye.graphql.execution.datafetcher.CollectionCreator;
 import io.smallrye.graphql.schema.model.AdaptWith;
 import io.smallrye.graphql.schema.model.Field;
+import io.smallrye.graphql.schema.model.Reference;
 import io.smallrye.graphql.schema.model.ReferenceType;
 import io.smallrye.graphql.schema.model.Wrapper;
 import io.smallrye.graphql.spi.ClassloadingService;
 import io.smallrye.graphql.transformation.AbstractDataFetcherException;
+import io.smallrye.graphql.transformation.TransformException;
 import io.smallrye.graphql.transformation.Transformer;
 
 /**
@@ -38,8 +32,9 @@ public abstract class AbstractHelper {
 
     protected final ClassloadingService classloadingService = ClassloadingService.get();
     protected final DefaultMapAdapter mapAdapter = new DefaultMapAdapter();
-    private final Map<String, Transformer> transformerMap = new HashMap<>();
-    private final Map<Integer, ReflectionInvoker> invokerMap = new HashMap<>();
+    // The adapters are looked up when they are first used, the data fetchers are used by many threads
+    private final Map<AdaptWith, ReflectionInvoker> inputInvokers = new ConcurrentHashMap<>();
+    private final Map<AdaptWith, ReflectionInvoker> outputInvokers = new ConcurrentHashMap<>();
 
     protected AbstractHelper() {
     }
@@ -83,15 +78,17 @@ public abstract class AbstractHelper {
                         && field.getAdaptTo().getDeserializeMethod() != null;
     }
 
+    /**
+     * Transform and adapt a value. This compiles the plan for the field on every call, so rather compile it once with
+     * {@link #compilePlan(Field)}.
+     *
+     * @param val the value
+     * @param field the field as created when scanning
+     * @return the transformed and adapted value
+     */
     public Object transformOrAdapt(Object val, Field field, DataFetchingEnvironment dfe)
             throws AbstractDataFetcherException {
-
-        val = recursiveTransform(val, field, dfe);
-        if (shouldAdapt(field)) {
-            val = recursiveAdapting(val, field, dfe);
-        }
-
-        return val;
+        return compilePlan(field).apply(val, dfe);
     }
 
     /**
@@ -104,271 +101,172 @@ public abstract class AbstractHelper {
     abstract Object afterRecursiveTransform(Object fieldValue, Field field, DataFetchingEnvironment dfe)
             throws AbstractDataFetcherException;
 
+    /**
+     * Whether {@link #afterRecursiveTransform(Object, Field, DataFetchingEnvironment)} returns the value as is
+     *
+     * @return true if it does not have to be called
+     */
+    boolean isAfterRecursiveTransformIdentity() {
+        return false;
+    }
+
     /**
      * This do the transform of a 'leaf' value
      *
      * @param argumentValue the value
      * @param field the field as scanned
+     * @param transformer the transformer of the field, null if there is none
      * @return transformed value
      */
-    abstract Object singleTransform(Object argumentValue, Field field) throws AbstractDataFetcherException;
+    abstract Object singleTransform(Object argumentValue, Field field, Transformer transformer)
+            throws AbstractDataFetcherException;
 
     /**
      * This does the adapting to a scalar of a 'leaf' value
      *
      * @param argumentValue the value
      * @param field the field as scanned
+     * @param entries the plan for the entries of a map, null if the field is not a map
      * @return mapped value
      */
-    abstract Object singleAdapting(Object argumentValue, Field field, DataFetchingEnvironment dfe)
+    abstract Object singleAdapting(Object argumentValue, Field field, ConversionPlan entries, DataFetchingEnvironment dfe)
             throws AbstractDataFetcherException;
 
     /**
-     * Here we actually do the transform. This method get called recursively in the case of arrays
+     * Compile the plan to transform, and then adapt if needed, the values of a field
      *
-     * @param value the value we got from graphql-java or response from the method call
      * @param field details about the expected type created while scanning the code
-     * @return the argumentValue in the correct type and transformed
+     * @return the plan
      */
-    Object recursiveTransform(Object value, Field field, DataFetchingEnvironment dfe)
-            throws AbstractDataFetcherException {
-
-        if (value == null) {
-            return null;
-        }
-
-        // First handle the array if this is an array
-        if (field.hasWrapper() && field.getWrapper().isArray()) {
-            return recursiveTransformArray(value, field, dfe);
-        } else if (field.hasWrapper() && field.getWrapper().isMap()) {
-            return value;
-        } else if (field.hasWrapper() && field.getWrapper().isCollection()) {
-            return recursiveTransformCollection(value, field, dfe);
-        } else if (field.hasWrapper() && field.getWrapper().isOptional()) {
-            // Also handle optionals
-            return recursiveTransformOptional(value, field, dfe);
-        } else if (field.getReference().getClassName().equals("java.util.OptionalInt")) {
-            if (value instanceof BigDecimal)
-                return OptionalInt.of(((BigDecimal) value).intValueExact());
-            if (value instanceof OptionalInt)
-                return value;
-            return OptionalInt.of((Integer) value);
-        } else if (field.getReference().getClassName().equals("java.util.OptionalLong")) {
-            if (value instanceof BigDecimal)
-                return OptionalLong.of(((BigDecimal) value).longValueExact());
-            if (value instanceof OptionalLong)
-                return value;
-            return OptionalLong.of(((BigInteger) value).longValueExact());
-        } else if (field.getReference().getClassName().equals("java.util.OptionalDouble")) {
-            if (value instanceof BigDecimal)
-                return OptionalDouble.of(((BigDecimal) value).doubleValue());
-            if (value instanceof OptionalDouble)
-                return value;
-            return OptionalDouble.of((Double) value);
-        } else {
-            // we need to transform before we make sure the type is correct
-            value = singleTransform(value, field);
+    ConversionPlan compilePlan(Field field) {
+        ConversionPlan transformPlan = compileTransformPlan(field);
+        if (shouldAdapt(field)) {
+            return ConversionPlan.andThen(transformPlan, compileAdaptingPlan(field));
         }
-
-        // Recursive transformation done.
-        return afterRecursiveTransform(value, field, dfe);
+        return transformPlan;
     }
 
     /**
-     * Here we actually do the adapting. This method get called recursively in the case of arrays etc.
+     * Compile the transform of a field. Arrays, collections and optionals get a step that transforms their elements,
+     * so this allows arrays of arrays and transformation inside arrays. Even without transformation, we need to go
+     * from arrayList to Array, or to the correct collection type.
      *
-     * @param inputValue the value we got from graphql-java or response from the method call
      * @param field details about the expected type created while scanning the code
-     * @return the argumentValue in the correct type and mapped
+     * @return the plan
      */
-    Object recursiveAdapting(Object inputValue, Field field, DataFetchingEnvironment dfe)
-            throws AbstractDataFetcherException {
-
-        if (inputValue == null) {
-            return null;
+    ConversionPlan compileTransformPlan(Field field) {
+        if (field.hasWrapper()) {
+            Wrapper wrapper = field.getWrapper();
+            if (wrapper.isArray()) {
+                return ConversionPlan.array(() -> getArrayType(field), compileTransformPlan(getFieldInField(field)));
+            } else if (wrapper.isMap()) {
+                return ConversionPlan.IDENTITY;
+            } else if (wrapper.isCollection()) {
+                return ConversionPlan.collection(wrapper.getWrapperClassName(),
+                        compileTransformPlan(getFieldInField(field)));
+            } else if (wrapper.isOptional()) {
+                // This is not yet specified by MicroProfile GraphQL, but we support it by also allowing
+                // transformation the optional element.
+                return ConversionPlan.optional(compileTransformPlan(getFieldInField(field)));
+            }
         }
 
-        if (field.hasWrapper() && field.getWrapper().isArray()) {
-            return recursiveAdaptArray(inputValue, field, dfe);
-        } else if (Classes.isMap(inputValue) && shouldAdaptWithToMap(field)) {
-            return singleAdapting(inputValue, field, dfe);
-        } else if (shouldAdaptWithFromMap(field)) {
-            return singleAdapting(new HashSet((Collection) inputValue), field, dfe);
-        } else if (field.hasWrapper() && field.getWrapper().isCollection()) {
-            return recursiveAdaptCollection(inputValue, field, dfe);
-        } else if (field.hasWrapper() && field.getWrapper().isOptional()) {
-            return recursiveAdaptOptional(inputValue, field, dfe);
-        } else {
-            // we need to adapt before we make sure the type is correct
-            inputValue = singleAdapting(inputValue, field, dfe);
+        String className = field.getReference().getClassName();
+        if (className.equals(OptionalInt.class.getName())) {
+            return ConversionPlan.of((value, dfe) -> toOptionalInt(value));
+        } else if (className.equals(OptionalLong.class.getName())) {
+            return ConversionPlan.of((value, dfe) -> toOptionalLong(value));
+        } else if (className.equals(OptionalDouble.class.getName())) {
+            return ConversionPlan.of((value, dfe) -> toOptionalDouble(value));
         }
-
-        // Recursive adapting done.
-        return inputValue;
+        return compileTransformLeaf(field);
     }
 
     /**
-     * This just creates a new array and add values to it by calling the recursiveTransform method.
-     * This allows arrays of arrays and transformation inside arrays
-     * Even without transformation, we need to go from arrayList to Array,
-     * or arraylist of arraylist to array of array
+     * Compile the adapting of a field. Arrays, collections and optionals get a step that adapts their elements.
      *
-     * @param array the array or list as from graphql-java,
-     * @param field the field as created while scanning
-     * @return an array with the transformed values in.
+     * @param field details about the expected type created while scanning the code
+     * @return the plan
      */
-    private Object recursiveTransformArray(Object array, Field field, DataFetchingEnvironment dfe)
-            throws AbstractDataFetcherException {
-        if (Classes.isCollection(array)) {
-            array = ((Collection) array).toArray();
+    ConversionPlan compileAdaptingPlan(Field field) {
+        if (field.hasWrapper() && field.getWrapper().isArray()) {
+            return ConversionPlan.array(() -> getArrayType(field), compileAdaptingPlan(getFieldInField(field)));
         }
 
-        Class classInCollection = getArrayType(field);
-
-        //Skip transform if not needed
-        if (array.getClass().getComponentType().equals(classInCollection)) {
-            return array;
+        ConversionPlan leaf = compileAdaptingLeaf(field);
+        ConversionPlan plan;
+        if (shouldAdaptWithFromMap(field)) {
+            plan = ConversionPlan.asSet(leaf);
+        } else if (field.hasWrapper() && field.getWrapper().isCollection()) {
+            plan = ConversionPlan.collection(field.getWrapper().getWrapperClassName(),
+                    compileAdaptingPlan(getFieldInField(field)));
+        } else if (field.hasWrapper() && field.getWrapper().isOptional()) {
+            plan = ConversionPlan.optional(compileAdaptingPlan(getFieldInField(field)));
+        } else {
+            plan = leaf;
         }
 
-        int length = Array.getLength(array);
-        Object targetArray = Array.newInstance(classInCollection, length);
-
-        for (int i = 0; i < length; i++) {
-            Field fieldInCollection = getFieldInField(field);
-            Object element = Array.get(array, i);
-            Object targetElement = recursiveTransform(element, fieldInCollection, dfe);
-            Array.set(targetArray, i, targetElement);
+        if (shouldAdaptWithToMap(field)) {
+            return ConversionPlan.ifMap(leaf, plan);
         }
-
-        return targetArray;
+        return plan;
     }
 
-    /**
-     * This just creates a new array and add values to it by calling the recursiveAdapting method.
-     * This allows arrays of arrays and mapping inside arrays
-     *
-     * @param array the array or list as from graphql-java,
-     * @param field the field as created while scanning
-     * @return an array with the mapped values in.
-     */
-    private Object recursiveAdaptArray(Object array, Field field, DataFetchingEnvironment dfe)
-            throws AbstractDataFetcherException {
-        if (Classes.isCollection(array)) {
-            array = ((Collection) array).toArray();
+    private ConversionPlan compileTransformLeaf(Field field) {
+        if (!shouldTransform(field)) {
+            if (isAfterRecursiveTransformIdentity()) {
+                return ConversionPlan.IDENTITY;
+            }
+            return ConversionPlan.of((value, dfe) -> afterRecursiveTransform(singleTransform(value, field, null), field, dfe));
         }
 
-        Class classInCollection = getArrayType(field);
-
-        //Skip mapping if not needed
-        if (array.getClass().getComponentType().equals(classInCollection)) {
-            return array;
+        Transformer transformer;
+        try {
+            transformer = Transformer.transformer(field);
+        } catch (RuntimeException e) {
+            // e.g. an invalid format, this fails when a value is transformed
+            return ConversionPlan.of((value, dfe) -> {
+                throw new TransformException(e, field, value);
+            });
         }
-
-        int length = Array.getLength(array);
-        Object targetArray = Array.newInstance(classInCollection, length);
-
-        for (int i = 0; i < length; i++) {
-            Field fieldInCollection = getFieldInField(field);
-            Object element = Array.get(array, i);
-            Object targetElement = recursiveAdapting(element, fieldInCollection, dfe);
-            Array.set(targetArray, i, targetElement);
+        if (isAfterRecursiveTransformIdentity()) {
+            return ConversionPlan.of((value, dfe) -> singleTransform(value, field, transformer));
         }
-
-        return targetArray;
+        return ConversionPlan
+                .of((value, dfe) -> afterRecursiveTransform(singleTransform(value, field, transformer), field, dfe));
     }
 
-    /**
-     * This just creates a new correct type collection and add values to it by calling the recursiveTransform method.
-     * This allows collections of collections and transformation inside collections
-     * Even without transformation, we need to go from arrayList to the correct collection type,
-     * or arraylist of arraylist to collection of collection
-     *
-     * @param argumentValue the list as from graphql-java (always an arraylist)
-     * @param field the field as created while scanning
-     * @return a collection with the transformed values in.
-     */
-    private Object recursiveTransformCollection(Object argumentValue, Field field, DataFetchingEnvironment dfe)
-            throws AbstractDataFetcherException {
-        Collection givenCollection = getGivenCollection(argumentValue);
-
-        String collectionClassName = field.getWrapper().getWrapperClassName();
-
-        Collection convertedCollection = CollectionCreator.newCollection(collectionClassName, givenCollection.size());
-
-        Field fieldInCollection = getFieldInField(field);
-        for (Object objectInGivenCollection : givenCollection) {
-            Object objectInCollection = recursiveTransform(objectInGivenCollection,
-                    fieldInCollection, dfe);
-            convertedCollection.add(objectInCollection);
+    private ConversionPlan compileAdaptingLeaf(Field field) {
+        boolean map = field.hasWrapper() && field.getWrapper().isMap();
+        if (!map && !shouldAdaptWith(field) && !field.isAdaptingTo() && !field.getReference().isAdaptingTo()) {
+            return ConversionPlan.IDENTITY;
         }
-
-        return convertedCollection;
+        ConversionPlan entries = map ? compileAdaptingPlan(mapAdapter.getAdaptedField(field)) : null;
+        return ConversionPlan.of((value, dfe) -> singleAdapting(value, field, entries, dfe));
     }
 
-    /**
-     * This just creates a new correct type collection and add values to it by calling the recursiveAdapting method.
-     * This allows collections of collections and mapping inside collections
-     *
-     * @param argumentValue the list as from graphql-java (always an arraylist)
-     * @param field the field as created while scanning
-     * @return a collection with the mapped values in.
-     */
-    private Object recursiveAdaptCollection(Object argumentValue, Field field, DataFetchingEnvironment dfe)
-            throws AbstractDataFetcherException {
-        Collection givenCollection = getGivenCollection(argumentValue);
-        String collectionClassName = field.getWrapper().getWrapperClassName();
-        Collection convertedCollection = CollectionCreator.newCollection(collectionClassName, givenCollection.size());
-
-        Field fieldInCollection = getFieldInField(field);
-        for (Object objectInGivenCollection : givenCollection) {
-            Object objectInCollection = recursiveAdapting(objectInGivenCollection,
-                    fieldInCollection, dfe);
-            convertedCollection.add(objectInCollection);
-        }
-
-        return convertedCollection;
+    private static OptionalInt toOptionalInt(Object value) {
+        if (value instanceof BigDecimal)
+            return OptionalInt.of(((BigDecimal) value).intValueExact());
+        if (value instanceof OptionalInt)
+            return (OptionalInt) value;
+        return OptionalInt.of((Integer) value);
     }
 
-    /**
-     * This is not yet specified by MicroProfile GraphQL, but we support it by also allowing transformation the optional
-     * element.
-     *
-     * @param argumentValue the value as from graphql-java
-     * @param field the graphql-field
-     * @return a optional with the transformed value in.
-     */
-    private Optional<Object> recursiveTransformOptional(Object argumentValue, Field field, DataFetchingEnvironment dfe)
-            throws AbstractDataFetcherException {
-        // Check the type and maybe apply transformation
-        if (argumentValue == null || !((Optional) argumentValue).isPresent()) {
-            return Optional.empty();
-        } else {
-            Optional optional = (Optional) argumentValue;
-            Object o = optional.get();
-            Field f = getFieldInField(field);
-            return Optional.of(recursiveTransform(o, f, dfe));
-        }
+    private static OptionalLong toOptionalLong(Object value) {
+        if (value instanceof BigDecimal)
+            return OptionalLong.of(((BigDecimal) value).longValueExact());
+        if (value instanceof OptionalLong)
+            return (OptionalLong) value;
+        return OptionalLong.of(((BigInteger) value).longValueExact());
     }
 
-    /**
-     * Add support for mapping an optional element.
-     *
-     * @param argumentValue the value as from graphql-java
-     * @param field the graphql-field
-     * @return a optional with the mapped value in.
-     */
-    private Optional<Object> recursiveAdaptOptional(Object argumentValue, Field field, DataFetchingEnvironment dfe)
-            throws AbstractDataFetcherException {
-        // Check the type and maybe apply transformation
-        if (argumentValue == null || !((Optional) argumentValue).isPresent()) {
-            return Optional.empty();
-        } else {
-            Optional optional = (Optional) argumentValue;
-            Object o = optional.get();
-            Field f = getFieldInField(field);
-            return Optional.of(recursiveAdapting(o, f, dfe));
-        }
-
+    private static OptionalDouble toOptionalDouble(Object value) {
+        if (value instanceof BigDecimal)
+            return OptionalDouble.of(((BigDecimal) value).doubleValue());
+        if (value instanceof OptionalDouble)
+            return (OptionalDouble) value;
+        return OptionalDouble.of((Double) value);
     }
 
     protected Class<?> getArrayType(Field field) {
@@ -377,52 +275,32 @@ public abstract class AbstractHelper {
         return classInCollection;
     }
 
-    protected Transformer getTransformer(Field field) {
-        if (transformerMap.containsKey(field.getName())) {
-            return transformerMap.get(field.getName());
-        }
-        Transformer transformer = Transformer.transformer(field);
-        transformerMap.put(field.getName(), transformer);
-        return transformer;
-    }
-
     protected ReflectionInvoker getReflectionInvokerForInput(AdaptWith adaptWith) {
-        List<String> parameters = new ArrayList<>();
-        if (adaptWith.getToReference().hasWrapper()) {
-            parameters.add(adaptWith.getToReference().getWrapper().getWrapperClassName());
-        } else {
-            parameters.add(adaptWith.getToReference().getClassName());
+        ReflectionInvoker invoker = inputInvokers.get(adaptWith);
+        if (invoker == null) {
+            invoker = inputInvokers.computeIfAbsent(adaptWith, a -> getReflectionInvoker(a.getAdapterClass(),
+                    a.getFromMethod(), a.getToReference()));
         }
-
-        return getReflectionInvoker(adaptWith.getAdapterClass(), adaptWith.getFromMethod(), parameters);
-
+        return invoker;
     }
 
     protected ReflectionInvoker getReflectionInvokerForOutput(AdaptWith adaptWith) {
-        List<String> parameters = new ArrayList<>();
-
-        if (adaptWith.getFromReference().hasWrapper()) {
-            parameters.add(adaptWith.getFromReference().getWrapper().getWrapperClassName());
-        } else {
-            parameters.add(adaptWith.getFromReference().getClassName());
+        ReflectionInvoker invoker = outputInvokers.get(adaptWith);
+        if (invoker == null) {
+            invoker = outputInvokers.computeIfAbsent(adaptWith, a -> getReflectionInvoker(a.getAdapterClass(),
+                    a.getToMethod(), a.getFromReference()));
         }
-
-        return getReflectionInvoker(adaptWith.getAdapterClass(), adaptWith.getToMethod(), parameters);
+        return invoker;
     }
 
-    private ReflectionInvoker getReflectionInvoker(String className, String methodName, List<String> parameterClasses) {
-        Integer key = getKey(className, methodName, parameterClasses);
-        if (invokerMap.containsKey(key)) {
-            return invokerMap.get(key);
+    private ReflectionInvoker getReflectionInvoker(String className, String methodName, Reference parameter) {
+        List<String> parameters = new ArrayList<>();
+        if (parameter.hasWrapper()) {
+            parameters.add(parameter.getWrapper().getWrapperClassName());
         } else {
-            ReflectionInvoker reflectionInvoker = new ReflectionInvoker(className, methodName, parameterClasses);
-            invokerMap.put(key, reflectionInvoker);
-            return reflectionInvoker;
+            parameters.add(parameter.getClassName());
         }
-    }
-
-    private Integer getKey(String className, String methodName, List<String> parameterClasses) {
-        return Objects.hash(className, methodName, Arrays.hashCode(parameterClasses.toArray()));
+        return new ReflectionInvoker(className, methodName, parameters);
     }
 
     /**
@@ -466,14 +344,6 @@ public abstract class AbstractHelper {
 
     }
 
-    private <T> Collection getGivenCollection(Object argumentValue) {
-        if (Classes.isCollection(argumentValue)) {
-            return (Collection) argumentValue;
-        } else {
-            return Arrays.asList((T[]) argumentValue);
-        }
-    }
-
     // TODO: Support more concrete maps too
     private boolean shouldAdaptWithFromMap(Field field) {
         if (field.isAdaptingWith()) {
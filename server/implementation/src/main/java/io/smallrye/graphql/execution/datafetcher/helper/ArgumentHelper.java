@@ -11,11 +11,12 @@ import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import jakarta.json.bind.Jsonb;
 import jakarta.json.bind.JsonbException;
@@ -23,6 +24,7 @@ import jakarta.json.bind.JsonbException;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.GraphQLScalarType;
 import io.smallrye.graphql.execution.Classes;
+import io.smallrye.graphql.json.InputBinder;
 import io.smallrye.graphql.json.InputFieldsInfo;
 import io.smallrye.graphql.json.JsonBCreator;
 import io.smallrye.graphql.scalar.GraphQLScalarTypes;
@@ -46,6 +48,9 @@ import io.smallrye.graphql.transformation.Transformer;
 public class ArgumentHelper extends AbstractHelper {
 
     private final List<Argument> arguments;
+    private final List<ConversionPlan> argumentPlans;
+    // The plans for the fields of input types that need transformation or adapting, by class name
+    private final Map<String, InputFieldPlans> inputFieldPlans = new ConcurrentHashMap<>();
 
     /**
      * We need the modeled arguments to create the correct values
@@ -55,6 +60,10 @@ public class ArgumentHelper extends AbstractHelper {
      */
     public ArgumentHelper(List<Argument> arguments) {
         this.arguments = arguments;
+        this.argumentPlans = new ArrayList<>(arguments.size());
+        for (Argument argument : arguments) {
+            argumentPlans.add(compilePlan(argument));
+        }
     }
 
     /**
@@ -71,10 +80,11 @@ public class ArgumentHelper extends AbstractHelper {
     }
 
     public List<Object> getArguments(DataFetchingEnvironment dfe, boolean excludeSource) throws AbstractDataFetcherException {
-        List<Object> argumentObjects = new LinkedList<>();
-        for (Argument argument : arguments) {
+        List<Object> argumentObjects = new ArrayList<>(arguments.size());
+        for (int i = 0; i < arguments.size(); i++) {
+            Argument argument = arguments.get(i);
             if (!argument.isSourceArgument() || !excludeSource) {
-                Object argumentValue = getArgument(dfe, argument);
+                Object argumentValue = getArgument(dfe, argument, argumentPlans.get(i));
                 argumentObjects.add(argumentValue);
             }
         }
@@ -88,9 +98,11 @@ public class ArgumentHelper extends AbstractHelper {
      *
      * @param dfe the Data Fetching Environment from graphql-java
      * @param argument the argument (as created while building the model)
+     * @param plan the plan to transform and adapt the argument
      * @return the value of the argument
      */
-    private Object getArgument(DataFetchingEnvironment dfe, Argument argument) throws AbstractDataFetcherException {
+    private Object getArgument(DataFetchingEnvironment dfe, Argument argument, ConversionPlan plan)
+            throws AbstractDataFetcherException {
         // If this is a source argument, just return the source. The source does
         // not need transformation and would already be in the correct class type
         if (argument.isSourceArgument()) {
@@ -117,7 +129,7 @@ public class ArgumentHelper extends AbstractHelper {
             argumentValueFromGraphQLJava = Optional.of(argumentValueFromGraphQLJava);
         }
 
-        return transformOrAdapt(argumentValueFromGraphQLJava, argument, dfe);
+        return plan.apply(argumentValueFromGraphQLJava, dfe);
     }
 
     /**
@@ -126,14 +138,16 @@ public class ArgumentHelper extends AbstractHelper {
      *
      * @param argumentValue the value to transform
      * @param field the field as created while scanning
+     * @param transformer the transformer of the field, null if there is none
      * @return transformed value
      */
     @Override
-    Object singleTransform(Object argumentValue, Field field) throws AbstractDataFetcherException {
+    Object singleTransform(Object argumentValue, Field field, Transformer transformer)
+            throws AbstractDataFetcherException {
         if (!shouldTransform(field)) {
             return argumentValue;
         } else {
-            return transformInput(field, argumentValue);
+            return transformInput(field, transformer, argumentValue);
         }
     }
 
@@ -142,10 +156,12 @@ public class ArgumentHelper extends AbstractHelper {
      *
      * @param argumentValue the value to map
      * @param field the field as created while scanning
+     * @param entries the plan for the entries of a map, null if the field is not a map
      * @return mapped value
      */
     @Override
-    Object singleAdapting(Object argumentValue, Field field, DataFetchingEnvironment dfe) throws AbstractDataFetcherException {
+    Object singleAdapting(Object argumentValue, Field field, ConversionPlan entries, DataFetchingEnvironment dfe)
+            throws AbstractDataFetcherException {
         if (argumentValue == null) {
             return null;
         }
@@ -155,7 +171,7 @@ public class ArgumentHelper extends AbstractHelper {
         } else if (shouldAdaptTo(field)) {
             return adaptInputTo(field, argumentValue);
         } else if (field.hasWrapper() && field.getWrapper().isMap()) {
-            return defaultAdaptMap(field, argumentValue, dfe);
+            return defaultAdaptMap(field, argumentValue, entries, dfe);
         }
         // Fall back to the original value
         return argumentValue;
@@ -192,10 +208,10 @@ public class ArgumentHelper extends AbstractHelper {
         return object;
     }
 
-    private Object defaultAdaptMap(Field field, Object argumentValue, DataFetchingEnvironment dfe)
+    private Object defaultAdaptMap(Field field, Object argumentValue, ConversionPlan entries, DataFetchingEnvironment dfe)
             throws AbstractDataFetcherException {
         Set providedSet = (Set) argumentValue;
-        Set adaptInnerSet = (Set) recursiveAdapting(providedSet, mapAdapter.getAdaptedField(field), dfe);
+        Set adaptInnerSet = (Set) entries.apply(providedSet, dfe);
         return mapAdapter.from(adaptInnerSet, field);
     }
 
@@ -224,7 +240,7 @@ public class ArgumentHelper extends AbstractHelper {
         return argumentValue;
     }
 
-    private Object transformInput(Field field, Object object) throws AbstractDataFetcherException {
+    private Object transformInput(Field field, Transformer transformer, Object object) throws AbstractDataFetcherException {
         if (object == null) {
             return null;
         }
@@ -233,7 +249,6 @@ public class ArgumentHelper extends AbstractHelper {
         }
 
         try {
-            Transformer transformer = super.getTransformer(field);
             if (transformer == null) {
                 return object;
             }
@@ -323,7 +338,7 @@ public class ArgumentHelper extends AbstractHelper {
     /**
      * If we got a map from graphql-java, this is a complex pojo input object
      *
-     * We need to create a object from this using JsonB.
+     * We need to create a object from this, directly if we can, else using JsonB.
      * We also need to handle transformation of fields that is on this complex type.
      *
      * The transformation with JsonB annotation will happen when binding, and the transformation
@@ -338,48 +353,15 @@ public class ArgumentHelper extends AbstractHelper {
         String className = field.getReference().getClassName();
 
         // Let's see if there are any fields that needs transformation or adaption
-        if (InputFieldsInfo.hasTransformationFields(className)) {
-            Map<String, Field> transformationFields = InputFieldsInfo.getTransformationFields(className);
-
-            for (Map.Entry<String, Field> entry : transformationFields.entrySet()) {
-                String fieldName = entry.getKey();
-                if (m.containsKey(fieldName)) {
-                    Object valueThatShouldTransform = m.get(fieldName);
-                    Field fieldThatShouldTransform = entry.getValue();
-                    valueThatShouldTransform = super.recursiveTransform(valueThatShouldTransform, fieldThatShouldTransform,
-                            dfe);
-                    m.put(fieldName, valueThatShouldTransform);
-                }
-            }
-        }
-
-        // Let's see if there are any fields that needs adapting
-        if (InputFieldsInfo.hasAdaptToFields(className)) {
-            Map<String, Field> mappingFields = InputFieldsInfo.getAdaptToFields(className);
-
-            for (Map.Entry<String, Field> entry : mappingFields.entrySet()) {
-                String fieldName = entry.getKey();
-                if (m.containsKey(fieldName)) {
-                    Object valueThatShouldMap = m.get(fieldName);
-                    Field fieldThatShouldMap = entry.getValue();
-                    valueThatShouldMap = super.recursiveAdapting(valueThatShouldMap, fieldThatShouldMap, dfe);
-                    m.put(fieldName, valueThatShouldMap);
-                }
-            }
+        InputFieldPlans plans = inputFieldPlans.get(className);
+        if (plans == null) {
+            plans = inputFieldPlans.computeIfAbsent(className, InputFieldPlans::new);
         }
+        plans.apply(m, dfe);
 
-        if (InputFieldsInfo.hasAdaptWithFields(className)) {
-            Map<String, Field> adaptingFields = InputFieldsInfo.getAdaptWithFields(className);
-
-            for (Map.Entry<String, Field> entry : adaptingFields.entrySet()) {
-                String fieldName = entry.getKey();
-                if (m.containsKey(fieldName)) {
-                    Object valueThatShouldAdapt = m.get(fieldName);
-                    Field fieldThatShouldAdapt = entry.getValue();
-                    Object valueThatAdapted = super.recursiveAdapting(valueThatShouldAdapt, fieldThatShouldAdapt, dfe);
-                    m.put(fieldName, valueThatAdapted);
-                }
-            }
+        Object bound = bindFromMap(m, field);
+        if (bound != null) {
+            return bound;
         }
 
         // make sure all fields required by creator-method are set
@@ -390,6 +372,29 @@ public class ArgumentHelper extends AbstractHelper {
         return correctComplexObjectFromJsonString(jsonString, field);
     }
 
+    /**
+     * Create the object from the map without the round trip via a json String, if this input type allows it
+     *
+     * @param m the map from graphql-java, transformed and adapted
+     * @param field the field as created while scanning
+     * @return the object, or null if JsonB needs to create it
+     */
+    private Object bindFromMap(Map m, Field field) throws AbstractDataFetcherException {
+        Reference reference = field.isAdaptingWith() ? field.getAdaptWith().getToReference() : field.getReference();
+        if (reference.getAllParametrizedTypes() != null && !reference.getAllParametrizedTypes().isEmpty()) {
+            return null;
+        }
+        InputBinder binder = InputBinder.get(reference.getClassName());
+        if (binder == null) {
+            return null;
+        }
+        try {
+            return binder.bind(m);
+        } catch (InvocationTargetException ite) {
+            throw new TransformException(ite.getCause(), field, m);
+        }
+    }
+
     /**
      * Recursively add null fields for creator parameters which are not present in this map.
      * This is required by Yasson to be able to deserialize an object from the map.
@@ -503,5 +508,52 @@ public class ArgumentHelper extends AbstractHelper {
         }
     }
 
+    /**
+     * The plans for the fields of an input type that need transformation or adapting. They are applied to the map
+     * from graphql-java, before the object is created from it.
+     */
+    private class InputFieldPlans {
+        private final Map<String, ConversionPlan> transformPlans;
+        private final Map<String, ConversionPlan> adaptToPlans;
+        private final Map<String, ConversionPlan> adaptWithPlans;
+
+        InputFieldPlans(String className) {
+            this.transformPlans = InputFieldsInfo.hasTransformationFields(className)
+                    ? compile(InputFieldsInfo.getTransformationFields(className), true)
+                    : Map.of();
+            this.adaptToPlans = InputFieldsInfo.hasAdaptToFields(className)
+                    ? compile(InputFieldsInfo.getAdaptToFields(className), false)
+                    : Map.of();
+            this.adaptWithPlans = InputFieldsInfo.hasAdaptWithFields(className)
+                    ? compile(InputFieldsInfo.getAdaptWithFields(className), false)
+                    : Map.of();
+        }
+
+        private Map<String, ConversionPlan> compile(Map<String, Field> fields, boolean transform) {
+            Map<String, ConversionPlan> plans = new LinkedHashMap<>();
+            for (Map.Entry<String, Field> entry : fields.entrySet()) {
+                Field field = entry.getValue();
+                plans.put(entry.getKey(), transform ? compileTransformPlan(field) : compileAdaptingPlan(field));
+            }
+            return plans;
+        }
+
+        void apply(Map m, DataFetchingEnvironment dfe) throws AbstractDataFetcherException {
+            apply(transformPlans, m, dfe);
+            apply(adaptToPlans, m, dfe);
+            apply(adaptWithPlans, m, dfe);
+        }
+
+        private void apply(Map<String, ConversionPlan> plans, Map m, DataFetchingEnvironment dfe)
+                throws AbstractDataFetcherException {
+            for (Map.Entry<String, ConversionPlan> entry : plans.entrySet()) {
+                String fieldName = entry.getKey();
+                if (m.containsKey(fieldName)) {
+                    m.put(fieldName, entry.getValue().apply(m.get(fieldName), dfe));
+                }
+            }
+        }
+    }
+
     private static final String CONTRUCTOR_METHOD_NAME = "<init>";
 }
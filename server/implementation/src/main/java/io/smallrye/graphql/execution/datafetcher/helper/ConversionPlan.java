@@ -0,0 +1,209 @@
+package io.smallrye.graphql.execution.datafetcher.helper;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import graphql.schema.DataFetchingEnvironment;
+import io.smallrye.graphql.execution.Classes;
+import io.smallrye.graphql.execution.datafetcher.CollectionCreator;
+import io.smallrye.graphql.spi.ClassloadingService;
+import io.smallrye.graphql.transformation.AbstractDataFetcherException;
+
+/**
+ * How the values of a field are converted, compiled once from the field as scanned.
+ * <p>
+ * A plan is a tree of steps: one for every array, collection or optional the value is wrapped in, down to the step that
+ * transforms or adapts a single value. Converting a value then does not have to look at the field again, and fields
+ * that need no conversion get {@link #IDENTITY}.
+ */
+abstract class ConversionPlan {
+
+    /**
+     * Returns the value as is
+     */
+    static final ConversionPlan IDENTITY = new ConversionPlan() {
+        @Override
+        Object convert(Object value, DataFetchingEnvironment dfe) {
+            return value;
+        }
+
+        @Override
+        boolean isIdentity() {
+            return true;
+        }
+    };
+
+    /**
+     * Converts a single value
+     */
+    @FunctionalInterface
+    interface Step {
+        Object convert(Object value, DataFetchingEnvironment dfe) throws AbstractDataFetcherException;
+    }
+
+    /**
+     * @param value the value, can be null
+     * @param dfe the Data Fetching Environment from graphql-java
+     * @return the converted value, null if the value is null
+     */
+    final Object apply(Object value, DataFetchingEnvironment dfe) throws AbstractDataFetcherException {
+        if (value == null) {
+            return null;
+        }
+        return convert(value, dfe);
+    }
+
+    abstract Object convert(Object value, DataFetchingEnvironment dfe) throws AbstractDataFetcherException;
+
+    boolean isIdentity() {
+        return false;
+    }
+
+    static ConversionPlan of(Step step) {
+        return new ConversionPlan() {
+            @Override
+            Object convert(Object value, DataFetchingEnvironment dfe) throws AbstractDataFetcherException {
+                return step.convert(value, dfe);
+            }
+        };
+    }
+
+    /**
+     * @return a plan that runs the first plan, and then the second one
+     */
+    static ConversionPlan andThen(ConversionPlan first, ConversionPlan second) {
+        if (first.isIdentity()) {
+            return second;
+        }
+        if (second.isIdentity()) {
+            return first;
+        }
+        return of((value, dfe) -> second.apply(first.convert(value, dfe), dfe));
+    }
+
+    /**
+     * @param componentType the type of the array to create, loaded when it is first needed
+     * @param element the plan for the elements
+     * @return a plan that converts an array or a collection to an array
+     */
+    static ConversionPlan array(Supplier<Class<?>> componentType, ConversionPlan element) {
+        return new ArrayPlan(componentType, element);
+    }
+
+    /**
+     * @param collectionClassName the type of collection to create
+     * @param element the plan for the elements
+     * @return a plan that converts an array or a collection to a collection
+     */
+    static ConversionPlan collection(String collectionClassName, ConversionPlan element) {
+        return new CollectionPlan(collectionClassName, element);
+    }
+
+    /**
+     * @param element the plan for the value in the optional
+     * @return a plan that converts the value in an optional
+     */
+    static ConversionPlan optional(ConversionPlan element) {
+        return of((value, dfe) -> {
+            Optional<?> optional = (Optional<?>) value;
+            if (!optional.isPresent()) {
+                return Optional.empty();
+            }
+            return Optional.of(element.apply(optional.get(), dfe));
+        });
+    }
+
+    /**
+     * @param set the plan for the elements as a set
+     * @return a plan that gives the elements of a collection as a set to the other plan
+     */
+    static ConversionPlan asSet(ConversionPlan set) {
+        return of((value, dfe) -> set.convert(new HashSet<>((Collection<?>) value), dfe));
+    }
+
+    /**
+     * @param map the plan for maps
+     * @param otherwise the plan for other values
+     * @return a plan that picks the plan by the type of the value
+     */
+    static ConversionPlan ifMap(ConversionPlan map, ConversionPlan otherwise) {
+        return of((value, dfe) -> Classes.isMap(value) ? map.convert(value, dfe) : otherwise.convert(value, dfe));
+    }
+
+    private static final class ArrayPlan extends ConversionPlan {
+        private final Supplier<Class<?>> componentTypeLoader;
+        private final ConversionPlan element;
+        private volatile Class<?> componentType;
+
+        ArrayPlan(Supplier<Class<?>> componentTypeLoader, ConversionPlan element) {
+            this.componentTypeLoader = componentTypeLoader;
+            this.element = element;
+        }
+
+        @Override
+        Object convert(Object array, DataFetchingEnvironment dfe) throws AbstractDataFetcherException {
+            if (Classes.isCollection(array)) {
+                array = ((Collection<?>) array).toArray();
+            }
+            Class<?> type = componentType();
+            // Even without conversion, a list from graphql-java has to become an array of the right type
+            if (array.getClass().getComponentType().equals(type)) {
+                return array;
+            }
+
+            int length = Array.getLength(array);
+            Object targetArray = Array.newInstance(type, length);
+            for (int i = 0; i < length; i++) {
+                Array.set(targetArray, i, element.apply(Array.get(array, i), dfe));
+            }
+            return targetArray;
+        }
+
+        private Class<?> componentType() {
+            Class<?> type = componentType;
+            if (type == null) {
+                type = componentTypeLoader.get();
+                componentType = type;
+            }
+            return type;
+        }
+    }
+
+    private static final class CollectionPlan extends ConversionPlan {
+        private final String collectionClassName;
+        private final ConversionPlan element;
+        private volatile Class<?> collectionClass;
+
+        CollectionPlan(String collectionClassName, ConversionPlan element) {
+            this.collectionClassName = collectionClassName;
+            this.element = element;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Object convert(Object value, DataFetchingEnvironment dfe) throws AbstractDataFetcherException {
+            Collection<?> givenCollection = Classes.isCollection(value)
+                    ? (Collection<?>) value
+                    : Arrays.asList((Object[]) value);
+            Collection<Object> convertedCollection = (Collection<Object>) CollectionCreator.newCollection(collectionClass(),
+                    givenCollection.size());
+            for (Object objectInGivenCollection : givenCollection) {
+                convertedCollection.add(element.apply(objectInGivenCollection, dfe));
+            }
+            return convertedCollection;
+        }
+
+        private Class<?> collectionClass() {
+            Class<?> type = collectionClass;
+            if (type == null) {
+                type = ClassloadingService.get().loadClass(collectionClassName);
+                collectionClass = type;
+            }
+            return type;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import jakarta.json.bind.Jsonb;
 import jakarta.json.bind.JsonbException;
@@ -27,7 +28,7 @@ import io.smallrye.graphql.spi.ClassloadingService;
  */
 public class DefaultMapAdapter<K, V> {
 
-    private final Map<Field, Field> fieldAdaptionMap = new HashMap<>();
+    private final Map<Field, Field> fieldAdaptionMap = new ConcurrentHashMap<>();
     private final ClassloadingService classloadingService = ClassloadingService.get();
 
     public Map<K, V> from(Set<Entry<K, V>> entries, Field field) {
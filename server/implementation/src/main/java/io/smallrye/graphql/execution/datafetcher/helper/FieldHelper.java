@@ -4,6 +4,9 @@ import static io.smallrye.graphql.SmallRyeGraphQLServerLogging.log;
 
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 import java.util.Set;
 
 import graphql.schema.DataFetchingEnvironment;
@@ -22,7 +25,8 @@ import io.smallrye.graphql.transformation.Transformer;
  */
 public class FieldHelper extends AbstractHelper {
 
-    private final Field field;
+    private final boolean identity;
+    private final ConversionPlan plan;
 
     /**
      * We need the modeled field to create the correct value
@@ -31,13 +35,24 @@ public class FieldHelper extends AbstractHelper {
      *
      */
     public FieldHelper(Field field) {
-        this.field = field;
+        this.identity = isIdentity(field);
+        this.plan = identity ? ConversionPlan.IDENTITY : compilePlan(field);
+    }
+
+    /**
+     * Whether {@link #transformOrAdaptResponse(Object, DataFetchingEnvironment)} would return the value as is (or
+     * a copy of the collection with the same elements), so that it does not have to be called at all.
+     *
+     * @return true if the response does not need to be transformed or adapted
+     */
+    public boolean isIdentity() {
+        return identity;
     }
 
     public Object transformOrAdaptResponse(Object argumentValue, DataFetchingEnvironment dfe)
             throws AbstractDataFetcherException {
 
-        return super.transformOrAdapt(argumentValue, field, dfe);
+        return plan.apply(argumentValue, dfe);
     }
 
     /**
@@ -45,14 +60,16 @@ public class FieldHelper extends AbstractHelper {
      *
      * @param argumentValue the value to transform
      * @param field the field as created while scanning
+     * @param transformer the transformer of the field, null if there is none
      * @return transformed value
      */
     @Override
-    Object singleTransform(Object argumentValue, Field field) throws AbstractDataFetcherException {
+    Object singleTransform(Object argumentValue, Field field, Transformer transformer)
+            throws AbstractDataFetcherException {
         if (!shouldTransform(field)) {
             return argumentValue;
         } else {
-            return transformOutput(field, argumentValue);
+            return transformOutput(field, transformer, argumentValue);
         }
     }
 
@@ -61,10 +78,12 @@ public class FieldHelper extends AbstractHelper {
      *
      * @param argumentValue the value to map
      * @param field the field as created while scanning
+     * @param entries the plan for the entries of a map, null if the field is not a map
      * @return mapped value
      */
     @Override
-    Object singleAdapting(Object argumentValue, Field field, DataFetchingEnvironment dfe) throws AbstractDataFetcherException {
+    Object singleAdapting(Object argumentValue, Field field, ConversionPlan entries, DataFetchingEnvironment dfe)
+            throws AbstractDataFetcherException {
         if (argumentValue == null) {
             return null;
         }
@@ -90,7 +109,7 @@ public class FieldHelper extends AbstractHelper {
 
             Set entrySet = mapAdapter.to((Map) argumentValue, (List) key, field);
 
-            return recursiveAdapting(entrySet, mapAdapter.getAdaptedField(field), dfe);
+            return entries.apply(entrySet, dfe);
 
         }
         return argumentValue;
@@ -101,12 +120,17 @@ public class FieldHelper extends AbstractHelper {
         return fieldValue;
     }
 
+    @Override
+    boolean isAfterRecursiveTransformIdentity() {
+        return true;
+    }
+
     @Override
     protected Class<?> getArrayType(final Field field) {
         return classloadingService.loadClass(field.getReference().getGraphQLClassName());
     }
 
-    private Object transformOutput(Field field, Object object) throws AbstractDataFetcherException {
+    private Object transformOutput(Field field, Transformer transformer, Object object) throws AbstractDataFetcherException {
         if (object == null) {
             return null;
         }
@@ -114,7 +138,6 @@ public class FieldHelper extends AbstractHelper {
             return object;
         }
         try {
-            Transformer transformer = super.getTransformer(field);
             if (transformer == null) {
                 return object;
             }
@@ -125,6 +148,18 @@ public class FieldHelper extends AbstractHelper {
         }
     }
 
+    private boolean isIdentity(Field field) {
+        if (shouldTransform(field) || shouldAdapt(field)
+                || PRIMITIVE_OPTIONALS.contains(field.getReference().getClassName())) {
+            return false;
+        }
+        // A collection of plain values would only be copied
+        return !field.hasWrapper()
+                || (field.getWrapper().isCollection() && field.getWrapper().getWrapper() == null);
+    }
+
     private static final String KEY = "key";
+    private static final Set<String> PRIMITIVE_OPTIONALS = Set.of(OptionalInt.class.getName(),
+            OptionalLong.class.getName(), OptionalDouble.class.getName());
 
 }
@@ -2,13 +2,16 @@ package io.smallrye.graphql.execution.datafetcher.helper;
 
 import static io.smallrye.graphql.SmallRyeGraphQLServerMessages.msg;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.security.AccessController;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -28,17 +31,27 @@ import mutiny.zero.flow.adapters.AdaptersToReactiveStreams;
 /**
  * Invoke methods using reflection
  *
+ * The method is looked up once and turned into a {@link MethodHandle} that takes the instance and the arguments as
+ * an array, which the JIT can inline, unlike {@link Method#invoke}. If that is not possible, {@link Method#invoke} is
+ * used. Instances that the lookup service marks as reusable (application scoped beans) are looked up only once.
+ *
  * @author Phillip Kruger (phillip.kruger@redhat.com)
  */
 public class ReflectionInvoker {
 
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final MethodHandle TARGET_EXCEPTION = targetException();
+
     private final LookupService lookupService = LookupService.get();
     private final ClassloadingService classloadingService = ClassloadingService.get();
 
     private final EventEmitter eventEmitter = EventEmitter.getInstance();
     private final Class<?> operationClass;
     private Method method;
+    private MethodHandle methodHandle;
+    private boolean mayReturnReactive;
     private int injectContextAt = -1;
+    private volatile ManagedInstance<?> reusableInstance;
 
     public ReflectionInvoker(String className) {
         this.operationClass = classloadingService.loadClass(className);
@@ -55,6 +68,8 @@ public class ReflectionInvoker {
 
     public void setMethod(String methodName, List<String> parameterClasses) {
         this.method = lookupMethod(operationClass, methodName, parameterClasses);
+        this.methodHandle = toMethodHandle(method);
+        this.mayReturnReactive = mayReturn(method, Uni.class) || mayReturn(method, Multi.class);
     }
 
     public <T> T invokePrivileged(Object... arguments) {
@@ -63,6 +78,26 @@ public class ReflectionInvoker {
     }
 
     public <T> T invokePrivileged(final ClassLoader classLoader, Object... arguments) {
+        if (System.getSecurityManager() == null) {
+            // Nothing to elevate, and swapping the TCCL is only needed if it is a different one
+            Thread thread = Thread.currentThread();
+            ClassLoader originalTccl = thread.getContextClassLoader();
+            try {
+                if (originalTccl == classLoader) {
+                    return invoke(arguments);
+                }
+                thread.setContextClassLoader(classLoader);
+                try {
+                    return invoke(arguments);
+                } finally {
+                    thread.setContextClassLoader(originalTccl);
+                }
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
 
         try {
             return (T) AccessController
@@ -91,11 +126,16 @@ public class ReflectionInvoker {
             arguments = injectContext(arguments);
         }
         try {
-            ManagedInstance<?> operationInstance = lookupService.getInstance(operationClass);
+            ManagedInstance<?> operationInstance = getInstance();
             Object operationInstance1 = operationInstance.get();
-            eventEmitter.fireBeforeMethodInvoke(new InvokeInfo(operationInstance1, method, arguments));
-            T result = (T) method.invoke(operationInstance1, arguments);
-            if (result instanceof Uni) {
+            if (eventEmitter.hasBeforeMethodInvokeListeners()) {
+                eventEmitter.fireBeforeMethodInvoke(new InvokeInfo(operationInstance1, method, arguments));
+            }
+            T result = (T) invokeMethod(operationInstance1, arguments);
+            if (!mayReturnReactive) {
+                operationInstance.destroyIfNecessary();
+                return result;
+            } else if (result instanceof Uni) {
                 return (T) ((Uni) result).onTermination().invoke(() -> {
                     operationInstance.destroyIfNecessary();
                 });
@@ -125,6 +165,65 @@ public class ReflectionInvoker {
         }
     }
 
+    private ManagedInstance<?> getInstance() {
+        ManagedInstance<?> operationInstance = reusableInstance;
+        if (operationInstance == null) {
+            operationInstance = lookupService.getInstance(operationClass);
+            if (operationInstance.isReusable()) {
+                reusableInstance = operationInstance;
+            }
+        }
+        return operationInstance;
+    }
+
+    private Object invokeMethod(Object instance, Object[] arguments) throws Exception {
+        if (methodHandle == null) {
+            return method.invoke(instance, arguments);
+        }
+        try {
+            // What the method throws is wrapped in the handle, so it is unwrapped in one place, as for Method.invoke
+            return methodHandle.invokeExact(instance, arguments);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new UndeclaredThrowableException(t);
+        }
+    }
+
+    private static boolean mayReturn(Method method, Class<?> type) {
+        Class<?> returnType = method.getReturnType();
+        return returnType.isAssignableFrom(type) || type.isAssignableFrom(returnType);
+    }
+
+    private static MethodHandle toMethodHandle(Method method) {
+        if (!Modifier.isPublic(method.getDeclaringClass().getModifiers()) || TARGET_EXCEPTION == null) {
+            return null;
+        }
+        try {
+            MethodHandle handle = MethodHandles.publicLookup().unreflect(method);
+            // Only what the method throws, not what the adaptations below throw, is an InvocationTargetException
+            handle = MethodHandles.catchException(handle, Throwable.class, MethodHandles.filterArguments(
+                    MethodHandles.throwException(handle.type().returnType(), InvocationTargetException.class), 0,
+                    TARGET_EXCEPTION));
+            if (Modifier.isStatic(method.getModifiers())) {
+                // Ignore the instance
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle targetException() {
+        try {
+            return MethodHandles.publicLookup().findConstructor(InvocationTargetException.class,
+                    MethodType.methodType(void.class, Throwable.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
     private Method lookupMethod(Class<?> operationClass, String methodName, List<String> parameterClasses) {
         try {
             return operationClass.getMethod(methodName, getParameterClasses(parameterClasses));
@@ -151,9 +250,9 @@ public class ReflectionInvoker {
     }
 
     private Object[] injectContext(Object[] arguments) {
-        ArrayList list = new ArrayList(Arrays.asList(arguments));
-        list.set(injectContextAt, SmallRyeContextManager.getCurrentSmallRyeContext());
-        return list.toArray();
+        Object[] withContext = arguments.clone();
+        withContext[injectContextAt] = SmallRyeContextManager.getCurrentSmallRyeContext();
+        return withContext;
     }
 
     @Override
@@ -1,12 +1,14 @@
 package io.smallrye.graphql.execution.event;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.function.Predicate;
 
 import jakarta.annotation.Priority;
 import jakarta.json.bind.Jsonb;
@@ -33,15 +35,51 @@ import io.smallrye.graphql.spi.config.Config;
  * Meaning that an {@code EventingService} with low {@code javax.annotation.Priority} is executed first on the way in,
  * and last on the way out.
  *
+ * The services are loaded once for the application, see {@link #initialize()}. For every event the services that
+ * implement it are looked up up front, so an event that no service implements costs nothing when it fires.
+ *
  * @author Phillip Kruger (phillip.kruger@redhat.com)
  */
 public class EventEmitter {
     private static final Logger LOG = Logger.getLogger(EventEmitter.class);
-    private static final ThreadLocal<EventEmitter> eventEmitters = ThreadLocal.withInitial(EventEmitter::new);
+    private static final EventingService[] NONE = new EventingService[0];
+    private static volatile EventEmitter instance;
+
     private final List<EventingService> enabledServices;
 
+    private final EventingService[] beforeExecute;
+    private final EventingService[] errorExecute;
+    private final EventingService[] afterExecute;
+    private final EventingService[] beforeDataFetch;
+    private final EventingService[] beforeInvoke;
+    private final EventingService[] errorDataFetch;
+    private final EventingService[] afterDataFetch;
+
     public static EventEmitter getInstance() {
-        return eventEmitters.get();
+        EventEmitter eventEmitter = instance;
+        if (eventEmitter == null) {
+            synchronized (EventEmitter.class) {
+                eventEmitter = instance;
+                if (eventEmitter == null) {
+                    eventEmitter = instance = new EventEmitter();
+                }
+            }
+        }
+        return eventEmitter;
+    }
+
+    /**
+     * (Re)load the {@code EventingService}s for the application. This is called once when the application starts,
+     * before the schema is created. Everything that fires events afterwards uses the same emitter, on any thread.
+     *
+     * @return the new emitter
+     */
+    public static EventEmitter initialize() {
+        synchronized (EventEmitter.class) {
+            EventEmitter eventEmitter = new EventEmitter();
+            instance = eventEmitter;
+            return eventEmitter;
+        }
     }
 
     private EventEmitter() {
@@ -70,7 +108,54 @@ public class EventEmitter {
             }
         }
         enabledServices.sort(Comparator.comparing(this::getPriority));
-        this.enabledServices = enabledServices;
+        this.enabledServices = Collections.unmodifiableList(enabledServices);
+
+        this.beforeExecute = implementing(false, s -> overrides(s, "beforeExecute", Context.class));
+        this.errorExecute = implementing(false, s -> overrides(s, "errorExecute", Context.class, Throwable.class)
+                || overrides(s, "errorExecute", String.class, Throwable.class));
+        this.afterExecute = implementing(true, s -> overrides(s, "afterExecute", Context.class));
+        this.beforeDataFetch = implementing(false, s -> overrides(s, "beforeDataFetch", Context.class));
+        this.beforeInvoke = implementing(false, s -> overrides(s, "beforeInvoke", InvokeInfo.class));
+        this.errorDataFetch = implementing(false, s -> overrides(s, "errorDataFetch", Context.class, Throwable.class)
+                || overrides(s, "errorDataFetch", String.class, Throwable.class));
+        this.afterDataFetch = implementing(true, s -> overrides(s, "afterDataFetch", Context.class));
+    }
+
+    /**
+     * @param reverse if the services are invoked by descending priority
+     * @param implementsEvent if a service implements the event
+     * @return the services that implement the event, in the order they are invoked
+     */
+    private EventingService[] implementing(boolean reverse, Predicate<EventingService> implementsEvent) {
+        List<EventingService> services = new ArrayList<>();
+        for (EventingService service : enabledServices) {
+            if (implementsEvent.test(service)) {
+                services.add(service);
+            }
+        }
+        if (services.isEmpty()) {
+            return NONE;
+        }
+        if (reverse) {
+            Collections.reverse(services);
+        }
+        return services.toArray(NONE);
+    }
+
+    private static boolean overrides(EventingService service, String method, Class<?>... parameterTypes) {
+        try {
+            return service.getClass().getMethod(method, parameterTypes).getDeclaringClass() != EventingService.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
+    /**
+     * @return true if a service listens to {@link #fireBeforeMethodInvoke(InvokeInfo)}, so it is worth creating the
+     *         {@link InvokeInfo}
+     */
+    public boolean hasBeforeMethodInvokeListeners() {
+        return beforeInvoke.length > 0;
     }
 
     private int getPriority(EventingService es) {
@@ -85,46 +170,44 @@ public class EventEmitter {
     // Execution
 
     public void fireBeforeExecute(Context context) {
-        for (EventingService extensionService : enabledServices) {
+        for (EventingService extensionService : beforeExecute) {
             extensionService.beforeExecute(context);
         }
     }
 
     public void fireOnExecuteError(Context context, Throwable t) {
-        for (EventingService extensionService : enabledServices) {
+        for (EventingService extensionService : errorExecute) {
             extensionService.errorExecute(context, t);
         }
     }
 
     public void fireAfterExecute(Context context) {
-        for (int i = enabledServices.size() - 1; i > -1; i--) {
-            EventingService extensionService = enabledServices.get(i);
+        for (EventingService extensionService : afterExecute) {
             extensionService.afterExecute(context);
         }
     }
 
     // Execution - DataFetching
     public void fireBeforeDataFetch(Context context) {
-        for (EventingService extensionService : enabledServices) {
+        for (EventingService extensionService : beforeDataFetch) {
             extensionService.beforeDataFetch(context);
         }
     }
 
     public void fireBeforeMethodInvoke(InvokeInfo invokeInfo) throws Exception {
-        for (EventingService extensionService : enabledServices) {
+        for (EventingService extensionService : beforeInvoke) {
             extensionService.beforeInvoke(invokeInfo);
         }
     }
 
     public void fireOnDataFetchError(Context context, Throwable t) {
-        for (EventingService extensionService : enabledServices) {
+        for (EventingService extensionService : errorDataFetch) {
             extensionService.errorDataFetch(context, t);
         }
     }
 
     public void fireAfterDataFetch(Context context) {
-        for (int i = enabledServices.size() - 1; i > -1; i--) {
-            EventingService extensionService = enabledServices.get(i);
+        for (EventingService extensionService : afterDataFetch) {
             extensionService.afterDataFetch(context);
         }
     }
@@ -4,23 +4,55 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ServiceLoader;
-import java.util.concurrent.ThreadLocalRandom;
 
 import org.jboss.logging.Logger;
 
-import io.smallrye.graphql.api.Context;
 import io.smallrye.graphql.config.ConfigKey;
+import io.smallrye.graphql.schema.model.Operation;
 import io.smallrye.graphql.spi.MetricsService;
 import io.smallrye.graphql.spi.config.Config;
 
+/**
+ * Reports the data fetches to the {@code MetricsService}s that are available, if metrics are enabled.
+ *
+ * The services are loaded once for the application, see {@link #initialize()}. Their timers are resolved per
+ * operation, see {@link #getTimer(Operation)}.
+ */
 public class MetricsEmitter {
 
     private static final Logger LOG = Logger.getLogger(MetricsEmitter.class);
-    private static final ThreadLocal<MetricsEmitter> metricsEmitters = ThreadLocal.withInitial(MetricsEmitter::new);
-    private final List<MetricsService> enabledServices;
+    private static final MetricsService[] NONE = new MetricsService[0];
+    private static volatile MetricsEmitter instance;
+
+    private final MetricsService[] enabledServices;
+    private final int samplingRate;
+    private final boolean rootFieldsOnly;
 
     public static MetricsEmitter getInstance() {
-        return metricsEmitters.get();
+        MetricsEmitter metricsEmitter = instance;
+        if (metricsEmitter == null) {
+            synchronized (MetricsEmitter.class) {
+                metricsEmitter = instance;
+                if (metricsEmitter == null) {
+                    metricsEmitter = instance = new MetricsEmitter();
+                }
+            }
+        }
+        return metricsEmitter;
+    }
+
+    /**
+     * (Re)load the {@code MetricsService}s for the application. This is called once when the application starts,
+     * before the schema is created.
+     *
+     * @return the new emitter
+     */
+    public static MetricsEmitter initialize() {
+        synchronized (MetricsEmitter.class) {
+            MetricsEmitter metricsEmitter = new MetricsEmitter();
+            instance = metricsEmitter;
+            return metricsEmitter;
+        }
     }
 
     private MetricsEmitter() {
@@ -37,19 +69,25 @@ public class MetricsEmitter {
                 enabledServices.add(it.next());
             } catch (Throwable t) {
                 // Ignore that service...
+                LOG.debug("Failed to load metrics service", t);
             }
         }
 
-        this.enabledServices = enabledServices;
-    }
-
-    public Long start(Context context) {
-        Long measurementId = ThreadLocalRandom.current().nextLong();
-        enabledServices.forEach(metricsService -> metricsService.start(measurementId, context));
-        return measurementId;
+        this.enabledServices = enabledServices.toArray(NONE);
+        this.samplingRate = config.getMetricsSamplingRate();
+        this.rootFieldsOnly = config.isMetricsRootFieldsOnly();
     }
 
-    public void end(Long measurementId) {
-        enabledServices.forEach(metricsService -> metricsService.end(measurementId));
+    /**
+     * Called once per operation, while the schema is created
+     *
+     * @param operation the operation that is measured
+     * @return what measures the data fetches of the operation
+     */
+    public OperationTimer getTimer(Operation operation) {
+        if (enabledServices.length == 0 || (rootFieldsOnly && operation.isSourceField())) {
+            return OperationTimer.NONE;
+        }
+        return new OperationTimer(operation, enabledServices, samplingRate);
     }
 }
@@ -0,0 +1,123 @@
+package io.smallrye.graphql.execution.metrics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.smallrye.graphql.api.Context;
+import io.smallrye.graphql.schema.model.Operation;
+import io.smallrye.graphql.schema.model.OperationType;
+import io.smallrye.graphql.spi.MetricsService;
+
+/**
+ * Measures the data fetches of one operation, with the timers of all {@code MetricsService}s.
+ *
+ * The caller keeps the start time that {@link #start(Context)} returns and passes it to
+ * {@link #end(Context, long)}, so nothing is stored per fetch.
+ */
+public final class OperationTimer {
+
+    /**
+     * Returned by {@link #start(Context)} when the fetch is not measured
+     */
+    public static final long NOT_MEASURED = Long.MIN_VALUE;
+
+    private static final OperationType[] OPERATION_TYPES = OperationType.values();
+
+    static final OperationTimer NONE = new OperationTimer(null, new MetricsService[0], 1);
+
+    private final Operation operation;
+    private final MetricsService[] services;
+    private final int samplingRate;
+    // The timers of every service, per type of request, resolved when first needed
+    private final AtomicReferenceArray<MetricsService.Timer[]> timers = new AtomicReferenceArray<>(
+            OPERATION_TYPES.length);
+
+    /**
+     * @param operation the operation that is measured
+     * @param services the services that measure it, not empty unless this is {@link #NONE}
+     * @param samplingRate only measure 1 in this many requests
+     */
+    OperationTimer(Operation operation, MetricsService[] services, int samplingRate) {
+        this.operation = operation;
+        this.services = services;
+        this.samplingRate = Math.max(1, samplingRate);
+        if (operation != null && services.length > 0) {
+            // The type a root operation always runs in, and most source fields too
+            OperationType operationType = operation.isSourceField() || operation.getOperationType() == null
+                    ? OperationType.QUERY
+                    : operation.getOperationType();
+            getTimers(operationType.ordinal());
+        }
+    }
+
+    /**
+     * @return false if nothing is measured at all, so {@link #start(Context)} always returns {@link #NOT_MEASURED}
+     */
+    public boolean isEnabled() {
+        return services.length > 0;
+    }
+
+    /**
+     * @param context the context of the fetch
+     * @return the start time to pass to {@link #end(Context, long)}, or {@link #NOT_MEASURED}
+     */
+    public long start(Context context) {
+        if (services.length == 0 || !isSampled(context)) {
+            return NOT_MEASURED;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * @param context the context of the fetch
+     * @param start what {@link #start(Context)} returned for this fetch
+     */
+    public void end(Context context, long start) {
+        if (start == NOT_MEASURED) {
+            return;
+        }
+        long duration = System.nanoTime() - start;
+        for (MetricsService.Timer timer : getTimers(getOperationTypeIndex(context))) {
+            timer.record(duration);
+        }
+    }
+
+    /**
+     * All fetches of a request are measured, or none of them
+     */
+    private boolean isSampled(Context context) {
+        if (samplingRate == 1) {
+            return true;
+        }
+        String executionId = context.getExecutionId();
+        return executionId == null || Math.floorMod(executionId.hashCode(), samplingRate) == 0;
+    }
+
+    private int getOperationTypeIndex(Context context) {
+        String operationType = context.getOperationType();
+        if (operationType != null) {
+            switch (operationType) {
+                case "MUTATION":
+                    return OperationType.MUTATION.ordinal();
+                case "SUBSCRIPTION":
+                    return OperationType.SUBSCRIPTION.ordinal();
+                default:
+                    break;
+            }
+        }
+        return OperationType.QUERY.ordinal();
+    }
+
+    private MetricsService.Timer[] getTimers(int operationTypeIndex) {
+        MetricsService.Timer[] resolved = timers.get(operationTypeIndex);
+        if (resolved == null) {
+            // Resolving twice when racing is harmless, the services return the same timer
+            String operationType = OPERATION_TYPES[operationTypeIndex].name();
+            resolved = new MetricsService.Timer[services.length];
+            for (int i = 0; i < services.length; i++) {
+                resolved[i] = services[i].getTimer(operation, operationType);
+            }
+            timers.set(operationTypeIndex, resolved);
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,654 @@
+package io.smallrye.graphql.json;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+import io.smallrye.graphql.schema.model.Field;
+import io.smallrye.graphql.schema.model.InputType;
+import io.smallrye.graphql.spi.ClassloadingService;
+
+/**
+ * Here we create input objects straight from the map graphql-java gives us, without writing that map to a json
+ * String and reading it back with JsonB.
+ *
+ * A binder is only created for input types that JsonB would bind in the same way: public classes with public
+ * setters, fields or a creator, and no JsonB annotations other than name mappings. At runtime, the whole input,
+ * nested input objects included, is checked before any object is created. A value that is not of a type the binder
+ * knows how to convert makes it give up, and the caller falls back to JsonB, which then is the only one to call
+ * constructors and setters.
+ */
+public class InputBinder {
+
+    private static final Map<String, InputBinder> binders = new ConcurrentHashMap<>();
+
+    private static final Set<String> NAME_MAPPING_ANNOTATIONS = Set.of(
+            "jakarta.json.bind.annotation.JsonbCreator",
+            "jakarta.json.bind.annotation.JsonbProperty",
+            "jakarta.json.bind.annotation.JsonbPropertyOrder",
+            "javax.json.bind.annotation.JsonbCreator",
+            "javax.json.bind.annotation.JsonbProperty",
+            "javax.json.bind.annotation.JsonbPropertyOrder");
+
+    private static final MethodType CREATOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * Returned by a scalar conversion when it does not know how to convert the value
+     */
+    private static final Object UNBOUND = new Object();
+
+    private final MethodHandle creator;
+    private final Property[] creatorParameters;
+    private final Map<String, Property> properties;
+    private final boolean preprocessed;
+
+    private InputBinder(MethodHandle creator, Property[] creatorParameters, Map<String, Property> properties,
+            boolean preprocessed) {
+        this.creator = creator;
+        this.creatorParameters = creatorParameters;
+        this.properties = properties;
+        this.preprocessed = preprocessed;
+    }
+
+    protected static void register(InputType inputType) {
+        binders.remove(inputType.getClassName());
+        try {
+            InputBinder binder = compile(inputType);
+            if (binder != null) {
+                binders.put(inputType.getClassName(), binder);
+            }
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            // JsonB will bind this type
+        }
+    }
+
+    /**
+     * Types with a user supplied Jsonb are always bound by that Jsonb
+     */
+    protected static void override(Set<String> classNames) {
+        for (String className : classNames) {
+            binders.remove(className);
+        }
+    }
+
+    /**
+     * @param className the class name of the input type
+     * @return the binder, or null if this input type needs JsonB
+     */
+    public static InputBinder get(String className) {
+        return binders.get(className);
+    }
+
+    /**
+     * Create the input object.
+     *
+     * @param map the (possibly transformed and adapted) input from graphql-java, keyed on the GraphQL field names
+     * @return the object, or null if the map contains a value this binder can not convert, in which case no object
+     *         was created
+     * @throws InvocationTargetException if the creator, a setter or a nested binder threw an exception
+     */
+    public Object bind(Map<String, Object> map) throws InvocationTargetException {
+        return accepts(map) ? create(map) : null;
+    }
+
+    /**
+     * @return whether all values in the map, and in the maps of nested input objects, can be converted
+     */
+    private boolean accepts(Map<String, Object> map) {
+        for (Property parameter : creatorParameters) {
+            if (!parameter.accepts(map.get(parameter.name))) {
+                return false;
+            }
+        }
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            Property property = properties.get(entry.getKey());
+            if (property != null && !property.accepts(entry.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Create the object from a map that this binder {@link #accepts(Map)}
+     */
+    private Object create(Map<String, Object> map) throws InvocationTargetException {
+        Object[] arguments = new Object[creatorParameters.length];
+        for (int i = 0; i < creatorParameters.length; i++) {
+            arguments[i] = creatorParameters[i].convert(map.get(creatorParameters[i].name));
+        }
+        int count = 0;
+        Property[] setters = new Property[map.size()];
+        Object[] values = new Object[map.size()];
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            Property property = properties.get(entry.getKey());
+            if (property != null) {
+                setters[count] = property;
+                values[count++] = property.convert(entry.getValue());
+            }
+        }
+
+        try {
+            Object instance = creator.invokeExact(arguments);
+            for (int i = 0; i < count; i++) {
+                setters[i].setter.invokeExact(instance, values[i]);
+            }
+            return instance;
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    private static InputBinder compile(InputType inputType) throws ReflectiveOperationException {
+        Class<?> type = ClassloadingService.get().loadClass(inputType.getClassName());
+        if (!Modifier.isPublic(type.getModifiers()) || Modifier.isAbstract(type.getModifiers())
+                || type.getTypeParameters().length > 0 || hasJsonbAnnotations(type)) {
+            return null;
+        }
+
+        List<Field> creatorFields = inputType.getCreatorParameters();
+        Executable creatorExecutable = findCreator(type, creatorFields.size());
+        if (creatorExecutable == null) {
+            return null;
+        }
+        Type[] parameterTypes = creatorExecutable.getGenericParameterTypes();
+        Property[] creatorParameters = new Property[creatorFields.size()];
+        Set<String> creatorFieldNames = new HashSet<>();
+        for (int i = 0; i < creatorParameters.length; i++) {
+            creatorFieldNames.add(creatorFields.get(i).getName());
+            Converter converter = converter(parameterTypes[i]);
+            if (converter == null) {
+                return null;
+            }
+            creatorParameters[i] = new Property(creatorFields.get(i).getName(), converter,
+                    creatorExecutable.getParameterTypes()[i].isPrimitive(), null);
+        }
+
+        Map<String, Property> properties = new HashMap<>();
+        for (Field field : inputType.getFields().values()) {
+            if (creatorFieldNames.contains(field.getName())) {
+                continue;
+            }
+            Property property = property(type, field);
+            if (property == null) {
+                return null;
+            }
+            properties.put(field.getName(), property);
+        }
+
+        MethodHandle creator = creatorHandle(creatorExecutable)
+                .asSpreader(Object[].class, creatorParameters.length)
+                .asType(CREATOR_TYPE);
+        boolean preprocessed = InputFieldsInfo.hasTransformationFields(inputType.getClassName())
+                || InputFieldsInfo.hasAdaptToFields(inputType.getClassName())
+                || InputFieldsInfo.hasAdaptWithFields(inputType.getClassName());
+        return new InputBinder(creator, creatorParameters, properties, preprocessed);
+    }
+
+    /**
+     * The creator JsonB would use: a constructor or static factory method annotated with {@code @JsonbCreator}, the
+     * canonical constructor of a record, or else the public no-arg constructor.
+     */
+    private static Executable findCreator(Class<?> type, int parameterCount) throws NoSuchMethodException {
+        for (Constructor<?> constructor : type.getConstructors()) {
+            if (isJsonbCreator(constructor)) {
+                return constructor.getParameterCount() == parameterCount ? constructor : null;
+            }
+        }
+        for (Method method : type.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) && isJsonbCreator(method)) {
+                return method.getParameterCount() == parameterCount && type.equals(method.getReturnType()) ? method
+                        : null;
+            }
+        }
+        if (type.getSuperclass() != null && type.getSuperclass().getName().equals("java.lang.Record")) {
+            Constructor<?> canonical = null;
+            for (Constructor<?> constructor : type.getConstructors()) {
+                if (constructor.getParameterCount() == parameterCount) {
+                    if (canonical != null) {
+                        return null;
+                    }
+                    canonical = constructor;
+                }
+            }
+            return canonical;
+        }
+        return parameterCount == 0 ? type.getConstructor() : null;
+    }
+
+    private static boolean isJsonbCreator(Executable executable) {
+        for (Annotation annotation : executable.getAnnotations()) {
+            String name = annotation.annotationType().getName();
+            if (name.equals("jakarta.json.bind.annotation.JsonbCreator")
+                    || name.equals("javax.json.bind.annotation.JsonbCreator")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static MethodHandle creatorHandle(Executable executable) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        return executable instanceof Constructor
+                ? lookup.unreflectConstructor((Constructor<?>) executable)
+                : lookup.unreflect((Method) executable);
+    }
+
+    /**
+     * JsonB uses a public setter if there is one, else a public field.
+     */
+    private static Property property(Class<?> type, Field field) throws IllegalAccessException {
+        String propertyName = field.getPropertyName();
+        String setterName = "set" + propertyName.substring(0, 1).toUpperCase() + propertyName.substring(1);
+        Method setter = null;
+        for (Method method : type.getMethods()) {
+            if (method.getName().equals(setterName) && method.getParameterCount() == 1
+                    && !Modifier.isStatic(method.getModifiers())) {
+                if (setter != null) {
+                    return null; // overloaded, let JsonB decide
+                }
+                setter = method;
+            }
+        }
+
+        MethodHandle handle;
+        Type propertyType;
+        Class<?> rawType;
+        if (setter != null) {
+            handle = MethodHandles.publicLookup().unreflect(setter);
+            propertyType = setter.getGenericParameterTypes()[0];
+            rawType = setter.getParameterTypes()[0];
+        } else {
+            java.lang.reflect.Field javaField;
+            try {
+                javaField = type.getField(propertyName);
+            } catch (NoSuchFieldException e) {
+                return null;
+            }
+            if (Modifier.isStatic(javaField.getModifiers()) || Modifier.isFinal(javaField.getModifiers())) {
+                return null;
+            }
+            handle = MethodHandles.publicLookup().unreflectSetter(javaField);
+            propertyType = javaField.getGenericType();
+            rawType = javaField.getType();
+        }
+
+        Converter converter = converter(propertyType);
+        if (converter == null) {
+            return null;
+        }
+        return new Property(field.getName(), converter, rawType.isPrimitive(), handle.asType(SETTER_TYPE));
+    }
+
+    private static boolean hasJsonbAnnotations(Class<?> type) {
+        if (type.getPackage() != null && isAnnotatedForJsonb(type.getPackage())) {
+            return true;
+        }
+        for (Class<?> c = type; c != null && !c.equals(Object.class); c = c.getSuperclass()) {
+            if (isAnnotatedForJsonb(c)) {
+                return true;
+            }
+            for (java.lang.reflect.Field field : c.getDeclaredFields()) {
+                if (isAnnotatedForJsonb(field)) {
+                    return true;
+                }
+            }
+            for (Method method : c.getDeclaredMethods()) {
+                if (isAnnotatedForJsonb(method) || hasJsonbParameterAnnotations(method)) {
+                    return true;
+                }
+            }
+            for (Constructor<?> constructor : c.getDeclaredConstructors()) {
+                if (hasJsonbParameterAnnotations(constructor)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasJsonbParameterAnnotations(Executable executable) {
+        for (Annotation[] annotations : executable.getParameterAnnotations()) {
+            for (Annotation annotation : annotations) {
+                if (isJsonbAnnotation(annotation)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAnnotatedForJsonb(AnnotatedElement element) {
+        for (Annotation annotation : element.getDeclaredAnnotations()) {
+            if (isJsonbAnnotation(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Annotations that change how JsonB binds a value (like a date format or an adapter)
+     */
+    private static boolean isJsonbAnnotation(Annotation annotation) {
+        String name = annotation.annotationType().getName();
+        return (name.startsWith("jakarta.json.bind.annotation.") || name.startsWith("javax.json.bind.annotation."))
+                && !NAME_MAPPING_ANNOTATIONS.contains(name);
+    }
+
+    /**
+     * Find the converter for a property of this type. JsonB binds json values, and we get Java values from
+     * graphql-java (or from a transformation or adapter), so we only convert where the result is the same.
+     *
+     * @return the converter, or null if this type needs JsonB
+     */
+    private static Converter converter(Type type) {
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type[] arguments = parameterizedType.getActualTypeArguments();
+            IntFunction<Collection<Object>> collection = collection(parameterizedType.getRawType());
+            if (collection == null || arguments.length != 1) {
+                return null;
+            }
+            Converter element = converter(arguments[0]);
+            return element == null ? null : new CollectionConverter(collection, element);
+        }
+        if (!(type instanceof Class)) {
+            return null;
+        }
+        Class<?> c = (Class<?>) type;
+        if (c.equals(String.class)) {
+            return scalar(value -> value instanceof String ? value : UNBOUND);
+        }
+        if (c.equals(boolean.class) || c.equals(Boolean.class)) {
+            return scalar(value -> value instanceof Boolean ? value : UNBOUND);
+        }
+        if (c.equals(char.class) || c.equals(Character.class)) {
+            return scalar(value -> value instanceof String && ((String) value).length() == 1 ? ((String) value).charAt(0)
+                    : UNBOUND);
+        }
+        if (c.equals(int.class) || c.equals(Integer.class)) {
+            return scalar(value -> integral(value, Integer.MIN_VALUE, Integer.MAX_VALUE, l -> (int) l));
+        }
+        if (c.equals(long.class) || c.equals(Long.class)) {
+            return scalar(value -> integral(value, Long.MIN_VALUE, Long.MAX_VALUE, l -> l));
+        }
+        if (c.equals(short.class) || c.equals(Short.class)) {
+            return scalar(value -> integral(value, Short.MIN_VALUE, Short.MAX_VALUE, l -> (short) l));
+        }
+        if (c.equals(byte.class) || c.equals(Byte.class)) {
+            return scalar(value -> integral(value, Byte.MIN_VALUE, Byte.MAX_VALUE, l -> (byte) l));
+        }
+        // Floating point numbers are parsed from the json text, so we do the same to get the same rounding
+        if (c.equals(double.class) || c.equals(Double.class)) {
+            return scalar(value -> value instanceof Number ? (Object) Double.parseDouble(value.toString()) : UNBOUND);
+        }
+        if (c.equals(float.class) || c.equals(Float.class)) {
+            return scalar(value -> value instanceof Number ? (Object) Float.parseFloat(value.toString()) : UNBOUND);
+        }
+        if (c.equals(BigDecimal.class)) {
+            return scalar(value -> value instanceof BigDecimal ? value
+                    : value instanceof Number ? new BigDecimal(value.toString()) : UNBOUND);
+        }
+        if (c.equals(BigInteger.class)) {
+            return scalar(value -> value instanceof BigInteger ? value
+                    : isIntegral(value) ? BigInteger.valueOf(((Number) value).longValue()) : UNBOUND);
+        }
+        if (c.isEnum()) {
+            return scalar(new EnumConversion(c));
+        }
+        if (c.isArray()) {
+            Converter element = converter(c.getComponentType());
+            return element == null ? null : new ArrayConverter(c.getComponentType(), element);
+        }
+        if (c.isInterface() || c.isPrimitive() || Modifier.isAbstract(c.getModifiers()) || c.equals(Object.class)
+                || Map.class.isAssignableFrom(c) || Collection.class.isAssignableFrom(c)) {
+            return null;
+        }
+        return new ObjectConverter(c);
+    }
+
+    private static IntFunction<Collection<Object>> collection(Type rawType) {
+        if (rawType.equals(List.class) || rawType.equals(Collection.class) || rawType.equals(ArrayList.class)) {
+            return ArrayList::new;
+        }
+        if (rawType.equals(Set.class) || rawType.equals(HashSet.class)) {
+            return HashSet::new;
+        }
+        if (rawType.equals(LinkedHashSet.class)) {
+            return LinkedHashSet::new;
+        }
+        if (rawType.equals(LinkedList.class)) {
+            return size -> new LinkedList<>();
+        }
+        return null;
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    private static Object integral(Object value, long min, long max, LongConverter converter) {
+        long l;
+        if (isIntegral(value)) {
+            l = ((Number) value).longValue();
+        } else if (value instanceof BigInteger && ((BigInteger) value).bitLength() < 64) {
+            l = ((BigInteger) value).longValue();
+        } else {
+            return UNBOUND;
+        }
+        return l < min || l > max ? UNBOUND : converter.convert(l);
+    }
+
+    private interface LongConverter {
+        Object convert(long value);
+    }
+
+    private static Converter scalar(ScalarConversion conversion) {
+        return new Converter() {
+            @Override
+            public boolean accepts(Object value) {
+                return conversion.convert(value) != UNBOUND;
+            }
+
+            @Override
+            public Object convert(Object value) {
+                return conversion.convert(value);
+            }
+        };
+    }
+
+    private interface ScalarConversion {
+        /**
+         * @param value a non null value
+         * @return the converted value, or {@link #UNBOUND}
+         */
+        Object convert(Object value);
+    }
+
+    private interface Converter {
+        /**
+         * Checks the value without creating any objects of the application
+         *
+         * @param value a non null value
+         * @return whether the value can be converted
+         */
+        boolean accepts(Object value);
+
+        /**
+         * @param value a non null value that is accepted
+         * @return the converted value
+         */
+        Object convert(Object value) throws InvocationTargetException;
+    }
+
+    private static class Property {
+        private final String name;
+        private final Converter converter;
+        private final boolean primitive;
+        private final MethodHandle setter;
+
+        Property(String name, Converter converter, boolean primitive, MethodHandle setter) {
+            this.name = name;
+            this.converter = converter;
+            this.primitive = primitive;
+            this.setter = setter;
+        }
+
+        boolean accepts(Object value) {
+            return value == null ? !primitive : converter.accepts(value);
+        }
+
+        Object convert(Object value) throws InvocationTargetException {
+            return value == null ? null : converter.convert(value);
+        }
+    }
+
+    private static class EnumConversion implements ScalarConversion {
+        private final Class<? extends Enum> type;
+
+        @SuppressWarnings("unchecked")
+        EnumConversion(Class<?> type) {
+            this.type = (Class<? extends Enum>) type;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object convert(Object value) {
+            if (type.isInstance(value)) {
+                return value;
+            }
+            if (value instanceof String) {
+                try {
+                    return Enum.valueOf(type, (String) value);
+                } catch (IllegalArgumentException e) {
+                    return UNBOUND;
+                }
+            }
+            return UNBOUND;
+        }
+    }
+
+    /**
+     * A nested input object, or a value that a transformation or adapter already created
+     */
+    private static class ObjectConverter implements Converter {
+        private final Class<?> type;
+
+        ObjectConverter(Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean accepts(Object value) {
+            if (type.isInstance(value)) {
+                return true;
+            }
+            // Nested input objects are not transformed or adapted before they get to JsonB
+            InputBinder binder = binders.get(type.getName());
+            return value instanceof Map && binder != null && !binder.preprocessed
+                    && binder.accepts((Map<String, Object>) value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object convert(Object value) throws InvocationTargetException {
+            if (type.isInstance(value)) {
+                return value;
+            }
+            return binders.get(type.getName()).create((Map<String, Object>) value);
+        }
+    }
+
+    private static class CollectionConverter implements Converter {
+        private final IntFunction<Collection<Object>> factory;
+        private final Converter element;
+
+        CollectionConverter(IntFunction<Collection<Object>> factory, Converter element) {
+            this.factory = factory;
+            this.element = element;
+        }
+
+        @Override
+        public boolean accepts(Object value) {
+            if (!(value instanceof Collection)) {
+                return false;
+            }
+            for (Object v : (Collection<?>) value) {
+                if (v != null && !element.accepts(v)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Object convert(Object value) throws InvocationTargetException {
+            Collection<?> values = (Collection<?>) value;
+            Collection<Object> result = factory.apply(values.size());
+            for (Object v : values) {
+                result.add(v == null ? null : element.convert(v));
+            }
+            return result;
+        }
+    }
+
+    private static class ArrayConverter implements Converter {
+        private final Class<?> componentType;
+        private final Converter element;
+
+        ArrayConverter(Class<?> componentType, Converter element) {
+            this.componentType = componentType;
+            this.element = element;
+        }
+
+        @Override
+        public boolean accepts(Object value) {
+            if (!(value instanceof Collection)) {
+                return false;
+            }
+            for (Object v : (Collection<?>) value) {
+                if (v == null ? componentType.isPrimitive() : !element.accepts(v)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Object convert(Object value) throws InvocationTargetException {
+            Collection<?> values = (Collection<?>) value;
+            Object result = Array.newInstance(componentType, values.size());
+            int i = 0;
+            for (Object v : values) {
+                Array.set(result, i++, v == null ? null : element.convert(v));
+            }
+            return result;
+        }
+    }
+}
@@ -12,6 +12,7 @@ import io.smallrye.graphql.schema.model.InputType;
  * For now we need to
  * - hold a custom JsonB map for custom name mapping and
  * - hold a map of all fields in input types that needs transforming
+ * - hold a binder that creates input types without JsonB, where possible
  *
  * @author Phillip Kruger (phillip.kruger@redhat.com)
  */
@@ -23,6 +24,7 @@ public class JsonInputRegistry {
     public static void register(InputType inputType) {
         JsonBCreator.register(inputType);
         InputFieldsInfo.register(inputType);
+        InputBinder.register(inputType);
     }
 
     /**
@@ -31,5 +33,6 @@ public class JsonInputRegistry {
      */
     public static void override(Map<String, Jsonb> overrides) {
         JsonBCreator.override(overrides);
+        InputBinder.override(overrides.keySet());
     }
 }
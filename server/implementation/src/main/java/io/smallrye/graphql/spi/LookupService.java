@@ -4,10 +4,10 @@ import static io.smallrye.graphql.SmallRyeGraphQLServerLogging.log;
 import static io.smallrye.graphql.SmallRyeGraphQLServerMessages.msg;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Lookup service that allows multiple DI frameworks to use this.
@@ -71,24 +71,26 @@ public interface LookupService {
      * This use reflection
      */
     class DefaultLookupService implements LookupService {
-        private final Map<Class, InheritableThreadLocal<ManagedInstance>> instanceMap = new HashMap<>();
+        private final Map<Class, ManagedInstance> instanceMap = new ConcurrentHashMap<>();
 
         @Override
         public String getName() {
-            return "Thread Local and reflection";
+            return "Reflection";
         }
 
         @Override
         public <T> ManagedInstance<T> getInstance(Class<T> declaringClass) {
-            if (instanceMap.containsKey(declaringClass)) {
-                return (ManagedInstance<T>) instanceMap.get(declaringClass).get();
-            } else {
-                ManagedInstance<T> newManagedInstance = getNewManagedInstance(declaringClass);
-                InheritableThreadLocal<ManagedInstance> threadLocal = new InheritableThreadLocal<>();
-                threadLocal.set(newManagedInstance);
-                instanceMap.put(declaringClass, threadLocal);
-                return getInstance(declaringClass);
+            ManagedInstance<T> instance = instanceMap.get(declaringClass);
+            if (instance == null) {
+                // Not created in computeIfAbsent, a constructor may look up other instances. If two threads create
+                // one, the first one that is stored is used
+                ManagedInstance<T> created = getNewManagedInstance(declaringClass);
+                instance = instanceMap.putIfAbsent(declaringClass, created);
+                if (instance == null) {
+                    instance = created;
+                }
             }
+            return instance;
         }
 
         private <T> ManagedInstance<T> getNewManagedInstance(Class<T> declaringClass) {
@@ -112,5 +114,11 @@ public interface LookupService {
         public T get() {
             return instance;
         }
+
+        @Override
+        public boolean isReusable() {
+            // Never destroyed, and the same instance for all threads
+            return true;
+        }
     }
 }
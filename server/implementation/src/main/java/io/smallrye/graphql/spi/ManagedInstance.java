@@ -8,4 +8,14 @@ public interface ManagedInstance<T> {
         // nothing
     }
 
+    /**
+     * Whether this instance can be kept and used for all further calls, on any thread, for example because it is
+     * (a client proxy of) an application scoped bean.
+     *
+     * @return true if the instance does not have to be looked up again
+     */
+    default boolean isReusable() {
+        return false;
+    }
+
 }
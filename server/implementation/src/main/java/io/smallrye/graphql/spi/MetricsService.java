@@ -1,9 +1,28 @@
 package io.smallrye.graphql.spi;
 
-import io.smallrye.graphql.api.Context;
+import io.smallrye.graphql.schema.model.Operation;
 
+/**
+ * Records how long the data fetches of operations take.
+ *
+ * The timers are resolved once per operation, mostly while the schema is created. The data fetchers take the start
+ * time themselves and only hand the duration to the timer, so measuring a field needs no lookups.
+ */
 public interface MetricsService {
-    void start(Long measurementId, Context context);
 
-    void end(Long measurementId);
+    /**
+     * @param operation the operation that is measured
+     * @param operationType the type of the request the operation runs in: {@code QUERY}, {@code MUTATION} or
+     *        {@code SUBSCRIPTION}. This is the type of the operation itself, unless it is a source field
+     * @return the timer for the fetches of the operation in that type of request
+     */
+    Timer getTimer(Operation operation, String operationType);
+
+    /**
+     * Records the durations of the fetches of one operation. Called concurrently, so it should be thread safe, and
+     * cheap.
+     */
+    interface Timer {
+        void record(long durationInNanos);
+    }
 }
@@ -0,0 +1,73 @@
+package io.smallrye.graphql.spi;
+
+import static io.smallrye.graphql.SmallRyeGraphQLServerLogging.log;
+
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import io.smallrye.graphql.execution.FilePersistedDocumentStore;
+import io.smallrye.graphql.spi.config.Config;
+
+/**
+ * Stores GraphQL documents by id, usually the SHA-256 hash of the document as used by Automatic Persisted Queries.
+ *
+ * The query cache asks the store for documents it does not know yet and preloads all of its documents at startup. By
+ * default the store is a read-only manifest of trusted operations. When
+ * {@code smallrye.graphql.persistedDocuments.writable} is set, the query cache also registers the automatic persisted
+ * queries that clients send, once they are parsed and validated, so a store that is shared between nodes (a network
+ * file system, a database) lets a new node start with the operations the others have already seen.
+ *
+ * A store can be provided with the ServiceLoader. Otherwise, when
+ * {@code smallrye.graphql.persistedDocuments.directory} is set, a {@link FilePersistedDocumentStore} is used.
+ */
+public interface PersistedDocumentStore {
+
+    /**
+     * Loads the configured store.
+     *
+     * @return the store, or null if none is configured
+     */
+    static PersistedDocumentStore load() {
+        PersistedDocumentStore store = null;
+        Iterator<PersistedDocumentStore> iterator = ServiceLoader.load(PersistedDocumentStore.class).iterator();
+        if (iterator.hasNext()) {
+            store = iterator.next();
+        } else {
+            store = Config.get().getPersistedDocumentsDirectory()
+                    .map(directory -> new FilePersistedDocumentStore(Paths.get(directory),
+                            Config.get().getPersistedDocumentsMaxSize()))
+                    .orElse(null);
+        }
+        if (store != null) {
+            log.usingPersistedDocumentStore(store.getName());
+        }
+        return store;
+    }
+
+    String getName();
+
+    /**
+     * @param id the id of the document
+     * @return the document or null if it is unknown
+     */
+    String getDocument(String id);
+
+    /**
+     * Registers a valid document that a client sent. Read-only stores can ignore it. Stores should bound the number
+     * of documents they keep, as any client can send them.
+     *
+     * @param id the id of the document
+     * @param document the document
+     */
+    default void putDocument(String id, String document) {
+    }
+
+    /**
+     * The trusted documents that should be parsed, validated and cached before the first request.
+     *
+     * @return the documents by id
+     */
+    Map<String, String> getDocuments();
+}
@@ -123,6 +123,26 @@ public interface Config {
         return false;
     }
 
+    default int getBatchingMaxSize() {
+        return 10;
+    }
+
+    default boolean isIncrementalDeliveryEnabled() {
+        return false;
+    }
+
+    default boolean isServletAsyncEnabled() {
+        return false;
+    }
+
+    default int getServletAsyncTimeout() {
+        return 30;
+    }
+
+    default int getServletAsyncMaxBodySize() {
+        return 10 * 1024 * 1024;
+    }
+
     default boolean isIncludeScalarsInSchema() {
         return false;
     }
@@ -147,6 +167,14 @@ public interface Config {
         return false;
     }
 
+    default int getMetricsSamplingRate() {
+        return 1;
+    }
+
+    default boolean isMetricsRootFieldsOnly() {
+        return false;
+    }
+
     default boolean isEventsEnabled() {
         return false;
     }
@@ -215,6 +243,66 @@ public interface Config {
         return Optional.empty();
     }
 
+    default boolean isQueryCacheNormalizationEnabled() {
+        return false;
+    }
+
+    default boolean isPersistedQueriesEnabled() {
+        return false;
+    }
+
+    default Optional<String> getPersistedDocumentsDirectory() {
+        return Optional.empty();
+    }
+
+    default boolean isPersistedDocumentsWritable() {
+        return false;
+    }
+
+    default int getPersistedDocumentsMaxSize() {
+        return 10000;
+    }
+
+    default Optional<Integer> getDataLoaderMaxBatchSize() {
+        return Optional.empty();
+    }
+
+    default boolean isDataLoaderCachingEnabled() {
+        return true;
+    }
+
+    default boolean isVirtualThreadsEnabled() {
+        return false;
+    }
+
+    default Optional<Integer> getVirtualThreadsMaxConcurrency() {
+        return Optional.empty();
+    }
+
+    default int getWebsocketKeepAliveInterval() {
+        return 10;
+    }
+
+    default int getWebsocketConnectionInitTimeout() {
+        return 0;
+    }
+
+    default int getWebsocketIdleTimeout() {
+        return 0;
+    }
+
+    default boolean isWebsocketSubscriptionSharingEnabled() {
+        return false;
+    }
+
+    default int getWebsocketSubscriptionBufferSize() {
+        return 256;
+    }
+
+    default String getWebsocketSubscriptionOverflowStrategy() {
+        return "DROP_OLDEST";
+    }
+
     default <T> T getConfigValue(String key, Class<T> type, T defaultValue) {
         return defaultValue;
     }
@@ -2,9 +2,10 @@ package io.smallrye.graphql.transformation;
 
 import static io.smallrye.graphql.SmallRyeGraphQLServerMessages.msg;
 
-import java.text.DateFormat;
+import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
+import java.util.Date;
 import java.util.Locale;
 
 import io.smallrye.graphql.schema.model.Field;
@@ -13,7 +14,7 @@ import io.smallrye.graphql.schema.model.Transformation;
 public class CalendarTransformer implements Transformer<Calendar, String> {
 
     private final String targetClassName;
-    private final DateFormat dateFormat;
+    private final FormatPool<SimpleDateFormat> dateFormat;
 
     public CalendarTransformer(final Field field, final String targetClassName) {
         this.dateFormat = getDateFormat(field.getTransformation());
@@ -25,11 +26,12 @@ public class CalendarTransformer implements Transformer<Calendar, String> {
     }
 
     @Override
-    public Calendar in(String o) throws Exception {
+    public Calendar in(String o) throws ParseException {
         if (dateFormat == null) {
             throw msg.notValidDateOrTimeType(targetClassName);
         }
-        return new Calendar.Builder().setInstant(dateFormat.parse(o)).build();
+        Date date = dateFormat.parse(SimpleDateFormat::parse, o);
+        return new Calendar.Builder().setInstant(date).build();
     }
 
     @Override
@@ -37,18 +39,17 @@ public class CalendarTransformer implements Transformer<Calendar, String> {
         return dateFormat.format(o.getTime());
     }
 
-    private static DateFormat getDateFormat(Transformation formatter) {
+    private static FormatPool<SimpleDateFormat> getDateFormat(Transformation formatter) {
         if (formatter == null) {
             // Default format if no formatter is provided
-            return new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+            return Formatters.simpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", null);
         }
         String format = formatter.getFormat();
         if (format == null)
             return null;
         String localeTag = formatter.getLocale();
 
-        // Create SimpleDateFormat with the specified format and locale
         Locale locale = (localeTag != null) ? Locale.forLanguageTag(localeTag) : Locale.getDefault();
-        return new SimpleDateFormat(format, locale);
+        return Formatters.simpleDateFormat(format, locale);
     }
 }
@@ -0,0 +1,221 @@
+package io.smallrye.graphql.transformation;
+
+import static java.time.ZoneOffset.UTC;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQuery;
+import java.util.Locale;
+
+/**
+ * A thread-safe date formatter. Values in the common ISO formats ({@code yyyy-MM-dd}, {@code HH:mm:ss} and
+ * {@code yyyy-MM-dd'T'HH:mm:ss}, as pattern or as the ISO formatters of {@link DateTimeFormatter}) are written and read
+ * directly, without going through the {@link DateTimeFormatter}. Everything else, including values that the fast path
+ * does not read, is left to the {@link DateTimeFormatter}, so the results and the errors are the same.
+ */
+final class DateFormatter {
+
+    private enum Iso {
+        NONE,
+        DATE,
+        TIME,
+        DATE_TIME,
+        INSTANT
+    }
+
+    private final DateTimeFormatter formatter;
+    private final Iso iso;
+    // The ISO formatters write the fraction of a second, the patterns do not
+    private final boolean withNanos;
+
+    private DateFormatter(DateTimeFormatter formatter, Iso iso, boolean withNanos) {
+        this.formatter = formatter;
+        this.iso = iso;
+        this.withNanos = withNanos;
+    }
+
+    /**
+     * @param formatter one of the predefined formatters in {@link DateTimeFormatter}
+     */
+    static DateFormatter of(DateTimeFormatter formatter) {
+        if (formatter == DateTimeFormatter.ISO_LOCAL_DATE) {
+            return new DateFormatter(formatter, Iso.DATE, true);
+        } else if (formatter == DateTimeFormatter.ISO_LOCAL_TIME) {
+            return new DateFormatter(formatter, Iso.TIME, true);
+        } else if (formatter == DateTimeFormatter.ISO_LOCAL_DATE_TIME) {
+            return new DateFormatter(formatter, Iso.DATE_TIME, true);
+        } else if (formatter == DateTimeFormatter.ISO_INSTANT) {
+            return new DateFormatter(formatter, Iso.INSTANT, true);
+        }
+        return new DateFormatter(formatter, Iso.NONE, true);
+    }
+
+    /**
+     * @param pattern the pattern, as for {@link DateTimeFormatter#ofPattern(String)}
+     * @param locale the locale, null for the default
+     */
+    static DateFormatter ofPattern(String pattern, Locale locale) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+        if (locale != null) {
+            formatter = formatter.withLocale(locale);
+        }
+        // The digits are always ASCII, the locale does not matter for these
+        switch (pattern) {
+            case "yyyy-MM-dd":
+            case "uuuu-MM-dd":
+                return new DateFormatter(formatter, Iso.DATE, false);
+            case "HH:mm:ss":
+                return new DateFormatter(formatter, Iso.TIME, false);
+            case "yyyy-MM-dd'T'HH:mm:ss":
+            case "uuuu-MM-dd'T'HH:mm:ss":
+                return new DateFormatter(formatter, Iso.DATE_TIME, false);
+            default:
+                return new DateFormatter(formatter, Iso.NONE, false);
+        }
+    }
+
+    String format(TemporalAccessor temporal) {
+        switch (iso) {
+            case DATE:
+                if (temporal instanceof LocalDate && hasFourDigitYear(((LocalDate) temporal).getYear())) {
+                    return appendDate(new StringBuilder(10), (LocalDate) temporal).toString();
+                }
+                break;
+            case TIME:
+                if (temporal instanceof LocalTime && (!withNanos || ((LocalTime) temporal).getNano() == 0)) {
+                    return appendTime(new StringBuilder(8), (LocalTime) temporal).toString();
+                }
+                break;
+            case DATE_TIME:
+                if (temporal instanceof LocalDateTime) {
+                    LocalDateTime dateTime = (LocalDateTime) temporal;
+                    if (hasFourDigitYear(dateTime.getYear()) && (!withNanos || dateTime.getNano() == 0)) {
+                        StringBuilder builder = appendDate(new StringBuilder(19), dateTime.toLocalDate()).append('T');
+                        return appendTime(builder, dateTime.toLocalTime()).toString();
+                    }
+                }
+                break;
+            case INSTANT:
+                if (temporal instanceof Instant) {
+                    // Same as ISO_INSTANT
+                    return temporal.toString();
+                }
+                break;
+            default:
+                break;
+        }
+        if (temporal instanceof Instant) {
+            /*
+             * Instant provides only INSTANT_SECONDS and fractions thereof.
+             * This is not sufficient for most date time formats, so we provide additional fields
+             * by converting it to an OffsetDateTime.
+             */
+            temporal = ((Instant) temporal).atOffset(UTC);
+        }
+        return formatter.format(temporal);
+    }
+
+    /**
+     * @param text the text to parse
+     * @param className the type to parse to
+     * @param query creates the type from what the formatter parsed
+     * @return the parsed value
+     */
+    Object parse(String text, String className, TemporalQuery<?> query) {
+        Object parsed = null;
+        if (iso == Iso.DATE && className.equals(LocalDate.class.getName()) && text.length() == 10) {
+            parsed = parseDate(text);
+        } else if (iso == Iso.TIME && className.equals(LocalTime.class.getName()) && text.length() == 8) {
+            parsed = parseTime(text, 0);
+        } else if (iso == Iso.DATE_TIME && className.equals(LocalDateTime.class.getName()) && text.length() == 19
+                && text.charAt(10) == 'T') {
+            LocalDate date = parseDate(text);
+            LocalTime time = parseTime(text, 11);
+            if (date != null && time != null) {
+                parsed = LocalDateTime.of(date, time);
+            }
+        }
+        if (parsed != null) {
+            return parsed;
+        }
+        return formatter.parse(text, query);
+    }
+
+    private static boolean hasFourDigitYear(int year) {
+        return year >= 1 && year <= 9999;
+    }
+
+    private static StringBuilder appendDate(StringBuilder builder, LocalDate date) {
+        int year = date.getYear();
+        if (year < 1000) {
+            builder.append(year < 10 ? "000" : year < 100 ? "00" : "0");
+        }
+        builder.append(year).append('-');
+        return appendTwoDigits(appendTwoDigits(builder, date.getMonthValue()).append('-'), date.getDayOfMonth());
+    }
+
+    private static StringBuilder appendTime(StringBuilder builder, LocalTime time) {
+        appendTwoDigits(builder, time.getHour()).append(':');
+        appendTwoDigits(builder, time.getMinute()).append(':');
+        return appendTwoDigits(builder, time.getSecond());
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder builder, int value) {
+        if (value < 10) {
+            builder.append('0');
+        }
+        return builder.append(value);
+    }
+
+    /**
+     * @return the date at the start of the text, null if it is not a valid {@code yyyy-MM-dd} date
+     */
+    private static LocalDate parseDate(String text) {
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        if (year < 1 || month < 1 || month > 12 || day < 1 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return null;
+        }
+        // The formatter may adjust or reject days that are not in the month
+        if (day > 28 && day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * @return the time at the index, null if it is not a valid {@code HH:mm:ss} time
+     */
+    private static LocalTime parseTime(String text, int start) {
+        int hour = digits(text, start, 2);
+        int minute = digits(text, start + 3, 2);
+        int second = digits(text, start + 6, 2);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59
+                || text.charAt(start + 2) != ':' || text.charAt(start + 5) != ':') {
+            return null;
+        }
+        return LocalTime.of(hour, minute, second);
+    }
+
+    /**
+     * @return the value of the digits, -1 if there is something else
+     */
+    private static int digits(String text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -19,7 +19,6 @@ import java.time.temporal.Temporal;
 import java.time.temporal.TemporalAccessor;
 import java.time.temporal.TemporalQuery;
 import java.util.HashMap;
-import java.util.Locale;
 import java.util.Map;
 
 import io.smallrye.graphql.schema.model.Field;
@@ -30,15 +29,15 @@ import io.smallrye.graphql.schema.model.Transformation;
  */
 public class DateTransformer implements Transformer<Temporal, String> {
 
-    private static final Map<String, DateTimeFormatter> DEFAULT_FORMATTER = createDefaultFormatter();
+    private static final Map<String, DateFormatter> DEFAULT_FORMATTER = createDefaultFormatter();
     private static final Map<String, TemporalQuery<?>> TEMPORAL_QUERYS = createTemporalQuerys();
 
-    private final DateTimeFormatter dateTimeFormatter;
+    private final DateFormatter dateFormatter;
 
     private final String targetClassName;
 
     public DateTransformer(final Field field, final String targetClassName) {
-        this.dateTimeFormatter = getDateFormat(field.getTransformation(), targetClassName);
+        this.dateFormatter = getDateFormat(field.getTransformation(), targetClassName);
         this.targetClassName = targetClassName;
     }
 
@@ -50,24 +49,16 @@ public class DateTransformer implements Transformer<Temporal, String> {
     public Temporal in(final String o) {
         TemporalQuery<?> temporalAccessor = TEMPORAL_QUERYS.get(targetClassName);
 
-        if (temporalAccessor == null || dateTimeFormatter == null) {
+        if (temporalAccessor == null || dateFormatter == null) {
             throw msg.notValidDateOrTimeType(targetClassName);
         }
 
-        return (Temporal) dateTimeFormatter.parse(o, temporalAccessor);
+        return (Temporal) dateFormatter.parse(o, targetClassName, temporalAccessor);
     }
 
     @Override
     public String out(Temporal temporal) {
-        if (temporal instanceof Instant) {
-            /*
-             * Instant provides only INSTANT_SECONDS and fractions thereof.
-             * This is not sufficient for most date time formats, so we provide additional fields
-             * by converting it to an OffsetDateTime.
-             */
-            temporal = ((Instant) temporal).atOffset(UTC);
-        }
-        return dateTimeFormatter.format(temporal);
+        return dateFormatter.format(temporal);
     }
 
     private static Map<String, TemporalQuery<?>> createTemporalQuerys() {
@@ -97,31 +88,27 @@ public class DateTransformer implements Transformer<Temporal, String> {
         return date.atTime(time).toInstant(UTC);
     }
 
-    private static DateTimeFormatter getDateFormat(Transformation formatter, String className) {
+    private static DateFormatter getDateFormat(Transformation formatter, String className) {
         if (formatter != null) {
             String format = formatter.getFormat();
-            String locale = formatter.getLocale();
             if (format == null) {
                 return null;
-            } else if (locale == null) {
-                return DateTimeFormatter.ofPattern(format);
-            } else {
-                return DateTimeFormatter.ofPattern(format).withLocale(Locale.forLanguageTag(locale));
             }
+            return Formatters.dateFormatter(format, formatter.getLocale());
         }
         return DEFAULT_FORMATTER.get(className);
     }
 
-    private static Map<String, DateTimeFormatter> createDefaultFormatter() {
-        Map<String, DateTimeFormatter> defaultFormatter = new HashMap<>();
+    private static Map<String, DateFormatter> createDefaultFormatter() {
+        Map<String, DateFormatter> defaultFormatter = new HashMap<>();
 
-        defaultFormatter.put(LocalDate.class.getName(), DateTimeFormatter.ISO_LOCAL_DATE);
-        defaultFormatter.put(LocalTime.class.getName(), DateTimeFormatter.ISO_LOCAL_TIME);
-        defaultFormatter.put(LocalDateTime.class.getName(), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-        defaultFormatter.put(OffsetTime.class.getName(), DateTimeFormatter.ISO_OFFSET_TIME);
-        defaultFormatter.put(OffsetDateTime.class.getName(), DateTimeFormatter.ISO_OFFSET_DATE_TIME);
-        defaultFormatter.put(ZonedDateTime.class.getName(), DateTimeFormatter.ISO_ZONED_DATE_TIME);
-        defaultFormatter.put(Instant.class.getName(), DateTimeFormatter.ISO_INSTANT);
+        defaultFormatter.put(LocalDate.class.getName(), DateFormatter.of(DateTimeFormatter.ISO_LOCAL_DATE));
+        defaultFormatter.put(LocalTime.class.getName(), DateFormatter.of(DateTimeFormatter.ISO_LOCAL_TIME));
+        defaultFormatter.put(LocalDateTime.class.getName(), DateFormatter.of(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        defaultFormatter.put(OffsetTime.class.getName(), DateFormatter.of(DateTimeFormatter.ISO_OFFSET_TIME));
+        defaultFormatter.put(OffsetDateTime.class.getName(), DateFormatter.of(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+        defaultFormatter.put(ZonedDateTime.class.getName(), DateFormatter.of(DateTimeFormatter.ISO_ZONED_DATE_TIME));
+        defaultFormatter.put(Instant.class.getName(), DateFormatter.of(DateTimeFormatter.ISO_INSTANT));
 
         return defaultFormatter;
     }
@@ -0,0 +1,63 @@
+package io.smallrye.graphql.transformation;
+
+import java.text.Format;
+import java.text.ParseException;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Instances of a {@link Format} that is not thread-safe, like {@link java.text.DecimalFormat}, for the threads that use
+ * it. A thread takes an instance for one call and gives it back, so no two threads use the same instance. Instances
+ * are cloned from the one the pool is created with, which itself is never used.
+ *
+ * @param <F> the type of format
+ */
+final class FormatPool<F extends Format> {
+
+    // More threads than this can format at the same time, the instances they create are then dropped
+    private static final int SIZE = 16;
+
+    private final F prototype;
+    private final ArrayBlockingQueue<F> instances = new ArrayBlockingQueue<>(SIZE);
+
+    /**
+     * @param prototype the configured format, must not be changed or used after this
+     */
+    FormatPool(F prototype) {
+        this.prototype = prototype;
+    }
+
+    String format(Object value) {
+        F format = take();
+        try {
+            return format.format(value);
+        } finally {
+            instances.offer(format);
+        }
+    }
+
+    <T> T parse(Parser<F, T> parser, String text) throws ParseException {
+        F format = take();
+        try {
+            return parser.parse(format, text);
+        } finally {
+            instances.offer(format);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private F take() {
+        F format = instances.poll();
+        if (format == null) {
+            format = (F) prototype.clone();
+        }
+        return format;
+    }
+
+    /**
+     * Parses with the typed method of a format, e.g. {@link java.text.DecimalFormat#parse(String)}
+     */
+    @FunctionalInterface
+    interface Parser<F, T> {
+        T parse(F format, String text) throws ParseException;
+    }
+}
@@ -0,0 +1,96 @@
+package io.smallrye.graphql.transformation;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The formatters for {@code @NumberFormat} and {@code @DateFormat}, created once per pattern and locale and shared by
+ * all fields and threads that use them.
+ */
+final class Formatters {
+
+    private static final Map<Key, FormatPool<DecimalFormat>> NUMBER_FORMATS = new ConcurrentHashMap<>();
+    private static final Map<Key, DateFormatter> DATE_FORMATTERS = new ConcurrentHashMap<>();
+    private static final Map<Key, FormatPool<SimpleDateFormat>> SIMPLE_DATE_FORMATS = new ConcurrentHashMap<>();
+
+    private Formatters() {
+    }
+
+    /**
+     * @param format the pattern, null for the default of the locale
+     * @param locale the language tag, null for the default locale
+     * @return the number format, that parses to {@link java.math.BigDecimal}
+     */
+    static FormatPool<DecimalFormat> numberFormat(String format, String locale) {
+        return NUMBER_FORMATS.computeIfAbsent(new Key(format, locale), key -> {
+            DecimalFormat numberFormat = createNumberFormat(format, locale);
+            numberFormat.setParseBigDecimal(true);
+            return new FormatPool<>(numberFormat);
+        });
+    }
+
+    /**
+     * @param format the pattern, as for {@link java.time.format.DateTimeFormatter#ofPattern(String)}
+     * @param locale the language tag, null for the default locale
+     */
+    static DateFormatter dateFormatter(String format, String locale) {
+        return DATE_FORMATTERS.computeIfAbsent(new Key(format, locale),
+                key -> DateFormatter.ofPattern(format, locale == null ? null : Locale.forLanguageTag(locale)));
+    }
+
+    /**
+     * @param format the pattern, as for {@link SimpleDateFormat}
+     * @param locale the locale, null for the default locale for formatting
+     */
+    static FormatPool<SimpleDateFormat> simpleDateFormat(String format, Locale locale) {
+        return SIMPLE_DATE_FORMATS.computeIfAbsent(new Key(format, locale),
+                key -> new FormatPool<>(locale == null ? new SimpleDateFormat(format) : new SimpleDateFormat(format, locale)));
+    }
+
+    private static DecimalFormat createNumberFormat(String format, String locale) {
+        if (format == null && locale == null) {
+            return new DecimalFormat();
+        } else if (format == null) {
+            //Should work: https://docs.oracle.com/javase/tutorial/i18n/format/decimalFormat.html
+            return (DecimalFormat) NumberFormat.getInstance(Locale.forLanguageTag(locale));
+        } else if (locale == null) {
+            return new DecimalFormat(format);
+        } else {
+            return new DecimalFormat(format,
+                    DecimalFormatSymbols.getInstance(Locale.forLanguageTag(locale)));
+        }
+    }
+
+    private static final class Key {
+        private final String format;
+        private final Object locale;
+
+        Key(String format, Object locale) {
+            this.format = format;
+            this.locale = locale;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(format) + Objects.hashCode(locale);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return Objects.equals(format, other.format) && Objects.equals(locale, other.locale);
+        }
+    }
+}
@@ -2,49 +2,55 @@ package io.smallrye.graphql.websocket;
 
 import java.io.IOException;
 import java.io.StringReader;
-import java.time.Duration;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicReference;
 
 import jakarta.json.Json;
-import jakarta.json.JsonBuilderFactory;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonReader;
 import jakarta.json.JsonReaderFactory;
+import jakarta.json.JsonWriter;
+import jakarta.json.JsonWriterFactory;
 import jakarta.json.stream.JsonParsingException;
 
 import org.jboss.logging.Logger;
 import org.reactivestreams.Publisher;
-import org.reactivestreams.Subscriber;
-import org.reactivestreams.Subscription;
 
 import graphql.ExecutionResult;
 import graphql.ExecutionResultImpl;
 import graphql.GraphQLError;
 import graphql.GraphqlErrorBuilder;
 import io.smallrye.graphql.execution.ExecutionResponse;
-import io.smallrye.graphql.execution.ExecutionResponseWriter;
 import io.smallrye.graphql.execution.ExecutionService;
+import io.smallrye.graphql.execution.IncrementalExecutionResponseWriter;
 import io.smallrye.graphql.spi.LookupService;
-import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.subscription.Cancellable;
 
 public abstract class AbstractGraphQLWebsocketHandler implements GraphQLWebsocketHandler {
     // TODO: Replace with prepared log messages
     protected static final Logger LOG = Logger.getLogger(GraphQLWebsocketHandler.class.getName());
     private static final JsonReaderFactory jsonReaderFactory = Json.createReaderFactory(null);
-    private static final JsonBuilderFactory jsonBuilderFactory = Json.createBuilderFactory(null);
+    private static final JsonWriterFactory jsonWriterFactory = Json.createWriterFactory(null);
+    private static final String CONNECTION_ACK_MESSAGE = Json.createObjectBuilder()
+            .add("type", "connection_ack")
+            .build()
+            .toString();
+    private static final String COMPLETE_MESSAGE_TYPE = "complete";
 
     protected final ExecutionService executionService = LookupService.get().getInstance(ExecutionService.class).get();
+    private final SubscriptionMultiplexer subscriptionMultiplexer = SubscriptionMultiplexer.get();
     protected final GraphQLWebSocketSession session;
     protected final AtomicBoolean connectionInitialized;
     protected final String connectionAckMessage;
-    protected final Map<String, Subscriber<ExecutionResult>> activeOperations;
+    protected final Map<String, Cancellable> activeOperations;
     protected final Cancellable keepAliveSender;
     private final String dataMessageTypeName;
     private final Map<String, Object> context;
+    private volatile long lastActivity;
 
     public AbstractGraphQLWebsocketHandler(GraphQLWebSocketSession session, String dataMessageTypeName,
             Map<String, Object> context) {
@@ -52,12 +58,10 @@ public abstract class AbstractGraphQLWebsocketHandler implements GraphQLWebsocke
         this.dataMessageTypeName = dataMessageTypeName;
         this.context = context;
         this.connectionInitialized = new AtomicBoolean(false);
-        this.connectionAckMessage = createConnectionAckMessage().toString();
+        this.connectionAckMessage = CONNECTION_ACK_MESSAGE;
         this.activeOperations = new ConcurrentHashMap<>();
-        this.keepAliveSender = Multi.createFrom().ticks()
-                .startingAfter(Duration.ofSeconds(10))
-                .every(Duration.ofSeconds(10))
-                .subscribe().with(tick -> sendKeepAlive());
+        this.lastActivity = System.nanoTime();
+        this.keepAliveSender = WebsocketSessionScheduler.get().register(new ScheduledConnection());
     }
 
     @Override
@@ -96,6 +100,7 @@ public abstract class AbstractGraphQLWebsocketHandler implements GraphQLWebsocke
         if (connectionInitialized.getAndSet(true)) {
             session.close((short) 4429, "Too many initialisation requests");
         } else {
+            lastActivity = System.nanoTime();
             session.sendMessage(connectionAckMessage);
         }
     }
@@ -104,7 +109,24 @@ public abstract class AbstractGraphQLWebsocketHandler implements GraphQLWebsocke
         String operationId = message.getString("id");
         if (validSubscription(operationId)) {
             JsonObject payload = message.getJsonObject("payload");
-            executionService.executeAsync(payload, context, new ExecutionResponseWriter() {
+            // Maybe another session already runs this subscription
+            String subscriptionKey = subscriptionMultiplexer.getKey(payload);
+            Cancellable joined = subscriptionMultiplexer.join(subscriptionKey,
+                    new SubscriptionSink(operationId));
+            if (joined != null) {
+                registerSubscription(operationId, joined);
+                return;
+            }
+            executionService.executeIncremental(payload, context, new IncrementalExecutionResponseWriter() {
+
+                @Override
+                public void writeNext(JsonObject incrementalPayload, boolean hasNext) {
+                    try {
+                        sendIncrementalMessage(operationId, incrementalPayload, hasNext);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
 
                 @Override
                 public void fail(Throwable t) {
@@ -142,7 +164,7 @@ public abstract class AbstractGraphQLWebsocketHandler implements GraphQLWebsocke
                                     sendSingleMessage(operationId, executionResponse);
                                 } else if (data instanceof Publisher) {
                                     // this means the operation is a subscription
-                                    sendStreamingMessage(operationId, executionResponse);
+                                    sendStreamingMessage(operationId, subscriptionKey, executionResponse);
                                 } else if (data == null) {
                                     // if isDataPresent() == true && but data == null,
                                     // then this is probably a subscription, but the subscription
@@ -162,12 +184,6 @@ public abstract class AbstractGraphQLWebsocketHandler implements GraphQLWebsocke
         }
     }
 
-    private JsonObject createConnectionAckMessage() {
-        return Json.createObjectBuilder()
-                .add("type", "connection_ack")
-                .build();
-    }
-
     private JsonObject getMessageAsJsonObject(String text) {
         try {
             return parseIncomingMessage(text);
@@ -187,49 +203,59 @@ public abstract class AbstractGraphQLWebsocketHandler implements GraphQLWebsocke
         }
     }
 
-    private JsonObject createCompleteMessage(String operationId) {
-        return jsonBuilderFactory.createObjectBuilder()
-                .add("type", "complete")
-                .add("id", operationId)
-                .build();
-    }
-
-    private JsonObject createDataMessage(String operationId, JsonObject payload) {
-        return jsonBuilderFactory.createObjectBuilder()
-                .add("type", this.dataMessageTypeName)
-                .add("id", operationId)
-                .add("payload", payload)
-                .build();
-    }
-
     private void logUnknownResult(ExecutionResult executionResult) {
         LOG.warn("Unknown data type of execution result: "
                 + executionResult.getData().getClass());
     }
 
     private void sendSingleMessage(String operationId, ExecutionResponse executionResponse) throws IOException {
-        if (activeOperations.remove(operationId) != null) {
-            session.sendMessage(
-                    createDataMessage(operationId,
-                            executionResponse.getExecutionResultAsJsonObject())
-                            .toString());
-            session.sendMessage(createCompleteMessage(operationId).toString());
+        if (removeOperation(operationId) != null) {
+            // the payload is streamed as bytes, and sent between the start and the end of the message
+            MessageBuffer payload = new MessageBuffer();
+            executionResponse.writeExecutionResultTo(payload);
+            session.sendMessage(ByteBuffer.wrap(MessageBuffer.encodeEnvelopeStart(dataMessageTypeName, operationId)),
+                    payload.toByteBuffer(),
+                    ByteBuffer.wrap(MessageBuffer.END));
+            session.sendMessage(ByteBuffer.wrap(MessageBuffer.encodeMessage(COMPLETE_MESSAGE_TYPE, operationId)));
         }
     }
 
-    private void sendStreamingMessage(String operationId, ExecutionResponse executionResponse) {
-        SubscriptionSubscriber subscriber = new SubscriptionSubscriber(session, operationId);
+    private void sendIncrementalMessage(String operationId, JsonObject payload, boolean hasNext) throws IOException {
+        // only send while the operation hasn't been cancelled
+        if (hasNext ? activeOperations.containsKey(operationId) : removeOperation(operationId) != null) {
+            MessageBuffer buffer = new MessageBuffer();
+            try (JsonWriter jsonWriter = jsonWriterFactory.createWriter(buffer, StandardCharsets.UTF_8)) {
+                jsonWriter.writeObject(payload);
+            }
+            session.sendMessage(ByteBuffer.wrap(MessageBuffer.encodeEnvelopeStart(dataMessageTypeName, operationId)),
+                    buffer.toByteBuffer(),
+                    ByteBuffer.wrap(MessageBuffer.END));
+            if (!hasNext) {
+                session.sendMessage(ByteBuffer.wrap(MessageBuffer.encodeMessage(COMPLETE_MESSAGE_TYPE, operationId)));
+            }
+        }
+    }
+
+    private void sendStreamingMessage(String operationId, String subscriptionKey, ExecutionResponse executionResponse) {
         Publisher<ExecutionResult> stream = executionResponse.getExecutionResult()
                 .getData();
         if (stream != null) {
             // this is actually a subscription, so replace the `activeOperation` entry
-            // with the actual subscriber
-            activeOperations.put(operationId, subscriber);
-            stream.subscribe(subscriber);
+            // with the actual subscription
+            registerSubscription(operationId,
+                    subscriptionMultiplexer.subscribe(subscriptionKey, stream, new SubscriptionSink(operationId)));
         }
 
     }
 
+    // The placeholder that validSubscription registered is replaced with the subscription. If it is gone, the
+    // subscription already completed or the client cancelled it while it started, so it is not kept.
+    private void registerSubscription(String operationId, Cancellable subscription) {
+        if (!activeOperations.replace(operationId, SINGLE_RESULT_MARKER, subscription)) {
+            subscription.cancel();
+        }
+    }
+
     private void sendKeepAlive() {
         try {
             session.sendMessage(getPingMessage());
@@ -257,11 +283,9 @@ public abstract class AbstractGraphQLWebsocketHandler implements GraphQLWebsocke
     // cancel the operation with this id, returns true if it actually cancels an operation,
     // false if no such operation is active
     private boolean cancelOperation(String opId) {
-        Subscriber<ExecutionResult> subscriber = activeOperations.remove(opId);
-        if (subscriber != null) {
-            if (subscriber instanceof SubscriptionSubscriber) {
-                ((SubscriptionSubscriber) subscriber).cancel();
-            }
+        Cancellable operation = removeOperation(opId);
+        if (operation != null) {
+            operation.cancel();
             return true;
         } else {
             return false;
@@ -277,9 +301,25 @@ public abstract class AbstractGraphQLWebsocketHandler implements GraphQLWebsocke
             session.close((short) 4409, "Subscriber for " + operationId + " already exists");
             return false;
         }
+        lastActivity = System.nanoTime();
         return true;
     }
 
+    private Cancellable removeOperation(String operationId) {
+        Cancellable operation = activeOperations.remove(operationId);
+        if (operation != null) {
+            lastActivity = System.nanoTime();
+        }
+        return operation;
+    }
+
+    /**
+     * Closes the connection when the client did not initialise it in time
+     */
+    protected void closeDueToConnectionInitTimeout() {
+        session.close((short) 4408, "Connection initialisation timeout");
+    }
+
     protected abstract void onMessage(JsonObject message);
 
     protected abstract void sendErrorMessage(String operationId, ExecutionResponse executionResponse) throws IOException;
@@ -293,84 +333,93 @@ public abstract class AbstractGraphQLWebsocketHandler implements GraphQLWebsocke
     }
 
     /**
-     * The middleman that subscribes to an execution result and forwards its events to the websocket channel.
+     * This session, as the shared {@link WebsocketSessionScheduler} sees it
      */
-    private class SubscriptionSubscriber implements Subscriber<ExecutionResult> {
+    private class ScheduledConnection implements WebsocketSessionScheduler.Connection {
 
-        private final AtomicReference<Subscription> subscription = new AtomicReference<>();
-        private final GraphQLWebSocketSession session;
-        private final String operationId;
+        @Override
+        public boolean isInitialized() {
+            return connectionInitialized.get();
+        }
 
-        public SubscriptionSubscriber(GraphQLWebSocketSession session, String operationId) {
-            this.session = session;
-            this.operationId = operationId;
+        @Override
+        public long getLastActivity() {
+            return lastActivity;
         }
 
         @Override
-        public void onSubscribe(Subscription s) {
-            subscription.set(s);
-            subscription.get().request(1);
+        public int getActiveOperationCount() {
+            return activeOperations.size();
         }
 
         @Override
-        public void onNext(ExecutionResult executionResult) {
+        public void sendKeepAlive() {
             if (!session.isClosed()) {
-                ExecutionResponse executionResponse = new ExecutionResponse(executionResult);
-                try {
-                    session.sendMessage(
-                            createDataMessage(operationId,
-                                    executionResponse.getExecutionResultAsJsonObject())
-                                    .toString());
-                } catch (IOException e) {
-                    LOG.warn(e);
-                }
-                subscription.get().request(1);
+                AbstractGraphQLWebsocketHandler.this.sendKeepAlive();
             }
         }
 
         @Override
-        public void onError(Throwable t) {
-            // TODO: I'm not sure if/when this can happen. Even if the operation's root fails, it goes into `onNext`.
-            t.printStackTrace();
+        public void closeDueToConnectionInitTimeout() {
+            AbstractGraphQLWebsocketHandler.this.closeDueToConnectionInitTimeout();
         }
 
         @Override
-        public void onComplete() {
-            if (LOG.isTraceEnabled()) {
-                LOG.trace("Subscription with id " + operationId + " completed");
-            }
-            try {
-                session.sendMessage(createCompleteMessage(operationId).toString());
-            } catch (IOException e) {
-                LOG.warn(e);
-            }
-            activeOperations.remove(operationId);
+        public void closeDueToIdleTimeout() {
+            LOG.debug("Closing idle GraphQL-over-websocket session " + session);
+            session.close((short) 1001, "Idle timeout");
         }
+    }
 
-        public void cancel() {
-            Subscription sub = subscription.get();
-            if (sub != null) {
-                sub.cancel();
-            }
+    /**
+     * The middleman that gets the events of a subscription, serialized, and forwards them to the websocket channel.
+     */
+    private class SubscriptionSink implements SubscriptionMultiplexer.Sink {
+
+        private final String operationId;
+        private final byte[] dataMessagePrefix;
+        private final byte[] completeMessage;
+
+        public SubscriptionSink(String operationId) {
+            this.operationId = operationId;
+            this.dataMessagePrefix = MessageBuffer.encodeEnvelopeStart(dataMessageTypeName, operationId);
+            this.completeMessage = MessageBuffer.encodeMessage(COMPLETE_MESSAGE_TYPE, operationId);
         }
-    }
 
-    // dummy value to put into the `activeOperations` map for single-result operations
-    private static final Subscriber<ExecutionResult> SINGLE_RESULT_MARKER = new Subscriber<ExecutionResult>() {
         @Override
-        public void onSubscribe(Subscription s) {
+        public byte[] getDataMessagePrefix() {
+            return dataMessagePrefix;
         }
 
         @Override
-        public void onNext(ExecutionResult executionResult) {
+        public byte[] getCompleteMessage() {
+            return completeMessage;
         }
 
         @Override
-        public void onError(Throwable t) {
+        public void send(ByteBuffer... utf8Parts) throws IOException {
+            if (!session.isClosed()) {
+                session.sendMessage(utf8Parts);
+            }
         }
 
         @Override
         public void onComplete() {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Subscription with id " + operationId + " completed");
+            }
+            removeOperation(operationId);
+        }
+
+        @Override
+        public void closeDueToOverflow() {
+            LOG.debug("Closing GraphQL-over-websocket session " + session + ", it does not keep up with subscription "
+                    + operationId);
+            session.close((short) 1008, "Too many pending subscription events");
         }
+    }
+
+    // dummy value to put into the `activeOperations` map for single-result operations
+    private static final Cancellable SINGLE_RESULT_MARKER = () -> {
     };
 }
@@ -1,6 +1,8 @@
 package io.smallrye.graphql.websocket;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 /**
  * This is a simple abstraction over a websocket session to be able to abstract away from the underlying API.
@@ -11,6 +13,53 @@ public interface GraphQLWebSocketSession {
 
     void sendMessage(String message) throws IOException;
 
+    /**
+     * Send one text message that is already encoded, in parts, so an envelope can be sent around a payload without
+     * copying the payload into it. Every part is UTF-8, and split between characters.
+     *
+     * This default can not avoid the copies: the parts are joined into one array and decoded into the String that is
+     * sent with {@link #sendMessage(String)}, so the payload is copied twice. Implementations for a transport that can
+     * write encoded text frames, or a text message in parts, should override this; the JSR-356 endpoint of the servlet
+     * module sends messages of 8 KB and larger in parts.
+     *
+     * @param utf8Parts the parts of the message, in order
+     * @throws IOException if sending fails
+     */
+    default void sendMessage(ByteBuffer... utf8Parts) throws IOException {
+        if (utf8Parts.length == 1) {
+            sendMessage(toString(utf8Parts[0]));
+            return;
+        }
+        int size = 0;
+        for (ByteBuffer part : utf8Parts) {
+            size += part.remaining();
+        }
+        byte[] message = new byte[size];
+        int offset = 0;
+        for (ByteBuffer part : utf8Parts) {
+            int length = part.remaining();
+            part.get(message, offset, length);
+            offset += length;
+        }
+        sendMessage(new String(message, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a UTF-8 part, straight from its array if it has one
+     *
+     * @param utf8Part the part, it is read to the end
+     * @return the text
+     */
+    static String toString(ByteBuffer utf8Part) {
+        if (!utf8Part.hasArray()) {
+            return StandardCharsets.UTF_8.decode(utf8Part).toString();
+        }
+        String text = new String(utf8Part.array(), utf8Part.arrayOffset() + utf8Part.position(), utf8Part.remaining(),
+                StandardCharsets.UTF_8);
+        utf8Part.position(utf8Part.limit());
+        return text;
+    }
+
     void close(short statusCode, String reason);
 
     boolean isClosed();
@@ -0,0 +1,47 @@
+package io.smallrye.graphql.websocket;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.json.Json;
+
+/**
+ * Where a payload is serialized to, in UTF-8, to be sent as it is between the pre-encoded parts of a message
+ */
+final class MessageBuffer extends ByteArrayOutputStream {
+
+    // Closes every message envelope
+    static final byte[] END = encode("}");
+
+    MessageBuffer() {
+        super(1024);
+    }
+
+    /**
+     * @return a view of the bytes written so far, without copying them. Every call returns a new view, so several
+     *         threads can send the same bytes once nothing is written anymore
+     */
+    ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(buf, 0, count);
+    }
+
+    static byte[] encode(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the start of a message, up to where the payload goes: {@code {"type":"<type>","id":"<id>","payload":}
+     */
+    static byte[] encodeEnvelopeStart(String type, String operationId) {
+        return encode("{\"type\":" + Json.createValue(type) + ",\"id\":" + Json.createValue(operationId)
+                + ",\"payload\":");
+    }
+
+    /**
+     * @return a message without payload: {@code {"type":"<type>","id":"<id>"}}
+     */
+    static byte[] encodeMessage(String type, String operationId) {
+        return encode("{\"type\":" + Json.createValue(type) + ",\"id\":" + Json.createValue(operationId) + "}");
+    }
+}
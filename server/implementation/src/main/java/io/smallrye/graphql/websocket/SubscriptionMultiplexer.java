@@ -0,0 +1,394 @@
+package io.smallrye.graphql.websocket;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+
+import org.jboss.logging.Logger;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import graphql.ExecutionResult;
+import io.smallrye.graphql.execution.ExecutionResponse;
+import io.smallrye.graphql.spi.config.Config;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.smallrye.mutiny.subscription.Cancellable;
+
+/**
+ * Streams the events of subscriptions to websocket sessions.
+ *
+ * Every event is serialized once, to UTF-8 bytes, and then queued for every session that subscribed. Each session
+ * sends these bytes between the pre-encoded start and end of its own message, rather than a copy of them. Each
+ * session has a bounded queue that is sent from a worker thread, so a slow client does not hold up the stream, or the
+ * other clients.
+ * What happens when the queue of a client is full is configurable, see {@link OverflowStrategy}.
+ *
+ * If enabled, sessions that subscribe with the same document, operation name and variables share one execution of
+ * the subscription, executed with the context of the session that subscribed first. Only enable this if the events
+ * do not depend on who subscribed.
+ */
+public final class SubscriptionMultiplexer {
+    private static final Logger LOG = Logger.getLogger(SubscriptionMultiplexer.class.getName());
+
+    // Queued after the last event, to send the complete message
+    private static final Object COMPLETE = new Object();
+
+    private static volatile SubscriptionMultiplexer instance;
+
+    private final Map<String, SharedSubscription> sharedSubscriptions = new ConcurrentHashMap<>();
+    private final boolean sharingEnabled;
+    private final int bufferSize;
+    private final OverflowStrategy overflowStrategy;
+    private final Executor executor;
+
+    SubscriptionMultiplexer(boolean sharingEnabled, int bufferSize, OverflowStrategy overflowStrategy,
+            Executor executor) {
+        this.sharingEnabled = sharingEnabled;
+        this.bufferSize = bufferSize;
+        this.overflowStrategy = overflowStrategy;
+        this.executor = executor;
+    }
+
+    public static SubscriptionMultiplexer get() {
+        if (instance == null) {
+            synchronized (SubscriptionMultiplexer.class) {
+                if (instance == null) {
+                    Config config = Config.get();
+                    instance = new SubscriptionMultiplexer(config.isWebsocketSubscriptionSharingEnabled(),
+                            config.getWebsocketSubscriptionBufferSize(),
+                            OverflowStrategy.valueOf(
+                                    config.getWebsocketSubscriptionOverflowStrategy().toUpperCase(Locale.ROOT)),
+                            Infrastructure.getDefaultExecutor());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @return the number of subscriptions that are executed once for several sessions
+     */
+    public int getSharedSubscriptions() {
+        return sharedSubscriptions.size();
+    }
+
+    /**
+     * @param payload the payload of the subscribe message
+     * @return what identifies the operation, or null if subscriptions are not shared
+     */
+    String getKey(JsonObject payload) {
+        if (!sharingEnabled || payload == null) {
+            return null;
+        }
+        JsonValue variables = payload.get("variables");
+        return payload.getString("query", "") + '\u0000'
+                + payload.getString("operationName", "") + '\u0000'
+                + (variables == null ? "" : variables.toString());
+    }
+
+    /**
+     * Join the subscription that is already running for this operation.
+     *
+     * @param key the key of the operation, can be null
+     * @param sink the session that subscribes
+     * @return a handle to unsubscribe, or null if this operation needs to be executed
+     */
+    Cancellable join(String key, Sink sink) {
+        if (key == null) {
+            return null;
+        }
+        SharedSubscription shared = sharedSubscriptions.get(key);
+        return shared == null ? null : shared.add(sink);
+    }
+
+    /**
+     * Stream the events of an executed subscription to the session, and to the sessions that join later.
+     *
+     * @param key the key of the operation, or null if this subscription is not shared
+     * @param publisher the events
+     * @param sink the session that subscribed
+     * @return a handle to unsubscribe
+     */
+    Cancellable subscribe(String key, Publisher<ExecutionResult> publisher, Sink sink) {
+        SharedSubscription shared = new SharedSubscription(key);
+        Cancellable member = shared.add(sink);
+        while (key != null) {
+            SharedSubscription existing = sharedSubscriptions.putIfAbsent(key, shared);
+            if (existing == null) {
+                break;
+            }
+            // Another session executed the same operation at the same time, use that one
+            Cancellable existingMember = existing.add(sink);
+            if (existingMember != null) {
+                return existingMember;
+            }
+            // It just completed
+            sharedSubscriptions.remove(key, existing);
+        }
+        publisher.subscribe(shared);
+        return member;
+    }
+
+    /**
+     * What happens to an event for a session that still has a full queue of events to send
+     */
+    public enum OverflowStrategy {
+        /**
+         * Remove the oldest event in the queue, to make room for the new one
+         */
+        DROP_OLDEST,
+        /**
+         * Do not send the new event
+         */
+        DROP_NEWEST,
+        /**
+         * Close the websocket session
+         */
+        DISCONNECT
+    }
+
+    /**
+     * What the multiplexer needs from a websocket session
+     */
+    interface Sink {
+
+        /**
+         * @return the start of every data message, up to where the payload goes, in UTF-8
+         */
+        byte[] getDataMessagePrefix();
+
+        /**
+         * @return the complete message, in UTF-8
+         */
+        byte[] getCompleteMessage();
+
+        /**
+         * @param utf8Parts the parts of one message
+         */
+        void send(ByteBuffer... utf8Parts) throws IOException;
+
+        /**
+         * Called after the complete message is sent
+         */
+        void onComplete();
+
+        void closeDueToOverflow();
+    }
+
+    /**
+     * One execution of a subscription, and the sessions that get its events
+     */
+    private class SharedSubscription implements Subscriber<ExecutionResult> {
+        private final String key;
+        private final List<Member> members = new CopyOnWriteArrayList<>();
+        private final AtomicReference<Subscription> subscription = new AtomicReference<>();
+        private boolean terminated;
+
+        SharedSubscription(String key) {
+            this.key = key;
+        }
+
+        synchronized Member add(Sink sink) {
+            if (terminated) {
+                return null;
+            }
+            Member member = new Member(this, sink);
+            members.add(member);
+            return member;
+        }
+
+        void remove(Member member) {
+            synchronized (this) {
+                if (!members.remove(member) || !members.isEmpty() || terminated) {
+                    return;
+                }
+                terminated = true;
+            }
+            // Nobody listens anymore
+            unregister();
+            Subscription s = subscription.get();
+            if (s != null) {
+                s.cancel();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (subscription.compareAndSet(null, s)) {
+                boolean cancelled;
+                synchronized (this) {
+                    cancelled = terminated;
+                }
+                if (cancelled) {
+                    s.cancel();
+                } else {
+                    s.request(1);
+                }
+            } else {
+                s.cancel();
+            }
+        }
+
+        @Override
+        public void onNext(ExecutionResult executionResult) {
+            // Serialized once for all sessions
+            MessageBuffer payload = new MessageBuffer();
+            new ExecutionResponse(executionResult).writeExecutionResultTo(payload);
+            for (Member member : members) {
+                member.offer(payload);
+            }
+            subscription.get().request(1);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            LOG.warn("Subscription failed", t);
+            onComplete();
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                terminated = true;
+            }
+            unregister();
+            for (Member member : members) {
+                member.complete();
+            }
+        }
+
+        private void unregister() {
+            if (key != null) {
+                sharedSubscriptions.remove(key, this);
+            }
+        }
+    }
+
+    /**
+     * A session that gets the events of a subscription, with its own queue of messages to send
+     */
+    private class Member implements Cancellable {
+        private final SharedSubscription subscription;
+        private final Sink sink;
+        private final ArrayDeque<Object> queue = new ArrayDeque<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        private boolean completed;
+        private volatile boolean cancelled;
+
+        Member(SharedSubscription subscription, Sink sink) {
+            this.subscription = subscription;
+            this.sink = sink;
+        }
+
+        void offer(MessageBuffer payload) {
+            boolean overflow = false;
+            synchronized (queue) {
+                if (completed) {
+                    return;
+                }
+                if (queue.size() >= bufferSize) {
+                    switch (overflowStrategy) {
+                        case DROP_OLDEST:
+                            queue.poll();
+                            break;
+                        case DROP_NEWEST:
+                            return;
+                        case DISCONNECT:
+                            overflow = true;
+                            break;
+                    }
+                }
+                if (!overflow) {
+                    queue.add(payload);
+                }
+            }
+            if (overflow) {
+                cancel();
+                sink.closeDueToOverflow();
+            } else {
+                drain();
+            }
+        }
+
+        void complete() {
+            synchronized (queue) {
+                if (completed) {
+                    return;
+                }
+                completed = true;
+                // Always room for this one
+                queue.add(COMPLETE);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            synchronized (queue) {
+                completed = true;
+                queue.clear();
+            }
+            subscription.remove(this);
+        }
+
+        /**
+         * Send what is queued, on one thread at a time
+         */
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            executor.execute(() -> {
+                int missed = 1;
+                while (true) {
+                    Object message;
+                    while ((message = poll()) != null) {
+                        send(message);
+                    }
+                    missed = wip.addAndGet(-missed);
+                    if (missed == 0) {
+                        break;
+                    }
+                }
+            });
+        }
+
+        private Object poll() {
+            synchronized (queue) {
+                return queue.poll();
+            }
+        }
+
+        private void send(Object message) {
+            if (cancelled) {
+                return;
+            }
+            try {
+                if (message == COMPLETE) {
+                    sink.send(ByteBuffer.wrap(sink.getCompleteMessage()));
+                } else {
+                    sink.send(ByteBuffer.wrap(sink.getDataMessagePrefix()), ((MessageBuffer) message).toByteBuffer(),
+                            ByteBuffer.wrap(MessageBuffer.END));
+                }
+            } catch (IOException e) {
+                LOG.warn(e);
+            }
+            if (message == COMPLETE) {
+                sink.onComplete();
+            }
+        }
+    }
+}
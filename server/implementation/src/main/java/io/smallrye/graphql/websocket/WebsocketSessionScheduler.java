@@ -0,0 +1,217 @@
+package io.smallrye.graphql.websocket;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jboss.logging.Logger;
+
+import io.smallrye.graphql.spi.config.Config;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.smallrye.mutiny.subscription.Cancellable;
+
+/**
+ * Drives the keep-alive messages, the connection initialisation timeout and the eviction of idle connections for
+ * all websocket sessions, from one periodic task instead of a timer per session.
+ *
+ * Every sweep visits all sessions and only does something for the ones that are due, so the cost of a session
+ * that is not due is a few comparisons. Keep-alive messages are sent on other threads, so a client that does not
+ * read does not hold up the sweep; a session only gets a new keep-alive once the previous one is sent.
+ */
+public final class WebsocketSessionScheduler {
+    private static final Logger LOG = Logger.getLogger(WebsocketSessionScheduler.class.getName());
+
+    private static final long MAX_SWEEP_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private static volatile WebsocketSessionScheduler instance;
+
+    private final Set<Registration> registrations = ConcurrentHashMap.newKeySet();
+    private final long keepAliveInterval;
+    private final long connectionInitTimeout;
+    private final long idleTimeout;
+    private final ScheduledExecutorService executor;
+    private final Executor sender;
+    private volatile boolean started;
+
+    /**
+     * @param keepAliveInterval nanoseconds between keep-alive messages, 0 to not send them
+     * @param connectionInitTimeout nanoseconds a client has to initialise the connection, 0 to wait forever
+     * @param idleTimeout nanoseconds without running operations before a connection is closed, 0 to keep it open
+     * @param executor where the sweeps run, or null to only sweep when {@link #sweep(long)} is called
+     * @param sender where the keep-alive messages are sent, or null to send them from the sweep
+     */
+    WebsocketSessionScheduler(long keepAliveInterval, long connectionInitTimeout, long idleTimeout,
+            ScheduledExecutorService executor, Executor sender) {
+        this.keepAliveInterval = keepAliveInterval;
+        this.connectionInitTimeout = connectionInitTimeout;
+        this.idleTimeout = idleTimeout;
+        this.executor = executor;
+        this.sender = sender;
+    }
+
+    public static WebsocketSessionScheduler get() {
+        if (instance == null) {
+            synchronized (WebsocketSessionScheduler.class) {
+                if (instance == null) {
+                    Config config = Config.get();
+                    instance = new WebsocketSessionScheduler(
+                            TimeUnit.SECONDS.toNanos(config.getWebsocketKeepAliveInterval()),
+                            TimeUnit.SECONDS.toNanos(config.getWebsocketConnectionInitTimeout()),
+                            TimeUnit.SECONDS.toNanos(config.getWebsocketIdleTimeout()),
+                            Infrastructure.getDefaultWorkerPool(),
+                            Infrastructure.getDefaultWorkerPool());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @return the number of open websocket sessions
+     */
+    public int getActiveSessions() {
+        return registrations.size();
+    }
+
+    /**
+     * @return the number of operations (mostly subscriptions) running on all websocket sessions
+     */
+    public int getActiveOperations() {
+        int operations = 0;
+        for (Registration registration : registrations) {
+            operations += registration.connection.getActiveOperationCount();
+        }
+        return operations;
+    }
+
+    /**
+     * @return a handle to call when the session closes
+     */
+    Cancellable register(Connection connection) {
+        Registration registration = new Registration(connection, System.nanoTime());
+        registrations.add(registration);
+        startIfNeeded();
+        return registration;
+    }
+
+    void sweep(long now) {
+        for (Registration registration : registrations) {
+            try {
+                registration.sweep(now);
+            } catch (RuntimeException e) {
+                LOG.warn(e);
+            }
+        }
+    }
+
+    private void startIfNeeded() {
+        if (!started && executor != null && isSweepNeeded()) {
+            synchronized (this) {
+                if (!started) {
+                    long interval = getSweepInterval();
+                    executor.scheduleAtFixedRate(() -> sweep(System.nanoTime()), interval, interval,
+                            TimeUnit.NANOSECONDS);
+                    started = true;
+                }
+            }
+        }
+    }
+
+    private boolean isSweepNeeded() {
+        return keepAliveInterval > 0 || connectionInitTimeout > 0 || idleTimeout > 0;
+    }
+
+    /**
+     * Sessions are visited at least every second, more often if an interval is shorter
+     */
+    private long getSweepInterval() {
+        long interval = MAX_SWEEP_INTERVAL;
+        for (long configured : new long[] { keepAliveInterval, connectionInitTimeout, idleTimeout }) {
+            if (configured > 0) {
+                interval = Math.min(interval, configured);
+            }
+        }
+        return interval;
+    }
+
+    /**
+     * What the scheduler needs from a websocket session
+     */
+    interface Connection {
+
+        boolean isInitialized();
+
+        /**
+         * Messages that do not start an operation, like pings, are not activity
+         *
+         * @return the {@link System#nanoTime()} when the connection was initialised or an operation last started or
+         *         ended, or when the session opened
+         */
+        long getLastActivity();
+
+        int getActiveOperationCount();
+
+        void sendKeepAlive();
+
+        void closeDueToConnectionInitTimeout();
+
+        void closeDueToIdleTimeout();
+    }
+
+    private class Registration implements Cancellable {
+        private final Connection connection;
+        private final long openedAt;
+        // Only used by the sweep, and sweeps never run at the same time
+        private long nextKeepAlive;
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        Registration(Connection connection, long openedAt) {
+            this.connection = connection;
+            this.openedAt = openedAt;
+            this.nextKeepAlive = openedAt + keepAliveInterval;
+        }
+
+        void sweep(long now) {
+            if (connectionInitTimeout > 0 && !connection.isInitialized() && now - openedAt >= connectionInitTimeout) {
+                cancel();
+                connection.closeDueToConnectionInitTimeout();
+                return;
+            }
+            if (idleTimeout > 0 && connection.getActiveOperationCount() == 0
+                    && now - connection.getLastActivity() >= idleTimeout) {
+                cancel();
+                connection.closeDueToIdleTimeout();
+                return;
+            }
+            if (keepAliveInterval > 0 && now - nextKeepAlive >= 0) {
+                nextKeepAlive = now + keepAliveInterval;
+                // Skipped while the previous one is still being sent
+                if (sending.compareAndSet(false, true)) {
+                    if (sender == null) {
+                        sendKeepAlive();
+                    } else {
+                        sender.execute(this::sendKeepAlive);
+                    }
+                }
+            }
+        }
+
+        private void sendKeepAlive() {
+            try {
+                connection.sendKeepAlive();
+            } catch (RuntimeException e) {
+                LOG.warn(e);
+            } finally {
+                sending.set(false);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            registrations.remove(this);
+        }
+    }
+}
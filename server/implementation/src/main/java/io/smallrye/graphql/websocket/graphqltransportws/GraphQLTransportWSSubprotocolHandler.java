@@ -20,14 +20,17 @@ import io.smallrye.graphql.websocket.GraphQLWebSocketSession;
 public class GraphQLTransportWSSubprotocolHandler extends AbstractGraphQLWebsocketHandler {
 
     private static final JsonBuilderFactory jsonBuilderFactory = Json.createBuilderFactory(null);
+    // The same for all sessions, so only serialized once
+    private static final String PING_MESSAGE = createPingMessage().toString();
+    private static final String PONG_MESSAGE = createPongMessage().toString();
 
     private final String pingMessage;
     private final String pongMessage;
 
     public GraphQLTransportWSSubprotocolHandler(GraphQLWebSocketSession session, Map<String, Object> context) {
         super(session, "next", context);
-        this.pongMessage = createPongMessage().toString();
-        this.pingMessage = createPingMessage().toString();
+        this.pongMessage = PONG_MESSAGE;
+        this.pingMessage = PING_MESSAGE;
     }
 
     @Deprecated
@@ -82,7 +85,7 @@ public class GraphQLTransportWSSubprotocolHandler extends AbstractGraphQLWebsock
     @Override
     protected void sendErrorMessage(String operationId, ExecutionResponse executionResponse) throws IOException {
         session.sendMessage(createErrorMessage(operationId,
-                executionResponse.getExecutionResultAsJsonObject().getJsonArray("errors")).toString());
+                executionResponse.getErrorsAsJsonArray()).toString());
     }
 
     private JsonObject createErrorMessage(String operationId, JsonArray errors) {
@@ -102,13 +105,13 @@ public class GraphQLTransportWSSubprotocolHandler extends AbstractGraphQLWebsock
         return pingMessage;
     }
 
-    private JsonObject createPongMessage() {
+    private static JsonObject createPongMessage() {
         return jsonBuilderFactory.createObjectBuilder()
                 .add("type", "pong")
                 .build();
     }
 
-    private JsonObject createPingMessage() {
+    private static JsonObject createPingMessage() {
         return jsonBuilderFactory.createObjectBuilder()
                 .add("type", "ping")
                 .build();
@@ -19,12 +19,14 @@ import io.smallrye.graphql.websocket.GraphQLWebSocketSession;
 public class GraphQLWSSubprotocolHandler extends AbstractGraphQLWebsocketHandler {
 
     private static final JsonBuilderFactory jsonBuilderFactory = Json.createBuilderFactory(null);
+    // The same for all sessions, so only serialized once
+    private static final String PING_MESSAGE = createPingMessage().toString();
 
     private final String pingMessage;
 
     public GraphQLWSSubprotocolHandler(GraphQLWebSocketSession session, Map<String, Object> context) {
         super(session, MessageType.GQL_DATA.asString(), context);
-        pingMessage = createPingMessage().toString();
+        pingMessage = PING_MESSAGE;
     }
 
     @Deprecated
@@ -76,7 +78,7 @@ public class GraphQLWSSubprotocolHandler extends AbstractGraphQLWebsocketHandler
     protected void sendErrorMessage(String operationId, ExecutionResponse executionResponse) throws IOException {
         session.sendMessage(createErrorMessage(operationId,
                 // TODO: the message should have a single error, but executionresult contains an array of errors? what do?
-                executionResponse.getExecutionResultAsJsonObject().getJsonArray("errors").get(0)
+                executionResponse.getErrorsAsJsonArray().get(0)
                         .asJsonObject())
                 .toString());
     }
@@ -89,7 +91,7 @@ public class GraphQLWSSubprotocolHandler extends AbstractGraphQLWebsocketHandler
                 .build();
     }
 
-    private JsonObject createPingMessage() {
+    private static JsonObject createPingMessage() {
         return jsonBuilderFactory.createObjectBuilder()
                 .add("type", MessageType.GQL_CONNECTION_KEEP_ALIVE.asString())
                 .build();
@@ -0,0 +1,91 @@
+package io.smallrye.graphql.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.test.TestEndpoint;
+
+/**
+ * Test executing the operations of a batched request
+ */
+public class BatchExecutionTest extends ExecutionTestBase {
+
+    @Test
+    public void testResultsInOrder() throws Exception {
+        TestEndpoint.BATCH_SIZES.clear();
+        List<JsonObject> operations = List.of(
+                operation("{ testObjects { name timestamp { value } } }"),
+                operation("{ unknownField }"),
+                operation("query A { testObject(yourname: \"Phillip\") { name } } query B { testObjects { name } }", "B"));
+        List<FutureWriter> writers = List.of(new FutureWriter(), new FutureWriter(), new FutureWriter());
+
+        executionService.executeBatchAsync(operations, new HashMap<>(), writers);
+
+        JsonObject first = writers.get(0).get();
+        assertEquals(2, first.getJsonObject("data").getJsonArray("testObjects").size());
+        assertEquals(List.of(2), TestEndpoint.BATCH_SIZES);
+
+        assertTrue(writers.get(1).get().containsKey("errors"));
+
+        assertEquals("Phillip", writers.get(2).get().getJsonObject("data").getJsonArray("testObjects")
+                .getJsonObject(0).getString("name"));
+    }
+
+    @Test
+    public void testWriterPerOperation() {
+        assertThrows(IllegalArgumentException.class, () -> executionService
+                .executeBatchAsync(List.of(operation("{ testObjects { name } }")), new HashMap<>(), List.of()));
+    }
+
+    @Test
+    public void testSchemaWithoutOperations() {
+        ExecutionService withoutOperations = new ExecutionService(null, null);
+        List<FutureWriter> writers = List.of(new FutureWriter(), new FutureWriter());
+
+        withoutOperations.executeBatchAsync(List.of(operation("{ a }"), operation("{ b }")), new HashMap<>(), writers);
+
+        // Every operation is failed, rather than never answered
+        for (FutureWriter writer : writers) {
+            ExecutionException failure = assertThrows(ExecutionException.class, writer::get);
+            assertEquals(IllegalStateException.class, failure.getCause().getClass());
+        }
+    }
+
+    private static JsonObject operation(String query) {
+        return Json.createObjectBuilder().add("query", query).build();
+    }
+
+    private static JsonObject operation(String query, String operationName) {
+        return Json.createObjectBuilder().add("query", query).add("operationName", operationName).build();
+    }
+
+    private static class FutureWriter implements ExecutionResponseWriter {
+        private final CompletableFuture<ExecutionResponse> response = new CompletableFuture<>();
+
+        @Override
+        public void write(ExecutionResponse er) {
+            response.complete(er);
+        }
+
+        @Override
+        public void fail(Throwable t) {
+            response.completeExceptionally(t);
+        }
+
+        JsonObject get() throws Exception {
+            return response.get(10, TimeUnit.SECONDS).getExecutionResultAsJsonObject();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.smallrye.graphql.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.JsonObject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.execution.context.SmallRyeContextManager;
+
+/**
+ * Test running blocking operations on another executor
+ */
+public class BlockingOperationExecutorTest extends ExecutionTestBase {
+
+    @AfterEach
+    void tearDown() {
+        BlockingOperationExecutor.set(null);
+    }
+
+    @Test
+    public void testOperationsRunOnTheExecutorWithTheirOwnContext() {
+        List<String> threads = new CopyOnWriteArrayList<>();
+        BlockingOperationExecutor.set(task -> {
+            Thread thread = new Thread(task, "blocking-" + threads.size());
+            threads.add(thread.getName());
+            thread.start();
+        });
+
+        JsonObject data = executeAndGetData(TEST_QUERY);
+
+        assertEquals("/testContext", data.getJsonObject("testContext").getString("path"));
+        assertFalse(data.getJsonObject("testContext").isNull("executionId"));
+        assertEquals("Phillip", data.getJsonObject("testObject").getString("name"));
+        assertEquals(2, threads.size());
+        // The calling thread keeps the context of the request, the forks stay on the threads of the executor
+        assertFalse(SmallRyeContextManager.getCurrentSmallRyeContext().isFork());
+    }
+
+    @Test
+    public void testCreate() throws InterruptedException {
+        assertNull(BlockingOperationExecutor.create(false, null));
+
+        Executor executor = BlockingOperationExecutor.create(true, 2);
+        assertNotNull(executor);
+        // Both tasks only finish if they run at the same time
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch finished = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    if (started.await(5, TimeUnit.SECONDS)) {
+                        finished.countDown();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testShutdownLeavesAnExecutorThatWasSetAlone() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            BlockingOperationExecutor.set(executor);
+            BlockingOperationExecutor.shutdown();
+            assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static final String TEST_QUERY = "{\n" +
+            "  testContext {\n" +
+            "    executionId\n" +
+            "    path\n" +
+            "  }\n" +
+            "  testObject(yourname:\"Phillip\") {\n" +
+            "    name\n" +
+            "  }\n" +
+            "}";
+}
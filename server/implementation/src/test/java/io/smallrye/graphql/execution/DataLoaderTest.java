@@ -0,0 +1,80 @@
+package io.smallrye.graphql.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import jakarta.json.JsonArray;
+
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.spi.config.Config;
+import io.smallrye.graphql.test.TestEndpoint;
+
+/**
+ * Test that the data loaders of batch operations are created when needed, with the configured options
+ */
+public class DataLoaderTest extends ExecutionTestBase {
+    private final TestConfig config = (TestConfig) Config.get();
+
+    @BeforeEach
+    void clearBatchSizes() {
+        TestEndpoint.BATCH_SIZES.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        config.reset();
+    }
+
+    @Test
+    public void testOneBatch() {
+        JsonArray testObjects = executeAndGetData(QUERY).getJsonArray("testObjects");
+
+        assertEquals(2, testObjects.size());
+        assertNotNull(testObjects.getJsonObject(1).getJsonObject("timestamp").getString("value"));
+        assertEquals(List.of(2), TestEndpoint.BATCH_SIZES);
+    }
+
+    @Test
+    public void testMaxBatchSize() {
+        config.dataLoaderMaxBatchSize = 1;
+        super.init();
+
+        JsonArray testObjects = executeAndGetData(QUERY).getJsonArray("testObjects");
+
+        assertEquals(2, testObjects.size());
+        assertEquals(List.of(1, 1), TestEndpoint.BATCH_SIZES);
+    }
+
+    @Test
+    public void testDataLoadersAreCreatedWhenUsed() {
+        DataLoader<Object, Object> dataLoader = DataLoaderFactory.newDataLoader(keys -> null);
+        Map<String, Supplier<DataLoader<?, ?>>> factories = Map.of("TestObject_timestamp", () -> dataLoader);
+        LazyDataLoaderRegistry registry = new LazyDataLoaderRegistry(factories);
+
+        assertTrue(registry.getKeys().isEmpty());
+        assertSame(dataLoader, registry.getDataLoader("TestObject_timestamp"));
+        assertEquals(1, registry.getDataLoaders().size());
+        assertNull(registry.getDataLoader("unknown"));
+    }
+
+    private static final String QUERY = "{\n" +
+            "  testObjects {\n" +
+            "    name\n" +
+            "    timestamp {\n" +
+            "      value\n" +
+            "    }\n" +
+            "  }\n" +
+            "}";
+}
@@ -0,0 +1,139 @@
+package io.smallrye.graphql.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.ResultPath;
+import io.smallrye.graphql.spi.config.Config;
+
+/**
+ * Test that the streaming response output is the same as the JsonObject one
+ */
+public class ExecutionResponseTest {
+    private final TestConfig config = (TestConfig) Config.get();
+
+    @AfterEach
+    void tearDown() {
+        config.reset();
+    }
+
+    @Test
+    public void testStreamingMatchesJsonObject() {
+        ExecutionResult executionResult = ExecutionResultImpl.newExecutionResult()
+                .data(data())
+                .addError(GraphqlErrorBuilder.newError()
+                        .message("Something went wrong")
+                        .path(ResultPath.parse("/book/reviews/1"))
+                        .build())
+                .addExtension("cost", 42)
+                .build();
+        ExecutionResponse executionResponse = new ExecutionResponse(executionResult);
+
+        JsonObject expected = executionResponse.getExecutionResultAsJsonObject();
+
+        assertEquals(expected, toJsonObject(executionResponse.getExecutionResultAsString()));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        executionResponse.writeExecutionResultTo(outputStream);
+        assertEquals(expected, toJsonObject(outputStream.toString(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testStreamingExcludesNullFields() {
+        config.excludeNullFieldsInResponses = true;
+        Map<String, Object> data = data();
+        ((Map<String, Object>) data.get("book")).put("rating", null);
+        ExecutionResult executionResult = ExecutionResultImpl.newExecutionResult()
+                .data(data)
+                .addError(GraphqlErrorBuilder.newError()
+                        .message("No rating")
+                        .path(ResultPath.parse("/book/rating"))
+                        .build())
+                .build();
+        ExecutionResponse executionResponse = new ExecutionResponse(executionResult);
+
+        JsonObject expected = executionResponse.getExecutionResultAsJsonObject();
+        JsonObject book = expected.getJsonObject("data").getJsonObject("book");
+        assertFalse(book.containsKey("subtitle"));
+        // A null field with an error stays
+        assertTrue(book.isNull("rating"));
+        // Only fields are excluded, not the items of a list
+        assertEquals(2, book.getJsonArray("reviews").size());
+
+        assertEquals(expected, toJsonObject(executionResponse.getExecutionResultAsString()));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        executionResponse.writeExecutionResultTo(outputStream);
+        assertEquals(expected, toJsonObject(outputStream.toString(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testStreamingAddedExtensions() {
+        ExecutionResult executionResult = ExecutionResultImpl.newExecutionResult()
+                .data(Map.of("hello", "world"))
+                .build();
+        ExecutionResponse executionResponse = new ExecutionResponse(executionResult, Map.of("added", List.of(1, 2)));
+
+        JsonObject streamed = toJsonObject(executionResponse.getExecutionResultAsString());
+
+        assertEquals(executionResponse.getExecutionResultAsJsonObject(), streamed);
+        assertEquals(2, streamed.getJsonObject("extensions").getJsonArray("added").size());
+    }
+
+    private static Map<String, Object> data() {
+        Map<String, Object> review = new LinkedHashMap<>();
+        review.put("stars", (byte) 4);
+        review.put("weight", 0.1f);
+        review.put("comment", "\"Quoted\" and unicode é");
+
+        Map<String, Object> book = new LinkedHashMap<>();
+        book.put("id", 1L);
+        book.put("title", "Lord of the Flies");
+        book.put("price", new BigDecimal("10.99"));
+        book.put("copies", new BigInteger("12345678901234567890"));
+        book.put("rating", 4.5d);
+        book.put("pages", 224);
+        book.put("available", Boolean.TRUE);
+        book.put("format", Format.PAPERBACK);
+        book.put("published", LocalDate.of(1954, 9, 17));
+        book.put("subtitle", null);
+        book.put("reviews", Arrays.asList(review, null));
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("book", book);
+        return data;
+    }
+
+    private static JsonObject toJsonObject(String json) {
+        try (JsonReader reader = Json.createReader(new StringReader(json))) {
+            return reader.readObject();
+        }
+    }
+
+    public enum Format {
+        PAPERBACK,
+        HARDCOVER
+    }
+}
@@ -0,0 +1,178 @@
+package io.smallrye.graphql.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import graphql.schema.GraphQLSchema;
+import io.smallrye.graphql.bootstrap.Bootstrap;
+import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.spi.config.Config;
+
+/**
+ * Test delivering the results of {@code @defer} fragments after the rest of the result
+ */
+public class IncrementalDeliveryTest extends ExecutionTestBase {
+    private final TestConfig config = (TestConfig) Config.get();
+    private GraphQLSchema graphQLSchema;
+
+    @BeforeEach
+    @Override
+    public void init() {
+        config.incrementalDeliveryEnabled = true;
+        super.init();
+        graphQLSchema = Bootstrap.bootstrap(SchemaBuilder.build(getIndex()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        config.reset();
+    }
+
+    @Test
+    public void testDefer() throws Exception {
+        List<JsonObject> payloads = executeIncremental("{ testObject(yourname: \"Phillip\") { name "
+                + "...Timestamp @defer(label: \"ts\") } } fragment Timestamp on TestObject { timestamp { value } }", null);
+
+        assertEquals(2, payloads.size());
+        JsonObject initial = payloads.get(0);
+        assertTrue(initial.getBoolean("hasNext"));
+        JsonObject testObject = initial.getJsonObject("data").getJsonObject("testObject");
+        assertEquals("Phillip", testObject.getString("name"));
+        assertFalse(testObject.containsKey("timestamp"));
+
+        JsonObject next = payloads.get(1);
+        assertFalse(next.getBoolean("hasNext"));
+        JsonArray incremental = next.getJsonArray("incremental");
+        assertEquals(1, incremental.size());
+        assertEquals(Json.createArrayBuilder().add("testObject").build(), incremental.getJsonObject(0).getJsonArray("path"));
+        assertEquals("ts", incremental.getJsonObject(0).getString("label"));
+        assertNotNull(incremental.getJsonObject(0).getJsonObject("data").getJsonObject("timestamp").getString("value"));
+    }
+
+    @Test
+    public void testEverythingDeferred() throws Exception {
+        List<JsonObject> payloads = executeIncremental("{ ... @defer { testObject(yourname: \"Phillip\") { "
+                + "... @defer { name } } } }", null);
+
+        assertEquals(3, payloads.size());
+        // The client did not ask for any field that is not deferred
+        assertEquals(Json.createObjectBuilder().build(), payloads.get(0).getJsonObject("data"));
+        assertTrue(payloads.get(0).getBoolean("hasNext"));
+        JsonObject testObject = payloads.get(1).getJsonArray("incremental").getJsonObject(0).getJsonObject("data");
+        assertEquals(Json.createObjectBuilder().add("testObject", Json.createObjectBuilder()).build(), testObject);
+        JsonObject name = payloads.get(2).getJsonArray("incremental").getJsonObject(0).getJsonObject("data");
+        assertEquals("Phillip", name.getString("name"));
+    }
+
+    @Test
+    public void testDeferInListIsNotDeferred() throws Exception {
+        List<JsonObject> payloads = executeIncremental("{ testObjects { name ... @defer { timestamp { value } } } }", null);
+
+        assertEquals(1, payloads.size());
+        JsonArray testObjects = payloads.get(0).getJsonObject("data").getJsonArray("testObjects");
+        assertEquals(2, testObjects.size());
+        assertTrue(testObjects.getJsonObject(1).containsKey("timestamp"));
+        assertFalse(payloads.get(0).containsKey("hasNext"));
+    }
+
+    @Test
+    public void testDeferDisabledWithVariable() throws Exception {
+        List<JsonObject> payloads = executeIncremental("query Q($defer: Boolean!) { testObject(yourname: \"Phillip\") { "
+                + "name ... @defer(if: $defer) { timestamp { value } } } }",
+                Json.createObjectBuilder().add("defer", false).build());
+
+        assertEquals(1, payloads.size());
+        assertTrue(payloads.get(0).getJsonObject("data").getJsonObject("testObject").containsKey("timestamp"));
+        assertFalse(payloads.get(0).containsKey("hasNext"));
+    }
+
+    @Test
+    public void testPlan() {
+        IncrementalDelivery.Plan plan = plan("query Q($id: String, $deep: Boolean) { "
+                + "testObject(yourname: $id) { name ... on TestObject @defer { id ... @defer(if: $deep) { number } } } }",
+                null);
+        assertEquals(3, plan.getParts().size());
+        assertEquals("query Q($id:String){testObject(yourname:$id){name}}", plan.getParts().get(0).getQuery());
+        assertEquals("query Q($id:String){testObject(yourname:$id){...on TestObject{id}}}",
+                plan.getParts().get(1).getQuery());
+        assertEquals(0, plan.getParts().get(1).getParent());
+        assertEquals(1, plan.getParts().get(2).getParent());
+        assertEquals(List.of("testObject"), plan.getParts().get(2).getPath());
+
+        // Only the fragment that is not in a list is deferred
+        plan = plan("{ testObject(yourname: \"Phillip\") { ... @defer { id } } testObjects { ... @defer { id } } }", null);
+        assertEquals(2, plan.getParts().size());
+        assertEquals("{testObject(yourname:\"Phillip\"){smallrye_deferred__:__typename}testObjects{...{id}}}",
+                plan.getParts().get(0).getQuery());
+
+        assertNull(plan("{ testObjects { name } }", null));
+        assertNull(plan("mutation { add { name ... @defer { id } } }", null));
+    }
+
+    @Test
+    public void testPlanLimits() {
+        StringBuilder query = new StringBuilder("{ testObject(yourname: \"Phillip\") { name");
+        for (int i = 0; i <= IncrementalDelivery.MAX_DEFERRED; i++) {
+            query.append(" ... @defer { id }");
+        }
+        query.append(" } }");
+        IncrementalDelivery.Plan plan = plan(query.toString(), null);
+        assertEquals(IncrementalDelivery.MAX_DEFERRED + 1, plan.getParts().size());
+        assertTrue(plan.getParts().get(0).getQuery().contains("...{id}"));
+
+        // The fields on the path are selected again by every deferred fragment
+        String deferred = "{ testObject(yourname: \"Phillip\") { name ... @defer { id } ... @defer { number } } }";
+        assertNotNull(plan(deferred, 6));
+        assertNull(plan(deferred, 5));
+    }
+
+    private IncrementalDelivery.Plan plan(String query, Integer maxComplexity) {
+        return IncrementalDelivery.plan(graphQLSchema, query, null, null, maxComplexity);
+    }
+
+    private List<JsonObject> executeIncremental(String query, JsonObject variables) throws Exception {
+        JsonObject request = variables == null ? Json.createObjectBuilder().add("query", query).build()
+                : Json.createObjectBuilder().add("query", query).add("variables", variables).build();
+        List<JsonObject> payloads = new ArrayList<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        executionService.executeIncremental(request, new HashMap<>(), new IncrementalExecutionResponseWriter() {
+            @Override
+            public void writeNext(JsonObject payload, boolean hasNext) {
+                payloads.add(payload);
+                if (!hasNext) {
+                    done.complete(null);
+                }
+            }
+
+            @Override
+            public void write(ExecutionResponse er) {
+                payloads.add(er.getExecutionResultAsJsonObject());
+                done.complete(null);
+            }
+
+            @Override
+            public void fail(Throwable t) {
+                done.completeExceptionally(t);
+            }
+        });
+        done.get(10, TimeUnit.SECONDS);
+        return payloads;
+    }
+}
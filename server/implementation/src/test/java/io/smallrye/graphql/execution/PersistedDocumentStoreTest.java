@@ -0,0 +1,157 @@
+package io.smallrye.graphql.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import graphql.schema.GraphQLSchema;
+import io.smallrye.graphql.bootstrap.Bootstrap;
+import io.smallrye.graphql.schema.SchemaBuilder;
+import io.smallrye.graphql.schema.model.Schema;
+import io.smallrye.graphql.spi.config.Config;
+
+/**
+ * Test the persisted document stores and the warm-up of the query cache
+ */
+public class PersistedDocumentStoreTest extends ExecutionTestBase {
+    private final TestConfig config = (TestConfig) Config.get();
+
+    private InMemoryPersistedDocumentStore store;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    @Override
+    public void init() {
+        config.persistedQueriesEnabled = true;
+        store = new InMemoryPersistedDocumentStore(Map.of(
+                PersistedQuery.sha256(TEST_QUERY), TEST_QUERY,
+                "invalid", "{ doesNotExist }"));
+        Schema schema = SchemaBuilder.build(getIndex());
+        GraphQLSchema graphQLSchema = Bootstrap.bootstrap(schema);
+        this.executionService = new ExecutionService(graphQLSchema, schema, null, null, store);
+    }
+
+    @AfterEach
+    void tearDown() {
+        config.reset();
+    }
+
+    @Test
+    public void testWarmUp() {
+        assertEquals(1, executionService.warmUp());
+
+        JsonObject result = executeHashOnly(PersistedQuery.sha256(TEST_QUERY));
+        assertEquals("Phillip", result.getJsonObject("data").getJsonObject("testObject").getString("name"));
+    }
+
+    @Test
+    public void testRegisteredQueriesReachTheStore() {
+        config.persistedDocumentsWritable = true;
+        init();
+        String query = "{ testObject(yourname:\"Kruger\") { name } }";
+        String hash = PersistedQuery.sha256(query);
+        register(query, hash);
+
+        assertEquals(query, store.getDocument(hash));
+    }
+
+    @Test
+    public void testStoreIsReadOnlyByDefault() {
+        String query = "{ testObject(yourname:\"Kruger\") { name } }";
+        String hash = PersistedQuery.sha256(query);
+        register(query, hash);
+
+        assertNull(store.getDocument(hash));
+        // The query is still known to this node
+        JsonObject result = executeHashOnly(hash);
+        assertEquals("Kruger", result.getJsonObject("data").getJsonObject("testObject").getString("name"));
+    }
+
+    @Test
+    public void testInvalidQueriesAreNotRegistered() {
+        config.persistedDocumentsWritable = true;
+        init();
+        String query = "{ doesNotExist }";
+        String hash = PersistedQuery.sha256(query);
+        register(query, hash);
+
+        assertNull(store.getDocument(hash));
+        JsonObject result = executeHashOnly(hash);
+        assertEquals(PersistedQuery.NOT_FOUND, result.getJsonArray("errors").getJsonObject(0).getString("message"));
+    }
+
+    @Test
+    public void testFileStore() throws IOException {
+        FilePersistedDocumentStore fileStore = new FilePersistedDocumentStore(directory.resolve("documents"));
+        assertTrue(fileStore.getDocuments().isEmpty());
+
+        fileStore.putDocument("abc", TEST_QUERY);
+        fileStore.putDocument("abc", "{ ignored }");
+        assertEquals(TEST_QUERY, fileStore.getDocument("abc"));
+        assertEquals(Map.of("abc", TEST_QUERY), fileStore.getDocuments());
+
+        // Another node sees the same documents
+        assertEquals(TEST_QUERY, new FilePersistedDocumentStore(directory.resolve("documents")).getDocument("abc"));
+
+        assertNull(fileStore.getDocument("unknown"));
+        fileStore.putDocument("../escaped", TEST_QUERY);
+        assertNull(fileStore.getDocument("../escaped"));
+        assertFalse(Files.exists(directory.resolve("escaped.graphql")));
+    }
+
+    @Test
+    public void testFileStoreLimit() {
+        FilePersistedDocumentStore fileStore = new FilePersistedDocumentStore(directory.resolve("documents"), 2);
+        fileStore.putDocument("a", TEST_QUERY);
+        fileStore.putDocument("b", TEST_QUERY);
+        fileStore.putDocument("c", TEST_QUERY);
+
+        assertNull(fileStore.getDocument("c"));
+        assertEquals(2, fileStore.getDocuments().size());
+        // The documents that are there are counted
+        FilePersistedDocumentStore other = new FilePersistedDocumentStore(directory.resolve("documents"), 2);
+        other.putDocument("d", TEST_QUERY);
+        assertNull(other.getDocument("d"));
+    }
+
+    private void register(String query, String hash) {
+        JsonObjectResponseWriter writer = new JsonObjectResponseWriter(Json.createObjectBuilder()
+                .add("query", query)
+                .add("extensions", Json.createObjectBuilder()
+                        .add("persistedQuery", Json.createObjectBuilder().add("version", 1).add("sha256Hash", hash)))
+                .build());
+        executionService.executeSync(writer.getInput(), writer);
+    }
+
+    private JsonObject executeHashOnly(String hash) {
+        JsonObjectResponseWriter writer = new JsonObjectResponseWriter(Json.createObjectBuilder()
+                .add("extensions", Json.createObjectBuilder()
+                        .add("persistedQuery", Json.createObjectBuilder().add("version", 1).add("sha256Hash", hash)))
+                .build());
+        executionService.executeSync(writer.getInput(), writer);
+        return writer.getOutput();
+    }
+
+    private static final String TEST_QUERY = "{\n" +
+            "  testObject(yourname:\"Phillip\") {\n" +
+            "    id\n" +
+            "    name\n" +
+            "  }\n" +
+            "}";
+}
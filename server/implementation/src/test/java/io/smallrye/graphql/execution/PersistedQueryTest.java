@@ -0,0 +1,109 @@
+package io.smallrye.graphql.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.spi.config.Config;
+
+/**
+ * Test Automatic Persisted Queries and the normalized query cache
+ */
+public class PersistedQueryTest extends ExecutionTestBase {
+    private final TestConfig config = (TestConfig) Config.get();
+
+    @BeforeEach
+    @Override
+    public void init() {
+        config.persistedQueriesEnabled = true;
+        config.queryCacheNormalizationEnabled = true;
+        super.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        config.reset();
+    }
+
+    @Test
+    public void testUnknownHash() {
+        JsonObject result = execute(null, PersistedQuery.sha256(TEST_QUERY));
+        JsonObject error = result.getJsonArray("errors").getJsonObject(0);
+        assertEquals("PersistedQueryNotFound", error.getString("message"));
+        assertEquals("PERSISTED_QUERY_NOT_FOUND", error.getJsonObject("extensions").getString("code"));
+    }
+
+    @Test
+    public void testRegisterThenSendHashOnly() {
+        String hash = PersistedQuery.sha256(TEST_QUERY);
+        JsonObject registered = execute(TEST_QUERY, hash);
+        assertEquals("Phillip", registered.getJsonObject("data").getJsonObject("testObject").getString("name"));
+
+        JsonObject result = execute(null, hash.toUpperCase());
+        assertFalse(result.containsKey("errors"));
+        assertEquals("Phillip", result.getJsonObject("data").getJsonObject("testObject").getString("name"));
+    }
+
+    @Test
+    public void testHashMismatch() {
+        JsonObject result = execute(TEST_QUERY, PersistedQuery.sha256("{ somethingElse }"));
+        assertEquals("provided sha does not match query",
+                result.getJsonArray("errors").getJsonObject(0).getString("message"));
+    }
+
+    @Test
+    public void testReformattedQueryIsServedFromCache() {
+        execute(TEST_QUERY, null);
+        long misses = queryCache().getMissCount();
+
+        JsonObject result = execute("{testObject(yourname:\"Phillip\"){id name timestamp{value}}} # again", null);
+        assertEquals("Phillip", result.getJsonObject("data").getJsonObject("testObject").getString("name"));
+        assertEquals(misses, queryCache().getMissCount());
+        assertTrue(queryCache().getHitCount() > 0);
+    }
+
+    private QueryCache queryCache() {
+        try {
+            java.lang.reflect.Field field = ExecutionService.class.getDeclaredField("queryCache");
+            field.setAccessible(true);
+            return (QueryCache) field.get(executionService);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private JsonObject execute(String query, String hash) {
+        JsonObjectBuilder input = Json.createObjectBuilder();
+        if (query != null) {
+            input.add("query", query);
+        }
+        if (hash != null) {
+            input.add("extensions", Json.createObjectBuilder()
+                    .add("persistedQuery", Json.createObjectBuilder()
+                            .add("version", 1)
+                            .add("sha256Hash", hash)));
+        }
+        JsonObjectResponseWriter writer = new JsonObjectResponseWriter(input.build());
+        executionService.executeSync(writer.getInput(), writer);
+        writer.logOutput();
+        return writer.getOutput();
+    }
+
+    private static final String TEST_QUERY = "{\n" +
+            "  testObject(yourname:\"Phillip\") {\n" +
+            "    id\n" +
+            "    name\n" +
+            "    timestamp {\n" +
+            "       value\n" +
+            "    }\n" +
+            "  }\n" +
+            "}";
+}
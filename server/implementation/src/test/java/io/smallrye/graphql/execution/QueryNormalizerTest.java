@@ -0,0 +1,75 @@
+package io.smallrye.graphql.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import graphql.language.ArrayValue;
+import graphql.language.AstPrinter;
+import graphql.language.Field;
+import graphql.language.OperationDefinition;
+import graphql.language.Value;
+import graphql.parser.Parser;
+
+public class QueryNormalizerTest {
+
+    @Test
+    public void testIgnoredTokensAreDropped() {
+        String query = "# the books\n"
+                + "query Books($count: Int = 10) {\r\n"
+                + "  books(count: $count, filter: [1, 2]) { # inline comment\n"
+                + "    id,\ttitle\n"
+                + "    ... on Book { price }\n"
+                + "  }\n"
+                + "}\n";
+        assertEquals("query Books($count:Int=10){books(count:$count filter:[1 2]){id title ...on Book{price}}}",
+                QueryNormalizer.normalize(query));
+    }
+
+    @Test
+    public void testVariantsShareTheSameForm() {
+        String compact = QueryNormalizer.normalize("{books{id title}}");
+        assertEquals(compact, QueryNormalizer.normalize("{\n  books {\n    id\n    title\n  }\n}"));
+        assertEquals(compact, QueryNormalizer.normalize("{ books { id, title } } # trailing"));
+        assertNotEquals(compact, QueryNormalizer.normalize("{books{id title price}}"));
+    }
+
+    @Test
+    public void testStringsAreKept() {
+        String query = "{ search(text: \"a, b # c\", escaped: \"\\\" x\", block: \"\"\"  multi\n  line \\\"\"\" \"\"\") }";
+        assertEquals("{search(text:\"a, b # c\"escaped:\"\\\" x\"block:\"\"\"  multi\n  line \\\"\"\" \"\"\")}",
+                QueryNormalizer.normalize(query));
+    }
+
+    @Test
+    public void testAdjacentStringsStaySeparate() {
+        // Without a separator, both would become {a(x:["""x"""""])}
+        String strings = QueryNormalizer.normalize("{ a(x: [\"\" \"x\" \"\" \"\"]) }");
+        String blockString = QueryNormalizer.normalize("{ a(x: [\"\"\"x\"\"\" \"\"]) }");
+        assertNotEquals(strings, blockString);
+        assertEquals(4, ((ArrayValue) argument(strings)).getValues().size());
+        assertEquals(2, ((ArrayValue) argument(blockString)).getValues().size());
+    }
+
+    @Test
+    public void testNumbersAndNamesStaySeparate() {
+        String normalized = QueryNormalizer.normalize("{ a(x: 1 y: -2 z: 1.5e3) ...F } fragment F on Q { b }");
+        assertEquals("{a(x:1 y:-2 z:1.5e3)...F}fragment F on Q{b}", normalized);
+        // Still the same document
+        assertEquals(AstPrinter.printAst(Parser.parse("{ a(x: 1 y: -2 z: 1.5e3) ...F } fragment F on Q { b }")),
+                AstPrinter.printAst(Parser.parse(normalized)));
+    }
+
+    @Test
+    public void testCanonicalQueryIsReturnedAsIs() {
+        String query = "{books{id title}}";
+        assertSame(query, QueryNormalizer.normalize(query));
+    }
+
+    private static Value<?> argument(String query) {
+        OperationDefinition operation = (OperationDefinition) Parser.parse(query).getDefinitions().get(0);
+        return ((Field) operation.getSelectionSet().getSelections().get(0)).getArguments().get(0).getValue();
+    }
+}
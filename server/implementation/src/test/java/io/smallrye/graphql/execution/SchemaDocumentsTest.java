@@ -0,0 +1,137 @@
+package io.smallrye.graphql.execution;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import jakarta.json.JsonObject;
+
+import org.junit.jupiter.api.Test;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.introspection.IntrospectionQuery;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import io.smallrye.graphql.bootstrap.Bootstrap;
+import io.smallrye.graphql.schema.SchemaBuilder;
+
+/**
+ * Test the cached SDL and introspection documents, and the cached introspection results
+ */
+public class SchemaDocumentsTest extends ExecutionTestBase {
+
+    @Test
+    public void testDocumentsCreatedOncePerSchema() throws IOException {
+        GraphQLSchema graphQLSchema = Bootstrap.bootstrap(SchemaBuilder.build(getIndex()));
+        SchemaDocuments documents = SchemaDocuments.get(graphQLSchema);
+        assertSame(documents, SchemaDocuments.get(graphQLSchema));
+        assertSame(documents.getSdl(), documents.getSdl());
+
+        SchemaDocuments.Document sdl = documents.getSdl();
+        assertEquals(new SchemaPrinter().print(graphQLSchema), new String(sdl.getBytes(), StandardCharsets.UTF_8));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(sdl.getGzipBytes()))) {
+            assertArrayEquals(sdl.getBytes(), gzip.readAllBytes());
+        }
+
+        String introspection = new String(documents.getIntrospection().getBytes(), StandardCharsets.UTF_8);
+        assertTrue(introspection.startsWith("{\"data\":{\"__schema\":"), introspection);
+
+        // A rebuilt schema gets its own documents
+        assertNotEquals(documents, SchemaDocuments.get(Bootstrap.bootstrap(SchemaBuilder.build(getIndex()))));
+    }
+
+    @Test
+    public void testETags() {
+        SchemaDocuments.Document sdl = SchemaDocuments.get(Bootstrap.bootstrap(SchemaBuilder.build(getIndex()))).getSdl();
+        String eTag = sdl.getETag(false);
+        assertTrue(eTag.startsWith("\"") && eTag.endsWith("\""), eTag);
+        assertNotEquals(eTag, sdl.getETag(true));
+
+        assertFalse(sdl.isNotModified(null, false));
+        assertFalse(sdl.isNotModified("\"other\"", false));
+        assertTrue(sdl.isNotModified(eTag, false));
+        assertTrue(sdl.isNotModified("\"other\", " + sdl.getETag(true), true));
+        assertTrue(sdl.isNotModified("W/" + eTag, false));
+        assertTrue(sdl.isNotModified("*", true));
+        // The ETag of one representation does not match the other one
+        assertFalse(sdl.isNotModified(eTag, true));
+        assertFalse(sdl.isNotModified(sdl.getETag(true), false));
+        // Nor does the ETag of the other document
+        SchemaDocuments.Document introspection = SchemaDocuments.get(Bootstrap.bootstrap(SchemaBuilder.build(getIndex())))
+                .getIntrospection();
+        assertFalse(introspection.isNotModified(eTag, false));
+    }
+
+    @Test
+    public void testIntrospectionResultsCached() {
+        JsonObject first = executeAndGetResult(IntrospectionQuery.INTROSPECTION_QUERY, null);
+        JsonObject second = executeAndGetResult(IntrospectionQuery.INTROSPECTION_QUERY, null);
+        assertEquals(first, second);
+        assertTrue(first.getJsonObject("data").containsKey("__schema"));
+    }
+
+    @Test
+    public void testIntrospectionCacheKey() {
+        IntrospectionCache cache = new IntrospectionCache();
+        String key = getKey(cache, "{ __schema { queryType { name } } }", null);
+        assertEquals(key, getKey(cache, "{\n  __schema {\n    queryType {\n      name\n    }\n  }\n}", null));
+        assertNotEquals(key, getKey(cache, "query Q { __schema { queryType { name } } }", "Q"));
+        assertNull(getKey(cache, "{ testObject { name } }", null));
+    }
+
+    @Test
+    public void testOnlyIntrospectionResultsAreCached() {
+        IntrospectionCache cache = new IntrospectionCache();
+        ExecutionResult result = ExecutionResultImpl.newExecutionResult().data(Map.of()).build();
+
+        // Mentions __typename, but also selects other fields
+        ExecutionInput mixed = ExecutionInput.newExecutionInput("{ __typename testObject { name } }").build();
+        mixed.getGraphQLContext().put(QueryCache.DOCUMENT, Parser.parse(mixed.getQuery()));
+        String mixedKey = cache.getKey(mixed);
+        cache.put(mixedKey, mixed, result);
+        assertNull(cache.get(mixedKey));
+
+        ExecutionInput introspection = ExecutionInput.newExecutionInput("{ __schema { queryType { name } } }").build();
+        String key = cache.getKey(introspection);
+        // Not parsed, so not known to be valid
+        cache.put(key, introspection, result);
+        assertNull(cache.get(key));
+        introspection.getGraphQLContext().put(QueryCache.DOCUMENT, Parser.parse(introspection.getQuery()));
+        cache.put(key, introspection, result);
+        assertSame(result, cache.get(key));
+    }
+
+    @Test
+    public void testIntrospectionOnly() {
+        assertTrue(isIntrospectionOnly("{ __schema { queryType { name } } }", null));
+        assertTrue(isIntrospectionOnly("query Q { ...Types } fragment Types on Query { __type(name: \"Query\") { name } }",
+                null));
+        assertTrue(isIntrospectionOnly("query A { testObject { name } } query B { __typename }", "B"));
+
+        assertFalse(isIntrospectionOnly("{ __typename testObject { name } }", null));
+        assertFalse(isIntrospectionOnly("query A { __typename } query B { __typename }", null));
+        assertFalse(isIntrospectionOnly("mutation { __typename }", null));
+        assertFalse(isIntrospectionOnly("{ ...Missing }", null));
+    }
+
+    private static String getKey(IntrospectionCache cache, String query, String operationName) {
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput(query).operationName(operationName).build();
+        return cache.getKey(executionInput);
+    }
+
+    private static boolean isIntrospectionOnly(String query, String operationName) {
+        return IntrospectionCache.isIntrospectionOnly(Parser.parse(query), operationName);
+    }
+}
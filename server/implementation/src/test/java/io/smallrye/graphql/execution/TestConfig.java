@@ -16,6 +16,12 @@ import io.smallrye.graphql.spi.config.LogPayloadOption;
 public class TestConfig implements Config {
 
     public boolean federationEnabled;
+    public boolean queryCacheNormalizationEnabled;
+    public boolean persistedQueriesEnabled;
+    public boolean persistedDocumentsWritable;
+    public Integer dataLoaderMaxBatchSize;
+    public boolean incrementalDeliveryEnabled;
+    public boolean excludeNullFieldsInResponses;
 
     public TestConfig() {
         reset();
@@ -36,6 +42,36 @@ public class TestConfig implements Config {
         return federationEnabled;
     }
 
+    @Override
+    public boolean isQueryCacheNormalizationEnabled() {
+        return queryCacheNormalizationEnabled;
+    }
+
+    @Override
+    public boolean isPersistedQueriesEnabled() {
+        return persistedQueriesEnabled;
+    }
+
+    @Override
+    public boolean isPersistedDocumentsWritable() {
+        return persistedDocumentsWritable;
+    }
+
+    @Override
+    public Optional<Integer> getDataLoaderMaxBatchSize() {
+        return Optional.ofNullable(dataLoaderMaxBatchSize);
+    }
+
+    @Override
+    public boolean isIncrementalDeliveryEnabled() {
+        return incrementalDeliveryEnabled;
+    }
+
+    @Override
+    public boolean isExcludeNullFieldsInResponses() {
+        return excludeNullFieldsInResponses;
+    }
+
     @Override
     public LogPayloadOption logPayload() {
         return LogPayloadOption.queryAndVariables;
@@ -69,5 +105,11 @@ public class TestConfig implements Config {
 
     public void reset() {
         this.federationEnabled = false;
+        this.queryCacheNormalizationEnabled = false;
+        this.persistedQueriesEnabled = false;
+        this.persistedDocumentsWritable = false;
+        this.dataLoaderMaxBatchSize = null;
+        this.incrementalDeliveryEnabled = false;
+        this.excludeNullFieldsInResponses = false;
     }
 }
@@ -0,0 +1,144 @@
+package io.smallrye.graphql.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+public class TinyLfuCacheTest {
+
+    @Test
+    public void testBoundUnderContention() throws Exception {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        for (int maximum : new int[] { 0, 1, cpus * 2, 2048 }) {
+            TinyLfuCache<Integer, Integer> cache = new TinyLfuCache<>(maximum);
+            testWorker(cache, k -> 1);
+            assertEquals(Math.min(1, maximum), cache.size());
+            assertEquals(Math.min(1, maximum), cache.weightedSize());
+            testWorker(cache, k -> k);
+            assertEquals(maximum, cache.size());
+            assertEquals(maximum, cache.weightedSize());
+        }
+    }
+
+    @Test
+    public void testFrequentEntriesSurviveScan() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(100);
+        // Every hot key comes back after 150 one-off keys, more than an LRU cache of this size would survive
+        for (int i = 0; i < 20_000; i++) {
+            if (i % 4 == 0) {
+                cache.computeIfAbsent("hot" + (i / 4) % 50, Function.identity());
+            } else {
+                cache.computeIfAbsent("cold" + i, Function.identity());
+            }
+        }
+        for (int i = 0; i < 50; i++) {
+            assertNotNull(cache.get("hot" + i), "hot" + i + " was evicted");
+        }
+        assertEquals(100, cache.size());
+    }
+
+    @Test
+    public void testWeigher() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(100, (k, v) -> v.length());
+        for (int i = 0; i < 100; i++) {
+            cache.computeIfAbsent("key" + i, k -> "0123456789");
+        }
+        assertEquals(10, cache.size());
+        assertEquals(100, cache.weightedSize());
+
+        // An entry heavier than the whole cache does not stay
+        cache.computeIfAbsent("huge", k -> "x".repeat(101));
+        assertNull(cache.get("huge"));
+        assertTrue(cache.weightedSize() <= 100);
+    }
+
+    @Test
+    public void testAdmittedCandidateStays() {
+        // Weighs 200, so the window holds a weight of 2
+        TinyLfuCache<String, Integer> cache = new TinyLfuCache<>(200, (k, v) -> v);
+        cache.computeIfAbsent("cold", k -> 1);
+        cache.computeIfAbsent("warm", k -> 1);
+        for (int i = 0; i < 5; i++) {
+            cache.get("warm");
+        }
+        // Pushes cold and warm out of the window, to the front of the probation queue
+        cache.computeIfAbsent("filler", k -> 196);
+        cache.computeIfAbsent("candidate", k -> 2);
+        cache.get("candidate");
+        cache.get("candidate");
+        // Pushes the candidate out of the window, and the cache is 2 too heavy
+        cache.computeIfAbsent("next", k -> 2);
+
+        // The candidate is used more often than cold, so it is admitted and does not compete with warm any more
+        assertNotNull(cache.get("candidate"));
+        assertNull(cache.get("cold"));
+        assertNull(cache.get("warm"));
+        assertNotNull(cache.get("filler"));
+        assertEquals(200, cache.weightedSize());
+    }
+
+    @Test
+    public void testCounters() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(1);
+        assertNull(cache.get("a"));
+        cache.computeIfAbsent("a", Function.identity());
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("a"));
+        cache.computeIfAbsent("b", Function.identity());
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testNullValueIsNotCached() {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<>(10);
+        assertNull(cache.computeIfAbsent("a", k -> null));
+        assertEquals(0, cache.size());
+        assertEquals("a", cache.computeIfAbsent("a", Function.identity()));
+    }
+
+    private void testWorker(TinyLfuCache<Integer, Integer> cache, Function<Integer, Integer> function)
+            throws Exception {
+        int numThreads = Runtime.getRuntime().availableProcessors() * 2;
+        final CountDownLatch latch = new CountDownLatch(numThreads);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        Thread[] ts = new Thread[numThreads];
+        for (int i = 0; i < numThreads; ++i) {
+            ts[i] = new Thread(() -> {
+                latch.countDown();
+                try {
+                    latch.await();
+                    for (int j = 0; j < 100000; j++) {
+                        Integer key = function.apply(j);
+                        assertEquals(key, cache.computeIfAbsent(key, k -> k));
+                        Integer value = cache.get(key);
+                        if (value != null) {
+                            assertEquals(key, value);
+                        }
+                    }
+                } catch (Throwable t) {
+                    failures.add(t);
+                }
+            });
+            ts[i].start();
+        }
+        for (int i = 0; i < numThreads; ++i) {
+            ts[i].join();
+        }
+        if (!failures.isEmpty()) {
+            AssertionError error = new AssertionError(failures.size() + " of the workers failed", failures.poll());
+            failures.forEach(error::addSuppressed);
+            throw error;
+        }
+    }
+}
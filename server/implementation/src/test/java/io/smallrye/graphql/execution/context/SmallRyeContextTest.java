@@ -2,11 +2,21 @@ package io.smallrye.graphql.execution.context;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
+import jakarta.json.Json;
+
 import org.junit.jupiter.api.Test;
 
 import graphql.ExecutionResult;
+import graphql.GraphQLContext;
+import graphql.execution.ExecutionId;
+import graphql.execution.MergedField;
+import graphql.language.Field;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
 
 class SmallRyeContextTest {
 
@@ -19,4 +29,27 @@ class SmallRyeContextTest {
         context.setExecutionResult(executionResult);
         assertEquals(context.unwrap(ExecutionResult.class), executionResult);
     }
+
+    @Test
+    void forkIsNotPublishedInTheGraphQLContext() {
+        SmallRyeContext context = new SmallRyeContext(SmallRyeContextManager.class.getName());
+        context.setRequest(Json.createObjectBuilder().add("query", "{ name }").add("operationName", "test").build());
+        context.setOperationName("test");
+        GraphQLContext graphQLContext = GraphQLContext.newContext().of(SmallRyeContextManager.CONTEXT, context).build();
+        DataFetchingEnvironment dfe = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+                .graphQLContext(graphQLContext)
+                .executionId(ExecutionId.from("1"))
+                .mergedField(MergedField.newMergedField(new Field("name")).build())
+                .build();
+
+        SmallRyeContext fork = context.fork();
+        assertTrue(fork.isFork());
+        SmallRyeContextManager.restore(fork);
+        try {
+            assertSame(fork, SmallRyeContextManager.populateFromDataFetchingEnvironment(null, null, dfe));
+            assertSame(context, graphQLContext.get(SmallRyeContextManager.CONTEXT));
+        } finally {
+            SmallRyeContextManager.clearCurrentSmallRyeContext();
+        }
+    }
 }
@@ -0,0 +1,99 @@
+package io.smallrye.graphql.execution.datafetcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.OptionalInt;
+
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.execution.datafetcher.FieldDataFetcher.MethodHandleAccessor;
+import io.smallrye.graphql.execution.datafetcher.helper.FieldHelper;
+import io.smallrye.graphql.schema.model.Field;
+import io.smallrye.graphql.schema.model.Reference;
+import io.smallrye.graphql.schema.model.ReferenceType;
+import io.smallrye.graphql.schema.model.Wrapper;
+import io.smallrye.graphql.schema.model.WrapperType;
+
+/**
+ * Test the property accessors and the check that skips transforming the response
+ */
+public class FieldDataFetcherTest {
+
+    @Test
+    public void testMethodHandleAccessors() throws Exception {
+        java.lang.reflect.Field count = Pojo.class.getField("count");
+        MethodHandleAccessor<Object> getter = getter(Pojo.class, Pojo.class.getMethod("getName"));
+        MethodHandleAccessor<Object> field = new MethodHandleAccessor<>(FieldDataFetcher.toMethodHandle(
+                Pojo.class, () -> MethodHandles.publicLookup().unreflectGetter(count)));
+
+        Pojo pojo = new Pojo();
+        assertEquals("name", getter.get(pojo));
+        assertEquals(42, field.get(pojo));
+
+        MethodHandleAccessor<Object> failing = getter(Pojo.class, Pojo.class.getMethod("getFailing"));
+        InvocationTargetException exception = assertThrows(InvocationTargetException.class, () -> failing.get(pojo));
+        assertEquals(IllegalStateException.class, exception.getCause().getClass());
+    }
+
+    @Test
+    public void testNonPublicClassesFallBackToReflection() throws Exception {
+        Method hidden = Hidden.class.getMethod("getName");
+        assertNull(FieldDataFetcher.toMethodHandle(Hidden.class, () -> MethodHandles.publicLookup().unreflect(hidden)));
+    }
+
+    @Test
+    public void testIdentity() {
+        assertTrue(new FieldHelper(field(String.class, String.class, null)).isIdentity());
+        assertTrue(new FieldHelper(field(String.class, String.class,
+                new Wrapper(WrapperType.COLLECTION, List.class.getName()))).isIdentity());
+
+        assertFalse(new FieldHelper(field(LocalDate.class, String.class, null)).isIdentity());
+        assertFalse(new FieldHelper(field(OptionalInt.class, OptionalInt.class, null)).isIdentity());
+        assertFalse(new FieldHelper(field(String.class, String.class,
+                new Wrapper(WrapperType.ARRAY, String[].class.getName()))).isIdentity());
+    }
+
+    private static MethodHandleAccessor<Object> getter(Class<?> owner, Method method) {
+        return new MethodHandleAccessor<>(FieldDataFetcher.toMethodHandle(owner,
+                () -> MethodHandles.publicLookup().unreflect(method)));
+    }
+
+    private static Field field(Class<?> type, Class<?> graphQLType, Wrapper wrapper) {
+        Reference reference = new Reference.Builder()
+                .className(type.getName())
+                .name(graphQLType.getSimpleName())
+                .type(ReferenceType.SCALAR)
+                .graphQLClassName(graphQLType.getName())
+                .build();
+        Field field = new Field("getValue", "value", "value", reference);
+        field.setWrapper(wrapper);
+        return field;
+    }
+
+    public static class Pojo {
+        public int count = 42;
+
+        public String getName() {
+            return "name";
+        }
+
+        public String getFailing() {
+            throw new IllegalStateException("expected");
+        }
+    }
+
+    static class Hidden {
+        public String getName() {
+            return "hidden";
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.smallrye.graphql.execution.datafetcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.api.Context;
+import io.smallrye.graphql.execution.context.SmallRyeContext;
+import io.smallrye.graphql.execution.context.SmallRyeContextManager;
+import io.smallrye.graphql.execution.datafetcher.helper.ReflectionInvoker;
+
+public class ReflectionInvokerTest {
+
+    @AfterEach
+    void tearDown() {
+        SmallRyeContextManager.clearCurrentSmallRyeContext();
+    }
+
+    @Test
+    public void testPrimitivesAndReturnValue() throws Exception {
+        ReflectionInvoker invoker = new ReflectionInvoker(Resolvers.class.getName(), "add",
+                List.of("int", "java.lang.Integer"));
+        assertEquals(5, (int) invoker.invoke(2, 3));
+        assertEquals(7, (int) invoker.invokePrivileged(3, 4));
+    }
+
+    @Test
+    public void testStaticMethod() throws Exception {
+        ReflectionInvoker invoker = new ReflectionInvoker(Resolvers.class.getName(), "hello",
+                List.of(String.class.getName()));
+        assertEquals("hello world", invoker.invoke("world"));
+    }
+
+    @Test
+    public void testContextIsInjected() throws Exception {
+        SmallRyeContext context = new SmallRyeContext(getClass().getName());
+        SmallRyeContextManager.restore(context);
+        ReflectionInvoker invoker = new ReflectionInvoker(Resolvers.class.getName(), "context",
+                List.of(String.class.getName(), Context.class.getName()));
+        Object[] arguments = { "a", null };
+        assertSame(context, invoker.invoke(arguments));
+        // The caller's arguments are left alone
+        assertEquals(null, arguments[1]);
+    }
+
+    @Test
+    public void testExceptionsAreUnwrapped() {
+        ReflectionInvoker invoker = new ReflectionInvoker(Resolvers.class.getName(), "fail", List.of());
+        assertThrows(IOException.class, invoker::invoke);
+        RuntimeException wrapped = assertThrows(RuntimeException.class, invoker::invokePrivileged);
+        assertEquals(IOException.class, wrapped.getCause().getClass());
+    }
+
+    @Test
+    public void testWrongArgumentsAreNotBlamedOnTheMethod() {
+        ReflectionInvoker invoker = new ReflectionInvoker(Resolvers.class.getName(), "add",
+                List.of("int", "java.lang.Integer"));
+        assertThrows(ClassCastException.class, () -> invoker.invoke("2", 3));
+        assertThrows(IllegalArgumentException.class, () -> invoker.invoke(2));
+    }
+
+    @Test
+    public void testTcclIsSetAndRestored() {
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        ClassLoader other = new ClassLoader(original) {
+        };
+        ReflectionInvoker invoker = new ReflectionInvoker(Resolvers.class.getName(), "tccl", List.of());
+        assertSame(other, invoker.invokePrivileged(other));
+        assertSame(original, Thread.currentThread().getContextClassLoader());
+    }
+
+    public static class Resolvers {
+
+        public int add(int a, Integer b) {
+            return a + b;
+        }
+
+        public static String hello(String name) {
+            return "hello " + name;
+        }
+
+        public Context context(String ignored, Context context) {
+            return context;
+        }
+
+        public String fail() throws IOException {
+            throw new IOException("expected");
+        }
+
+        public ClassLoader tccl() {
+            return Thread.currentThread().getContextClassLoader();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.smallrye.graphql.execution.datafetcher.helper;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.schema.model.Field;
+import io.smallrye.graphql.schema.model.Reference;
+import io.smallrye.graphql.schema.model.ReferenceType;
+import io.smallrye.graphql.schema.model.Wrapper;
+import io.smallrye.graphql.schema.model.WrapperType;
+
+/**
+ * Test the plans that are compiled to transform the values of fields
+ */
+public class ConversionPlanTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 1, 2);
+
+    @Test
+    public void testIdentityPlans() {
+        FieldHelper helper = new FieldHelper(field(String.class, String.class, null));
+        assertSame(ConversionPlan.IDENTITY, helper.compilePlan(field(String.class, String.class, null)));
+        assertSame(ConversionPlan.IDENTITY, helper.compileTransformPlan(field(String.class, String.class,
+                new Wrapper(WrapperType.MAP, java.util.Map.class.getName()))));
+    }
+
+    @Test
+    public void testOutputWrappers() throws Exception {
+        FieldHelper array = new FieldHelper(field(LocalDate.class, String.class,
+                new Wrapper(WrapperType.ARRAY, LocalDate[].class.getName())));
+        assertArrayEquals(new String[] { "2024-01-02", null },
+                (String[]) array.transformOrAdaptResponse(new LocalDate[] { DATE, null }, null));
+
+        Wrapper listOfSets = new Wrapper(WrapperType.COLLECTION, List.class.getName());
+        listOfSets.setWrapper(new Wrapper(WrapperType.COLLECTION, Set.class.getName()));
+        FieldHelper nested = new FieldHelper(field(LocalDate.class, String.class, listOfSets));
+        assertEquals(List.of(Set.of("2024-01-02")), nested.transformOrAdaptResponse(List.of(Set.of(DATE)), null));
+
+        FieldHelper optional = new FieldHelper(field(LocalDate.class, String.class,
+                new Wrapper(WrapperType.OPTIONAL, Optional.class.getName())));
+        assertEquals(Optional.of("2024-01-02"), optional.transformOrAdaptResponse(Optional.of(DATE), null));
+        assertEquals(Optional.empty(), optional.transformOrAdaptResponse(Optional.empty(), null));
+        assertNull(optional.transformOrAdaptResponse(null, null));
+    }
+
+    @Test
+    public void testInputWrappers() throws Exception {
+        ArgumentHelper helper = new ArgumentHelper(List.of());
+
+        Object dates = helper.compilePlan(field(LocalDate.class, String.class,
+                new Wrapper(WrapperType.COLLECTION, Set.class.getName()))).apply(List.of("2024-01-02"), null);
+        assertEquals(Set.of(DATE), dates);
+        assertTrue(dates instanceof Set);
+
+        assertEquals(OptionalInt.of(3),
+                helper.compilePlan(field(OptionalInt.class, OptionalInt.class, null)).apply(3, null));
+    }
+
+    private static Field field(Class<?> type, Class<?> graphQLType, Wrapper wrapper) {
+        Reference reference = new Reference.Builder()
+                .className(type.getName())
+                .name(graphQLType.getSimpleName())
+                .type(ReferenceType.SCALAR)
+                .graphQLClassName(graphQLType.getName())
+                .build();
+        Field field = new Field("getValue", "value", "value", reference);
+        field.setWrapper(wrapper);
+        return field;
+    }
+}
@@ -6,6 +6,7 @@ import static org.mockito.Mockito.mock;
 
 import java.lang.reflect.Field;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -56,4 +57,31 @@ class EventEmitterTest {
                         LastEventingService.invocationOrder))
                 .isEqualTo(asList(1, 2, 0));
     }
+
+    @Test
+    void testSameInstanceOnEveryThread() throws Exception {
+        EventEmitter instance = EventEmitter.getInstance();
+        AtomicReference<EventEmitter> other = new AtomicReference<>();
+        Thread thread = new Thread(() -> other.set(EventEmitter.getInstance()));
+        thread.start();
+        thread.join();
+        assertThat(other.get()).isSameAs(instance);
+    }
+
+    @Test
+    void testOnlyServicesThatImplementTheEvent() throws NoSuchFieldException, IllegalAccessException {
+        EventEmitter instance = EventEmitter.initialize();
+        assertThat(listeners(instance, "beforeExecute")).hasSize(3);
+        assertThat(listeners(instance, "beforeDataFetch")).isEmpty();
+        assertThat(listeners(instance, "errorExecute")).isEmpty();
+        assertThat(instance.hasBeforeMethodInvokeListeners()).isFalse();
+        assertThat(EventEmitter.getInstance()).isSameAs(instance);
+    }
+
+    private static EventingService[] listeners(EventEmitter instance, String event)
+            throws NoSuchFieldException, IllegalAccessException {
+        Field field = EventEmitter.class.getDeclaredField(event);
+        field.setAccessible(true);
+        return (EventingService[]) field.get(instance);
+    }
 }
@@ -0,0 +1,91 @@
+package io.smallrye.graphql.execution.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.execution.context.SmallRyeContext;
+import io.smallrye.graphql.schema.model.Operation;
+import io.smallrye.graphql.schema.model.OperationType;
+import io.smallrye.graphql.schema.model.Reference;
+import io.smallrye.graphql.spi.MetricsService;
+
+/**
+ * Test measuring the data fetches of an operation
+ */
+public class OperationTimerTest {
+
+    @Test
+    public void testTimersResolvedPerRequestType() {
+        TestMetricsService service = new TestMetricsService();
+        Operation operation = operation(true);
+        OperationTimer timer = new OperationTimer(operation, new MetricsService[] { service }, 1);
+        // Resolved up front for queries
+        assertEquals(List.of("book:QUERY"), service.resolved);
+
+        for (String operationType : new String[] { "QUERY", "QUERY", "MUTATION" }) {
+            SmallRyeContext context = context("1", operationType);
+            long start = timer.start(context);
+            assertTrue(start != OperationTimer.NOT_MEASURED);
+            timer.end(context, start);
+        }
+        assertEquals(List.of("book:QUERY", "book:MUTATION"), service.resolved);
+        assertEquals(3, service.recorded.get());
+    }
+
+    @Test
+    public void testSampling() {
+        TestMetricsService service = new TestMetricsService();
+        OperationTimer timer = new OperationTimer(operation(false), new MetricsService[] { service }, 4);
+        for (int i = 0; i < 400; i++) {
+            SmallRyeContext context = context(String.valueOf(i), "QUERY");
+            long start = timer.start(context);
+            // Every fetch of one request gets the same decision
+            assertEquals(start == OperationTimer.NOT_MEASURED, timer.start(context) == OperationTimer.NOT_MEASURED);
+            timer.end(context, start);
+        }
+        assertTrue(service.recorded.get() > 50 && service.recorded.get() < 150, "Measured " + service.recorded);
+    }
+
+    @Test
+    public void testDisabled() {
+        assertFalse(OperationTimer.NONE.isEnabled());
+        SmallRyeContext context = context("1", "QUERY");
+        assertEquals(OperationTimer.NOT_MEASURED, OperationTimer.NONE.start(context));
+        OperationTimer.NONE.end(context, OperationTimer.NOT_MEASURED);
+    }
+
+    private static SmallRyeContext context(String executionId, String operationType) {
+        SmallRyeContext context = new SmallRyeContext(OperationTimerTest.class.getName());
+        context.setExecutionId(executionId);
+        context.setOperationType(operationType);
+        return context;
+    }
+
+    private static Operation operation(boolean sourceField) {
+        Operation operation = new Operation();
+        operation.setName("book");
+        operation.setOperationType(OperationType.QUERY);
+        if (sourceField) {
+            operation.setSourceFieldOn(new Reference.Builder().name("Author").build());
+        }
+        return operation;
+    }
+
+    private static class TestMetricsService implements MetricsService {
+        private final List<String> resolved = new ArrayList<>();
+        private final AtomicInteger recorded = new AtomicInteger();
+
+        @Override
+        public Timer getTimer(Operation operation, String operationType) {
+            resolved.add(operation.getName() + ":" + operationType);
+            return durationInNanos -> recorded.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package io.smallrye.graphql.json;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.json.bind.annotation.JsonbCreator;
+import jakarta.json.bind.annotation.JsonbDateFormat;
+import jakarta.json.bind.annotation.JsonbProperty;
+
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.schema.model.Field;
+import io.smallrye.graphql.schema.model.InputType;
+import io.smallrye.graphql.schema.model.Reference;
+import io.smallrye.graphql.schema.model.ReferenceType;
+
+/**
+ * Test creating input objects from the map graphql-java gives us, without JsonB
+ */
+public class InputBinderTest {
+
+    @Test
+    public void testSettersAndFields() throws InvocationTargetException {
+        register(Address.class, field("street", "street"));
+        register(Person.class, field("name", "name"), field("age", "age"), field("score", "score"),
+                field("nickname", "nickName"), field("role", "role"), field("addresses", "addresses"),
+                field("tags", "tags"), field("lucky", "lucky"));
+
+        Map<String, Object> street = Map.of("street", "Main street");
+        Map<String, Object> input = new HashMap<>();
+        input.put("name", "Phillip");
+        input.put("age", 42);
+        input.put("score", 1.1d);
+        input.put("nickName", "Phil");
+        input.put("role", "ADMIN");
+        input.put("addresses", List.of(street, street));
+        input.put("tags", List.of("a", "b", "a"));
+        input.put("lucky", List.of(7, 13));
+
+        Person person = (Person) InputBinder.get(Person.class.getName()).bind(input);
+
+        assertEquals("Phillip", person.getName());
+        assertEquals(42L, person.getAge());
+        assertEquals(new BigDecimal("1.1"), person.score);
+        assertEquals("Phil", person.getNickname());
+        assertEquals(Role.ADMIN, person.getRole());
+        assertEquals(2, person.getAddresses().size());
+        assertEquals("Main street", person.getAddresses().get(0).getStreet());
+        assertEquals(Set.of("a", "b"), person.getTags());
+        assertArrayEquals(new int[] { 7, 13 }, person.getLucky());
+    }
+
+    @Test
+    public void testCreator() throws InvocationTargetException {
+        Field value = field("value", "value");
+        InputType inputType = inputType(WithCreator.class, value, field("other", "other"));
+        inputType.addCreatorParameter(value);
+        JsonInputRegistry.register(inputType);
+
+        WithCreator withCreator = (WithCreator) InputBinder.get(WithCreator.class.getName())
+                .bind(Map.of("value", "A", "other", 1));
+        assertEquals("A", withCreator.value);
+        assertEquals(1, withCreator.other);
+
+        // Missing creator parameters are null
+        withCreator = (WithCreator) InputBinder.get(WithCreator.class.getName()).bind(Map.of());
+        assertNull(withCreator.value);
+
+        InvocationTargetException exception = assertThrows(InvocationTargetException.class,
+                () -> InputBinder.get(WithCreator.class.getName()).bind(Map.of("value", "fail")));
+        assertEquals(IllegalArgumentException.class, exception.getCause().getClass());
+    }
+
+    @Test
+    public void testValuesThatNeedJsonB() throws InvocationTargetException {
+        register(Address.class, field("street", "street"));
+        register(Person.class, field("name", "name"), field("age", "age"));
+        InputBinder binder = InputBinder.get(Person.class.getName());
+
+        // The binder gives up, so the caller can use JsonB
+        assertNull(binder.bind(Map.of("age", 1.5d)));
+        assertNull(binder.bind(Map.of("age", "42")));
+        assertNull(binder.bind(Map.of("name", 42)));
+
+        register(WithDateFormat.class, field("date", "date"));
+        assertNull(InputBinder.get(WithDateFormat.class.getName()));
+
+        register(Address.class, field("street", "street"));
+        assertNotNull(InputBinder.get(Address.class.getName()));
+        JsonInputRegistry.override(Map.of(Address.class.getName(), JsonBCreator.getJsonB()));
+        assertNull(InputBinder.get(Address.class.getName()));
+    }
+
+    @Test
+    public void testNothingIsCreatedWhenGivingUp() throws InvocationTargetException {
+        register(Counted.class, field("street", "street"));
+        register(Owner.class, field("home", "home"), field("age", "age"));
+        InputBinder binder = InputBinder.get(Owner.class.getName());
+
+        Counted.created = 0;
+        Map<String, Object> input = new HashMap<>();
+        input.put("home", Map.of("street", "Main street"));
+        input.put("age", "42");
+        // The nested object could be bound, but the age can not, so JsonB will create both
+        assertNull(binder.bind(input));
+        assertEquals(0, Counted.created);
+
+        input.put("age", 42);
+        assertEquals("Main street", ((Owner) binder.bind(input)).home.street);
+        assertEquals(1, Counted.created);
+    }
+
+    private static void register(Class<?> type, Field... fields) {
+        JsonInputRegistry.register(inputType(type, fields));
+    }
+
+    private static InputType inputType(Class<?> type, Field... fields) {
+        InputType inputType = new InputType(type.getName(), type.getSimpleName() + "Input", null);
+        for (Field field : fields) {
+            inputType.addField(field);
+        }
+        return inputType;
+    }
+
+    private static Field field(String propertyName, String name) {
+        Reference reference = new Reference.Builder()
+                .className(String.class.getName())
+                .name("String")
+                .type(ReferenceType.SCALAR)
+                .graphQLClassName(String.class.getName())
+                .build();
+        return new Field(null, propertyName, name, reference);
+    }
+
+    public enum Role {
+        ADMIN,
+        USER
+    }
+
+    public static class Address {
+        private String street;
+
+        public String getStreet() {
+            return street;
+        }
+
+        public void setStreet(String street) {
+            this.street = street;
+        }
+    }
+
+    public static class Person {
+        private String name;
+        private long age;
+        public BigDecimal score;
+        @JsonbProperty("nickName")
+        private String nickname;
+        private Role role;
+        private List<Address> addresses;
+        private Set<String> tags;
+        private int[] lucky;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public long getAge() {
+            return age;
+        }
+
+        public void setAge(long age) {
+            this.age = age;
+        }
+
+        public String getNickname() {
+            return nickname;
+        }
+
+        public void setNickname(String nickname) {
+            this.nickname = nickname;
+        }
+
+        public Role getRole() {
+            return role;
+        }
+
+        public void setRole(Role role) {
+            this.role = role;
+        }
+
+        public List<Address> getAddresses() {
+            return addresses;
+        }
+
+        public void setAddresses(List<Address> addresses) {
+            this.addresses = addresses;
+        }
+
+        public Set<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(Set<String> tags) {
+            this.tags = tags;
+        }
+
+        public int[] getLucky() {
+            return lucky;
+        }
+
+        public void setLucky(int[] lucky) {
+            this.lucky = lucky;
+        }
+    }
+
+    public static class WithCreator {
+        private final String value;
+        public int other;
+
+        @JsonbCreator
+        public WithCreator(@JsonbProperty("value") String value) {
+            if ("fail".equals(value)) {
+                throw new IllegalArgumentException(value);
+            }
+            this.value = value;
+        }
+    }
+
+    public static class Counted {
+        static int created;
+        public String street;
+
+        public Counted() {
+            created++;
+        }
+    }
+
+    public static class Owner {
+        public Counted home;
+        public int age;
+    }
+
+    public static class WithDateFormat {
+        @JsonbDateFormat("dd.MM.yyyy")
+        public String date;
+    }
+}
@@ -0,0 +1,24 @@
+package io.smallrye.graphql.spi;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+public class DefaultLookupServiceTest {
+
+    private static final LookupService lookupService = new LookupService.DefaultLookupService();
+
+    @Test
+    public void testConstructorLooksUpAnotherInstance() {
+        Outer outer = lookupService.getInstance(Outer.class).get();
+        assertSame(outer, lookupService.getInstance(Outer.class).get());
+        assertSame(outer.inner, lookupService.getInstance(Inner.class).get());
+    }
+
+    public static class Outer {
+        final Inner inner = lookupService.getInstance(Inner.class).get();
+    }
+
+    public static class Inner {
+    }
+}
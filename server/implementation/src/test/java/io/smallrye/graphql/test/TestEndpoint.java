@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.microprofile.graphql.DefaultValue;
 import org.eclipse.microprofile.graphql.GraphQLApi;
@@ -22,6 +23,11 @@ import io.smallrye.graphql.execution.context.SmallRyeContextManager;
 @GraphQLApi
 public class TestEndpoint {
 
+    /**
+     * The number of sources every call of the batch operation received
+     */
+    public static final List<Integer> BATCH_SIZES = new CopyOnWriteArrayList<>();
+
     @Query
     public TestObject getTestObject(String yourname) {
         TestObject testObject = createTestObject(yourname);
@@ -85,6 +91,7 @@ public class TestEndpoint {
 
     @Name("timestamp")
     public List<TestSource> getTestSources(@Source List<TestObject> testObjects) {
+        BATCH_SIZES.add(testObjects.size());
         List<TestSource> batched = new ArrayList<>();
         for (TestObject testObject : testObjects) {
             batched.add(new TestSource());
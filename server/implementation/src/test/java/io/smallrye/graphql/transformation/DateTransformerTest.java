@@ -1,6 +1,7 @@
 package io.smallrye.graphql.transformation;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.time.Instant;
 import java.time.LocalDate;
@@ -10,7 +11,9 @@ import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.Temporal;
+import java.time.temporal.TemporalQuery;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -130,4 +133,65 @@ class DateTransformerTest {
             assertThat(out).isEqualTo(text);
         }
     }
+
+    @Nested
+    class WithIsoFormat {
+        @Test
+        void shouldTransformLikeTheFormatter() {
+            shouldTransformLikeTheFormatter("yyyy-MM-dd", LocalDate::from,
+                    "2007-12-03", "0001-01-01", "2024-02-29", "9999-12-31");
+            shouldTransformLikeTheFormatter("HH:mm:ss", LocalTime::from, "00:00:00", "10:15:31", "23:59:59");
+            shouldTransformLikeTheFormatter("uuuu-MM-dd'T'HH:mm:ss", LocalDateTime::from,
+                    "2007-12-03T10:15:31", "2000-01-01T00:00:00");
+        }
+
+        @Test
+        void shouldLeaveOtherValuesToTheFormatter() {
+            // the formatter of the pattern adjusts these
+            shouldTransformLikeTheFormatter("yyyy-MM-dd", LocalDate::from, "2023-02-29", "2024-02-30", "+10000-01-01");
+            shouldTransformLikeTheFormatter("HH:mm:ss", LocalTime::from, "24:00:00");
+            // and does not take these
+            shouldNotTransform("yyyy-MM-dd", LocalDate.class, "2024-1-02", "2024-13-01", "2024-01-02x");
+            shouldNotTransform("HH:mm:ss", LocalTime.class, "10:60:00", "10-15-31");
+        }
+
+        @Test
+        void shouldWriteLikeTheFormatter() {
+            assertThat(transformer("yyyy-MM-dd", LocalDate.class).out(LocalDate.of(10000, 1, 2)))
+                    .isEqualTo(DateTimeFormatter.ofPattern("yyyy-MM-dd").format(LocalDate.of(10000, 1, 2)));
+            assertThat(transformer("HH:mm:ss", LocalTime.class).out(LocalTime.of(10, 15, 31, 500)))
+                    .isEqualTo("10:15:31");
+            // the ISO formatters write the fraction of a second
+            field.setTransformation(null);
+            DateTransformer iso = new DateTransformer(field, LocalDateTime.class.getName());
+            assertThat(iso.out(LocalDateTime.of(2007, 12, 3, 10, 15))).isEqualTo("2007-12-03T10:15:00");
+            assertThat(iso.out(LocalDateTime.of(2007, 12, 3, 10, 15, 31, 500_000_000))).isEqualTo("2007-12-03T10:15:31.5");
+            assertThat(iso.in("2007-12-03T10:15")).isEqualTo(LocalDateTime.of(2007, 12, 3, 10, 15));
+        }
+
+        private void shouldTransformLikeTheFormatter(String format, TemporalQuery<? extends Temporal> query,
+                String... values) {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(format);
+            for (String value : values) {
+                Temporal expected = formatter.parse(value, query);
+                DateTransformer transformer = transformer(format, expected.getClass());
+
+                Temporal in = transformer.in(value);
+                assertThat(in).isEqualTo(expected);
+                assertThat(transformer.out(in)).isEqualTo(formatter.format(expected));
+            }
+        }
+
+        private void shouldNotTransform(String format, Class<?> type, String... values) {
+            DateTransformer transformer = transformer(format, type);
+            for (String value : values) {
+                assertThatThrownBy(() -> transformer.in(value)).isInstanceOf(DateTimeParseException.class);
+            }
+        }
+
+        private DateTransformer transformer(String format, Class<?> type) {
+            field.setTransformation(new Transformation(Type.DATE, format, null, false));
+            return new DateTransformer(field, type.getName());
+        }
+    }
 }
@@ -0,0 +1,67 @@
+package io.smallrye.graphql.transformation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.schema.model.Field;
+import io.smallrye.graphql.schema.model.Reference;
+import io.smallrye.graphql.schema.model.ReferenceType;
+import io.smallrye.graphql.schema.model.Transformation;
+import io.smallrye.graphql.schema.model.Transformation.Type;
+
+class FormattedNumberTransformerTest {
+
+    @Test
+    void shouldTransformWithNumberFormat() throws Exception {
+        FormattedNumberTransformer transformer = transformer("#,##0.00", "de-DE");
+
+        assertThat(transformer.out(new BigDecimal("1234.5"))).isEqualTo("1.234,50");
+        assertThat(transformer.in("1.234,50")).isEqualTo(new BigDecimal("1234.50"));
+    }
+
+    @Test
+    void shouldTransformFromManyThreads() throws Exception {
+        FormattedNumberTransformer transformer = transformer("0000.##", null);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int offset = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        BigDecimal value = BigDecimal.valueOf(i * 8 + offset, 2);
+                        if (((BigDecimal) transformer.in(transformer.out(value))).compareTo(value) != 0) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static FormattedNumberTransformer transformer(String format, String locale) {
+        Reference reference = new Reference.Builder()
+                .className(BigDecimal.class.getName())
+                .name("BigDecimal")
+                .type(ReferenceType.SCALAR)
+                .graphQLClassName(String.class.getName())
+                .build();
+        Field field = new Field("getAmount", "amount", "amount", reference);
+        field.setTransformation(new Transformation(Type.NUMBER, format, locale, false));
+        return new FormattedNumberTransformer(field);
+    }
+}
@@ -0,0 +1,189 @@
+package io.smallrye.graphql.websocket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+
+import org.junit.jupiter.api.Test;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import io.smallrye.graphql.websocket.SubscriptionMultiplexer.OverflowStrategy;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.operators.multi.processors.BroadcastProcessor;
+import io.smallrye.mutiny.subscription.Cancellable;
+import mutiny.zero.flow.adapters.AdaptersToReactiveStreams;
+
+/**
+ * Test streaming subscription events to websocket sessions
+ */
+public class SubscriptionMultiplexerTest {
+
+    @Test
+    public void testSharedSubscription() {
+        SubscriptionMultiplexer multiplexer = new SubscriptionMultiplexer(true, 16, OverflowStrategy.DROP_OLDEST,
+                Runnable::run);
+        String key = multiplexer.getKey(payload("{ ticks }", Json.createObjectBuilder().add("n", 1).build()));
+        assertNotEquals(key, multiplexer.getKey(payload("{ ticks }", Json.createObjectBuilder().add("n", 2).build())));
+
+        TestSink first = new TestSink("1");
+        TestSink second = new TestSink("2");
+        assertNull(multiplexer.join(key, first));
+
+        AtomicInteger subscriptions = new AtomicInteger();
+        BroadcastProcessor<ExecutionResult> events = BroadcastProcessor.create();
+        Cancellable firstSubscription = multiplexer.subscribe(key,
+                AdaptersToReactiveStreams.publisher(events.onSubscription().invoke(subscriptions::incrementAndGet)), first);
+        Cancellable secondSubscription = multiplexer.join(key, second);
+        assertNotNull(secondSubscription);
+        assertEquals(1, multiplexer.getSharedSubscriptions());
+
+        events.onNext(event(1));
+        assertEquals(1, subscriptions.get());
+        assertEquals(List.of("{\"type\":\"next\",\"id\":\"1\",\"payload\":{\"data\":{\"count\":1}}}"), first.messages);
+        assertEquals(List.of("{\"type\":\"next\",\"id\":\"2\",\"payload\":{\"data\":{\"count\":1}}}"), second.messages);
+
+        firstSubscription.cancel();
+        events.onNext(event(2));
+        assertEquals(1, first.messages.size());
+        assertEquals(2, second.messages.size());
+
+        // The last session unsubscribes, so the next one executes the operation again
+        secondSubscription.cancel();
+        assertEquals(0, multiplexer.getSharedSubscriptions());
+        assertNull(multiplexer.join(key, new TestSink("3")));
+    }
+
+    @Test
+    public void testComplete() {
+        SubscriptionMultiplexer multiplexer = new SubscriptionMultiplexer(false, 16, OverflowStrategy.DROP_OLDEST,
+                Runnable::run);
+        assertNull(multiplexer.getKey(payload("{ ticks }", null)));
+
+        TestSink sink = new TestSink("1");
+        multiplexer.subscribe(null, AdaptersToReactiveStreams.publisher(Multi.createFrom().items(event(1), event(2))), sink);
+
+        assertEquals(3, sink.messages.size());
+        assertEquals("complete", sink.messages.get(2));
+        assertTrue(sink.completed);
+    }
+
+    @Test
+    public void testPayloadSentAsUtf8() {
+        SubscriptionMultiplexer multiplexer = new SubscriptionMultiplexer(false, 16, OverflowStrategy.DROP_OLDEST,
+                Runnable::run);
+        TestSink sink = new TestSink("1");
+        ExecutionResult event = ExecutionResultImpl.newExecutionResult().data(Map.of("name", "Zoë \u2713")).build();
+        multiplexer.subscribe(null, AdaptersToReactiveStreams.publisher(Multi.createFrom().item(event)), sink);
+
+        assertEquals("{\"type\":\"next\",\"id\":\"1\",\"payload\":{\"data\":{\"name\":\"Zoë \u2713\"}}}",
+                sink.messages.get(0));
+    }
+
+    @Test
+    public void testOverflow() {
+        assertEquals(List.of(3, 4), receivedWithSlowClient(OverflowStrategy.DROP_OLDEST));
+        assertEquals(List.of(1, 2), receivedWithSlowClient(OverflowStrategy.DROP_NEWEST));
+
+        List<Runnable> pending = new ArrayList<>();
+        SubscriptionMultiplexer multiplexer = new SubscriptionMultiplexer(false, 2, OverflowStrategy.DISCONNECT,
+                pending::add);
+        TestSink sink = new TestSink("1");
+        BroadcastProcessor<ExecutionResult> events = BroadcastProcessor.create();
+        multiplexer.subscribe(null, AdaptersToReactiveStreams.publisher(events), sink);
+        events.onNext(event(1));
+        events.onNext(event(2));
+        assertFalse(sink.disconnected);
+        events.onNext(event(3));
+        assertTrue(sink.disconnected);
+        pending.forEach(Runnable::run);
+        assertTrue(sink.messages.isEmpty());
+    }
+
+    /**
+     * Four events for a client that only reads them after the last one
+     */
+    private static List<Integer> receivedWithSlowClient(OverflowStrategy overflowStrategy) {
+        List<Runnable> pending = new ArrayList<>();
+        SubscriptionMultiplexer multiplexer = new SubscriptionMultiplexer(false, 2, overflowStrategy, pending::add);
+        TestSink sink = new TestSink("1");
+        BroadcastProcessor<ExecutionResult> events = BroadcastProcessor.create();
+        multiplexer.subscribe(null, AdaptersToReactiveStreams.publisher(events), sink);
+        for (int i = 1; i <= 4; i++) {
+            events.onNext(event(i));
+        }
+        pending.forEach(Runnable::run);
+
+        List<Integer> received = new ArrayList<>();
+        for (String message : sink.messages) {
+            received.add(Json.createReader(new StringReader(message)).readObject()
+                    .getJsonObject("payload").getJsonObject("data").getInt("count"));
+        }
+        return received;
+    }
+
+    private static JsonObject payload(String query, JsonObject variables) {
+        if (variables == null) {
+            return Json.createObjectBuilder().add("query", query).build();
+        }
+        return Json.createObjectBuilder().add("query", query).add("variables", variables).build();
+    }
+
+    private static ExecutionResult event(int count) {
+        return ExecutionResultImpl.newExecutionResult().data(Map.of("count", count)).build();
+    }
+
+    private static class TestSink implements SubscriptionMultiplexer.Sink {
+        private final byte[] prefix;
+        private final List<String> messages = new ArrayList<>();
+        private boolean completed;
+        private boolean disconnected;
+
+        TestSink(String id) {
+            this.prefix = ("{\"type\":\"next\",\"id\":\"" + id + "\",\"payload\":").getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public byte[] getDataMessagePrefix() {
+            return prefix;
+        }
+
+        @Override
+        public byte[] getCompleteMessage() {
+            return "complete".getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void send(ByteBuffer... utf8Parts) {
+            StringBuilder message = new StringBuilder();
+            for (ByteBuffer part : utf8Parts) {
+                message.append(StandardCharsets.UTF_8.decode(part));
+            }
+            messages.add(message.toString());
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+        @Override
+        public void closeDueToOverflow() {
+            disconnected = true;
+        }
+    }
+}
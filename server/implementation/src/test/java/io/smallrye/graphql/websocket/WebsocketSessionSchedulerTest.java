@@ -0,0 +1,172 @@
+package io.smallrye.graphql.websocket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.mutiny.subscription.Cancellable;
+
+/**
+ * Test the keep-alives and timeouts that one scheduler drives for all websocket sessions
+ */
+public class WebsocketSessionSchedulerTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testKeepAlive() {
+        WebsocketSessionScheduler scheduler = new WebsocketSessionScheduler(10 * SECOND, 0, 0, null, null);
+        TestConnection first = new TestConnection(true);
+        TestConnection second = new TestConnection(true);
+        long start = System.nanoTime();
+        scheduler.register(first);
+        Cancellable registration = scheduler.register(second);
+        assertEquals(2, scheduler.getActiveSessions());
+
+        scheduler.sweep(start + 5 * SECOND);
+        assertEquals(0, first.keepAlives);
+
+        scheduler.sweep(start + 11 * SECOND);
+        scheduler.sweep(start + 12 * SECOND);
+        assertEquals(1, first.keepAlives);
+        assertEquals(1, second.keepAlives);
+
+        registration.cancel();
+        scheduler.sweep(start + 22 * SECOND);
+        assertEquals(2, first.keepAlives);
+        assertEquals(1, second.keepAlives);
+        assertEquals(1, scheduler.getActiveSessions());
+    }
+
+    @Test
+    public void testBlockedKeepAliveHoldsUpNobody() throws Exception {
+        ExecutorService sender = Executors.newCachedThreadPool();
+        try {
+            WebsocketSessionScheduler scheduler = new WebsocketSessionScheduler(10 * SECOND, 0, 0, null, sender);
+            CountDownLatch unblock = new CountDownLatch(1);
+            CountDownLatch blockedStarted = new CountDownLatch(1);
+            AtomicInteger blockedSends = new AtomicInteger();
+            TestConnection blocked = new TestConnection(true) {
+                @Override
+                public void sendKeepAlive() {
+                    blockedSends.incrementAndGet();
+                    blockedStarted.countDown();
+                    try {
+                        unblock.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+            CountDownLatch sent = new CountDownLatch(2);
+            TestConnection other = new TestConnection(true) {
+                @Override
+                public void sendKeepAlive() {
+                    sent.countDown();
+                }
+            };
+            long start = System.nanoTime();
+            scheduler.register(blocked);
+            scheduler.register(other);
+
+            scheduler.sweep(start + 11 * SECOND);
+            scheduler.sweep(start + 22 * SECOND);
+            assertTrue(sent.await(10, TimeUnit.SECONDS));
+            assertTrue(blockedStarted.await(10, TimeUnit.SECONDS));
+            // The second keep-alive of the blocked session is skipped, rather than waiting for a thread
+            assertEquals(1, blockedSends.get());
+
+            unblock.countDown();
+        } finally {
+            sender.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConnectionInitTimeout() {
+        WebsocketSessionScheduler scheduler = new WebsocketSessionScheduler(0, 3 * SECOND, 0, null, null);
+        TestConnection initialized = new TestConnection(true);
+        TestConnection uninitialized = new TestConnection(false);
+        long start = System.nanoTime();
+        scheduler.register(initialized);
+        scheduler.register(uninitialized);
+
+        scheduler.sweep(start + SECOND);
+        assertFalse(uninitialized.closed);
+
+        scheduler.sweep(start + 4 * SECOND);
+        assertTrue(uninitialized.closed);
+        assertFalse(initialized.closed);
+        assertEquals(1, scheduler.getActiveSessions());
+    }
+
+    @Test
+    public void testIdleTimeout() {
+        WebsocketSessionScheduler scheduler = new WebsocketSessionScheduler(0, 0, 60 * SECOND, null, null);
+        TestConnection busy = new TestConnection(true);
+        busy.operations = 2;
+        TestConnection idle = new TestConnection(true);
+        long start = System.nanoTime();
+        scheduler.register(busy);
+        scheduler.register(idle);
+        assertEquals(2, scheduler.getActiveOperations());
+
+        idle.lastActivity = start + 30 * SECOND;
+        scheduler.sweep(start + 61 * SECOND);
+        assertFalse(idle.closed);
+
+        scheduler.sweep(start + 91 * SECOND);
+        assertTrue(idle.closed);
+        assertFalse(busy.closed);
+    }
+
+    private static class TestConnection implements WebsocketSessionScheduler.Connection {
+        private final boolean initialized;
+        private long lastActivity = System.nanoTime();
+        private int operations;
+        private int keepAlives;
+        private boolean closed;
+
+        TestConnection(boolean initialized) {
+            this.initialized = initialized;
+        }
+
+        @Override
+        public boolean isInitialized() {
+            return initialized;
+        }
+
+        @Override
+        public long getLastActivity() {
+            return lastActivity;
+        }
+
+        @Override
+        public int getActiveOperationCount() {
+            return operations;
+        }
+
+        @Override
+        public void sendKeepAlive() {
+            keepAlives++;
+        }
+
+        @Override
+        public void closeDueToConnectionInitTimeout() {
+            closed = true;
+        }
+
+        @Override
+        public void closeDueToIdleTimeout() {
+            closed = true;
+        }
+    }
+}
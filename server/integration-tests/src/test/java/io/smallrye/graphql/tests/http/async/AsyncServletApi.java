@@ -0,0 +1,23 @@
+package io.smallrye.graphql.tests.http.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.Query;
+
+@GraphQLApi
+public class AsyncServletApi {
+
+    @Query
+    public String echo(String message) {
+        return message;
+    }
+
+    @Query
+    public CompletionStage<String> slow() {
+        // Longer than the timeout of the request
+        return CompletableFuture.supplyAsync(() -> "too late", CompletableFuture.delayedExecutor(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,108 @@
+package io.smallrye.graphql.tests.http.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URL;
+
+import jakarta.json.Json;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.arquillian.test.api.ArquillianResource;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.restassured.RestAssured;
+
+/**
+ * Test reading, executing and writing requests with the async servlet
+ */
+@RunWith(Arquillian.class)
+@RunAsClient
+public class AsyncServletTest {
+
+    @Deployment
+    public static WebArchive deployment() {
+        return ShrinkWrap.create(WebArchive.class, "async-servlet-test.war")
+                .addAsResource(new StringAsset("smallrye.graphql.servlet.async.enabled=true\n"
+                        + "smallrye.graphql.servlet.async.timeout=1\n"
+                        + "smallrye.graphql.servlet.async.maxBodySize=200000\n"
+                        + "smallrye.graphql.allowGet=true"),
+                        "META-INF/microprofile-config.properties")
+                .addClasses(AsyncServletApi.class);
+    }
+
+    @ArquillianResource
+    URL testingURL;
+
+    @Test
+    public void postTest() {
+        String response = post(query("{ echo(message: \"hello\") }"), 200);
+
+        assertThat(response).isEqualTo("{\"data\":{\"echo\":\"hello\"}}");
+    }
+
+    @Test
+    public void largeBodyTest() {
+        // Larger than the initial buffer of the reader, so it has to grow
+        String message = "x".repeat(100_000);
+
+        String response = post(query("{ echo(message: \"" + message + "\") }"), 200);
+
+        assertThat(response).isEqualTo("{\"data\":{\"echo\":\"" + message + "\"}}");
+    }
+
+    @Test
+    public void tooLargeBodyTest() {
+        post(query("{ echo(message: \"" + "x".repeat(300_000) + "\") }"), 413);
+    }
+
+    @Test
+    public void batchTest() {
+        String request = Json.createArrayBuilder()
+                .add(Json.createObjectBuilder().add("query", "{ echo(message: \"one\") }"))
+                .add(Json.createObjectBuilder().add("query", "{ echo(message: \"two\") }"))
+                .build().toString();
+
+        String response = post(request, 200);
+
+        assertThat(response).isEqualTo("[{\"data\":{\"echo\":\"one\"}},{\"data\":{\"echo\":\"two\"}}]");
+    }
+
+    @Test
+    public void getTest() {
+        String response = RestAssured.given()
+                .baseUri(testingURL.toString())
+                .queryParam("query", "{ echo(message: \"get\") }")
+                .get("/graphql")
+                .then()
+                .statusCode(200)
+                .extract().asString();
+
+        assertThat(response).isEqualTo("{\"data\":{\"echo\":\"get\"}}");
+    }
+
+    @Test
+    public void timeoutTest() {
+        post(query("{ slow }"), 503);
+    }
+
+    private String post(String body, int status) {
+        return RestAssured.given()
+                .baseUri(testingURL.toString())
+                .contentType("application/json")
+                .body(body)
+                .post("/graphql")
+                .then()
+                .statusCode(status)
+                .extract().asString();
+    }
+
+    private static String query(String query) {
+        return Json.createObjectBuilder().add("query", query).build().toString();
+    }
+}